@@ -0,0 +1,12 @@
+package de.schonvoll.cleanspace.application.commands;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Command for cancelling a single occurrence of a reservation series.
+ *
+ * @param seriesId the unique identifier of the series
+ * @param occurrenceDate the date the occurrence was originally scheduled on
+ */
+public record CancelOccurrenceCommand(UUID seriesId, LocalDate occurrenceDate) {}
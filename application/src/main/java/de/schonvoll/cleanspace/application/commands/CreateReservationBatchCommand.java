@@ -0,0 +1,14 @@
+package de.schonvoll.cleanspace.application.commands;
+
+import java.util.List;
+
+/**
+ * Command for creating many workspace reservations at once.
+ *
+ * @param reservations the {@link CreateReservationCommand}s of the batch, in the order they are
+ *     booked
+ * @param allOrNothing whether nothing is saved when any reservation of the batch fails, instead of
+ *     saving every reservation that succeeds
+ */
+public record CreateReservationBatchCommand(
+    List<CreateReservationCommand> reservations, boolean allOrNothing) {}
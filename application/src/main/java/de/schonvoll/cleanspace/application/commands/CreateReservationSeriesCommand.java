@@ -0,0 +1,22 @@
+package de.schonvoll.cleanspace.application.commands;
+
+import de.schonvoll.cleanspace.domain.valueobjects.RecurrenceRule;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Command for creating a recurring workspace reservation.
+ *
+ * @param workspaceName the name of the workspace to reserve
+ * @param userEmail the email of the user making the reservation
+ * @param firstOccurrence the {@link TimeSlot} of the first occurrence
+ * @param recurrenceRule the {@link RecurrenceRule} the first occurrence is repeated by
+ * @param exceptions the dates of scheduled occurrences that are left out, or null
+ */
+public record CreateReservationSeriesCommand(
+    String workspaceName,
+    String userEmail,
+    TimeSlot firstOccurrence,
+    RecurrenceRule recurrenceRule,
+    Set<LocalDate> exceptions) {}
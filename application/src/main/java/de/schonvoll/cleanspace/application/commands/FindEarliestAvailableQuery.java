@@ -0,0 +1,27 @@
+package de.schonvoll.cleanspace.application.commands;
+
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceProperty;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Query for finding the earliest time slots of a given length that can still be booked anywhere
+ * within a search window.
+ *
+ * @param window the {@link TimeSlot} the found time slots must lie within
+ * @param dailyFrom the earliest time of day a found time slot may start at, or null
+ * @param dailyTo the latest time of day a found time slot may end at, or null
+ * @param duration the length of the time slots to find
+ * @param limit the maximum number of time slots to find
+ */
+public record FindEarliestAvailableQuery(
+    TimeSlot window,
+    LocalTime dailyFrom,
+    LocalTime dailyTo,
+    Duration duration,
+    int limit,
+    Optional<Integer> minCapacity,
+    Optional<List<WorkspaceProperty>> requiredProperties) {}
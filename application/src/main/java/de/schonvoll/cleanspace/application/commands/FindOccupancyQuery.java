@@ -0,0 +1,12 @@
+package de.schonvoll.cleanspace.application.commands;
+
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.Duration;
+
+/**
+ * Query for the occupancy of all workspaces over a time range.
+ *
+ * @param range the {@link TimeSlot} to read the occupancy of
+ * @param bucketSize the length of the buckets the range is divided into
+ */
+public record FindOccupancyQuery(TimeSlot range, Duration bucketSize) {}
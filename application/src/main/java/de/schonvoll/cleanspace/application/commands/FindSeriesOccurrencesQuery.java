@@ -0,0 +1,12 @@
+package de.schonvoll.cleanspace.application.commands;
+
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.util.UUID;
+
+/**
+ * Query for finding the occurrences of a reservation series within a time slot.
+ *
+ * @param seriesId the unique identifier of the series
+ * @param window the {@link TimeSlot} to find occurrences within
+ */
+public record FindSeriesOccurrencesQuery(UUID seriesId, TimeSlot window) {}
@@ -1,8 +1,13 @@
 package de.schonvoll.cleanspace.application.commands;
 
+import de.schonvoll.cleanspace.domain.valueobjects.ReservationCursor;
+
 /**
- * Query for finding all reservations for a specific user.
+ * Query for finding one page of the reservations of a specific user.
  *
  * @param userEmail the email of the user whose reservations to find
+ * @param after the {@link ReservationCursor} returned with the previous page, or null for the first
+ *     page
+ * @param limit the maximum number of reservations on the page
  */
-public record FindUserReservationsQuery(String userEmail) {}
+public record FindUserReservationsQuery(String userEmail, ReservationCursor after, int limit) {}
@@ -0,0 +1,14 @@
+package de.schonvoll.cleanspace.application.commands;
+
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Command for moving a single occurrence of a reservation series to another time slot.
+ *
+ * @param seriesId the unique identifier of the series
+ * @param occurrenceDate the date the occurrence was originally scheduled on
+ * @param timeSlot the {@link TimeSlot} the occurrence is moved to
+ */
+public record MoveOccurrenceCommand(UUID seriesId, LocalDate occurrenceDate, TimeSlot timeSlot) {}
@@ -0,0 +1,35 @@
+package de.schonvoll.cleanspace.application.ports;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Serializes bookings per workspace, so that checking a workspace's remaining capacity and saving
+ * the new reservation happen as one step. Bookings of different workspaces do not wait for each
+ * other.
+ */
+public interface BookingCoordinator {
+
+  /**
+   * Runs a booking while no other booking of the same workspace runs.
+   *
+   * @param workspaceId the unique identifier of the workspace being booked
+   * @param booking the check and save to run exclusively
+   * @return the result of the booking
+   * @param <T> the type of the booking's result
+   */
+  <T> T bookExclusively(UUID workspaceId, Supplier<T> booking);
+
+  /**
+   * Runs a booking spanning several workspaces while no other booking of any of them runs. The
+   * workspaces are locked in an order of the implementation's choosing, so concurrent bookings of
+   * overlapping sets of workspaces cannot deadlock.
+   *
+   * @param workspaceIds the unique identifiers of the workspaces being booked
+   * @param booking the checks and saves to run exclusively
+   * @return the result of the booking
+   * @param <T> the type of the booking's result
+   */
+  <T> T bookExclusively(Collection<UUID> workspaceIds, Supplier<T> booking);
+}
@@ -0,0 +1,83 @@
+package de.schonvoll.cleanspace.application.ports;
+
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps track of how many seats of a workspace are taken over time and enforces the workspace's
+ * capacity when a seat is about to be booked.
+ */
+public interface OccupancyLedger {
+
+  /**
+   * Takes one seat of the workspace for the whole time slot, unless the workspace is full at some
+   * point within it.
+   *
+   * @param workspace the {@link Workspace} to take a seat of
+   * @param timeSlot the {@link TimeSlot} the seat is needed for
+   * @return whether the seat was taken; if not, the ledger is left unchanged
+   */
+  boolean tryOccupy(Workspace workspace, TimeSlot timeSlot);
+
+  /**
+   * Takes one seat of the workspace for a time slot the caller has already checked against the
+   * saved reservations, such as an item of a batch checked against the reservations of the whole
+   * batch range. By default the seat is taken with {@link #tryOccupy}, which also counts seats
+   * taken but not saved yet; a ledger that only reads the saved reservations has nothing left to
+   * check.
+   *
+   * @param workspace the {@link Workspace} to take a seat of
+   * @param timeSlot the {@link TimeSlot} the seat is needed for
+   * @return whether the seat was taken; if not, the ledger is left unchanged
+   */
+  default boolean tryOccupyChecked(Workspace workspace, TimeSlot timeSlot) {
+    return tryOccupy(workspace, timeSlot);
+  }
+
+  /**
+   * Takes one seat of the workspace for each of the time slots, such as the occurrences of a
+   * reservation series, unless the workspace is full within one of them. By default every time
+   * slot is taken on its own and the seats already taken are given back when one fails.
+   *
+   * @param workspace the {@link Workspace} to take the seats of
+   * @param timeSlots the time slots the seats are needed for, ordered by start time and not
+   *     overlapping each other
+   * @return whether all seats were taken; if not, the ledger is left unchanged
+   */
+  default boolean tryOccupyAll(Workspace workspace, List<TimeSlot> timeSlots) {
+    for (int taken = 0; taken < timeSlots.size(); taken++) {
+      if (!tryOccupy(workspace, timeSlots.get(taken))) {
+        for (TimeSlot timeSlot : timeSlots.subList(0, taken)) {
+          release(workspace.getId(), timeSlot);
+        }
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gives back a seat taken with {@link #tryOccupy}, when the booking was not saved or is
+   * cancelled.
+   *
+   * @param workspaceId the unique identifier of the workspace
+   * @param timeSlot the {@link TimeSlot} the seat was taken for
+   */
+  void release(UUID workspaceId, TimeSlot timeSlot);
+
+  /**
+   * Reads the highest number of seats taken at the same time within each bucket of a range, as
+   * drawn in occupancy heatmaps.
+   *
+   * @param workspaceIds the unique identifiers of the workspaces to read
+   * @param range the {@link TimeSlot} to divide into buckets, starting at its start
+   * @param bucketSize the length of a bucket; the last one may be cut short by the end of the range
+   * @return the taken seats per bucket, in time order, of every requested workspace
+   */
+  Map<UUID, int[]> takenSeats(Collection<UUID> workspaceIds, TimeSlot range, Duration bucketSize);
+}
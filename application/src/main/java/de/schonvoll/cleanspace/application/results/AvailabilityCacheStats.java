@@ -0,0 +1,20 @@
+package de.schonvoll.cleanspace.application.results;
+
+/**
+ * Counters of the availability search cache since the application started.
+ *
+ * @param hits the searches answered from the cache
+ * @param misses the searches computed because no entry was cached for them
+ * @param stale the searches computed again because their entry was outdated by a write or had
+ *     reached its maximum age
+ * @param evictions the entries dropped to stay within the size bound
+ * @param size the number of entries currently cached
+ */
+public record AvailabilityCacheStats(long hits, long misses, long stale, long evictions, int size) {
+
+  /** Returns the share of searches answered from the cache, or 0 if there were none. */
+  public double hitRatio() {
+    long lookups = hits + misses + stale;
+    return lookups == 0 ? 0 : (double) hits / lookups;
+  }
+}
@@ -0,0 +1,15 @@
+package de.schonvoll.cleanspace.application.results;
+
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.LocalDateTime;
+
+/**
+ * Time slot at which a workspace can still be booked.
+ *
+ * @param workspace the workspace with a free seat
+ * @param timeSlot the earliest bookable {@link TimeSlot} of the gap
+ * @param latestStart the latest time the slot could start at instead without leaving the gap
+ */
+public record AvailableSlotResult(
+    Workspace workspace, TimeSlot timeSlot, LocalDateTime latestStart) {}
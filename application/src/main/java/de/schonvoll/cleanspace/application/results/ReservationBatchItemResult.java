@@ -0,0 +1,24 @@
+package de.schonvoll.cleanspace.application.results;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+
+/**
+ * Outcome of one reservation of a batch.
+ *
+ * @param reservation the saved reservation, or null if it was not saved
+ * @param error why the reservation was not saved, or null if it was saved
+ */
+public record ReservationBatchItemResult(Reservation reservation, String error) {
+
+  public static ReservationBatchItemResult saved(Reservation reservation) {
+    return new ReservationBatchItemResult(reservation, null);
+  }
+
+  public static ReservationBatchItemResult failed(String error) {
+    return new ReservationBatchItemResult(null, error);
+  }
+
+  public boolean isSaved() {
+    return reservation != null;
+  }
+}
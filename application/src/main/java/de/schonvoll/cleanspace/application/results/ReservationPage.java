@@ -0,0 +1,19 @@
+package de.schonvoll.cleanspace.application.results;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.valueobjects.ReservationCursor;
+import java.util.List;
+
+/**
+ * One page of reservations ordered by start time and id.
+ *
+ * @param reservations the reservations on the page
+ * @param next the {@link ReservationCursor} to read the following page with, or null if this is
+ *     the last page
+ */
+public record ReservationPage(List<Reservation> reservations, ReservationCursor next) {
+
+  public boolean hasNext() {
+    return next != null;
+  }
+}
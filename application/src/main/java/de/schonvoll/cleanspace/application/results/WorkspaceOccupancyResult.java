@@ -0,0 +1,12 @@
+package de.schonvoll.cleanspace.application.results;
+
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+
+/**
+ * Occupancy of one workspace over a time range.
+ *
+ * @param workspace the workspace the seats belong to
+ * @param takenSeats the highest number of seats taken at the same time within each bucket of the
+ *     range, in time order
+ */
+public record WorkspaceOccupancyResult(Workspace workspace, int[] takenSeats) {}
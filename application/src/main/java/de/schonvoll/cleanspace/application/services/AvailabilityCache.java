@@ -0,0 +1,189 @@
+package de.schonvoll.cleanspace.application.services;
+
+import de.schonvoll.cleanspace.application.commands.FindAvailableWorkspacesQuery;
+import de.schonvoll.cleanspace.application.results.AvailabilityCacheStats;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceProperty;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of the results of {@link WorkspaceApplicationService#findAvailable}, keyed by the
+ * normalized query, so identical searches fired over and over are computed once.
+ *
+ * <p>An entry remembers the generations it was computed at: the version of the workspace catalog,
+ * which changes on every workspace save, and a counter per day that every reservation write
+ * touching the day bumps. An entry is only served while all of them are unchanged; otherwise it is
+ * stale and computed again. The generations are read before the result is computed, so a write
+ * racing with the computation leaves the entry stale rather than serving a result that misses it.
+ * When the cache is full, the least recently used entry is evicted.
+ *
+ * <p>Only writes through the application services of this instance bump the day counters. When
+ * other instances write to the same database, a maximum age bounds how long an entry may miss
+ * their writes; an entry older than that is stale as well.
+ */
+public class AvailabilityCache {
+  private final int maxEntries;
+  private final long maxAgeNanos;
+  private final LongSupplier nanoClock;
+  private final Map<Key, Entry> entries;
+  private final ConcurrentHashMap<LocalDate, AtomicLong> generationsByDay =
+      new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder stale = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Creates an empty cache whose entries are only outdated by writes.
+   *
+   * @param maxEntries the most results kept at once, at least one
+   */
+  public AvailabilityCache(int maxEntries) {
+    this(maxEntries, null);
+  }
+
+  /**
+   * Creates an empty cache whose entries are outdated by writes or by their age.
+   *
+   * @param maxEntries the most results kept at once, at least one
+   * @param maxAge how long an entry is served at most, positive, or null for no limit
+   */
+  public AvailabilityCache(int maxEntries, Duration maxAge) {
+    this(maxEntries, maxAge, System::nanoTime);
+  }
+
+  AvailabilityCache(int maxEntries, Duration maxAge, LongSupplier nanoClock) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("The availability cache must hold at least one entry");
+    }
+    if (maxAge != null && !maxAge.isPositive()) {
+      throw new IllegalArgumentException("The maximum age of cached searches must be positive");
+    }
+    this.maxEntries = maxEntries;
+    this.maxAgeNanos = maxAge == null ? Long.MAX_VALUE : maxAge.toNanos();
+    this.nanoClock = nanoClock;
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            if (size() > AvailabilityCache.this.maxEntries) {
+              evictions.increment();
+              return true;
+            }
+            return false;
+          }
+        };
+  }
+
+  /**
+   * Returns the cached result of a search, or computes and caches it when none is cached or the
+   * cached one is outdated.
+   *
+   * @param query the {@link FindAvailableWorkspacesQuery} to answer
+   * @param catalogVersion the version of the workspace catalog the search runs against
+   * @param search computes the result of the search
+   * @return the available workspaces
+   */
+  List<Workspace> get(
+      FindAvailableWorkspacesQuery query, long catalogVersion, Supplier<List<Workspace>> search) {
+    Key key = Key.of(query);
+    long[] generations = generationsOf(key.timeSlot());
+    long now = nanoClock.getAsLong();
+    Entry cached;
+    synchronized (entries) {
+      cached = entries.get(key);
+    }
+    if (cached != null
+        && cached.catalogVersion() == catalogVersion
+        && Arrays.equals(cached.dayGenerations(), generations)
+        && now - cached.computedAt() < maxAgeNanos) {
+      hits.increment();
+      return cached.workspaces();
+    }
+    (cached == null ? misses : stale).increment();
+
+    List<Workspace> workspaces = search.get();
+    synchronized (entries) {
+      entries.put(key, new Entry(catalogVersion, generations, now, workspaces));
+    }
+    return workspaces;
+  }
+
+  /**
+   * Outdates the cached results of every search whose time slot shares a day with the given one.
+   * Called after a reservation or series occurrence was saved, cancelled or moved, once the write
+   * has committed; called before, a search could cache the state before the write under the new
+   * generations.
+   *
+   * @param timeSlot the {@link TimeSlot} that was written
+   */
+  public void invalidate(TimeSlot timeSlot) {
+    for (LocalDate day = firstDayOf(timeSlot);
+        !day.isAfter(lastDayOf(timeSlot));
+        day = day.plusDays(1)) {
+      generationsByDay.computeIfAbsent(day, key -> new AtomicLong()).incrementAndGet();
+    }
+  }
+
+  /**
+   * Reads the counters of the cache.
+   *
+   * @return the {@link AvailabilityCacheStats} since the application started
+   */
+  public AvailabilityCacheStats stats() {
+    int size;
+    synchronized (entries) {
+      size = entries.size();
+    }
+    return new AvailabilityCacheStats(hits.sum(), misses.sum(), stale.sum(), evictions.sum(), size);
+  }
+
+  private long[] generationsOf(TimeSlot timeSlot) {
+    LocalDate first = firstDayOf(timeSlot);
+    int days = Math.toIntExact(lastDayOf(timeSlot).toEpochDay() - first.toEpochDay() + 1);
+    long[] generations = new long[days];
+    for (int day = 0; day < generations.length; day++) {
+      AtomicLong generation = generationsByDay.get(first.plusDays(day));
+      generations[day] = generation == null ? 0 : generation.get();
+    }
+    return generations;
+  }
+
+  private static LocalDate firstDayOf(TimeSlot timeSlot) {
+    return timeSlot.start().toLocalDate();
+  }
+
+  // Time slots are half-open, so one ending at midnight does not touch the next day
+  private static LocalDate lastDayOf(TimeSlot timeSlot) {
+    return timeSlot.duration().isPositive()
+        ? timeSlot.end().minusNanos(1).toLocalDate()
+        : timeSlot.start().toLocalDate();
+  }
+
+  private record Entry(
+      long catalogVersion, long[] dayGenerations, long computedAt, List<Workspace> workspaces) {}
+
+  // Every workspace has at least one seat, so no minimum capacity and a minimum of one are the
+  // same, and the order and repetition of required properties do not change the result either
+  private record Key(
+      TimeSlot timeSlot, int minCapacity, Set<WorkspaceProperty> requiredProperties) {
+    private static Key of(FindAvailableWorkspacesQuery query) {
+      return new Key(
+          query.timeSlot(),
+          Math.max(1, query.minCapacity().orElse(1)),
+          query.requiredProperties().map(Set::copyOf).orElse(Set.of()));
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package de.schonvoll.cleanspace.application.services;
+
+import de.schonvoll.cleanspace.application.ports.OccupancyLedger;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Checks which candidate workspaces still have a free seat within a time slot. Small candidate
+ * lists are checked in one {@link OccupancyLedger} read on the calling thread. Lists of at least
+ * the threshold are split in halves until every chunk is below it, and the chunks are read and
+ * filtered in parallel on a fork-join pool owned by this evaluator, never on the common pool that
+ * request threads and parallel streams share.
+ *
+ * <p>Every chunk is a separate ledger read, so parallel evaluation only pays off with a ledger
+ * whose reads are per workspace, like the in-memory one, not with one that scans all reservations
+ * of the time slot per read.
+ */
+public class AvailabilityEvaluator implements AutoCloseable {
+  private final ForkJoinPool pool;
+  private final int threshold;
+
+  private AvailabilityEvaluator(ForkJoinPool pool, int threshold) {
+    this.pool = pool;
+    this.threshold = threshold;
+  }
+
+  /**
+   * Creates an evaluator that checks all candidates on the calling thread.
+   *
+   * @return the sequential evaluator
+   */
+  public static AvailabilityEvaluator sequential() {
+    return new AvailabilityEvaluator(null, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Creates an evaluator with a fork-join pool of its own.
+   *
+   * @param parallelism the number of worker threads, at least one
+   * @param threshold the number of candidates from which they are split into chunks, at least two
+   * @return the parallel evaluator, to be closed when no longer needed
+   */
+  public static AvailabilityEvaluator parallel(int parallelism, int threshold) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1.");
+    }
+    if (threshold < 2) {
+      throw new IllegalArgumentException("The parallel threshold must be at least 2.");
+    }
+    ForkJoinPool pool =
+        new ForkJoinPool(
+            parallelism,
+            forkJoinPool -> {
+              ForkJoinWorkerThread thread =
+                  ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+              thread.setName("availability-" + thread.getPoolIndex());
+              return thread;
+            },
+            null,
+            false);
+    return new AvailabilityEvaluator(pool, threshold);
+  }
+
+  /**
+   * Keeps the candidates that have fewer seats taken than their capacity at every point within
+   * the time slot.
+   *
+   * @param candidates the workspaces to check
+   * @param timeSlot the {@link TimeSlot} a seat is needed for, not empty
+   * @param occupancyLedger the {@link OccupancyLedger} to read the taken seats from
+   * @return the available workspaces in the order of the candidates
+   */
+  List<Workspace> filterAvailable(
+      List<Workspace> candidates, TimeSlot timeSlot, OccupancyLedger occupancyLedger) {
+    if (pool == null || candidates.size() < threshold) {
+      return filterChunk(candidates, timeSlot, occupancyLedger);
+    }
+    // Copied, as the result may be shared through the availability cache
+    return List.copyOf(pool.invoke(new ChunkTask(candidates, timeSlot, occupancyLedger)));
+  }
+
+  /** Stops the worker threads, searches still running are finished first. */
+  @Override
+  public void close() {
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+
+  private static List<Workspace> filterChunk(
+      List<Workspace> candidates, TimeSlot timeSlot, OccupancyLedger occupancyLedger) {
+    // The whole time slot is one bucket, so each workspace gets its peak within the slot
+    Map<UUID, int[]> takenSeats =
+        occupancyLedger.takenSeats(
+            candidates.stream().map(Workspace::getId).toList(), timeSlot, timeSlot.duration());
+    return candidates.stream()
+        .filter(workspace -> takenSeats.get(workspace.getId())[0] < workspace.getCapacity())
+        .toList();
+  }
+
+  private final class ChunkTask extends RecursiveTask<List<Workspace>> {
+    private final List<Workspace> candidates;
+    private final TimeSlot timeSlot;
+    private final OccupancyLedger occupancyLedger;
+
+    private ChunkTask(
+        List<Workspace> candidates, TimeSlot timeSlot, OccupancyLedger occupancyLedger) {
+      this.candidates = candidates;
+      this.timeSlot = timeSlot;
+      this.occupancyLedger = occupancyLedger;
+    }
+
+    @Override
+    protected List<Workspace> compute() {
+      if (candidates.size() < threshold) {
+        return filterChunk(candidates, timeSlot, occupancyLedger);
+      }
+      int middle = candidates.size() / 2;
+      ChunkTask first = new ChunkTask(candidates.subList(0, middle), timeSlot, occupancyLedger);
+      ChunkTask second =
+          new ChunkTask(
+              candidates.subList(middle, candidates.size()), timeSlot, occupancyLedger);
+      second.fork();
+      List<Workspace> available = new ArrayList<>(first.compute());
+      available.addAll(second.join());
+      return available;
+    }
+  }
+}
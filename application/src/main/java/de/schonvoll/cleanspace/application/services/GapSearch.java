@@ -0,0 +1,149 @@
+package de.schonvoll.cleanspace.application.services;
+
+import de.schonvoll.cleanspace.application.commands.FindEarliestAvailableQuery;
+import de.schonvoll.cleanspace.application.results.AvailableSlotResult;
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.valueobjects.OpeningHours;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the gaps in the reservation timeline of a workspace that are long enough for a time slot.
+ *
+ * <p>The reservations are swept once in time order, like in {@link OccupancyCalculator}, recording
+ * every interval during which fewer of them are held than the workspace has seats. Those free
+ * intervals are then merged with the bookable hours of each day of the search window. Every
+ * intersection long enough for the time slot is one gap, reported with its earliest start. That
+ * takes O(k log k + d) for k reservations and d days, however fine-grained the start times are.
+ */
+final class GapSearch {
+  // Opening hours exclude their own bounds (see OpeningHours#isOpenWithin), so slots keep this far
+  // clear of them. A minute is the finest step durations are requested in.
+  private static final Duration OPENING_HOURS_MARGIN = Duration.ofMinutes(1);
+
+  private GapSearch() {}
+
+  /**
+   * Finds the earliest gaps of a workspace within the search window of a query.
+   *
+   * @param workspace the {@link Workspace} to search
+   * @param reservations the reservations of the workspace; those outside the window are ignored
+   * @param query the {@link FindEarliestAvailableQuery} giving the window, hours and slot length
+   * @return at most {@code query.limit()} gaps, ordered by start time
+   */
+  static List<AvailableSlotResult> earliestGaps(
+      Workspace workspace, List<Reservation> reservations, FindEarliestAvailableQuery query) {
+    OpeningHours openingHours = workspace.getOpeningHours();
+    LocalTime earliest = openingHours.open().plus(OPENING_HOURS_MARGIN);
+    if (query.dailyFrom() != null && query.dailyFrom().isAfter(earliest)) {
+      earliest = query.dailyFrom();
+    }
+    LocalTime latest = openingHours.close().minus(OPENING_HOURS_MARGIN);
+    if (query.dailyTo() != null && query.dailyTo().isBefore(latest)) {
+      latest = query.dailyTo();
+    }
+    List<AvailableSlotResult> gaps = new ArrayList<>();
+    if (!earliest.isBefore(latest)) {
+      return gaps;
+    }
+
+    TimeSlot window = query.window();
+    long duration = query.duration().toNanos();
+    long[] free = freeIntervals(reservations, window, workspace.getCapacity());
+    int first = 0;
+    for (LocalDate day = window.start().toLocalDate();
+        !day.isAfter(window.end().toLocalDate()) && gaps.size() < query.limit();
+        day = day.plusDays(1)) {
+      long dayFrom = nanosInto(window, later(window.start(), day.atTime(earliest)));
+      long dayTo = nanosInto(window, earlier(window.end(), day.atTime(latest)));
+      // A free interval too short for this day cannot hold a slot on any later day either
+      while (first < free.length && free[first + 1] - dayFrom < duration) {
+        first += 2;
+      }
+      for (int interval = first;
+          interval < free.length
+              && free[interval] + duration <= dayTo
+              && gaps.size() < query.limit();
+          interval += 2) {
+        long from = Math.max(free[interval], dayFrom);
+        long to = Math.min(free[interval + 1], dayTo);
+        if (to - from >= duration) {
+          gaps.add(
+              new AvailableSlotResult(
+                  workspace,
+                  new TimeSlot(window.start().plusNanos(from), query.duration()),
+                  window.start().plusNanos(to - duration)));
+        }
+      }
+    }
+    return gaps;
+  }
+
+  // Returns the free intervals as consecutive start and end pairs of nanoseconds into the window
+  private static long[] freeIntervals(
+      List<Reservation> reservations, TimeSlot window, int capacity) {
+    long windowNanos = window.duration().toNanos();
+    long[] starts = new long[reservations.size()];
+    long[] ends = new long[reservations.size()];
+    int count = 0;
+    for (Reservation reservation : reservations) {
+      TimeSlot reserved = reservation.getTimeSlot();
+      if (!reserved.conflictsWith(window) || !reserved.duration().isPositive()) {
+        continue;
+      }
+      long start = Duration.between(window.start(), reserved.start()).toNanos();
+      starts[count] = Math.max(start, 0);
+      ends[count] = Math.min(start + reserved.duration().toNanos(), windowNanos);
+      count++;
+    }
+    Arrays.sort(starts, 0, count);
+    Arrays.sort(ends, 0, count);
+
+    // Every reservation can end at most one free interval, and one more runs to the window's end
+    long[] free = new long[2 * count + 2];
+    int size = 0;
+    int concurrent = 0;
+    long freeFrom = 0;
+    int start = 0;
+    int end = 0;
+    while (start < count || end < count) {
+      // Time slots are half-open, so a reservation ending when another starts frees its seat first
+      if (start == count || ends[end] <= starts[start]) {
+        if (concurrent-- == capacity) {
+          freeFrom = ends[end];
+        }
+        end++;
+      } else {
+        if (++concurrent == capacity && starts[start] > freeFrom) {
+          free[size++] = freeFrom;
+          free[size++] = starts[start];
+        }
+        start++;
+      }
+    }
+    if (freeFrom < windowNanos) {
+      free[size++] = freeFrom;
+      free[size++] = windowNanos;
+    }
+    return Arrays.copyOf(free, size);
+  }
+
+  private static long nanosInto(TimeSlot window, LocalDateTime time) {
+    return Duration.between(window.start(), time).toNanos();
+  }
+
+  private static LocalDateTime later(LocalDateTime first, LocalDateTime second) {
+    return first.isAfter(second) ? first : second;
+  }
+
+  private static LocalDateTime earlier(LocalDateTime first, LocalDateTime second) {
+    return first.isBefore(second) ? first : second;
+  }
+}
@@ -0,0 +1,73 @@
+package de.schonvoll.cleanspace.application.services;
+
+import de.schonvoll.cleanspace.application.commands.FindOccupancyQuery;
+import de.schonvoll.cleanspace.application.ports.OccupancyLedger;
+import de.schonvoll.cleanspace.application.results.WorkspaceOccupancyResult;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.repositories.WorkspaceRepository;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceCatalog;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.AllArgsConstructor;
+
+/** Application service for reading how occupied the workspaces are over time. */
+@AllArgsConstructor
+public class OccupancyApplicationService {
+  private static final Duration MIN_BUCKET_SIZE = Duration.ofMinutes(1);
+  private static final int MAX_BUCKETS = 5000;
+
+  private final WorkspaceRepository workspaceRepository;
+  private final OccupancyLedger occupancyLedger;
+  private final AtomicReference<WorkspaceCatalog> catalog = new AtomicReference<>();
+
+  /**
+   * Finds the occupancy of every workspace per bucket of a time range, as drawn in occupancy
+   * heatmaps. The whole catalog is answered by one read of the {@link OccupancyLedger}, instead of
+   * one availability search per bucket.
+   *
+   * @param query {@link FindOccupancyQuery} Contains the time range and the bucket size
+   * @return the occupancy of every workspace of the catalog
+   * @throws IllegalArgumentException when the range or bucket size are invalid, or the range has
+   *     too many buckets
+   */
+  public List<WorkspaceOccupancyResult> findOccupancy(FindOccupancyQuery query)
+      throws IllegalArgumentException {
+    TimeSlot range = query.range();
+    if (range == null || !range.duration().isPositive()) {
+      throw new IllegalArgumentException("Time range must be set and end after it starts.");
+    }
+    Duration bucketSize = query.bucketSize();
+    if (bucketSize == null || bucketSize.compareTo(MIN_BUCKET_SIZE) < 0) {
+      throw new IllegalArgumentException("Bucket size must be at least one minute.");
+    }
+    if (Math.ceilDiv(range.duration().toNanos(), bucketSize.toNanos()) > MAX_BUCKETS) {
+      throw new IllegalArgumentException(
+          "Time range must not be divided into more than " + MAX_BUCKETS + " buckets.");
+    }
+
+    List<Workspace> workspaces = currentCatalog().workspaces();
+    Map<UUID, int[]> takenSeats =
+        occupancyLedger.takenSeats(
+            workspaces.stream().map(Workspace::getId).toList(), range, bucketSize);
+    return workspaces.stream()
+        .map(
+            workspace ->
+                new WorkspaceOccupancyResult(workspace, takenSeats.get(workspace.getId())))
+        .toList();
+  }
+
+  // Only the version is read while it is unchanged, the workspaces are loaded once per version
+  private WorkspaceCatalog currentCatalog() {
+    long version = workspaceRepository.catalogVersion();
+    WorkspaceCatalog current = catalog.get();
+    if (current == null || current.version() != version) {
+      current = workspaceRepository.findCatalog();
+      catalog.set(current);
+    }
+    return current;
+  }
+}
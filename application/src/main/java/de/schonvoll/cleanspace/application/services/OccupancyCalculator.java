@@ -0,0 +1,116 @@
+package de.schonvoll.cleanspace.application.services;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Computes how many reservations are held at the same time within a time slot. Reservations that
+ * merely overlap the slot at different times, such as 9–10 and 15–16 within 9–17, occupy only one
+ * seat between them.
+ *
+ * <p>The peak is found with a sweep line: the start and end times of the reservations, clipped to
+ * the slot, are sorted separately and walked in time order, counting up at every start and down at
+ * every end. That takes O(k log k) for k reservations, independent of how long the slot is.
+ */
+final class OccupancyCalculator {
+  private OccupancyCalculator() {}
+
+  /**
+   * Computes the highest number of reservations held at the same time within a time slot.
+   *
+   * @param reservations the reservations to count; those not overlapping the slot are ignored
+   * @param timeSlot the {@link TimeSlot} to compute the peak within
+   * @return the peak number of concurrent reservations within the time slot
+   */
+  static int peakConcurrency(List<Reservation> reservations, TimeSlot timeSlot) {
+    ClippedTimes clipped = clip(reservations, timeSlot);
+    long[] starts = clipped.starts();
+    long[] ends = clipped.ends();
+
+    int concurrent = 0;
+    int peak = 0;
+    int end = 0;
+    for (int start = 0; start < clipped.count(); start++) {
+      // Time slots are half-open, so a reservation ending when another starts frees its seat first
+      while (ends[end] <= starts[start]) {
+        concurrent--;
+        end++;
+      }
+      concurrent++;
+      peak = Math.max(peak, concurrent);
+    }
+    return peak;
+  }
+
+  /**
+   * Computes the highest number of reservations held at the same time within each bucket of a
+   * range. All buckets are covered by a single sweep, so the cost is that of one {@link
+   * #peakConcurrency} call over the whole range plus one step per bucket.
+   *
+   * @param reservations the reservations to count; those not overlapping the range are ignored
+   * @param range the {@link TimeSlot} to divide into buckets, starting at its start
+   * @param bucketSize the length of a bucket; the last one may be cut short by the end of the range
+   * @return the peak number of concurrent reservations within each bucket, in time order
+   */
+  static int[] peakConcurrencyPerBucket(
+      List<Reservation> reservations, TimeSlot range, Duration bucketSize) {
+    ClippedTimes clipped = clip(reservations, range);
+    long[] starts = clipped.starts();
+    long[] ends = clipped.ends();
+    long bucketNanos = bucketSize.toNanos();
+    int[] peaks = new int[Math.toIntExact(Math.ceilDiv(range.duration().toNanos(), bucketNanos))];
+
+    int concurrent = 0;
+    int start = 0;
+    int end = 0;
+    for (int bucket = 0; bucket < peaks.length; bucket++) {
+      long bucketEnd = (bucket + 1) * bucketNanos;
+      // Reservations still held when the bucket begins count towards its peak as well
+      int peak = concurrent;
+      while (start < clipped.count() && starts[start] < bucketEnd) {
+        while (ends[end] <= starts[start]) {
+          concurrent--;
+          end++;
+        }
+        concurrent++;
+        start++;
+        peak = Math.max(peak, concurrent);
+      }
+      while (end < start && ends[end] <= bucketEnd) {
+        concurrent--;
+        end++;
+      }
+      peaks[bucket] = peak;
+    }
+    return peaks;
+  }
+
+  // Clipped times are kept as nanoseconds after the slot's start, which sort as plain longs
+  private static ClippedTimes clip(List<Reservation> reservations, TimeSlot timeSlot) {
+    LocalDateTime windowStart = timeSlot.start();
+    long windowNanos = timeSlot.duration().toNanos();
+    long[] starts = new long[reservations.size()];
+    long[] ends = new long[reservations.size()];
+    int count = 0;
+    for (Reservation reservation : reservations) {
+      TimeSlot reserved = reservation.getTimeSlot();
+      // An empty reservation occupies no seat, and skipping it keeps every end after its start
+      if (!reserved.conflictsWith(timeSlot) || !reserved.duration().isPositive()) {
+        continue;
+      }
+      long start = Duration.between(windowStart, reserved.start()).toNanos();
+      starts[count] = Math.max(start, 0);
+      ends[count] = Math.min(start + reserved.duration().toNanos(), windowNanos);
+      count++;
+    }
+    Arrays.sort(starts, 0, count);
+    Arrays.sort(ends, 0, count);
+    return new ClippedTimes(starts, ends, count);
+  }
+
+  private record ClippedTimes(long[] starts, long[] ends, int count) {}
+}
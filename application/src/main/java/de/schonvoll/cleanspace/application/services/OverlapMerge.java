@@ -0,0 +1,63 @@
+package de.schonvoll.cleanspace.application.services;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Finds the reservations overlapping each of many time slots in a single merge of two lists sorted
+ * by start time, instead of looking them up once per time slot. Reservations enter the merge when
+ * one of the time slots ends after their start and leave it once one starts after their end, so
+ * every reservation is looked at only while it can still overlap a time slot.
+ */
+final class OverlapMerge {
+  private OverlapMerge() {}
+
+  /** Receives the reservations overlapping one time slot. */
+  @FunctionalInterface
+  interface Visitor {
+    /**
+     * Handles the reservations overlapping one time slot.
+     *
+     * @param index the index of the time slot
+     * @param overlapping the reservations overlapping the time slot
+     * @return whether the merge should go on with the next time slot
+     */
+    boolean visit(int index, List<Reservation> overlapping);
+  }
+
+  /**
+   * Hands the reservations overlapping each time slot to the visitor, in the order of the time
+   * slots, until the visitor stops the merge.
+   *
+   * @param timeSlots the time slots, ordered by start time
+   * @param reservations the reservations to merge with the time slots, in any order
+   * @param visitor the {@link Visitor} to hand the overlapping reservations to
+   */
+  static void forEachTimeSlot(
+      List<TimeSlot> timeSlots, List<Reservation> reservations, Visitor visitor) {
+    List<Reservation> byStart = new ArrayList<>(reservations);
+    byStart.sort(Comparator.comparing(reservation -> reservation.getTimeSlot().start()));
+    List<Reservation> open = new ArrayList<>();
+    int next = 0;
+    for (int index = 0; index < timeSlots.size(); index++) {
+      TimeSlot timeSlot = timeSlots.get(index);
+      while (next < byStart.size()
+          && byStart.get(next).getTimeSlot().start().isBefore(timeSlot.end())) {
+        open.add(byStart.get(next++));
+      }
+      // The time slots are sorted by start, so a reservation ending before this one starts ends
+      // before all of the following ones start as well
+      open.removeIf(reservation -> !reservation.getTimeSlot().end().isAfter(timeSlot.start()));
+      List<Reservation> overlapping =
+          open.stream()
+              .filter(reservation -> reservation.getTimeSlot().conflictsWith(timeSlot))
+              .toList();
+      if (!visitor.visit(index, overlapping)) {
+        return;
+      }
+    }
+  }
+}
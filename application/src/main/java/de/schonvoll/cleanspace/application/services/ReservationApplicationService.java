@@ -1,26 +1,50 @@
 package de.schonvoll.cleanspace.application.services;
 
+import de.schonvoll.cleanspace.application.commands.CreateReservationBatchCommand;
 import de.schonvoll.cleanspace.application.commands.CreateReservationCommand;
 import de.schonvoll.cleanspace.application.commands.FindUserReservationsQuery;
+import de.schonvoll.cleanspace.application.ports.BookingCoordinator;
+import de.schonvoll.cleanspace.application.ports.OccupancyLedger;
+import de.schonvoll.cleanspace.application.results.ReservationBatchItemResult;
+import de.schonvoll.cleanspace.application.results.ReservationPage;
 import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
 import de.schonvoll.cleanspace.domain.entities.User;
 import de.schonvoll.cleanspace.domain.entities.Workspace;
 import de.schonvoll.cleanspace.domain.exceptions.DuplicateReservationException;
 import de.schonvoll.cleanspace.domain.exceptions.WorkspaceFullException;
 import de.schonvoll.cleanspace.domain.exceptions.WorkspaceNotFoundException;
 import de.schonvoll.cleanspace.domain.repositories.ReservationRepository;
+import de.schonvoll.cleanspace.domain.repositories.ReservationSeriesRepository;
 import de.schonvoll.cleanspace.domain.repositories.UserRepository;
 import de.schonvoll.cleanspace.domain.repositories.WorkspaceRepository;
 import de.schonvoll.cleanspace.domain.valueobjects.OpeningHours;
+import de.schonvoll.cleanspace.domain.valueobjects.ReservationCursor;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 
 /** Application service for managing reservation operations. */
 @AllArgsConstructor
 public class ReservationApplicationService {
+  private static final int MAX_PAGE_LIMIT = 100;
+  private static final int MAX_BATCH_SIZE = 1000;
+
   private ReservationRepository reservationRepository;
+  private ReservationSeriesRepository reservationSeriesRepository;
   private WorkspaceRepository workspaceRepository;
   private UserRepository userRepository;
+  private BookingCoordinator bookingCoordinator;
+  private OccupancyLedger occupancyLedger;
+  private AvailabilityCache availabilityCache;
 
   /**
    * Creates a new reservation for a workspace.
@@ -32,7 +56,8 @@ public class ReservationApplicationService {
    * @throws IllegalArgumentException when user is invalid or time slot is outside opening hours
    * @throws DuplicateReservationException when the user already has a reservation for this time
    *     period
-   * @throws WorkspaceFullException when the workspace is already fully booked
+   * @throws WorkspaceFullException when as many reservations as the workspace has seats are held
+   *     at the same time somewhere within the time slot
    */
   public Reservation create(CreateReservationCommand command)
       throws IllegalArgumentException, WorkspaceFullException, DuplicateReservationException {
@@ -51,44 +76,258 @@ public class ReservationApplicationService {
       throw new IllegalArgumentException("No valid timeslot. Command: " + command);
     }
 
-    List<Reservation> concurrentReservations =
-        reservationRepository.findConflictingWithTimeslot(command.timeSlot());
+    // Capacity is checked and the reservation saved while no other booking of the workspace runs,
+    // otherwise concurrent requests could all pass the check and overbook the workspace
+    Reservation created =
+        bookingCoordinator.bookExclusively(
+            workspace.getId(), () -> book(workspace, user, command));
+    // Searches are only outdated once the booking has committed, otherwise one running in between
+    // could cache the state before the booking under the new generation
+    availabilityCache.invalidate(command.timeSlot());
+    return created;
+  }
 
-    boolean isDuplicate =
-        concurrentReservations.stream()
-            .anyMatch(reservation -> reservation.getUserId().equals(user.getId()));
-    if (isDuplicate) {
-      throw new DuplicateReservationException("User has already booked during this time slot.");
+  /**
+   * Creates many reservations at once. Every workspace and user of the batch is looked up only
+   * once, the existing reservations of its workspaces and users within the time range the batch
+   * covers are loaded once per workspace and user, and the reservations that can be booked are
+   * saved together. The reservations are
+   * checked in the order given, each one against the existing reservations and those of the batch
+   * accepted before it, with the same rules as {@link #create}. Occurrences of reservation series
+   * count like single reservations. While the batch is checked and
+   * saved, no other booking of its workspaces runs.
+   *
+   * @param command {@link CreateReservationBatchCommand} containing the reservations and whether
+   *     the batch is all-or-nothing
+   * @return one {@link ReservationBatchItemResult} per reservation, in the order given
+   * @throws IllegalArgumentException when the batch contains no or more than {@value
+   *     #MAX_BATCH_SIZE} reservations
+   */
+  public List<ReservationBatchItemResult> createBatch(CreateReservationBatchCommand command) {
+    List<CreateReservationCommand> items = command.reservations();
+    if (items == null || items.isEmpty() || items.size() > MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException(
+          "A batch needs between 1 and " + MAX_BATCH_SIZE + " reservations.");
     }
 
-    if (workspace.getCapacity() <= concurrentReservations.size()) {
-      throw new WorkspaceFullException("Workspace is already full. Command: " + command);
+    Map<String, Workspace> workspacesByName = new HashMap<>();
+    Map<String, User> usersByEmail = new HashMap<>();
+    List<BatchItem> bookable = new ArrayList<>();
+    ReservationBatchItemResult[] results = new ReservationBatchItemResult[items.size()];
+    for (int index = 0; index < items.size(); index++) {
+      CreateReservationCommand item = items.get(index);
+      // Unknown names and emails are remembered as null, so they are looked up only once as well
+      if (!workspacesByName.containsKey(item.workspaceName())) {
+        workspacesByName.put(
+            item.workspaceName(), workspaceRepository.findByName(item.workspaceName()));
+      }
+      if (!usersByEmail.containsKey(item.userEmail())) {
+        usersByEmail.put(item.userEmail(), userRepository.findByEmail(item.userEmail()));
+      }
+      Workspace workspace = workspacesByName.get(item.workspaceName());
+      User user = usersByEmail.get(item.userEmail());
+      if (workspace == null) {
+        results[index] = ReservationBatchItemResult.failed("Workspace not found. Command: " + item);
+      } else if (user == null) {
+        results[index] = ReservationBatchItemResult.failed("No valid user. Command: " + item);
+      } else if (!workspace.getOpeningHours().isOpenWithin(item.timeSlot())) {
+        results[index] = ReservationBatchItemResult.failed("No valid timeslot. Command: " + item);
+      } else {
+        bookable.add(new BatchItem(index, item, workspace, user, null));
+      }
     }
 
-    Reservation reservation = new Reservation(workspace.getId(), user.getId(), command.timeSlot());
+    if (!bookable.isEmpty() && (!command.allOrNothing() || bookable.size() == items.size())) {
+      Set<UUID> workspaceIds =
+          bookable.stream().map(item -> item.workspace().getId()).collect(Collectors.toSet());
+      List<BatchItem> saved =
+          bookingCoordinator.bookExclusively(
+              workspaceIds, () -> bookBatch(bookable, command.allOrNothing(), results));
+      // Outdated only once the booking has committed, like in create
+      saved.forEach(item -> availabilityCache.invalidate(item.command().timeSlot()));
+    }
 
-    return reservationRepository.save(reservation);
+    for (int index = 0; index < results.length; index++) {
+      if (results[index] == null) {
+        results[index] =
+            ReservationBatchItemResult.failed(
+                "Not saved because another reservation of the batch failed.");
+      }
+    }
+    return List.of(results);
   }
 
   /**
-   * Finds all reservations of a user by their email address.
+   * Finds one page of the reservations of a user by their email address. Pages are cut by start
+   * time and id rather than by offset, so a later page costs the same as the first; one more
+   * reservation than the limit is read to tell whether another page follows.
    *
-   * @param query Contains the user's email address
-   * @return List of all reservations for the user
-   * @throws IllegalArgumentException when email is invalid or user does not exist
+   * @param query Contains the user's email address, the cursor of the previous page and the limit
+   * @return the page of the user's reservations, with the cursor of the next page if there is one
+   * @throws IllegalArgumentException when email is invalid, user does not exist or the limit is out
+   *     of range
    */
-  public List<Reservation> findByUser(FindUserReservationsQuery query) {
+  public ReservationPage findByUser(FindUserReservationsQuery query) {
     String email = query.userEmail();
 
     if (email == null || email.isBlank()) {
       throw new IllegalArgumentException("User email must not be null or empty. Query: " + query);
     }
+    if (query.limit() < 1 || query.limit() > MAX_PAGE_LIMIT) {
+      throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_LIMIT + ".");
+    }
 
     User user = userRepository.findByEmail(email);
     if (user == null) {
       throw new IllegalArgumentException("No valid user. Query: " + query);
     }
 
-    return reservationRepository.findByUserId(user.getId());
+    List<Reservation> found =
+        reservationRepository.findByUserIdAfter(user.getId(), query.after(), query.limit() + 1);
+    if (found.size() <= query.limit()) {
+      return new ReservationPage(found, null);
+    }
+    List<Reservation> page = List.copyOf(found.subList(0, query.limit()));
+    return new ReservationPage(page, ReservationCursor.of(page.getLast()));
+  }
+
+  private Reservation book(Workspace workspace, User user, CreateReservationCommand command) {
+    // A user cannot be in two places at once, so duplicates are checked across all workspaces
+    if (reservationRepository.existsConflictingForUser(user.getId(), command.timeSlot())
+        || hasSeriesOccurrenceDuring(user, command.timeSlot())) {
+      throw new DuplicateReservationException("User has already booked during this time slot.");
+    }
+
+    if (!occupancyLedger.tryOccupy(workspace, command.timeSlot())) {
+      throw new WorkspaceFullException("Workspace is already full. Command: " + command);
+    }
+
+    Reservation reservation = new Reservation(workspace.getId(), user.getId(), command.timeSlot());
+    try {
+      return reservationRepository.save(reservation);
+    } catch (RuntimeException e) {
+      occupancyLedger.release(workspace.getId(), command.timeSlot());
+      throw e;
+    }
+  }
+
+  // Checks the batch against the reservations of the time range it covers and saves what passes,
+  // filling in the results of the items it decided on, and returns the items it saved
+  private List<BatchItem> bookBatch(
+      List<BatchItem> bookable, boolean allOrNothing, ReservationBatchItemResult[] results) {
+    LocalDateTime rangeStart = bookable.getFirst().command().timeSlot().start();
+    LocalDateTime rangeEnd = bookable.getFirst().command().timeSlot().end();
+    for (BatchItem item : bookable) {
+      TimeSlot timeSlot = item.command().timeSlot();
+      rangeStart = timeSlot.start().isBefore(rangeStart) ? timeSlot.start() : rangeStart;
+      rangeEnd = timeSlot.end().isAfter(rangeEnd) ? timeSlot.end() : rangeEnd;
+    }
+    TimeSlot range = new TimeSlot(rangeStart, Duration.between(rangeStart, rangeEnd));
+    // Only the batch's own workspaces and users are read, not every reservation of the range
+    Map<UUID, List<Reservation>> reservationsByWorkspace = new HashMap<>();
+    Map<UUID, List<Reservation>> reservationsByUser = new HashMap<>();
+    for (BatchItem item : bookable) {
+      UUID workspaceId = item.workspace().getId();
+      if (!reservationsByWorkspace.containsKey(workspaceId)) {
+        List<Reservation> inWorkspace =
+            new ArrayList<>(reservationRepository.findConflictingInWorkspace(workspaceId, range));
+        for (ReservationSeries series :
+            reservationSeriesRepository.findOverlappingInWorkspace(workspaceId, range)) {
+          inWorkspace.addAll(series.reservationsWithin(range));
+        }
+        reservationsByWorkspace.put(workspaceId, inWorkspace);
+      }
+      UUID userId = item.user().getId();
+      if (!reservationsByUser.containsKey(userId)) {
+        List<Reservation> ofUser =
+            new ArrayList<>(reservationRepository.findConflictingForUser(userId, range));
+        for (ReservationSeries series :
+            reservationSeriesRepository.findOverlappingForUser(userId, range)) {
+          ofUser.addAll(series.reservationsWithin(range));
+        }
+        reservationsByUser.put(userId, ofUser);
+      }
+    }
+
+    List<BatchItem> accepted = new ArrayList<>();
+    boolean anyFailed = false;
+    for (BatchItem item : bookable) {
+      TimeSlot timeSlot = item.command().timeSlot();
+      List<Reservation> ofUser = reservationsByUser.getOrDefault(item.user().getId(), List.of());
+      List<Reservation> inWorkspace =
+          reservationsByWorkspace.getOrDefault(item.workspace().getId(), List.of());
+      String error = null;
+      // A user cannot be in two places at once, so duplicates are checked across all workspaces
+      if (ofUser.stream()
+          .anyMatch(reservation -> reservation.getTimeSlot().conflictsWith(timeSlot))) {
+        error = "User has already booked during this time slot. Command: " + item.command();
+      } else if (isFullDuring(item.workspace(), inWorkspace, timeSlot)
+          || !occupancyLedger.tryOccupyChecked(item.workspace(), timeSlot)) {
+        error = "Workspace is already full. Command: " + item.command();
+      }
+      if (error != null) {
+        results[item.index()] = ReservationBatchItemResult.failed(error);
+        anyFailed = true;
+        continue;
+      }
+      Reservation reservation =
+          new Reservation(item.workspace().getId(), item.user().getId(), timeSlot);
+      addTo(reservationsByWorkspace, reservation.getWorkspaceId(), reservation);
+      addTo(reservationsByUser, reservation.getUserId(), reservation);
+      accepted.add(item.withReservation(reservation));
+    }
+
+    if (allOrNothing && anyFailed) {
+      releaseAll(accepted);
+      return List.of();
+    }
+    List<Reservation> saved;
+    try {
+      saved = reservationRepository.saveAll(accepted.stream().map(BatchItem::reservation).toList());
+    } catch (RuntimeException e) {
+      releaseAll(accepted);
+      throw e;
+    }
+    for (int i = 0; i < accepted.size(); i++) {
+      results[accepted.get(i).index()] = ReservationBatchItemResult.saved(saved.get(i));
+    }
+    return accepted;
+  }
+
+  private boolean hasSeriesOccurrenceDuring(User user, TimeSlot timeSlot) {
+    return reservationSeriesRepository.findOverlappingForUser(user.getId(), timeSlot).stream()
+        .anyMatch(series -> !series.occurrencesWithin(timeSlot).isEmpty());
+  }
+
+  private static boolean isFullDuring(
+      Workspace workspace, List<Reservation> reservations, TimeSlot timeSlot) {
+    List<Reservation> overlapping =
+        reservations.stream()
+            .filter(reservation -> reservation.getTimeSlot().conflictsWith(timeSlot))
+            .toList();
+    return overlapping.size() >= workspace.getCapacity()
+        && OccupancyCalculator.peakConcurrency(overlapping, timeSlot) >= workspace.getCapacity();
+  }
+
+  private void releaseAll(List<BatchItem> accepted) {
+    for (BatchItem item : accepted) {
+      occupancyLedger.release(item.workspace().getId(), item.command().timeSlot());
+    }
+  }
+
+  private static void addTo(
+      Map<UUID, List<Reservation>> reservationsByOwner, UUID ownerId, Reservation reservation) {
+    reservationsByOwner.computeIfAbsent(ownerId, id -> new ArrayList<>()).add(reservation);
+  }
+
+  private record BatchItem(
+      int index,
+      CreateReservationCommand command,
+      Workspace workspace,
+      User user,
+      Reservation reservation) {
+    private BatchItem withReservation(Reservation reservation) {
+      return new BatchItem(index, command, workspace, user, reservation);
+    }
   }
 }
@@ -0,0 +1,302 @@
+package de.schonvoll.cleanspace.application.services;
+
+import de.schonvoll.cleanspace.application.commands.CancelOccurrenceCommand;
+import de.schonvoll.cleanspace.application.commands.CreateReservationSeriesCommand;
+import de.schonvoll.cleanspace.application.commands.FindSeriesOccurrencesQuery;
+import de.schonvoll.cleanspace.application.commands.MoveOccurrenceCommand;
+import de.schonvoll.cleanspace.application.ports.BookingCoordinator;
+import de.schonvoll.cleanspace.application.ports.OccupancyLedger;
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
+import de.schonvoll.cleanspace.domain.entities.User;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.exceptions.DuplicateReservationException;
+import de.schonvoll.cleanspace.domain.exceptions.WorkspaceFullException;
+import de.schonvoll.cleanspace.domain.exceptions.WorkspaceNotFoundException;
+import de.schonvoll.cleanspace.domain.repositories.ReservationRepository;
+import de.schonvoll.cleanspace.domain.repositories.ReservationSeriesRepository;
+import de.schonvoll.cleanspace.domain.repositories.UserRepository;
+import de.schonvoll.cleanspace.domain.repositories.WorkspaceRepository;
+import de.schonvoll.cleanspace.domain.valueobjects.OccurrenceOverride;
+import de.schonvoll.cleanspace.domain.valueobjects.RecurrenceRule;
+import de.schonvoll.cleanspace.domain.valueobjects.SeriesOccurrence;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+
+/**
+ * Application service for managing recurring reservations. A series is saved as a single entity
+ * and its occurrences are computed when they are needed, see {@link ReservationSeries}. Single
+ * occurrences are cancelled or moved by saving an {@link OccurrenceOverride}.
+ */
+@AllArgsConstructor
+public class ReservationSeriesApplicationService {
+  static final int MAX_OCCURRENCES = 1000;
+
+  private ReservationRepository reservationRepository;
+  private ReservationSeriesRepository reservationSeriesRepository;
+  private WorkspaceRepository workspaceRepository;
+  private UserRepository userRepository;
+  private BookingCoordinator bookingCoordinator;
+  private OccupancyLedger occupancyLedger;
+  private AvailabilityCache availabilityCache;
+
+  /**
+   * Creates a new reservation series for a workspace. All occurrences are checked against the
+   * existing reservations and series occurrences of the user and the workspace in one merge of
+   * sorted lists, instead of one lookup per occurrence.
+   *
+   * @param command {@link CreateReservationSeriesCommand} containing all necessary information for
+   *     the series
+   * @return The created and saved series
+   * @throws WorkspaceNotFoundException when the workspace does not exist
+   * @throws IllegalArgumentException when user, recurrence rule or exceptions are invalid, the
+   *     occurrences are outside opening hours or would overlap each other, or the series has more
+   *     than {@value #MAX_OCCURRENCES} occurrences
+   * @throws DuplicateReservationException when the user already has a reservation during one of the
+   *     occurrences
+   * @throws WorkspaceFullException when the workspace is full during one of the occurrences
+   */
+  public ReservationSeries create(CreateReservationSeriesCommand command)
+      throws IllegalArgumentException, WorkspaceFullException, DuplicateReservationException {
+    Workspace workspace = workspaceRepository.findByName(command.workspaceName());
+    if (workspace == null) {
+      throw new WorkspaceNotFoundException("Command: " + command);
+    }
+
+    User user = userRepository.findByEmail(command.userEmail());
+    if (user == null) {
+      throw new IllegalArgumentException("No valid user. Command: " + command);
+    }
+
+    RecurrenceRule rule = command.recurrenceRule();
+    if (rule == null || !rule.isValid()) {
+      throw new IllegalArgumentException("No valid recurrence rule. Command: " + command);
+    }
+
+    // All occurrences start at the same time of day, so checking the first one checks them all
+    TimeSlot firstOccurrence = command.firstOccurrence();
+    if (!workspace.getOpeningHours().isOpenWithin(firstOccurrence)) {
+      throw new IllegalArgumentException("No valid timeslot. Command: " + command);
+    }
+    if (firstOccurrence.duration().compareTo(Duration.ofDays(rule.periodInDays())) > 0) {
+      throw new IllegalArgumentException(
+          "Every occurrence must end before the next one starts. Command: " + command);
+    }
+
+    ReservationSeries series =
+        new ReservationSeries(workspace.getId(), user.getId(), firstOccurrence, rule);
+    if (series.scheduledCount() < 1 || series.scheduledCount() > MAX_OCCURRENCES) {
+      throw new IllegalArgumentException(
+          "A series needs between 1 and " + MAX_OCCURRENCES + " occurrences. Command: " + command);
+    }
+    if (command.exceptions() != null) {
+      for (LocalDate exception : command.exceptions()) {
+        series = series.withOverride(OccurrenceOverride.cancelled(exception));
+      }
+    }
+    List<SeriesOccurrence> occurrences = series.occurrences().toList();
+    if (occurrences.isEmpty()) {
+      throw new IllegalArgumentException(
+          "Every occurrence of the series is an exception. Command: " + command);
+    }
+    List<TimeSlot> timeSlots = occurrences.stream().map(SeriesOccurrence::timeSlot).toList();
+
+    ReservationSeries newSeries = series;
+    // Capacity is checked and the series saved while no other booking of the workspace runs,
+    // otherwise concurrent requests could all pass the check and overbook the workspace
+    return bookExclusively(
+        workspace.getId(),
+        written -> {
+          // A user cannot be in two places at once, so duplicates are checked across all workspaces
+          List<Reservation> ofUser =
+              new ArrayList<>(
+                  reservationRepository.findConflictingForUser(user.getId(), newSeries.span()));
+          ofUser.addAll(seriesOccurrencesOfUser(user.getId(), newSeries.span(), null));
+          LocalDate[] duplicate = new LocalDate[1];
+          OverlapMerge.forEachTimeSlot(
+              timeSlots,
+              ofUser,
+              (index, overlapping) -> {
+                if (!overlapping.isEmpty()) {
+                  duplicate[0] = occurrences.get(index).occurrenceDate();
+                }
+                return duplicate[0] == null;
+              });
+          if (duplicate[0] != null) {
+            throw new DuplicateReservationException(
+                "User has already booked during the occurrence on " + duplicate[0] + ".");
+          }
+
+          if (!occupancyLedger.tryOccupyAll(workspace, timeSlots)) {
+            throw new WorkspaceFullException(
+                "Workspace is already full during an occurrence. Command: " + command);
+          }
+
+          ReservationSeries saved;
+          try {
+            saved = reservationSeriesRepository.save(newSeries);
+          } catch (RuntimeException e) {
+            timeSlots.forEach(timeSlot -> occupancyLedger.release(workspace.getId(), timeSlot));
+            throw e;
+          }
+          written.addAll(timeSlots);
+          return saved;
+        });
+  }
+
+  /**
+   * Finds the occurrences of a reservation series within a time slot.
+   *
+   * @param query {@link FindSeriesOccurrencesQuery} containing the series and the time slot
+   * @return list of the occurrences within the time slot, ordered by start time
+   * @throws IllegalArgumentException when the series does not exist
+   */
+  public List<SeriesOccurrence> findOccurrences(FindSeriesOccurrencesQuery query) {
+    ReservationSeries series = reservationSeriesRepository.findById(query.seriesId());
+    if (series == null) {
+      throw new IllegalArgumentException("No valid reservation series. Query: " + query);
+    }
+    return series.occurrencesWithin(query.window());
+  }
+
+  /**
+   * Cancels a single occurrence of a reservation series and frees its seat.
+   *
+   * @param command {@link CancelOccurrenceCommand} containing the series and the occurrence date
+   * @throws IllegalArgumentException when the series does not exist or has no occurrence on that
+   *     date that is not cancelled yet
+   */
+  public void cancelOccurrence(CancelOccurrenceCommand command) throws IllegalArgumentException {
+    ReservationSeries series = findSeries(command.seriesId(), command);
+    bookExclusively(
+        series.getWorkspaceId(),
+        written -> {
+          // Read again under the lock, so the same occurrence cannot be cancelled twice
+          ReservationSeries current = findSeries(command.seriesId(), command);
+          SeriesOccurrence occurrence = findOccurrence(current, command.occurrenceDate(), command);
+          reservationSeriesRepository.saveOverride(
+              command.seriesId(), OccurrenceOverride.cancelled(command.occurrenceDate()));
+          occupancyLedger.release(series.getWorkspaceId(), occurrence.timeSlot());
+          written.add(occurrence.timeSlot());
+          return null;
+        });
+  }
+
+  /**
+   * Moves a single occurrence of a reservation series to another time slot. The occurrence is
+   * checked at its new time like a new reservation, without counting against itself.
+   *
+   * @param command {@link MoveOccurrenceCommand} containing the series, the occurrence date and the
+   *     new time slot
+   * @return the moved occurrence
+   * @throws IllegalArgumentException when the series does not exist, has no occurrence on that date
+   *     that is not cancelled, or the new time slot is outside opening hours
+   * @throws DuplicateReservationException when the user already has a reservation during the new
+   *     time slot
+   * @throws WorkspaceFullException when the workspace is full during the new time slot
+   */
+  public SeriesOccurrence moveOccurrence(MoveOccurrenceCommand command)
+      throws IllegalArgumentException, WorkspaceFullException, DuplicateReservationException {
+    ReservationSeries series = findSeries(command.seriesId(), command);
+    Workspace workspace = workspaceRepository.findById(series.getWorkspaceId());
+    if (workspace == null) {
+      throw new WorkspaceNotFoundException("Command: " + command);
+    }
+    TimeSlot timeSlot = command.timeSlot();
+    if (!workspace.getOpeningHours().isOpenWithin(timeSlot)) {
+      throw new IllegalArgumentException("No valid timeslot. Command: " + command);
+    }
+
+    return bookExclusively(
+        workspace.getId(),
+        written -> {
+          ReservationSeries current = findSeries(command.seriesId(), command);
+          LocalDate date = command.occurrenceDate();
+          SeriesOccurrence occurrence = findOccurrence(current, date, command);
+
+          boolean userBusy =
+              reservationRepository.existsConflictingForUser(current.getUserId(), timeSlot)
+                  || !seriesOccurrencesOfUser(
+                          current.getUserId(), timeSlot, current.occurrenceId(date))
+                      .isEmpty();
+          if (userBusy) {
+            throw new DuplicateReservationException(
+                "User has already booked during this time slot.");
+          }
+
+          // The occurrence gives up its old seat first, so it does not count against itself when
+          // the new time overlaps the old one, and gets it back if the new time is full
+          OccurrenceOverride previous = current.getOverrides().get(date);
+          // A search may see the old seat free in between, even if the move fails
+          written.add(occurrence.timeSlot());
+          reservationSeriesRepository.saveOverride(
+              current.getId(), OccurrenceOverride.cancelled(date));
+          occupancyLedger.release(workspace.getId(), occurrence.timeSlot());
+          if (!occupancyLedger.tryOccupy(workspace, timeSlot)) {
+            reservationSeriesRepository.saveOverride(
+                current.getId(),
+                previous != null
+                    ? previous
+                    : OccurrenceOverride.movedTo(date, occurrence.timeSlot()));
+            occupancyLedger.tryOccupy(workspace, occurrence.timeSlot());
+            throw new WorkspaceFullException("Workspace is already full. Command: " + command);
+          }
+          reservationSeriesRepository.saveOverride(
+              current.getId(), OccurrenceOverride.movedTo(date, timeSlot));
+          written.add(timeSlot);
+          return new SeriesOccurrence(date, timeSlot);
+        });
+  }
+
+  // Runs a booking exclusively and outdates the searches of the time slots it wrote once it has
+  // returned or failed, that is after it committed or rolled back. Outdating them before, a search
+  // running in between could cache the state before the booking under the new generation
+  private <T> T bookExclusively(UUID workspaceId, Function<List<TimeSlot>, T> booking) {
+    List<TimeSlot> written = new ArrayList<>();
+    try {
+      return bookingCoordinator.bookExclusively(workspaceId, () -> booking.apply(written));
+    } finally {
+      written.forEach(availabilityCache::invalidate);
+    }
+  }
+
+  private ReservationSeries findSeries(UUID seriesId, Record command) {
+    ReservationSeries series = reservationSeriesRepository.findById(seriesId);
+    if (series == null) {
+      throw new IllegalArgumentException("No valid reservation series. Command: " + command);
+    }
+    return series;
+  }
+
+  private static SeriesOccurrence findOccurrence(
+      ReservationSeries series, LocalDate occurrenceDate, Record command) {
+    SeriesOccurrence occurrence = series.occurrenceOn(occurrenceDate);
+    if (occurrence == null) {
+      throw new IllegalArgumentException(
+          "No occurrence of the series on this date. Command: " + command);
+    }
+    return occurrence;
+  }
+
+  // Computes the occurrences of the user's series within the time slot as reservations, leaving
+  // out the occurrence with the given ID
+  private List<Reservation> seriesOccurrencesOfUser(
+      UUID userId, TimeSlot timeSlot, UUID leftOutOccurrenceId) {
+    List<Reservation> occurrences = new ArrayList<>();
+    for (ReservationSeries series :
+        reservationSeriesRepository.findOverlappingForUser(userId, timeSlot)) {
+      for (Reservation occurrence : series.reservationsWithin(timeSlot)) {
+        if (!occurrence.getId().equals(leftOutOccurrenceId)) {
+          occurrences.add(occurrence);
+        }
+      }
+    }
+    return occurrences;
+  }
+}
@@ -0,0 +1,143 @@
+package de.schonvoll.cleanspace.application.services;
+
+import de.schonvoll.cleanspace.application.ports.BookingCoordinator;
+import de.schonvoll.cleanspace.application.ports.OccupancyLedger;
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.repositories.ReservationRepository;
+import de.schonvoll.cleanspace.domain.repositories.ReservationSeriesRepository;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+
+/**
+ * {@link OccupancyLedger} that keeps no state of its own and reads the occupancy from the saved
+ * reservations and the occurrences of saved reservation series instead. A seat is free when fewer
+ * of them than the workspace has seats are held at the same time within the time slot, see {@link
+ * OccupancyCalculator}. Since the check and the later save are separate steps, bookings must run
+ * under a {@link BookingCoordinator}.
+ */
+@AllArgsConstructor
+public class ScanningOccupancyLedger implements OccupancyLedger {
+  private final ReservationRepository reservationRepository;
+  private final ReservationSeriesRepository reservationSeriesRepository;
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean tryOccupy(Workspace workspace, TimeSlot timeSlot) {
+    List<Reservation> occurrences = occurrencesWithin(workspace.getId(), timeSlot);
+    // Fewer overlapping reservations than seats can never fill the workspace, so only then are the
+    // reservations loaded to check whether enough of them are held at the same time
+    long overlapping =
+        reservationRepository.countConflictingInWorkspace(workspace.getId(), timeSlot)
+            + occurrences.size();
+    if (overlapping < workspace.getCapacity()) {
+      return true;
+    }
+    List<Reservation> conflicting =
+        new ArrayList<>(
+            reservationRepository.findConflictingInWorkspace(workspace.getId(), timeSlot));
+    conflicting.addAll(occurrences);
+    return OccupancyCalculator.peakConcurrency(conflicting, timeSlot) < workspace.getCapacity();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Nothing to read, the seat is held by the saved reservations the caller checked against.
+   */
+  @Override
+  public boolean tryOccupyChecked(Workspace workspace, TimeSlot timeSlot) {
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The reservations of the whole range the time slots cover are read once and merged with the
+   * time slots, see {@link OverlapMerge}.
+   */
+  @Override
+  public boolean tryOccupyAll(Workspace workspace, List<TimeSlot> timeSlots) {
+    if (timeSlots.isEmpty()) {
+      return true;
+    }
+    TimeSlot range =
+        new TimeSlot(
+            timeSlots.getFirst().start(),
+            Duration.between(timeSlots.getFirst().start(), timeSlots.getLast().end()));
+    List<Reservation> existing =
+        new ArrayList<>(reservationRepository.findConflictingInWorkspace(workspace.getId(), range));
+    existing.addAll(occurrencesWithin(workspace.getId(), range));
+    boolean[] free = {true};
+    OverlapMerge.forEachTimeSlot(
+        timeSlots,
+        existing,
+        (index, overlapping) -> {
+          free[0] =
+              overlapping.size() < workspace.getCapacity()
+                  || OccupancyCalculator.peakConcurrency(overlapping, timeSlots.get(index))
+                      < workspace.getCapacity();
+          return free[0];
+        });
+    return free[0];
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Nothing to do, a seat is only held by its saved reservation.
+   */
+  @Override
+  public void release(UUID workspaceId, TimeSlot timeSlot) {}
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The reservations and series occurrences of the whole range are read once for all
+   * workspaces, and every workspace's buckets are filled by one sweep over its reservations.
+   */
+  @Override
+  public Map<UUID, int[]> takenSeats(
+      Collection<UUID> workspaceIds, TimeSlot range, Duration bucketSize) {
+    Map<UUID, List<Reservation>> reservationsByWorkspace = new HashMap<>();
+    for (UUID workspaceId : workspaceIds) {
+      reservationsByWorkspace.put(workspaceId, new ArrayList<>());
+    }
+    List<Reservation> existing =
+        new ArrayList<>(reservationRepository.findConflictingWithTimeslot(range));
+    for (ReservationSeries series : reservationSeriesRepository.findOverlapping(range)) {
+      existing.addAll(series.reservationsWithin(range));
+    }
+    for (Reservation reservation : existing) {
+      List<Reservation> ofWorkspace = reservationsByWorkspace.get(reservation.getWorkspaceId());
+      if (ofWorkspace != null) {
+        ofWorkspace.add(reservation);
+      }
+    }
+
+    Map<UUID, int[]> takenSeats = new HashMap<>();
+    reservationsByWorkspace.forEach(
+        (workspaceId, reservations) ->
+            takenSeats.put(
+                workspaceId,
+                OccupancyCalculator.peakConcurrencyPerBucket(reservations, range, bucketSize)));
+    return takenSeats;
+  }
+
+  private List<Reservation> occurrencesWithin(UUID workspaceId, TimeSlot timeSlot) {
+    List<Reservation> occurrences = new ArrayList<>();
+    for (ReservationSeries series :
+        reservationSeriesRepository.findOverlappingInWorkspace(workspaceId, timeSlot)) {
+      occurrences.addAll(series.reservationsWithin(timeSlot));
+    }
+    return occurrences;
+  }
+}
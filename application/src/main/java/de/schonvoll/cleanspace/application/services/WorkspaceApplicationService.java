@@ -2,23 +2,47 @@ package de.schonvoll.cleanspace.application.services;
 
 import de.schonvoll.cleanspace.application.commands.CreateWorkspaceCommand;
 import de.schonvoll.cleanspace.application.commands.FindAvailableWorkspacesQuery;
+import de.schonvoll.cleanspace.application.commands.FindEarliestAvailableQuery;
+import de.schonvoll.cleanspace.application.ports.OccupancyLedger;
+import de.schonvoll.cleanspace.application.results.AvailabilityCacheStats;
+import de.schonvoll.cleanspace.application.results.AvailableSlotResult;
 import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
 import de.schonvoll.cleanspace.domain.entities.Workspace;
 import de.schonvoll.cleanspace.domain.exceptions.DuplicateWorkspaceException;
 import de.schonvoll.cleanspace.domain.exceptions.OpeningHoursInvalidException;
 import de.schonvoll.cleanspace.domain.repositories.ReservationRepository;
+import de.schonvoll.cleanspace.domain.repositories.ReservationSeriesRepository;
 import de.schonvoll.cleanspace.domain.repositories.WorkspaceRepository;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceProperty;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspacePropertySet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 
 /** Application service for managing workspace operations. */
 @AllArgsConstructor
 public class WorkspaceApplicationService {
+  private static final int MAX_WORKSPACE_NAME_LENGTH = 125;
+  private static final int MIN_WORKSPACE_CAPACITY = 1;
+  private static final Duration MAX_SEARCH_WINDOW = Duration.ofDays(31);
+  private static final int MAX_SEARCH_LIMIT = 100;
+
   private final WorkspaceRepository workspaceRepository;
   private final ReservationRepository reservationRepository;
+  private final ReservationSeriesRepository reservationSeriesRepository;
+  private final OccupancyLedger occupancyLedger;
+  private final AvailabilityCache availabilityCache;
+  private final AvailabilityEvaluator availabilityEvaluator;
+  private final AtomicReference<WorkspaceCatalogIndex> catalogIndex = new AtomicReference<>();
 
   /**
    * Creates a new workspace in the system.
@@ -29,19 +53,12 @@ public class WorkspaceApplicationService {
    * @throws OpeningHoursInvalidException when opening hours are null or invalid
    * @throws DuplicateWorkspaceException when a workspace with the same name already exists
    */
-  private static final int MAX_WORKSPACE_NAME_LENGTH = 125;
-  private static final int MIN_WORKSPACE_CAPACITY = 1;
-
   public Workspace create(CreateWorkspaceCommand command)
       throws IllegalArgumentException, OpeningHoursInvalidException, DuplicateWorkspaceException {
     if (command.name() == null || command.name().isBlank() || command.name().length() > MAX_WORKSPACE_NAME_LENGTH) {
       throw new IllegalArgumentException(
           "Workspace name must be set and shorter than " + MAX_WORKSPACE_NAME_LENGTH + " characters.");
     }
-    if (workspaceRepository.findByName(command.name()) != null) {
-      throw new DuplicateWorkspaceException(
-          "It already exists a workspace with the name: " + command.name());
-    }
     if (command.openingHours() == null || !command.openingHours().isValid()) {
       throw new OpeningHoursInvalidException("Opening Hours must be set and valid.");
     }
@@ -55,50 +72,132 @@ public class WorkspaceApplicationService {
             .capacity(command.capacity())
             .properties(command.properties())
             .build();
+    // The repository checks the name and inserts atomically, so concurrent creates cannot both pass
     return workspaceRepository.save(workspace);
   }
 
   /**
    * Finds all workspaces available for the specified time slot and criteria. Filters by minimum
-   * capacity, required properties, and checks for conflicting reservations.
+   * capacity, required properties, and checks that fewer reservations and series occurrences than
+   * the workspace has seats are held at the same time anywhere within the time slot. The capacity
+   * and property filters are answered by a {@link WorkspaceCatalogIndex}, which is rebuilt only
+   * when the workspace catalog version changes. The taken seats are read from the {@link
+   * OccupancyLedger} that bookings are checked against, so a workspace is only reported available
+   * when a booking of it would be accepted; large candidate lists are read in chunks in parallel
+   * by the {@link AvailabilityEvaluator}. Results are served from the {@link AvailabilityCache}
+   * until a workspace is saved or a reservation is written on a day of the time slot.
    *
    * @param query {@link FindAvailableWorkspacesQuery} Contains time slot, optional minimum capacity
    *     and required properties
    * @return List of workspaces that meet all criteria and have available capacity
    */
   public List<Workspace> findAvailable(FindAvailableWorkspacesQuery query) {
-    List<Workspace> workspaces = workspaceRepository.findAll();
+    WorkspaceCatalogIndex index = currentCatalogIndex();
+    return availabilityCache.get(query, index.version(), () -> searchAvailable(index, query));
+  }
+
+  /**
+   * Reads the counters of the cache in front of {@link #findAvailable}.
+   *
+   * @return the hits, misses, stale entries and evictions of the cache
+   */
+  public AvailabilityCacheStats availabilityCacheStats() {
+    return availabilityCache.stats();
+  }
+
+  /**
+   * Finds the earliest time slots of the requested length at which a workspace matching the
+   * capacity and property filters can still be booked within the search window. Instead of
+   * probing every possible start time, the reservations and series occurrences of the whole window
+   * are read once and each workspace's timeline is swept for gaps by {@link GapSearch}. Every gap
+   * long enough for the slot yields one result with its earliest start, so a workspace free all
+   * afternoon is reported once rather than once per minute.
+   *
+   * @param query {@link FindEarliestAvailableQuery} Contains the search window, optional daily
+   *     hours, the slot length, the number of slots to find and the workspace filters
+   * @return at most {@code query.limit()} time slots, ordered by start time and workspace name
+   * @throws IllegalArgumentException when the window, daily hours, duration or limit are invalid
+   */
+  public List<AvailableSlotResult> findEarliestAvailable(FindEarliestAvailableQuery query)
+      throws IllegalArgumentException {
+    TimeSlot window = query.window();
+    if (window == null || !window.duration().isPositive()) {
+      throw new IllegalArgumentException("Search window must be set and end after it starts.");
+    }
+    if (window.duration().compareTo(MAX_SEARCH_WINDOW) > 0) {
+      throw new IllegalArgumentException(
+          "Search window must not be longer than " + MAX_SEARCH_WINDOW.toDays() + " days.");
+    }
+    if (query.duration() == null || !query.duration().isPositive()) {
+      throw new IllegalArgumentException("Duration must be set and positive.");
+    }
+    if (query.dailyFrom() != null
+        && query.dailyTo() != null
+        && !query.dailyFrom().isBefore(query.dailyTo())) {
+      throw new IllegalArgumentException("Daily hours must start before they end.");
+    }
+    if (query.limit() < 1 || query.limit() > MAX_SEARCH_LIMIT) {
+      throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_LIMIT + ".");
+    }
 
     List<Workspace> candidates =
-        workspaces.stream()
-            .filter(
-                workspace ->
-                    query
-                        .minCapacity()
-                        .map(minCap -> workspace.getCapacity() >= minCap)
-                        .orElse(true))
-            .filter(
-                workspace ->
-                    query
-                        .requiredProperties()
-                        .map(properties -> workspace.getProperties().containsAll(properties))
-                        .orElse(true))
-            .toList();
+        currentCatalogIndex()
+            .select(query.minCapacity(), encodeRequired(query.requiredProperties()));
+    Map<UUID, List<Reservation>> reservationsByWorkspace = reservationsByWorkspace(window);
 
-    List<Reservation> conflictingReservations =
-        reservationRepository.findConflictingWithTimeslot(query.timeSlot());
+    List<AvailableSlotResult> slots = new ArrayList<>();
+    for (Workspace workspace : candidates) {
+      // Each workspace reports its gaps in time order, so it never needs more than the limit
+      slots.addAll(
+          GapSearch.earliestGaps(
+              workspace,
+              reservationsByWorkspace.getOrDefault(workspace.getId(), List.of()),
+              query));
+    }
+    slots.sort(
+        Comparator.comparing((AvailableSlotResult slot) -> slot.timeSlot().start())
+            .thenComparing(slot -> slot.workspace().getName()));
+    return slots.size() > query.limit() ? List.copyOf(slots.subList(0, query.limit())) : slots;
+  }
+
+  // Computes the result of findAvailable against one version of the catalog
+  private List<Workspace> searchAvailable(
+      WorkspaceCatalogIndex index, FindAvailableWorkspacesQuery query) {
+    List<Workspace> candidates =
+        index.select(query.minCapacity(), encodeRequired(query.requiredProperties()));
+    // An empty time slot takes no seat, so every candidate has room for it
+    if (!query.timeSlot().duration().isPositive()) {
+      return candidates;
+    }
+    return availabilityEvaluator.filterAvailable(candidates, query.timeSlot(), occupancyLedger);
+  }
 
-    Map<UUID, Long> reservationCountByWorkspace =
-        conflictingReservations.stream()
-            .collect(Collectors.groupingBy(Reservation::getWorkspaceId, Collectors.counting()));
+  // Encodes the required properties once, so the index only compares dictionary ids
+  private static WorkspacePropertySet encodeRequired(
+      Optional<List<WorkspaceProperty>> requiredProperties) {
+    return requiredProperties.map(WorkspacePropertySet::lookup).orElse(WorkspacePropertySet.EMPTY);
+  }
 
-    return candidates.stream()
-        .filter(
-            workspace -> {
-              long existingReservations =
-                  reservationCountByWorkspace.getOrDefault(workspace.getId(), 0L);
-              return workspace.getCapacity() > existingReservations;
-            })
-        .toList();
+  // Reads the reservations and series occurrences overlapping the time slot in one go
+  private Map<UUID, List<Reservation>> reservationsByWorkspace(TimeSlot timeSlot) {
+    List<Reservation> conflictingReservations =
+        new ArrayList<>(reservationRepository.findConflictingWithTimeslot(timeSlot));
+    for (ReservationSeries series : reservationSeriesRepository.findOverlapping(timeSlot)) {
+      conflictingReservations.addAll(series.reservationsWithin(timeSlot));
+    }
+    return conflictingReservations.stream()
+        .collect(Collectors.groupingBy(Reservation::getWorkspaceId));
+  }
+
+  // Only the version is read while it is unchanged, the workspaces are loaded once per version
+  private WorkspaceCatalogIndex currentCatalogIndex() {
+    long version = workspaceRepository.catalogVersion();
+    WorkspaceCatalogIndex index = catalogIndex.get();
+    if (index == null || index.version() != version) {
+      // Concurrent rebuilds of the same version are harmless, the last one simply wins
+      index = WorkspaceCatalogIndex.of(workspaceRepository.findCatalog());
+      catalogIndex.set(index);
+    }
+    return index;
   }
 }
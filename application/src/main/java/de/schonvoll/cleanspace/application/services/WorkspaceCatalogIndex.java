@@ -0,0 +1,135 @@
+package de.schonvoll.cleanspace.application.services;
+
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceCatalog;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceProperty;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspacePropertySet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Search index over one {@link WorkspaceCatalog}. Every workspace is identified by its position in
+ * the catalog. Each {@link WorkspaceProperty} id from the property dictionary maps to a bitmap of
+ * the positions of the workspaces that have it, so a filter on several required properties is an
+ * intersection of bitmaps, looked up by array index rather than by hashing strings. The
+ * positions are also kept sorted by capacity, so a minimum capacity is a binary search for where
+ * the matching range starts.
+ */
+final class WorkspaceCatalogIndex {
+  private final WorkspaceCatalog catalog;
+  private final BitSet[] positionsByPropertyId;
+  private final int[] capacitiesAscending;
+  private final int[] positionsByCapacity;
+
+  private WorkspaceCatalogIndex(
+      WorkspaceCatalog catalog,
+      BitSet[] positionsByPropertyId,
+      int[] capacitiesAscending,
+      int[] positionsByCapacity) {
+    this.catalog = catalog;
+    this.positionsByPropertyId = positionsByPropertyId;
+    this.capacitiesAscending = capacitiesAscending;
+    this.positionsByCapacity = positionsByCapacity;
+  }
+
+  /**
+   * Builds the index for the given catalog.
+   *
+   * @param catalog the {@link WorkspaceCatalog} to index
+   * @return the index of the catalog
+   */
+  static WorkspaceCatalogIndex of(WorkspaceCatalog catalog) {
+    List<Workspace> workspaces = catalog.workspaces();
+    BitSet[] positionsByPropertyId = new BitSet[0];
+    // Capacity in the high and position in the low half, so sorting orders by capacity
+    long[] capacityAndPosition = new long[workspaces.size()];
+    for (int position = 0; position < workspaces.size(); position++) {
+      Workspace workspace = workspaces.get(position);
+      WorkspacePropertySet properties = workspace.getPropertySet();
+      for (int i = 0; properties != null && i < properties.size(); i++) {
+        int id = properties.idAt(i);
+        if (id >= positionsByPropertyId.length) {
+          positionsByPropertyId = Arrays.copyOf(positionsByPropertyId, id + 1);
+        }
+        if (positionsByPropertyId[id] == null) {
+          positionsByPropertyId[id] = new BitSet(workspaces.size());
+        }
+        positionsByPropertyId[id].set(position);
+      }
+      capacityAndPosition[position] = ((long) workspace.getCapacity() << 32) | position;
+    }
+    Arrays.sort(capacityAndPosition);
+    int[] capacitiesAscending = new int[capacityAndPosition.length];
+    int[] positionsByCapacity = new int[capacityAndPosition.length];
+    for (int i = 0; i < capacityAndPosition.length; i++) {
+      capacitiesAscending[i] = (int) (capacityAndPosition[i] >> 32);
+      positionsByCapacity[i] = (int) capacityAndPosition[i];
+    }
+    return new WorkspaceCatalogIndex(
+        catalog, positionsByPropertyId, capacitiesAscending, positionsByCapacity);
+  }
+
+  /**
+   * Returns the version of the catalog this index was built from.
+   *
+   * @return the catalog version
+   */
+  long version() {
+    return catalog.version();
+  }
+
+  /**
+   * Finds the workspaces that have at least the given capacity and all the given properties.
+   *
+   * @param minCapacity the optional minimum capacity
+   * @param requiredProperties the properties every result must have, encoded once per search
+   * @return the matching workspaces in catalog order
+   */
+  List<Workspace> select(Optional<Integer> minCapacity, WorkspacePropertySet requiredProperties) {
+    if (requiredProperties.hasUnknown()) {
+      return List.of();
+    }
+    List<Workspace> workspaces = catalog.workspaces();
+    BitSet matching = new BitSet(workspaces.size());
+    matching.set(0, workspaces.size());
+    for (int i = 0; i < requiredProperties.size(); i++) {
+      int id = requiredProperties.idAt(i);
+      BitSet positions = id < positionsByPropertyId.length ? positionsByPropertyId[id] : null;
+      if (positions == null) {
+        return List.of();
+      }
+      matching.and(positions);
+    }
+    if (minCapacity.isPresent()) {
+      matching.and(positionsWithCapacityOf(minCapacity.get()));
+    }
+    List<Workspace> selected = new ArrayList<>(matching.cardinality());
+    for (int position = matching.nextSetBit(0);
+        position >= 0;
+        position = matching.nextSetBit(position + 1)) {
+      selected.add(workspaces.get(position));
+    }
+    return selected;
+  }
+
+  private BitSet positionsWithCapacityOf(int minCapacity) {
+    int low = 0;
+    int high = capacitiesAscending.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (capacitiesAscending[middle] < minCapacity) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    BitSet positions = new BitSet(positionsByCapacity.length);
+    for (int i = low; i < positionsByCapacity.length; i++) {
+      positions.set(positionsByCapacity[i]);
+    }
+    return positions;
+  }
+}
@@ -157,6 +157,28 @@ class ReservationRepositoryStubTest {
     assertTrue(result.isEmpty());
   }
 
+  @Test
+  void shouldReturnConfiguredWorkspaceConflictResults() {
+    UUID workspaceId = UUID.randomUUID();
+    TimeSlot timeSlot = new TimeSlot(LocalDateTime.now(), Duration.ofHours(1));
+    List<Reservation> expectedConflicting = List.of(createTestReservation());
+
+    repository.setFindConflictingInWorkspaceResult(expectedConflicting);
+    repository.setCountConflictingInWorkspaceResult(3);
+
+    assertEquals(expectedConflicting, repository.findConflictingInWorkspace(workspaceId, timeSlot));
+    assertEquals(3, repository.countConflictingInWorkspace(workspaceId, timeSlot));
+  }
+
+  @Test
+  void shouldReturnConfiguredUserConflictResult() {
+    TimeSlot timeSlot = new TimeSlot(LocalDateTime.now(), Duration.ofHours(1));
+
+    repository.setExistsConflictingForUserResult(true);
+
+    assertTrue(repository.existsConflictingForUser(UUID.randomUUID(), timeSlot));
+  }
+
   private Reservation createTestReservation() {
     return new Reservation(
         UUID.randomUUID(),
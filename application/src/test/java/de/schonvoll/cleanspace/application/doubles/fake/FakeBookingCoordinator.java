@@ -0,0 +1,18 @@
+package de.schonvoll.cleanspace.application.doubles.fake;
+
+import de.schonvoll.cleanspace.application.ports.BookingCoordinator;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+public class FakeBookingCoordinator implements BookingCoordinator {
+  @Override
+  public synchronized <T> T bookExclusively(UUID workspaceId, Supplier<T> booking) {
+    return booking.get();
+  }
+
+  @Override
+  public synchronized <T> T bookExclusively(Collection<UUID> workspaceIds, Supplier<T> booking) {
+    return booking.get();
+  }
+}
@@ -3,6 +3,7 @@ package de.schonvoll.cleanspace.application.doubles.fake;
 import de.schonvoll.cleanspace.domain.entities.Reservation;
 import de.schonvoll.cleanspace.domain.repositories.ReservationRepository;
 import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
@@ -26,6 +27,11 @@ public class FakeReservationRepository implements ReservationRepository {
     return reservation;
   }
 
+  @Override
+  public List<Reservation> saveAll(List<Reservation> reservations) {
+    return reservations.stream().map(this::save).toList();
+  }
+
   @Override
   public Reservation findById(UUID id) {
     return reservationHashMap.get(id);
@@ -40,6 +46,7 @@ public class FakeReservationRepository implements ReservationRepository {
   public List<Reservation> findByUserId(UUID userId) {
     return reservationHashMap.values().stream()
         .filter(reservation -> reservation.getUserId().equals(userId))
+        .sorted(Comparator.comparing(reservation -> reservation.getTimeSlot().start()))
         .toList();
   }
 
@@ -47,6 +54,7 @@ public class FakeReservationRepository implements ReservationRepository {
   public List<Reservation> findByWorkspaceId(UUID workspaceId) {
     return reservationHashMap.values().stream()
         .filter(reservation -> reservation.getWorkspaceId().equals(workspaceId))
+        .sorted(Comparator.comparing(reservation -> reservation.getTimeSlot().start()))
         .toList();
   }
 
@@ -56,4 +64,23 @@ public class FakeReservationRepository implements ReservationRepository {
         .filter(reservation -> timeSlot.conflictsWith(reservation.getTimeSlot()))
         .toList();
   }
+
+  @Override
+  public List<Reservation> findConflictingInWorkspace(UUID workspaceId, TimeSlot timeSlot) {
+    return findConflictingWithTimeslot(timeSlot).stream()
+        .filter(reservation -> reservation.getWorkspaceId().equals(workspaceId))
+        .sorted(Comparator.comparing(reservation -> reservation.getTimeSlot().start()))
+        .toList();
+  }
+
+  @Override
+  public long countConflictingInWorkspace(UUID workspaceId, TimeSlot timeSlot) {
+    return findConflictingInWorkspace(workspaceId, timeSlot).size();
+  }
+
+  @Override
+  public boolean existsConflictingForUser(UUID userId, TimeSlot timeSlot) {
+    return findConflictingWithTimeslot(timeSlot).stream()
+        .anyMatch(reservation -> reservation.getUserId().equals(userId));
+  }
 }
@@ -0,0 +1,66 @@
+package de.schonvoll.cleanspace.application.doubles.fake;
+
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
+import de.schonvoll.cleanspace.domain.repositories.ReservationSeriesRepository;
+import de.schonvoll.cleanspace.domain.valueobjects.OccurrenceOverride;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+public class FakeReservationSeriesRepository implements ReservationSeriesRepository {
+  private final HashMap<UUID, ReservationSeries> seriesHashMap = new HashMap<>();
+
+  @Override
+  public ReservationSeries save(ReservationSeries series) {
+    ReservationSeries persistedSeries =
+        series.getId() == null ? series.withId(UUID.randomUUID()) : series;
+    seriesHashMap.put(persistedSeries.getId(), persistedSeries);
+    return persistedSeries;
+  }
+
+  @Override
+  public void saveOverride(UUID seriesId, OccurrenceOverride override) {
+    seriesHashMap.put(seriesId, seriesHashMap.get(seriesId).withOverride(override));
+  }
+
+  @Override
+  public ReservationSeries findById(UUID id) {
+    return seriesHashMap.get(id);
+  }
+
+  @Override
+  public List<ReservationSeries> findByUserId(UUID userId) {
+    return seriesHashMap.values().stream()
+        .filter(series -> series.getUserId().equals(userId))
+        .toList();
+  }
+
+  @Override
+  public List<ReservationSeries> findByWorkspaceId(UUID workspaceId) {
+    return seriesHashMap.values().stream()
+        .filter(series -> series.getWorkspaceId().equals(workspaceId))
+        .toList();
+  }
+
+  @Override
+  public List<ReservationSeries> findOverlappingForUser(UUID userId, TimeSlot timeSlot) {
+    return findOverlapping(timeSlot).stream()
+        .filter(series -> series.getUserId().equals(userId))
+        .toList();
+  }
+
+  @Override
+  public List<ReservationSeries> findOverlapping(TimeSlot timeSlot) {
+    return seriesHashMap.values().stream()
+        .filter(series -> series.span().conflictsWith(timeSlot))
+        .toList();
+  }
+
+  @Override
+  public List<ReservationSeries> findOverlappingInWorkspace(UUID workspaceId, TimeSlot timeSlot) {
+    return findOverlapping(timeSlot).stream()
+        .filter(series -> series.getWorkspaceId().equals(workspaceId))
+        .toList();
+  }
+}
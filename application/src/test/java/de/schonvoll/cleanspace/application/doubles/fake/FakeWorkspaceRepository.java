@@ -1,16 +1,26 @@
 package de.schonvoll.cleanspace.application.doubles.fake;
 
 import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.exceptions.DuplicateWorkspaceException;
 import de.schonvoll.cleanspace.domain.repositories.WorkspaceRepository;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceCatalog;
 import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
 
 public class FakeWorkspaceRepository implements WorkspaceRepository {
   private final HashMap<UUID, Workspace> workspaceHashMap = new HashMap<>();
+  private long version;
+  private int catalogLoads;
 
   @Override
   public Workspace save(Workspace workspace) {
+    Workspace sameName = findByName(workspace.getName());
+    if (sameName != null && !sameName.getId().equals(workspace.getId())) {
+      throw new DuplicateWorkspaceException(
+          "It already exists a workspace with the name: " + workspace.getName());
+    }
+    version++;
     if (workspace.getId() == null) {
       Workspace persistedWorkspace =
           Workspace.builder()
@@ -44,4 +54,19 @@ public class FakeWorkspaceRepository implements WorkspaceRepository {
   public List<Workspace> findAll() {
     return workspaceHashMap.values().stream().toList();
   }
+
+  @Override
+  public WorkspaceCatalog findCatalog() {
+    catalogLoads++;
+    return new WorkspaceCatalog(version, findAll());
+  }
+
+  @Override
+  public long catalogVersion() {
+    return version;
+  }
+
+  public int catalogLoads() {
+    return catalogLoads;
+  }
 }
@@ -14,6 +14,9 @@ public class ReservationRepositoryStub implements ReservationRepository {
   private List<Reservation> findByUserIdResult = new ArrayList<>();
   private List<Reservation> findByWorkspaceIdResult = new ArrayList<>();
   private List<Reservation> findConflictingResult = new ArrayList<>();
+  private List<Reservation> findConflictingInWorkspaceResult = new ArrayList<>();
+  private long countConflictingInWorkspaceResult;
+  private boolean existsConflictingForUserResult;
 
   private RuntimeException saveException;
   private RuntimeException findByIdException;
@@ -26,6 +29,11 @@ public class ReservationRepositoryStub implements ReservationRepository {
     return saveResult != null ? saveResult : reservation;
   }
 
+  @Override
+  public List<Reservation> saveAll(List<Reservation> reservations) {
+    return reservations.stream().map(this::save).toList();
+  }
+
   @Override
   public Reservation findById(UUID id) {
     if (findByIdException != null) {
@@ -53,4 +61,19 @@ public class ReservationRepositoryStub implements ReservationRepository {
   public List<Reservation> findConflictingWithTimeslot(TimeSlot timeSlot) {
     return findConflictingResult;
   }
+
+  @Override
+  public List<Reservation> findConflictingInWorkspace(UUID workspaceId, TimeSlot timeSlot) {
+    return findConflictingInWorkspaceResult;
+  }
+
+  @Override
+  public long countConflictingInWorkspace(UUID workspaceId, TimeSlot timeSlot) {
+    return countConflictingInWorkspaceResult;
+  }
+
+  @Override
+  public boolean existsConflictingForUser(UUID userId, TimeSlot timeSlot) {
+    return existsConflictingForUserResult;
+  }
 }
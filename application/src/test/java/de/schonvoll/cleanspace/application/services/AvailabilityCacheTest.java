@@ -0,0 +1,178 @@
+package de.schonvoll.cleanspace.application.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.schonvoll.cleanspace.application.Constants;
+import de.schonvoll.cleanspace.application.commands.FindAvailableWorkspacesQuery;
+import de.schonvoll.cleanspace.application.results.AvailabilityCacheStats;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceProperty;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class AvailabilityCacheTest {
+  private static final LocalDate SEARCH_DAY = LocalDate.of(2030, 1, 7);
+  private static final long CATALOG_VERSION = 1;
+
+  private final AtomicInteger searches = new AtomicInteger();
+
+  @Test
+  void shouldAnswerRepeatedSearchFromCache() {
+    // Arrange
+    AvailabilityCache cache = new AvailabilityCache(16);
+    FindAvailableWorkspacesQuery query = query(SEARCH_DAY, 11, 1);
+    cache.get(query, CATALOG_VERSION, this::search);
+
+    // Act
+    cache.get(query, CATALOG_VERSION, this::search);
+
+    // Assert
+    assertEquals(1, searches.get());
+    assertEquals(new AvailabilityCacheStats(1, 1, 0, 0, 1), cache.stats());
+  }
+
+  @Test
+  void shouldComputeSearchAgainOnceEntryReachedMaxAge() {
+    // Arrange
+    AtomicLong now = new AtomicLong();
+    AvailabilityCache cache = new AvailabilityCache(16, Duration.ofSeconds(5), now::get);
+    FindAvailableWorkspacesQuery query = query(SEARCH_DAY, 11, 1);
+    cache.get(query, CATALOG_VERSION, this::search);
+    now.addAndGet(Duration.ofSeconds(4).toNanos());
+    cache.get(query, CATALOG_VERSION, this::search);
+
+    // Act
+    now.addAndGet(Duration.ofSeconds(1).toNanos());
+    cache.get(query, CATALOG_VERSION, this::search);
+
+    // Assert
+    assertEquals(2, searches.get());
+    assertEquals(new AvailabilityCacheStats(1, 1, 1, 0, 1), cache.stats());
+  }
+
+  @Test
+  void shouldRejectNonPositiveMaxAge() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> new AvailabilityCache(16, Duration.ZERO));
+  }
+
+  @Test
+  void shouldTreatEquivalentFiltersAsTheSameSearch() {
+    // Arrange
+    AvailabilityCache cache = new AvailabilityCache(16);
+    TimeSlot timeSlot = timeSlot(SEARCH_DAY, 11, 1);
+    WorkspaceProperty first = Constants.getFirstWorkspaceProperty();
+    WorkspaceProperty second = new WorkspaceProperty("whiteboard", "available");
+    cache.get(
+        new FindAvailableWorkspacesQuery(
+            timeSlot, Optional.empty(), Optional.of(List.of(first, second))),
+        CATALOG_VERSION,
+        this::search);
+
+    // Act
+    cache.get(
+        new FindAvailableWorkspacesQuery(
+            timeSlot, Optional.of(1), Optional.of(List.of(second, first, second))),
+        CATALOG_VERSION,
+        this::search);
+
+    // Assert
+    assertEquals(1, searches.get());
+  }
+
+  @Test
+  void shouldSearchAgainAfterTheDayWasWritten() {
+    // Arrange
+    AvailabilityCache cache = new AvailabilityCache(16);
+    FindAvailableWorkspacesQuery query = query(SEARCH_DAY, 11, 1);
+    cache.get(query, CATALOG_VERSION, this::search);
+
+    // Act
+    cache.invalidate(timeSlot(SEARCH_DAY, 15, 2));
+    cache.get(query, CATALOG_VERSION, this::search);
+
+    // Assert
+    assertEquals(2, searches.get());
+    assertEquals(new AvailabilityCacheStats(0, 1, 1, 0, 1), cache.stats());
+  }
+
+  @Test
+  void shouldKeepSearchWhenAnotherDayWasWritten() {
+    // Arrange
+    AvailabilityCache cache = new AvailabilityCache(16);
+    FindAvailableWorkspacesQuery query = query(SEARCH_DAY, 11, 1);
+    cache.get(query, CATALOG_VERSION, this::search);
+
+    // Act
+    // Ends at midnight, so it does not touch the search day
+    cache.invalidate(timeSlot(SEARCH_DAY.minusDays(1), 22, 2));
+    cache.get(query, CATALOG_VERSION, this::search);
+
+    // Assert
+    assertEquals(1, searches.get());
+  }
+
+  @Test
+  void shouldSearchAgainWhenTheCatalogChanged() {
+    // Arrange
+    AvailabilityCache cache = new AvailabilityCache(16);
+    FindAvailableWorkspacesQuery query = query(SEARCH_DAY, 11, 1);
+    cache.get(query, CATALOG_VERSION, this::search);
+
+    // Act
+    cache.get(query, CATALOG_VERSION + 1, this::search);
+
+    // Assert
+    assertEquals(2, searches.get());
+    assertEquals(1, cache.stats().stale());
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedSearch() {
+    // Arrange
+    AvailabilityCache cache = new AvailabilityCache(2);
+    FindAvailableWorkspacesQuery first = query(SEARCH_DAY, 9, 1);
+    FindAvailableWorkspacesQuery second = query(SEARCH_DAY, 10, 1);
+    cache.get(first, CATALOG_VERSION, this::search);
+    cache.get(second, CATALOG_VERSION, this::search);
+    cache.get(first, CATALOG_VERSION, this::search);
+
+    // Act
+    cache.get(query(SEARCH_DAY, 11, 1), CATALOG_VERSION, this::search);
+    cache.get(first, CATALOG_VERSION, this::search);
+    cache.get(second, CATALOG_VERSION, this::search);
+
+    // Assert
+    assertEquals(4, searches.get());
+    assertEquals(new AvailabilityCacheStats(2, 4, 0, 2, 2), cache.stats());
+  }
+
+  @Test
+  void shouldRejectCacheWithoutEntries() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> new AvailabilityCache(0));
+  }
+
+  private List<Workspace> search() {
+    searches.incrementAndGet();
+    return List.of(Constants.getFirstWorkspace());
+  }
+
+  private static FindAvailableWorkspacesQuery query(LocalDate day, int hour, int hours) {
+    return new FindAvailableWorkspacesQuery(
+        timeSlot(day, hour, hours), Optional.empty(), Optional.empty());
+  }
+
+  private static TimeSlot timeSlot(LocalDate day, int hour, int hours) {
+    return new TimeSlot(LocalDateTime.of(day, LocalTime.of(hour, 0)), Duration.ofHours(hours));
+  }
+}
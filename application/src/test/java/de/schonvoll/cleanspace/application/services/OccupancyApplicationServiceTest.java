@@ -0,0 +1,123 @@
+package de.schonvoll.cleanspace.application.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.schonvoll.cleanspace.application.Constants;
+import de.schonvoll.cleanspace.application.commands.FindOccupancyQuery;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationSeriesRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeWorkspaceRepository;
+import de.schonvoll.cleanspace.application.results.WorkspaceOccupancyResult;
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.valueobjects.RecurrenceRule;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class OccupancyApplicationServiceTest {
+  private static final LocalDateTime MONDAY_NINE = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+  private FakeWorkspaceRepository workspaceRepository;
+  private FakeReservationRepository reservationRepository;
+  private FakeReservationSeriesRepository reservationSeriesRepository;
+  private OccupancyApplicationService occupancyApplicationService;
+
+  @BeforeEach
+  void setUp() {
+    workspaceRepository = new FakeWorkspaceRepository();
+    reservationRepository = new FakeReservationRepository();
+    reservationSeriesRepository = new FakeReservationSeriesRepository();
+    occupancyApplicationService =
+        new OccupancyApplicationService(
+            workspaceRepository,
+            new ScanningOccupancyLedger(reservationRepository, reservationSeriesRepository));
+  }
+
+  @Test
+  void shouldFindTakenSeatsOfEveryWorkspacePerBucket() {
+    // Arrange
+    Workspace booked = workspaceRepository.save(Constants.getFirstWorkspace());
+    Workspace empty =
+        workspaceRepository.save(
+            new Workspace("empty", Constants.FIRST_WORKSPACE_OPENING_HOURS, 1, List.of()));
+    reservationRepository.save(
+        new Reservation(
+            booked.getId(),
+            Constants.FIRST_USER_ID,
+            new TimeSlot(MONDAY_NINE.plusMinutes(30), Duration.ofMinutes(30))));
+    reservationSeriesRepository.save(
+        new ReservationSeries(
+            booked.getId(),
+            Constants.SECOND_USER_ID,
+            new TimeSlot(MONDAY_NINE.minusDays(1).plusHours(1), Duration.ofMinutes(15)),
+            new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, null, 3)));
+    FindOccupancyQuery query =
+        new FindOccupancyQuery(
+            new TimeSlot(MONDAY_NINE, Duration.ofHours(2)), Duration.ofMinutes(30));
+
+    // Act
+    List<WorkspaceOccupancyResult> results = occupancyApplicationService.findOccupancy(query);
+
+    // Assert
+    assertEquals(2, results.size());
+    for (WorkspaceOccupancyResult result : results) {
+      if (result.workspace().equals(booked)) {
+        assertArrayEquals(new int[] {0, 1, 1, 0}, result.takenSeats());
+      } else {
+        assertEquals(empty, result.workspace());
+        assertArrayEquals(new int[] {0, 0, 0, 0}, result.takenSeats());
+      }
+    }
+  }
+
+  @Test
+  void shouldThrowExceptionWhenRangeHasTooManyBuckets() {
+    // Arrange
+    FindOccupancyQuery query =
+        new FindOccupancyQuery(
+            new TimeSlot(MONDAY_NINE, Duration.ofDays(365)), Duration.ofMinutes(1));
+
+    // Act & Assert
+    assertThrows(
+        IllegalArgumentException.class, () -> occupancyApplicationService.findOccupancy(query));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenBucketSizeIsShorterThanAMinute() {
+    // Arrange
+    FindOccupancyQuery query =
+        new FindOccupancyQuery(
+            new TimeSlot(MONDAY_NINE, Duration.ofHours(1)), Duration.ofSeconds(30));
+
+    // Act & Assert
+    assertThrows(
+        IllegalArgumentException.class, () -> occupancyApplicationService.findOccupancy(query));
+  }
+
+  @Test
+  void shouldLoadCatalogOnlyWhenItsVersionChanges() {
+    // Arrange
+    workspaceRepository.save(Constants.getFirstWorkspace());
+    FindOccupancyQuery query =
+        new FindOccupancyQuery(
+            new TimeSlot(MONDAY_NINE, Duration.ofHours(2)), Duration.ofMinutes(30));
+    occupancyApplicationService.findOccupancy(query);
+
+    // Act
+    occupancyApplicationService.findOccupancy(query);
+    workspaceRepository.save(
+        new Workspace("added", Constants.FIRST_WORKSPACE_OPENING_HOURS, 1, List.of()));
+    List<WorkspaceOccupancyResult> results = occupancyApplicationService.findOccupancy(query);
+
+    // Assert
+    assertEquals(2, workspaceRepository.catalogLoads());
+    assertEquals(2, results.size());
+  }
+}
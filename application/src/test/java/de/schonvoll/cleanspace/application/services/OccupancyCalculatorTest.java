@@ -0,0 +1,78 @@
+package de.schonvoll.cleanspace.application.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class OccupancyCalculatorTest {
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 1, 6, 0, 0);
+  private static final TimeSlot WORKING_DAY =
+      new TimeSlot(MONDAY.plusHours(9), Duration.ofHours(8));
+
+  @Test
+  void shouldCountReservationsAtDifferentTimesOfTheSlotOnce() {
+    // Arrange
+    List<Reservation> reservations = List.of(reservation(9, 1), reservation(15, 1));
+
+    // Act
+    int peak = OccupancyCalculator.peakConcurrency(reservations, WORKING_DAY);
+
+    // Assert
+    assertEquals(1, peak);
+  }
+
+  @Test
+  void shouldNotCountBackToBackReservationsAsConcurrent() {
+    // Arrange
+    List<Reservation> reservations =
+        List.of(reservation(12, 1), reservation(10, 2), reservation(13, 3), reservation(11, 1));
+
+    // Act
+    int peak = OccupancyCalculator.peakConcurrency(reservations, WORKING_DAY);
+
+    // Assert
+    assertEquals(2, peak);
+  }
+
+  @Test
+  void shouldOnlyCountOverlapInsideTheTimeSlot() {
+    // Arrange
+    List<Reservation> reservations =
+        List.of(reservation(6, 4), reservation(7, 2), reservation(16, 4), reservation(18, 1));
+
+    // Act
+    int peak = OccupancyCalculator.peakConcurrency(reservations, WORKING_DAY);
+
+    // Assert
+    assertEquals(1, peak);
+  }
+
+  @Test
+  void shouldComputeThePeakOfEveryBucket() {
+    // Arrange
+    List<Reservation> reservations =
+        List.of(reservation(8, 3), reservation(10, 1), reservation(12, 1), reservation(13, 6));
+
+    // Act
+    int[] peaks =
+        OccupancyCalculator.peakConcurrencyPerBucket(
+            reservations, WORKING_DAY, Duration.ofHours(3));
+
+    // Assert
+    assertArrayEquals(new int[] {2, 1, 1}, peaks);
+  }
+
+  private static Reservation reservation(int startHour, int hours) {
+    return new Reservation(
+        UUID.randomUUID(),
+        UUID.randomUUID(),
+        new TimeSlot(MONDAY.plusHours(startHour), Duration.ofHours(hours)));
+  }
+}
@@ -0,0 +1,193 @@
+package de.schonvoll.cleanspace.application.services.reservation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.schonvoll.cleanspace.application.Constants;
+import de.schonvoll.cleanspace.application.commands.CreateReservationBatchCommand;
+import de.schonvoll.cleanspace.application.commands.CreateReservationCommand;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeBookingCoordinator;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationSeriesRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeUserRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeWorkspaceRepository;
+import de.schonvoll.cleanspace.application.results.ReservationBatchItemResult;
+import de.schonvoll.cleanspace.application.services.AvailabilityCache;
+import de.schonvoll.cleanspace.application.services.ReservationApplicationService;
+import de.schonvoll.cleanspace.application.services.ScanningOccupancyLedger;
+import de.schonvoll.cleanspace.domain.repositories.ReservationRepository;
+import de.schonvoll.cleanspace.domain.repositories.ReservationSeriesRepository;
+import de.schonvoll.cleanspace.domain.repositories.UserRepository;
+import de.schonvoll.cleanspace.domain.repositories.WorkspaceRepository;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CreateReservationBatchTest {
+
+  private ReservationRepository reservationRepository;
+  private ReservationSeriesRepository reservationSeriesRepository;
+  private WorkspaceRepository workspaceRepository;
+  private UserRepository userRepository;
+
+  private ReservationApplicationService reservationApplicationService;
+
+  @BeforeEach
+  void setUp() {
+    reservationRepository = new FakeReservationRepository();
+    reservationSeriesRepository = new FakeReservationSeriesRepository();
+    workspaceRepository = new FakeWorkspaceRepository();
+    userRepository = new FakeUserRepository();
+    reservationApplicationService =
+        new ReservationApplicationService(
+            reservationRepository,
+            reservationSeriesRepository,
+            workspaceRepository,
+            userRepository,
+            new FakeBookingCoordinator(),
+            new ScanningOccupancyLedger(reservationRepository, reservationSeriesRepository),
+            new AvailabilityCache(16));
+  }
+
+  @AfterEach
+  void tearDown() {
+    reservationRepository = null;
+    reservationSeriesRepository = null;
+    workspaceRepository = null;
+    userRepository = null;
+    reservationApplicationService = null;
+  }
+
+  @Test
+  void shouldSaveValidReservationsOfBestEffortBatchAndReportTheOthers() {
+    // Arrange
+    workspaceRepository.save(Constants.getFirstWorkspace());
+    userRepository.save(Constants.getFirstUser());
+    userRepository.save(Constants.getSecondUser());
+    TimeSlot timeSlot = timeSlotAfterOpening(1);
+    CreateReservationBatchCommand command =
+        new CreateReservationBatchCommand(
+            List.of(
+                new CreateReservationCommand(
+                    Constants.FIRST_WORKSPACE_NAME, Constants.FIRST_USER_EMAIL, timeSlot),
+                new CreateReservationCommand(
+                    Constants.FIRST_WORKSPACE_NAME, Constants.SECOND_USER_EMAIL, timeSlot),
+                new CreateReservationCommand(
+                    "UNKNOWN_WORKSPACE", Constants.SECOND_USER_EMAIL, timeSlot),
+                new CreateReservationCommand(
+                    Constants.FIRST_WORKSPACE_NAME,
+                    Constants.SECOND_USER_EMAIL,
+                    timeSlotAfterOpening(3))),
+            false);
+
+    // Act
+    List<ReservationBatchItemResult> results = reservationApplicationService.createBatch(command);
+
+    // Assert
+    assertEquals(
+        List.of(true, false, false, true),
+        results.stream().map(ReservationBatchItemResult::isSaved).toList());
+    assertTrue(results.get(1).error().startsWith("Workspace is already full."));
+    assertTrue(results.get(2).error().startsWith("Workspace not found."));
+    assertEquals(2, reservationRepository.findByWorkspaceId(Constants.FIRST_WORKSPACE_ID).size());
+  }
+
+  @Test
+  void shouldSaveNothingWhenAnyReservationOfAllOrNothingBatchFails() {
+    // Arrange
+    workspaceRepository.save(Constants.getFirstWorkspace());
+    userRepository.save(Constants.getFirstUser());
+    CreateReservationBatchCommand command =
+        new CreateReservationBatchCommand(
+            List.of(
+                new CreateReservationCommand(
+                    Constants.FIRST_WORKSPACE_NAME,
+                    Constants.FIRST_USER_EMAIL,
+                    timeSlotAfterOpening(1)),
+                new CreateReservationCommand(
+                    Constants.FIRST_WORKSPACE_NAME,
+                    Constants.FIRST_USER_EMAIL,
+                    timeSlotAfterOpening(1))),
+            true);
+
+    // Act
+    List<ReservationBatchItemResult> results = reservationApplicationService.createBatch(command);
+
+    // Assert
+    assertTrue(results.stream().noneMatch(ReservationBatchItemResult::isSaved));
+    assertTrue(results.get(1).error().startsWith("User has already booked"));
+    assertTrue(reservationRepository.findAll().isEmpty());
+  }
+
+  @Test
+  void shouldCheckBatchAgainstAlreadySavedReservations() {
+    // Arrange
+    workspaceRepository.save(Constants.getFirstWorkspace());
+    userRepository.save(Constants.getFirstUser());
+    userRepository.save(Constants.getSecondUser());
+    reservationApplicationService.create(
+        new CreateReservationCommand(
+            Constants.FIRST_WORKSPACE_NAME, Constants.FIRST_USER_EMAIL, timeSlotAfterOpening(1)));
+    CreateReservationBatchCommand command =
+        new CreateReservationBatchCommand(
+            List.of(
+                new CreateReservationCommand(
+                    Constants.FIRST_WORKSPACE_NAME,
+                    Constants.SECOND_USER_EMAIL,
+                    timeSlotAfterOpening(1))),
+            false);
+
+    // Act
+    List<ReservationBatchItemResult> results = reservationApplicationService.createBatch(command);
+
+    // Assert
+    assertFalse(results.getFirst().isSaved());
+    assertTrue(results.getFirst().error().startsWith("Workspace is already full."));
+  }
+
+  @Test
+  void shouldRejectEmptyBatch() {
+    // Arrange
+    CreateReservationBatchCommand command = new CreateReservationBatchCommand(List.of(), false);
+
+    // Act & Assert
+    assertThrows(
+        IllegalArgumentException.class, () -> reservationApplicationService.createBatch(command));
+  }
+
+  @Test
+  void shouldRejectBatchWithMoreThanTheMaximumOfReservations() {
+    // Arrange
+    workspaceRepository.save(Constants.getFirstWorkspace());
+    userRepository.save(Constants.getFirstUser());
+    CreateReservationBatchCommand command =
+        new CreateReservationBatchCommand(
+            Collections.nCopies(
+                1001,
+                new CreateReservationCommand(
+                    Constants.FIRST_WORKSPACE_NAME,
+                    Constants.FIRST_USER_EMAIL,
+                    timeSlotAfterOpening(1))),
+            false);
+
+    // Act & Assert
+    assertThrows(
+        IllegalArgumentException.class, () -> reservationApplicationService.createBatch(command));
+    assertTrue(reservationRepository.findAll().isEmpty());
+  }
+
+  private static TimeSlot timeSlotAfterOpening(int hours) {
+    return new TimeSlot(
+        LocalDateTime.of(
+            LocalDate.now(), Constants.FIRST_WORKSPACE_OPENING_HOURS.open().plusHours(hours)),
+        Duration.ofHours(1));
+  }
+}
@@ -1,34 +1,46 @@
 package de.schonvoll.cleanspace.application.services.reservation;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import de.schonvoll.cleanspace.application.Constants;
 import de.schonvoll.cleanspace.application.commands.CreateReservationCommand;
 import de.schonvoll.cleanspace.application.commands.FindUserReservationsQuery;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeBookingCoordinator;
 import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationSeriesRepository;
 import de.schonvoll.cleanspace.application.doubles.fake.FakeUserRepository;
 import de.schonvoll.cleanspace.application.doubles.fake.FakeWorkspaceRepository;
+import de.schonvoll.cleanspace.application.results.ReservationPage;
+import de.schonvoll.cleanspace.application.services.AvailabilityCache;
 import de.schonvoll.cleanspace.application.services.ReservationApplicationService;
+import de.schonvoll.cleanspace.application.services.ScanningOccupancyLedger;
 import de.schonvoll.cleanspace.domain.entities.Reservation;
 import de.schonvoll.cleanspace.domain.entities.User;
 import de.schonvoll.cleanspace.domain.entities.Workspace;
 import de.schonvoll.cleanspace.domain.repositories.ReservationRepository;
+import de.schonvoll.cleanspace.domain.repositories.ReservationSeriesRepository;
 import de.schonvoll.cleanspace.domain.repositories.UserRepository;
 import de.schonvoll.cleanspace.domain.repositories.WorkspaceRepository;
 import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 public class FindUserReservationsTest {
+  private static final int PAGE_LIMIT = 50;
 
   private ReservationRepository reservationRepository;
+  private ReservationSeriesRepository reservationSeriesRepository;
   private WorkspaceRepository workspaceRepository;
   private UserRepository userRepository;
 
@@ -37,16 +49,24 @@ public class FindUserReservationsTest {
   @BeforeEach
   void setUp() {
     reservationRepository = new FakeReservationRepository();
+    reservationSeriesRepository = new FakeReservationSeriesRepository();
     workspaceRepository = new FakeWorkspaceRepository();
     userRepository = new FakeUserRepository();
     reservationApplicationService =
         new ReservationApplicationService(
-            reservationRepository, workspaceRepository, userRepository);
+            reservationRepository,
+            reservationSeriesRepository,
+            workspaceRepository,
+            userRepository,
+            new FakeBookingCoordinator(),
+            new ScanningOccupancyLedger(reservationRepository, reservationSeriesRepository),
+            new AvailabilityCache(16));
   }
 
   @AfterEach
   void tearDown() {
     reservationRepository = null;
+    reservationSeriesRepository = null;
     workspaceRepository = null;
     userRepository = null;
     reservationApplicationService = null;
@@ -83,10 +103,12 @@ public class FindUserReservationsTest {
     Reservation reservation1 = reservationApplicationService.create(command1);
     Reservation reservation2 = reservationApplicationService.create(command2);
 
-    FindUserReservationsQuery query = new FindUserReservationsQuery(Constants.FIRST_USER_EMAIL);
+    FindUserReservationsQuery query =
+        new FindUserReservationsQuery(Constants.FIRST_USER_EMAIL, null, PAGE_LIMIT);
 
     // Act
-    List<Reservation> userReservations = reservationApplicationService.findByUser(query);
+    List<Reservation> userReservations =
+        reservationApplicationService.findByUser(query).reservations();
 
     // Assert
     assertEquals(2, userReservations.size());
@@ -100,10 +122,12 @@ public class FindUserReservationsTest {
     User user = Constants.getFirstUser();
     userRepository.save(user);
 
-    FindUserReservationsQuery query = new FindUserReservationsQuery(Constants.FIRST_USER_EMAIL);
+    FindUserReservationsQuery query =
+        new FindUserReservationsQuery(Constants.FIRST_USER_EMAIL, null, PAGE_LIMIT);
 
     // Act
-    List<Reservation> userReservations = reservationApplicationService.findByUser(query);
+    List<Reservation> userReservations =
+        reservationApplicationService.findByUser(query).reservations();
 
     // Assert
     assertTrue(userReservations.isEmpty());
@@ -113,7 +137,8 @@ public class FindUserReservationsTest {
   void testUserNotFound() {
     // Arrange
     String nonExistentEmail = "nonexistent@example.com";
-    FindUserReservationsQuery query = new FindUserReservationsQuery(nonExistentEmail);
+    FindUserReservationsQuery query =
+        new FindUserReservationsQuery(nonExistentEmail, null, PAGE_LIMIT);
 
     // Act & Assert
     assertThrows(
@@ -154,10 +179,12 @@ public class FindUserReservationsTest {
     Reservation user1Reservation = reservationApplicationService.create(command1);
     Reservation user2Reservation = reservationApplicationService.create(command2);
 
-    FindUserReservationsQuery query = new FindUserReservationsQuery(Constants.FIRST_USER_EMAIL);
+    FindUserReservationsQuery query =
+        new FindUserReservationsQuery(Constants.FIRST_USER_EMAIL, null, PAGE_LIMIT);
 
     // Act
-    List<Reservation> userReservations = reservationApplicationService.findByUser(query);
+    List<Reservation> userReservations =
+        reservationApplicationService.findByUser(query).reservations();
 
     // Assert
     assertEquals(1, userReservations.size());
@@ -168,7 +195,7 @@ public class FindUserReservationsTest {
   @Test
   void testNullEmail() {
     // Arrange
-    FindUserReservationsQuery query = new FindUserReservationsQuery(null);
+    FindUserReservationsQuery query = new FindUserReservationsQuery(null, null, PAGE_LIMIT);
 
     // Act & Assert
     assertThrows(
@@ -178,7 +205,74 @@ public class FindUserReservationsTest {
   @Test
   void testEmptyEmail() {
     // Arrange
-    FindUserReservationsQuery query = new FindUserReservationsQuery("");
+    FindUserReservationsQuery query = new FindUserReservationsQuery("", null, PAGE_LIMIT);
+
+    // Act & Assert
+    assertThrows(
+        IllegalArgumentException.class, () -> reservationApplicationService.findByUser(query));
+  }
+
+  @Test
+  void shouldPageThroughReservationsInStartOrder() {
+    // Arrange
+    userRepository.save(Constants.getFirstUser());
+    LocalDateTime start = LocalDateTime.of(2030, 1, 7, 9, 0);
+    List<Reservation> saved = new ArrayList<>();
+    for (int day = 4; day >= 0; day--) {
+      saved.add(
+          reservationRepository.save(
+              new Reservation(
+                  UUID.randomUUID(),
+                  Constants.FIRST_USER_ID,
+                  new TimeSlot(start.plusDays(day), Duration.ofHours(1)))));
+    }
+    List<Reservation> expected = saved.reversed();
+
+    // Act
+    ReservationPage first =
+        reservationApplicationService.findByUser(
+            new FindUserReservationsQuery(Constants.FIRST_USER_EMAIL, null, 2));
+    ReservationPage second =
+        reservationApplicationService.findByUser(
+            new FindUserReservationsQuery(Constants.FIRST_USER_EMAIL, first.next(), 2));
+    ReservationPage last =
+        reservationApplicationService.findByUser(
+            new FindUserReservationsQuery(Constants.FIRST_USER_EMAIL, second.next(), 2));
+
+    // Assert
+    assertEquals(expected.subList(0, 2), first.reservations());
+    assertEquals(expected.subList(2, 4), second.reservations());
+    assertEquals(expected.subList(4, 5), last.reservations());
+    assertFalse(last.hasNext());
+  }
+
+  @Test
+  void shouldEndOnFullLastPageWithoutCursor() {
+    // Arrange
+    userRepository.save(Constants.getFirstUser());
+    Reservation reservation =
+        reservationRepository.save(
+            new Reservation(
+                UUID.randomUUID(),
+                Constants.FIRST_USER_ID,
+                new TimeSlot(LocalDateTime.of(2030, 1, 7, 9, 0), Duration.ofHours(1))));
+
+    // Act
+    ReservationPage page =
+        reservationApplicationService.findByUser(
+            new FindUserReservationsQuery(Constants.FIRST_USER_EMAIL, null, 1));
+
+    // Assert
+    assertEquals(List.of(reservation), page.reservations());
+    assertNull(page.next());
+  }
+
+  @Test
+  void shouldThrowExceptionWhenLimitIsZero() {
+    // Arrange
+    userRepository.save(Constants.getFirstUser());
+    FindUserReservationsQuery query =
+        new FindUserReservationsQuery(Constants.FIRST_USER_EMAIL, null, 0);
 
     // Act & Assert
     assertThrows(
@@ -5,21 +5,36 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import de.schonvoll.cleanspace.application.Constants;
 import de.schonvoll.cleanspace.application.commands.CreateReservationCommand;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeBookingCoordinator;
 import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationSeriesRepository;
 import de.schonvoll.cleanspace.application.doubles.fake.FakeUserRepository;
 import de.schonvoll.cleanspace.application.doubles.fake.FakeWorkspaceRepository;
+import de.schonvoll.cleanspace.application.services.AvailabilityCache;
 import de.schonvoll.cleanspace.application.services.ReservationApplicationService;
+import de.schonvoll.cleanspace.application.services.ScanningOccupancyLedger;
 import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.entities.User;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
 import de.schonvoll.cleanspace.domain.exceptions.DuplicateReservationException;
 import de.schonvoll.cleanspace.domain.exceptions.WorkspaceFullException;
 import de.schonvoll.cleanspace.domain.exceptions.WorkspaceNotFoundException;
 import de.schonvoll.cleanspace.domain.repositories.ReservationRepository;
+import de.schonvoll.cleanspace.domain.repositories.ReservationSeriesRepository;
 import de.schonvoll.cleanspace.domain.repositories.UserRepository;
 import de.schonvoll.cleanspace.domain.repositories.WorkspaceRepository;
 import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,6 +42,7 @@ import org.junit.jupiter.api.Test;
 public class ReservationApplicationServiceTest {
 
   private ReservationRepository reservationRepository;
+  private ReservationSeriesRepository reservationSeriesRepository;
   private WorkspaceRepository workspaceRepository;
   private UserRepository userRepository;
 
@@ -35,16 +51,24 @@ public class ReservationApplicationServiceTest {
   @BeforeEach
   void setUp() {
     reservationRepository = new FakeReservationRepository();
+    reservationSeriesRepository = new FakeReservationSeriesRepository();
     workspaceRepository = new FakeWorkspaceRepository();
     userRepository = new FakeUserRepository();
     reservationApplicationService =
         new ReservationApplicationService(
-            reservationRepository, workspaceRepository, userRepository);
+            reservationRepository,
+            reservationSeriesRepository,
+            workspaceRepository,
+            userRepository,
+            new FakeBookingCoordinator(),
+            new ScanningOccupancyLedger(reservationRepository, reservationSeriesRepository),
+            new AvailabilityCache(16));
   }
 
   @AfterEach
   void tearDown() {
     reservationRepository = null;
+    reservationSeriesRepository = null;
     workspaceRepository = null;
     userRepository = null;
     reservationApplicationService = null;
@@ -192,4 +216,174 @@ public class ReservationApplicationServiceTest {
         DuplicateReservationException.class,
         () -> reservationApplicationService.create(overlappingCommand));
   }
+
+  @Test
+  void shouldNotCountReservationsOfOtherWorkspacesAgainstCapacity() {
+    // Arrange
+    workspaceRepository.save(Constants.getFirstWorkspace());
+    Workspace otherWorkspace =
+        workspaceRepository.save(
+            new Workspace(
+                "OTHER_WORKSPACE_NAME",
+                Constants.FIRST_WORKSPACE_OPENING_HOURS,
+                Constants.FIRST_WORKSPACE_CAPACITY,
+                Constants.FIRST_WORKSPACE_PROPERTY_LIST));
+    userRepository.save(Constants.getFirstUser());
+    userRepository.save(Constants.getSecondUser());
+    TimeSlot timeSlot =
+        new TimeSlot(
+            LocalDateTime.of(
+                LocalDate.now(), Constants.FIRST_WORKSPACE_OPENING_HOURS.open().plusHours(1)),
+            Duration.ofHours(1));
+    reservationApplicationService.create(
+        new CreateReservationCommand(
+            otherWorkspace.getName(), Constants.SECOND_USER_EMAIL, timeSlot));
+    CreateReservationCommand command =
+        new CreateReservationCommand(
+            Constants.FIRST_WORKSPACE_NAME, Constants.FIRST_USER_EMAIL, timeSlot);
+
+    // Act
+    Reservation reservation = reservationApplicationService.create(command);
+
+    // Assert
+    assertEquals(Constants.FIRST_WORKSPACE_ID, reservation.getWorkspaceId());
+  }
+
+  @Test
+  void shouldThrowExceptionWhenUserAlreadyHasReservationInAnotherWorkspace() {
+    // Arrange
+    workspaceRepository.save(Constants.getFirstWorkspace());
+    Workspace otherWorkspace =
+        workspaceRepository.save(
+            new Workspace(
+                "OTHER_WORKSPACE_NAME",
+                Constants.FIRST_WORKSPACE_OPENING_HOURS,
+                Constants.FIRST_WORKSPACE_CAPACITY,
+                Constants.FIRST_WORKSPACE_PROPERTY_LIST));
+    userRepository.save(Constants.getFirstUser());
+    TimeSlot timeSlot =
+        new TimeSlot(
+            LocalDateTime.of(
+                LocalDate.now(), Constants.FIRST_WORKSPACE_OPENING_HOURS.open().plusHours(1)),
+            Duration.ofHours(1));
+    reservationApplicationService.create(
+        new CreateReservationCommand(
+            otherWorkspace.getName(), Constants.FIRST_USER_EMAIL, timeSlot));
+    CreateReservationCommand command =
+        new CreateReservationCommand(
+            Constants.FIRST_WORKSPACE_NAME, Constants.FIRST_USER_EMAIL, timeSlot);
+
+    // Act & Assert
+    assertThrows(
+        DuplicateReservationException.class, () -> reservationApplicationService.create(command));
+  }
+
+  @Test
+  void shouldCreateReservationWhenOverlappingReservationsAreNotHeldAtTheSameTime() {
+    // Arrange
+    Workspace workspace = workspaceRepository.save(workspaceWithCapacity(2));
+    userRepository.save(Constants.getFirstUser());
+    LocalDateTime open =
+        LocalDateTime.of(LocalDate.now(), Constants.FIRST_WORKSPACE_OPENING_HOURS.open());
+    reservationRepository.save(
+        new Reservation(
+            workspace.getId(), UUID.randomUUID(), new TimeSlot(open, Duration.ofHours(2))));
+    reservationRepository.save(
+        new Reservation(
+            workspace.getId(),
+            UUID.randomUUID(),
+            new TimeSlot(open.plusHours(2), Duration.ofHours(2))));
+    CreateReservationCommand command =
+        new CreateReservationCommand(
+            workspace.getName(),
+            Constants.FIRST_USER_EMAIL,
+            new TimeSlot(open.plusHours(1), Duration.ofHours(2)));
+
+    // Act
+    Reservation reservation = reservationApplicationService.create(command);
+
+    // Assert
+    assertEquals(workspace.getId(), reservation.getWorkspaceId());
+  }
+
+  @Test
+  void shouldThrowWorkspaceFullExceptionWhenPeakOccupancyReachesCapacity() {
+    // Arrange
+    Workspace workspace = workspaceRepository.save(workspaceWithCapacity(2));
+    userRepository.save(Constants.getFirstUser());
+    LocalDateTime open =
+        LocalDateTime.of(LocalDate.now(), Constants.FIRST_WORKSPACE_OPENING_HOURS.open());
+    reservationRepository.save(
+        new Reservation(
+            workspace.getId(), UUID.randomUUID(), new TimeSlot(open, Duration.ofHours(2))));
+    reservationRepository.save(
+        new Reservation(
+            workspace.getId(),
+            UUID.randomUUID(),
+            new TimeSlot(open.plusHours(1), Duration.ofHours(2))));
+    CreateReservationCommand command =
+        new CreateReservationCommand(
+            workspace.getName(),
+            Constants.FIRST_USER_EMAIL,
+            new TimeSlot(open.plusHours(1).plusMinutes(30), Duration.ofHours(3)));
+
+    // Act & Assert
+    assertThrows(
+        WorkspaceFullException.class, () -> reservationApplicationService.create(command));
+  }
+
+  @Test
+  void shouldNotOverbookWorkspaceWhenUsersBookConcurrently() throws Exception {
+    // Arrange
+    Workspace workspace = workspaceRepository.save(workspaceWithCapacity(2));
+    List<String> emails = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      String email = "user" + i + "@example.com";
+      userRepository.save(new User(null, "First", "Last", email, "password"));
+      emails.add(email);
+    }
+    TimeSlot timeSlot =
+        new TimeSlot(
+            LocalDateTime.of(
+                LocalDate.now(), Constants.FIRST_WORKSPACE_OPENING_HOURS.open().plusHours(1)),
+            Duration.ofHours(1));
+    ExecutorService executor = Executors.newFixedThreadPool(emails.size());
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Boolean>> bookings = new ArrayList<>();
+
+    // Act
+    for (String email : emails) {
+      bookings.add(
+          executor.submit(
+              () -> {
+                start.await();
+                try {
+                  reservationApplicationService.create(
+                      new CreateReservationCommand(workspace.getName(), email, timeSlot));
+                  return true;
+                } catch (WorkspaceFullException e) {
+                  return false;
+                }
+              }));
+    }
+    start.countDown();
+    int booked = 0;
+    for (Future<Boolean> booking : bookings) {
+      booked += booking.get(10, TimeUnit.SECONDS) ? 1 : 0;
+    }
+    executor.shutdown();
+
+    // Assert
+    assertEquals(2, booked);
+    assertEquals(2, reservationRepository.findByWorkspaceId(workspace.getId()).size());
+  }
+
+  private static Workspace workspaceWithCapacity(int capacity) {
+    return Workspace.builder()
+        .name(Constants.FIRST_WORKSPACE_NAME)
+        .openingHours(Constants.FIRST_WORKSPACE_OPENING_HOURS)
+        .capacity(capacity)
+        .properties(Constants.FIRST_WORKSPACE_PROPERTY_LIST)
+        .build();
+  }
 }
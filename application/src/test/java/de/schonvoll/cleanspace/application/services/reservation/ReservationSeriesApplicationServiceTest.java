@@ -0,0 +1,343 @@
+package de.schonvoll.cleanspace.application.services.reservation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.schonvoll.cleanspace.application.Constants;
+import de.schonvoll.cleanspace.application.commands.CancelOccurrenceCommand;
+import de.schonvoll.cleanspace.application.commands.CreateReservationCommand;
+import de.schonvoll.cleanspace.application.commands.CreateReservationSeriesCommand;
+import de.schonvoll.cleanspace.application.commands.FindSeriesOccurrencesQuery;
+import de.schonvoll.cleanspace.application.commands.MoveOccurrenceCommand;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeBookingCoordinator;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationSeriesRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeUserRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeWorkspaceRepository;
+import de.schonvoll.cleanspace.application.ports.OccupancyLedger;
+import de.schonvoll.cleanspace.application.services.AvailabilityCache;
+import de.schonvoll.cleanspace.application.services.ReservationApplicationService;
+import de.schonvoll.cleanspace.application.services.ReservationSeriesApplicationService;
+import de.schonvoll.cleanspace.application.services.ScanningOccupancyLedger;
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
+import de.schonvoll.cleanspace.domain.exceptions.DuplicateReservationException;
+import de.schonvoll.cleanspace.domain.exceptions.WorkspaceFullException;
+import de.schonvoll.cleanspace.domain.repositories.ReservationRepository;
+import de.schonvoll.cleanspace.domain.repositories.ReservationSeriesRepository;
+import de.schonvoll.cleanspace.domain.repositories.UserRepository;
+import de.schonvoll.cleanspace.domain.repositories.WorkspaceRepository;
+import de.schonvoll.cleanspace.domain.valueobjects.RecurrenceRule;
+import de.schonvoll.cleanspace.domain.valueobjects.SeriesOccurrence;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ReservationSeriesApplicationServiceTest {
+  private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+  private static final RecurrenceRule FIVE_DAYS =
+      new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, null, 5);
+
+  private ReservationRepository reservationRepository;
+  private ReservationSeriesRepository reservationSeriesRepository;
+  private WorkspaceRepository workspaceRepository;
+  private UserRepository userRepository;
+
+  private ReservationSeriesApplicationService reservationSeriesApplicationService;
+  private ReservationApplicationService reservationApplicationService;
+
+  @BeforeEach
+  void setUp() {
+    reservationRepository = new FakeReservationRepository();
+    reservationSeriesRepository = new FakeReservationSeriesRepository();
+    workspaceRepository = new FakeWorkspaceRepository();
+    userRepository = new FakeUserRepository();
+    FakeBookingCoordinator bookingCoordinator = new FakeBookingCoordinator();
+    OccupancyLedger occupancyLedger =
+        new ScanningOccupancyLedger(reservationRepository, reservationSeriesRepository);
+    AvailabilityCache availabilityCache = new AvailabilityCache(16);
+    reservationSeriesApplicationService =
+        new ReservationSeriesApplicationService(
+            reservationRepository,
+            reservationSeriesRepository,
+            workspaceRepository,
+            userRepository,
+            bookingCoordinator,
+            occupancyLedger,
+            availabilityCache);
+    reservationApplicationService =
+        new ReservationApplicationService(
+            reservationRepository,
+            reservationSeriesRepository,
+            workspaceRepository,
+            userRepository,
+            bookingCoordinator,
+            occupancyLedger,
+            availabilityCache);
+    workspaceRepository.save(Constants.getFirstWorkspace());
+    userRepository.save(Constants.getFirstUser());
+    userRepository.save(Constants.getSecondUser());
+  }
+
+  @AfterEach
+  void tearDown() {
+    reservationRepository = null;
+    reservationSeriesRepository = null;
+    workspaceRepository = null;
+    userRepository = null;
+    reservationSeriesApplicationService = null;
+    reservationApplicationService = null;
+  }
+
+  @Test
+  void shouldSaveSeriesWithoutStoringItsOccurrencesAsReservations() {
+    // Arrange
+    RecurrenceRule weekly =
+        new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 2, MONDAY.plusWeeks(8), null);
+
+    // Act
+    ReservationSeries created =
+        reservationSeriesApplicationService.create(seriesCommand(weekly, null));
+
+    // Assert
+    assertEquals(created, reservationSeriesRepository.findById(created.getId()));
+    assertTrue(reservationRepository.findAll().isEmpty());
+    List<SeriesOccurrence> occurrences = created.occurrences().toList();
+    assertEquals(5, occurrences.size());
+    assertEquals(MONDAY.plusWeeks(8), occurrences.getLast().occurrenceDate());
+  }
+
+  @Test
+  void shouldLeaveOutExceptions() {
+    // Act
+    ReservationSeries created =
+        reservationSeriesApplicationService.create(
+            seriesCommand(FIVE_DAYS, Set.of(MONDAY.plusDays(1), MONDAY.plusDays(3))));
+
+    // Assert
+    assertEquals(
+        List.of(MONDAY, MONDAY.plusDays(2), MONDAY.plusDays(4)),
+        created.occurrences().map(SeriesOccurrence::occurrenceDate).toList());
+  }
+
+  @Test
+  void shouldRejectSeriesWithoutEnd() {
+    // Arrange
+    RecurrenceRule endless = new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, null, null);
+
+    // Act
+    // Assert
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> reservationSeriesApplicationService.create(seriesCommand(endless, null)));
+  }
+
+  @Test
+  void shouldRejectSeriesWithMoreThanTheMaximumNumberOfOccurrences() {
+    // Arrange
+    RecurrenceRule tooLong = new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, null, 1001);
+
+    // Act
+    // Assert
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> reservationSeriesApplicationService.create(seriesCommand(tooLong, null)));
+  }
+
+  @Test
+  void shouldRejectSeriesWhenUserHasReservationDuringOneOccurrence() {
+    // Arrange
+    reservationRepository.save(
+        new Reservation(
+            Constants.FIRST_WORKSPACE_ID,
+            Constants.FIRST_USER_ID,
+            slotOn(MONDAY.plusDays(3), LocalTime.of(11, 30), 60)));
+
+    // Act
+    DuplicateReservationException exception =
+        assertThrows(
+            DuplicateReservationException.class,
+            () -> reservationSeriesApplicationService.create(seriesCommand(FIVE_DAYS, null)));
+
+    // Assert
+    assertTrue(exception.getMessage().contains(MONDAY.plusDays(3).toString()));
+    assertTrue(reservationSeriesRepository.findByUserId(Constants.FIRST_USER_ID).isEmpty());
+  }
+
+  @Test
+  void shouldRejectSeriesWhenWorkspaceIsFullDuringOneOccurrence() {
+    // Arrange
+    reservationRepository.save(
+        new Reservation(
+            Constants.FIRST_WORKSPACE_ID,
+            Constants.SECOND_USER_ID,
+            slotOn(MONDAY.plusDays(4), LocalTime.of(11, 0), 60)));
+
+    // Act
+    // Assert
+    assertThrows(
+        WorkspaceFullException.class,
+        () -> reservationSeriesApplicationService.create(seriesCommand(FIVE_DAYS, null)));
+  }
+
+  @Test
+  void shouldCreateSeriesAroundAnExceptionTakenByAnotherReservation() {
+    // Arrange
+    reservationRepository.save(
+        new Reservation(
+            Constants.FIRST_WORKSPACE_ID,
+            Constants.SECOND_USER_ID,
+            slotOn(MONDAY.plusDays(4), LocalTime.of(11, 0), 60)));
+
+    // Act
+    ReservationSeries created =
+        reservationSeriesApplicationService.create(
+            seriesCommand(FIVE_DAYS, Set.of(MONDAY.plusDays(4))));
+
+    // Assert
+    assertEquals(4, created.occurrences().count());
+  }
+
+  @Test
+  void shouldCountOccurrencesAgainstSingleReservations() {
+    // Arrange
+    reservationSeriesApplicationService.create(seriesCommand(FIVE_DAYS, null));
+    CreateReservationCommand duringOccurrence =
+        new CreateReservationCommand(
+            Constants.FIRST_WORKSPACE_NAME,
+            Constants.SECOND_USER_EMAIL,
+            slotOn(MONDAY.plusDays(2), LocalTime.of(11, 30), 60));
+
+    // Act
+    // Assert
+    assertThrows(
+        WorkspaceFullException.class, () -> reservationApplicationService.create(duringOccurrence));
+  }
+
+  @Test
+  void shouldFreeTheSeatOfACancelledOccurrence() {
+    // Arrange
+    ReservationSeries series =
+        reservationSeriesApplicationService.create(seriesCommand(FIVE_DAYS, null));
+
+    // Act
+    reservationSeriesApplicationService.cancelOccurrence(
+        new CancelOccurrenceCommand(series.getId(), MONDAY.plusDays(2)));
+
+    // Assert
+    Reservation created =
+        reservationApplicationService.create(
+            new CreateReservationCommand(
+                Constants.FIRST_WORKSPACE_NAME,
+                Constants.SECOND_USER_EMAIL,
+                slotOn(MONDAY.plusDays(2), LocalTime.of(11, 0), 60)));
+    assertEquals(Constants.SECOND_USER_ID, created.getUserId());
+    List<SeriesOccurrence> occurrences =
+        reservationSeriesApplicationService.findOccurrences(
+            new FindSeriesOccurrencesQuery(series.getId(), weekFrom(MONDAY)));
+    assertEquals(4, occurrences.size());
+  }
+
+  @Test
+  void shouldRejectCancellingAnOccurrenceTwice() {
+    // Arrange
+    ReservationSeries series =
+        reservationSeriesApplicationService.create(seriesCommand(FIVE_DAYS, null));
+    CancelOccurrenceCommand command = new CancelOccurrenceCommand(series.getId(), MONDAY);
+    reservationSeriesApplicationService.cancelOccurrence(command);
+
+    // Act
+    // Assert
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> reservationSeriesApplicationService.cancelOccurrence(command));
+  }
+
+  @Test
+  void shouldMoveOccurrenceToATimeOverlappingItsOldOne() {
+    // Arrange
+    ReservationSeries series =
+        reservationSeriesApplicationService.create(seriesCommand(FIVE_DAYS, null));
+    TimeSlot later = slotOn(MONDAY.plusDays(1), LocalTime.of(11, 30), 60);
+
+    // Act
+    SeriesOccurrence moved =
+        reservationSeriesApplicationService.moveOccurrence(
+            new MoveOccurrenceCommand(series.getId(), MONDAY.plusDays(1), later));
+
+    // Assert
+    assertEquals(later, moved.timeSlot());
+    ReservationSeries changed = reservationSeriesRepository.findById(series.getId());
+    assertEquals(later, changed.occurrenceOn(MONDAY.plusDays(1)).timeSlot());
+    assertEquals(5, changed.occurrences().count());
+  }
+
+  @Test
+  void shouldKeepOccurrenceInPlaceWhenMovingItIntoAFullTimeSlot() {
+    // Arrange
+    ReservationSeries series =
+        reservationSeriesApplicationService.create(seriesCommand(FIVE_DAYS, null));
+    TimeSlot taken = slotOn(MONDAY.plusDays(1), LocalTime.of(14, 0), 60);
+    reservationRepository.save(
+        new Reservation(Constants.FIRST_WORKSPACE_ID, Constants.SECOND_USER_ID, taken));
+
+    // Act
+    assertThrows(
+        WorkspaceFullException.class,
+        () ->
+            reservationSeriesApplicationService.moveOccurrence(
+                new MoveOccurrenceCommand(series.getId(), MONDAY.plusDays(1), taken)));
+
+    // Assert
+    SeriesOccurrence occurrence =
+        reservationSeriesRepository.findById(series.getId()).occurrenceOn(MONDAY.plusDays(1));
+    assertEquals(slotOn(MONDAY.plusDays(1), LocalTime.of(11, 0), 60), occurrence.timeSlot());
+  }
+
+  @Test
+  void shouldNotFindOccurrencesOutsideTheWindow() {
+    // Arrange
+    ReservationSeries series =
+        reservationSeriesApplicationService.create(seriesCommand(FIVE_DAYS, null));
+
+    // Act
+    List<SeriesOccurrence> occurrences =
+        reservationSeriesApplicationService.findOccurrences(
+            new FindSeriesOccurrencesQuery(
+                series.getId(),
+                new TimeSlot(MONDAY.plusDays(1).atStartOfDay(), Duration.ofDays(2))));
+
+    // Assert
+    assertEquals(
+        List.of(MONDAY.plusDays(1), MONDAY.plusDays(2)),
+        occurrences.stream().map(SeriesOccurrence::occurrenceDate).toList());
+    assertNull(series.occurrenceOn(MONDAY.plusDays(5)));
+  }
+
+  private static CreateReservationSeriesCommand seriesCommand(
+      RecurrenceRule rule, Set<LocalDate> exceptions) {
+    return new CreateReservationSeriesCommand(
+        Constants.FIRST_WORKSPACE_NAME,
+        Constants.FIRST_USER_EMAIL,
+        slotOn(MONDAY, LocalTime.of(11, 0), 60),
+        rule,
+        exceptions);
+  }
+
+  private static TimeSlot slotOn(LocalDate date, LocalTime start, int minutes) {
+    return new TimeSlot(LocalDateTime.of(date, start), Duration.ofMinutes(minutes));
+  }
+
+  private static TimeSlot weekFrom(LocalDate date) {
+    return new TimeSlot(date.atStartOfDay(), Duration.ofDays(7));
+  }
+}
@@ -0,0 +1,175 @@
+package de.schonvoll.cleanspace.application.services.workspace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.schonvoll.cleanspace.application.Constants;
+import de.schonvoll.cleanspace.application.commands.CreateReservationCommand;
+import de.schonvoll.cleanspace.application.commands.FindAvailableWorkspacesQuery;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationSeriesRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeUserRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeWorkspaceRepository;
+import de.schonvoll.cleanspace.application.ports.BookingCoordinator;
+import de.schonvoll.cleanspace.application.ports.OccupancyLedger;
+import de.schonvoll.cleanspace.application.results.AvailabilityCacheStats;
+import de.schonvoll.cleanspace.application.services.AvailabilityCache;
+import de.schonvoll.cleanspace.application.services.AvailabilityEvaluator;
+import de.schonvoll.cleanspace.application.services.ReservationApplicationService;
+import de.schonvoll.cleanspace.application.services.ScanningOccupancyLedger;
+import de.schonvoll.cleanspace.application.services.WorkspaceApplicationService;
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.repositories.ReservationRepository;
+import de.schonvoll.cleanspace.domain.repositories.ReservationSeriesRepository;
+import de.schonvoll.cleanspace.domain.repositories.UserRepository;
+import de.schonvoll.cleanspace.domain.repositories.WorkspaceRepository;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceProperty;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+public class CachedAvailabilitySearchTest {
+  private static final LocalDate SEARCH_DAY = LocalDate.of(2030, 1, 7);
+
+  private WorkspaceRepository workspaceRepository;
+  private ReservationRepository reservationRepository;
+
+  private AvailabilityCache availabilityCache;
+  private WorkspaceApplicationService workspaceApplicationService;
+
+  @Test
+  void shouldServeRepeatedSearchFromCacheUntilTheDayIsWritten() {
+    // Arrange
+    workspaceRepository = new FakeWorkspaceRepository();
+    reservationRepository = new FakeReservationRepository();
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
+    Workspace workspace = saveWorkspace("single", 1, List.of());
+    TimeSlot timeSlot =
+        new TimeSlot(LocalDateTime.of(SEARCH_DAY, LocalTime.of(11, 0)), Duration.ofHours(1));
+    FindAvailableWorkspacesQuery query =
+        new FindAvailableWorkspacesQuery(timeSlot, Optional.empty(), Optional.empty());
+    workspaceApplicationService.findAvailable(query);
+    Reservation reservation =
+        reservationRepository.save(
+            new Reservation(workspace.getId(), Constants.FIRST_USER_ID, timeSlot));
+
+    // Act
+    List<Workspace> cached = workspaceApplicationService.findAvailable(query);
+    availabilityCache.invalidate(reservation.getTimeSlot());
+    List<Workspace> recomputed = workspaceApplicationService.findAvailable(query);
+
+    // Assert
+    assertEquals(List.of(workspace), cached);
+    assertTrue(recomputed.isEmpty());
+    assertEquals(
+        new AvailabilityCacheStats(1, 1, 1, 0, 1),
+        workspaceApplicationService.availabilityCacheStats());
+  }
+
+  @Test
+  void shouldNotServeSearchRunWhileTheBookingWasUncommitted() {
+    // Arrange
+    workspaceRepository = new FakeWorkspaceRepository();
+    UncommittedReservationRepository uncommitted = new UncommittedReservationRepository();
+    reservationRepository = uncommitted;
+    ReservationSeriesRepository seriesRepository = new FakeReservationSeriesRepository();
+    workspaceApplicationService = createService(seriesRepository);
+    UserRepository userRepository = new FakeUserRepository();
+    userRepository.save(Constants.getFirstUser());
+    saveWorkspace(Constants.FIRST_WORKSPACE_NAME, 1, List.of());
+    TimeSlot timeSlot =
+        new TimeSlot(LocalDateTime.of(SEARCH_DAY, LocalTime.of(11, 0)), Duration.ofHours(1));
+    FindAvailableWorkspacesQuery query =
+        new FindAvailableWorkspacesQuery(timeSlot, Optional.empty(), Optional.empty());
+    List<List<Workspace>> searchedWhileUncommitted = new ArrayList<>();
+    BookingCoordinator searchingBeforeCommit =
+        new BookingCoordinator() {
+          @Override
+          public <T> T bookExclusively(UUID workspaceId, Supplier<T> booking) {
+            T result = booking.get();
+            searchedWhileUncommitted.add(workspaceApplicationService.findAvailable(query));
+            uncommitted.commit();
+            return result;
+          }
+
+          @Override
+          public <T> T bookExclusively(Collection<UUID> workspaceIds, Supplier<T> booking) {
+            throw new UnsupportedOperationException();
+          }
+        };
+    ReservationApplicationService reservationApplicationService =
+        new ReservationApplicationService(
+            reservationRepository,
+            seriesRepository,
+            workspaceRepository,
+            userRepository,
+            searchingBeforeCommit,
+            new ScanningOccupancyLedger(reservationRepository, seriesRepository),
+            availabilityCache);
+
+    // Act
+    reservationApplicationService.create(
+        new CreateReservationCommand(
+            Constants.FIRST_WORKSPACE_NAME, Constants.FIRST_USER_EMAIL, timeSlot));
+    List<Workspace> afterCommit = workspaceApplicationService.findAvailable(query);
+
+    // Assert
+    assertEquals(1, searchedWhileUncommitted.getFirst().size());
+    assertTrue(afterCommit.isEmpty());
+  }
+
+  private Workspace saveWorkspace(
+      String name, int capacity, List<WorkspaceProperty> properties) {
+    return workspaceRepository.save(
+        new Workspace(name, Constants.FIRST_WORKSPACE_OPENING_HOURS, capacity, properties));
+  }
+
+  // Keeps saved reservations invisible to reads until they are committed, like a database
+  // transaction that has not committed yet
+  private static class UncommittedReservationRepository extends FakeReservationRepository {
+    private final List<Reservation> pending = new ArrayList<>();
+
+    @Override
+    public Reservation save(Reservation reservation) {
+      pending.add(reservation);
+      return reservation;
+    }
+
+    void commit() {
+      pending.forEach(super::save);
+      pending.clear();
+    }
+  }
+
+  // The ledger reads the same fakes as the service, like the scanning ledger reads the database
+  private WorkspaceApplicationService createService(ReservationSeriesRepository seriesRepository) {
+    return createService(
+        seriesRepository,
+        new ScanningOccupancyLedger(reservationRepository, seriesRepository),
+        AvailabilityEvaluator.sequential());
+  }
+
+  private WorkspaceApplicationService createService(
+      ReservationSeriesRepository seriesRepository,
+      OccupancyLedger occupancyLedger,
+      AvailabilityEvaluator availabilityEvaluator) {
+    availabilityCache = new AvailabilityCache(16);
+    return new WorkspaceApplicationService(
+        workspaceRepository,
+        reservationRepository,
+        seriesRepository,
+        occupancyLedger,
+        availabilityCache,
+        availabilityEvaluator);
+  }
+}
@@ -0,0 +1,373 @@
+package de.schonvoll.cleanspace.application.services.workspace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.schonvoll.cleanspace.application.Constants;
+import de.schonvoll.cleanspace.application.commands.FindAvailableWorkspacesQuery;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationSeriesRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeWorkspaceRepository;
+import de.schonvoll.cleanspace.application.ports.OccupancyLedger;
+import de.schonvoll.cleanspace.application.services.AvailabilityCache;
+import de.schonvoll.cleanspace.application.services.AvailabilityEvaluator;
+import de.schonvoll.cleanspace.application.services.ScanningOccupancyLedger;
+import de.schonvoll.cleanspace.application.services.WorkspaceApplicationService;
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
+import de.schonvoll.cleanspace.domain.entities.User;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.repositories.ReservationRepository;
+import de.schonvoll.cleanspace.domain.repositories.ReservationSeriesRepository;
+import de.schonvoll.cleanspace.domain.repositories.WorkspaceRepository;
+import de.schonvoll.cleanspace.domain.valueobjects.RecurrenceRule;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceProperty;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class FindAvailableWorkspacesTest {
+  private static final LocalDate SEARCH_DAY = LocalDate.of(2030, 1, 7);
+
+  private WorkspaceRepository workspaceRepository;
+  private ReservationRepository reservationRepository;
+
+  private AvailabilityCache availabilityCache;
+  private WorkspaceApplicationService workspaceApplicationService;
+
+  @Test
+  void testFindAvailableHappyPath() {
+    // Arrange
+    workspaceRepository = new FakeWorkspaceRepository();
+    reservationRepository = new FakeReservationRepository();
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
+    Workspace workspace = Constants.getFirstWorkspace();
+    workspaceRepository.save(workspace);
+    TimeSlot timeSlot =
+        new TimeSlot(
+            LocalDateTime.of(
+                LocalDate.now(), Constants.FIRST_WORKSPACE_OPENING_HOURS.open().plusMinutes(10)),
+            Constants.FIRST_WORKSPACE_OPENING_HOURS.getDuration().minusMinutes(10));
+    Integer minCapacity = workspace.getCapacity();
+    FindAvailableWorkspacesQuery query =
+        new FindAvailableWorkspacesQuery(
+            timeSlot,
+            Optional.of(minCapacity),
+            Optional.of(Constants.FIRST_WORKSPACE_PROPERTY_LIST));
+
+    List<Workspace> results = workspaceApplicationService.findAvailable(query);
+
+    assertEquals(1, results.size());
+    Workspace found = results.getFirst();
+    assertEquals(Constants.FIRST_WORKSPACE_NAME, found.getName());
+    assertEquals(Constants.FIRST_WORKSPACE_OPENING_HOURS, found.getOpeningHours());
+    assertEquals(Constants.FIRST_WORKSPACE_CAPACITY, found.getCapacity());
+    assertEquals(found.getProperties(), Constants.FIRST_WORKSPACE_PROPERTY_LIST);
+  }
+
+  @Test
+  void shouldFindWorkspacesWithSufficientCapacity() {
+    // Arrange
+    workspaceRepository = new FakeWorkspaceRepository();
+    reservationRepository = new FakeReservationRepository();
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
+
+    Workspace workspace = Constants.getFirstWorkspace();
+    workspaceRepository.save(workspace);
+
+    TimeSlot timeSlot =
+        new TimeSlot(
+            LocalDateTime.of(
+                LocalDate.now(), Constants.FIRST_WORKSPACE_OPENING_HOURS.open().plusMinutes(10)),
+            Constants.FIRST_WORKSPACE_OPENING_HOURS.getDuration().minusMinutes(10));
+
+    // Verwenden Sie eine Kapazität kleiner als die des Workspace
+    int workspaceCapacity = Constants.FIRST_WORKSPACE_CAPACITY;
+    FindAvailableWorkspacesQuery query =
+        new FindAvailableWorkspacesQuery(
+            timeSlot,
+            Optional.of(workspaceCapacity - 1), // Weniger als workspace capacity
+            Optional.empty());
+
+    // Act
+    List<Workspace> results = workspaceApplicationService.findAvailable(query);
+
+    // Assert
+    assertEquals(1, results.size());
+  }
+
+  @Test
+  void shouldNotFindWorkspacesWithInsufficientCapacity() {
+    // Arrange
+    workspaceRepository = new FakeWorkspaceRepository();
+    reservationRepository = new FakeReservationRepository();
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
+
+    Workspace workspace = Constants.getFirstWorkspace();
+    workspaceRepository.save(workspace);
+
+    TimeSlot timeSlot =
+        new TimeSlot(
+            LocalDateTime.of(
+                LocalDate.now(), Constants.FIRST_WORKSPACE_OPENING_HOURS.open().plusMinutes(10)),
+            Constants.FIRST_WORKSPACE_OPENING_HOURS.getDuration().minusMinutes(10));
+
+    FindAvailableWorkspacesQuery query =
+        new FindAvailableWorkspacesQuery(
+            timeSlot,
+            Optional.of(999), // minCapacity höher als workspace capacity
+            Optional.empty()); // Keine Properties-Filter
+
+    // Act
+    List<Workspace> results = workspaceApplicationService.findAvailable(query);
+
+    // Assert
+    assertEquals(0, results.size());
+  }
+
+  @Test
+  void shouldFilterWorkspacesByAvailableCapacity() {
+    // Arrange
+    workspaceRepository = new FakeWorkspaceRepository();
+    reservationRepository = new FakeReservationRepository();
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
+
+    Workspace workspace = Constants.getFirstWorkspace();
+    workspaceRepository.save(workspace);
+
+    TimeSlot timeSlot =
+        new TimeSlot(
+            LocalDateTime.of(
+                LocalDate.now(), Constants.FIRST_WORKSPACE_OPENING_HOURS.open().plusMinutes(10)),
+            Constants.FIRST_WORKSPACE_OPENING_HOURS.getDuration().minusMinutes(10));
+
+    User user = Constants.getFirstUser();
+
+    // Fülle den Workspace bis zur Kapazität mit Reservierungen
+    for (int i = 0; i < workspace.getCapacity(); i++) {
+      Reservation reservation = new Reservation(workspace.getId(), user.getId(), timeSlot);
+      reservationRepository.save(reservation);
+    }
+
+    FindAvailableWorkspacesQuery query =
+        new FindAvailableWorkspacesQuery(timeSlot, Optional.empty(), Optional.empty());
+
+    // Act
+    List<Workspace> results = workspaceApplicationService.findAvailable(query);
+
+    // Assert - Workspace sollte NICHT verfügbar sein
+    assertEquals(0, results.size());
+  }
+
+  @Test
+  void shouldFindOnlyWorkspacesWithAllRequiredPropertiesAndEnoughCapacity() {
+    // Arrange
+    workspaceRepository = new FakeWorkspaceRepository();
+    reservationRepository = new FakeReservationRepository();
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
+    WorkspaceProperty parking = Constants.getFirstWorkspaceProperty();
+    WorkspaceProperty monitor = new WorkspaceProperty("Monitor", "27 inch");
+    Workspace both = saveWorkspace("both", 4, List.of(parking, monitor));
+    saveWorkspace("parking only", 4, List.of(parking));
+    saveWorkspace("both but small", 1, List.of(monitor, parking));
+    Workspace bothLarge = saveWorkspace("both and large", 8, List.of(monitor, parking));
+
+    TimeSlot timeSlot =
+        new TimeSlot(
+            LocalDateTime.of(LocalDate.now(), Constants.FIRST_WORKSPACE_OPENING_HOURS.open()),
+            Constants.FIRST_WORKSPACE_OPENING_HOURS.getDuration());
+    FindAvailableWorkspacesQuery query =
+        new FindAvailableWorkspacesQuery(
+            timeSlot, Optional.of(2), Optional.of(List.of(monitor, parking)));
+
+    // Act
+    List<Workspace> results = workspaceApplicationService.findAvailable(query);
+
+    // Assert
+    assertEquals(Set.of(both, bothLarge), Set.copyOf(results));
+  }
+
+  @Test
+  void shouldFindNoWorkspaceWhenARequiredPropertyWasNeverSaved() {
+    // Arrange
+    workspaceRepository = new FakeWorkspaceRepository();
+    reservationRepository = new FakeReservationRepository();
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
+    WorkspaceProperty parking = Constants.getFirstWorkspaceProperty();
+    WorkspaceProperty neverSaved = new WorkspaceProperty("Sauna", UUID.randomUUID().toString());
+    saveWorkspace("parking", 4, List.of(parking));
+    TimeSlot timeSlot =
+        new TimeSlot(
+            LocalDateTime.of(LocalDate.now(), Constants.FIRST_WORKSPACE_OPENING_HOURS.open()),
+            Constants.FIRST_WORKSPACE_OPENING_HOURS.getDuration());
+    FindAvailableWorkspacesQuery query =
+        new FindAvailableWorkspacesQuery(
+            timeSlot, Optional.empty(), Optional.of(List.of(parking, neverSaved)));
+
+    // Act
+    List<Workspace> results = workspaceApplicationService.findAvailable(query);
+
+    // Assert
+    assertTrue(results.isEmpty());
+  }
+
+  @Test
+  void shouldFindWorkspaceSavedAfterAnEarlierSearch() {
+    // Arrange
+    workspaceRepository = new FakeWorkspaceRepository();
+    reservationRepository = new FakeReservationRepository();
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
+    TimeSlot timeSlot =
+        new TimeSlot(
+            LocalDateTime.of(LocalDate.now(), Constants.FIRST_WORKSPACE_OPENING_HOURS.open()),
+            Constants.FIRST_WORKSPACE_OPENING_HOURS.getDuration());
+    FindAvailableWorkspacesQuery query =
+        new FindAvailableWorkspacesQuery(
+            timeSlot, Optional.empty(), Optional.of(List.of(Constants.getFirstWorkspaceProperty())));
+    workspaceApplicationService.findAvailable(query);
+
+    // Act
+    Workspace saved = saveWorkspace("late", 2, List.of(Constants.getFirstWorkspaceProperty()));
+    List<Workspace> results = workspaceApplicationService.findAvailable(query);
+
+    // Assert
+    assertEquals(List.of(saved), results);
+  }
+
+  @Test
+  void shouldLoadCatalogOnlyWhenItsVersionChanges() {
+    // Arrange
+    FakeWorkspaceRepository fakeWorkspaceRepository = new FakeWorkspaceRepository();
+    workspaceRepository = fakeWorkspaceRepository;
+    reservationRepository = new FakeReservationRepository();
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
+    saveWorkspace("first", 1, List.of());
+    TimeSlot timeSlot =
+        new TimeSlot(LocalDateTime.of(SEARCH_DAY, LocalTime.of(11, 0)), Duration.ofHours(1));
+    TimeSlot otherTimeSlot = new TimeSlot(timeSlot.end(), Duration.ofHours(1));
+
+    // Act
+    workspaceApplicationService.findAvailable(
+        new FindAvailableWorkspacesQuery(timeSlot, Optional.empty(), Optional.empty()));
+    workspaceApplicationService.findAvailable(
+        new FindAvailableWorkspacesQuery(otherTimeSlot, Optional.empty(), Optional.empty()));
+    int loadsBeforeSave = fakeWorkspaceRepository.catalogLoads();
+    saveWorkspace("second", 1, List.of());
+    List<Workspace> results =
+        workspaceApplicationService.findAvailable(
+            new FindAvailableWorkspacesQuery(timeSlot, Optional.empty(), Optional.empty()));
+
+    // Assert
+    assertEquals(1, loadsBeforeSave);
+    assertEquals(2, fakeWorkspaceRepository.catalogLoads());
+    assertEquals(2, results.size());
+  }
+
+  @Test
+  void shouldFindWorkspaceWhenOverlappingReservationsAreNotHeldAtTheSameTime() {
+    // Arrange
+    workspaceRepository = new FakeWorkspaceRepository();
+    reservationRepository = new FakeReservationRepository();
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
+    Workspace workspace =
+        workspaceRepository.save(
+            Workspace.builder()
+                .name(Constants.FIRST_WORKSPACE_NAME)
+                .openingHours(Constants.FIRST_WORKSPACE_OPENING_HOURS)
+                .capacity(2)
+                .properties(Constants.FIRST_WORKSPACE_PROPERTY_LIST)
+                .build());
+    LocalDateTime open =
+        LocalDateTime.of(LocalDate.now(), Constants.FIRST_WORKSPACE_OPENING_HOURS.open());
+    User user = Constants.getFirstUser();
+    reservationRepository.save(
+        new Reservation(workspace.getId(), user.getId(), new TimeSlot(open, Duration.ofHours(1))));
+    reservationRepository.save(
+        new Reservation(
+            workspace.getId(), user.getId(), new TimeSlot(open.plusHours(5), Duration.ofHours(1))));
+    reservationRepository.save(
+        new Reservation(
+            workspace.getId(), user.getId(), new TimeSlot(open.plusHours(6), Duration.ofHours(1))));
+    TimeSlot wholeDay = new TimeSlot(open, Constants.FIRST_WORKSPACE_OPENING_HOURS.getDuration());
+    FindAvailableWorkspacesQuery query =
+        new FindAvailableWorkspacesQuery(wholeDay, Optional.empty(), Optional.empty());
+
+    // Act
+    List<Workspace> results = workspaceApplicationService.findAvailable(query);
+
+    // Assert
+    assertEquals(List.of(workspace), results);
+  }
+
+  @Test
+  void shouldNotFindWorkspaceFullDuringASeriesOccurrence() {
+    // Arrange
+    workspaceRepository = new FakeWorkspaceRepository();
+    reservationRepository = new FakeReservationRepository();
+    FakeReservationSeriesRepository seriesRepository = new FakeReservationSeriesRepository();
+    workspaceApplicationService = createService(seriesRepository);
+    Workspace workspace = saveWorkspace("daily", 1, List.of());
+    LocalDateTime open =
+        LocalDateTime.of(LocalDate.now(), Constants.FIRST_WORKSPACE_OPENING_HOURS.open());
+    seriesRepository.save(
+        new ReservationSeries(
+            workspace.getId(),
+            Constants.FIRST_USER_ID,
+            new TimeSlot(open.plusHours(1), Duration.ofHours(1)),
+            new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, null, 30)));
+    FindAvailableWorkspacesQuery duringOccurrence =
+        new FindAvailableWorkspacesQuery(
+            new TimeSlot(open.plusDays(20).plusHours(1), Duration.ofMinutes(30)),
+            Optional.empty(),
+            Optional.empty());
+    FindAvailableWorkspacesQuery afterSeries =
+        new FindAvailableWorkspacesQuery(
+            new TimeSlot(open.plusDays(30).plusHours(1), Duration.ofMinutes(30)),
+            Optional.empty(),
+            Optional.empty());
+
+    // Act
+    List<Workspace> duringOccurrenceResults =
+        workspaceApplicationService.findAvailable(duringOccurrence);
+    List<Workspace> afterSeriesResults = workspaceApplicationService.findAvailable(afterSeries);
+
+    // Assert
+    assertTrue(duringOccurrenceResults.isEmpty());
+    assertEquals(List.of(workspace), afterSeriesResults);
+  }
+
+  private Workspace saveWorkspace(
+      String name, int capacity, List<WorkspaceProperty> properties) {
+    return workspaceRepository.save(
+        new Workspace(name, Constants.FIRST_WORKSPACE_OPENING_HOURS, capacity, properties));
+  }
+
+  // The ledger reads the same fakes as the service, like the scanning ledger reads the database
+  private WorkspaceApplicationService createService(ReservationSeriesRepository seriesRepository) {
+    return createService(
+        seriesRepository,
+        new ScanningOccupancyLedger(reservationRepository, seriesRepository),
+        AvailabilityEvaluator.sequential());
+  }
+
+  private WorkspaceApplicationService createService(
+      ReservationSeriesRepository seriesRepository,
+      OccupancyLedger occupancyLedger,
+      AvailabilityEvaluator availabilityEvaluator) {
+    availabilityCache = new AvailabilityCache(16);
+    return new WorkspaceApplicationService(
+        workspaceRepository,
+        reservationRepository,
+        seriesRepository,
+        occupancyLedger,
+        availabilityCache,
+        availabilityEvaluator);
+  }
+}
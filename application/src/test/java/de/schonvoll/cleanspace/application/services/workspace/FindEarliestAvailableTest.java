@@ -0,0 +1,194 @@
+package de.schonvoll.cleanspace.application.services.workspace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.schonvoll.cleanspace.application.Constants;
+import de.schonvoll.cleanspace.application.commands.FindEarliestAvailableQuery;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationSeriesRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeWorkspaceRepository;
+import de.schonvoll.cleanspace.application.ports.OccupancyLedger;
+import de.schonvoll.cleanspace.application.results.AvailableSlotResult;
+import de.schonvoll.cleanspace.application.services.AvailabilityCache;
+import de.schonvoll.cleanspace.application.services.AvailabilityEvaluator;
+import de.schonvoll.cleanspace.application.services.ScanningOccupancyLedger;
+import de.schonvoll.cleanspace.application.services.WorkspaceApplicationService;
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.repositories.ReservationRepository;
+import de.schonvoll.cleanspace.domain.repositories.ReservationSeriesRepository;
+import de.schonvoll.cleanspace.domain.repositories.WorkspaceRepository;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceProperty;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+public class FindEarliestAvailableTest {
+  private static final LocalDate SEARCH_DAY = LocalDate.of(2030, 1, 7);
+
+  private WorkspaceRepository workspaceRepository;
+  private ReservationRepository reservationRepository;
+
+  private AvailabilityCache availabilityCache;
+  private WorkspaceApplicationService workspaceApplicationService;
+
+  @Test
+  void shouldFindEarliestSlotInTheGapAfterAReservation() {
+    // Arrange
+    setUpEarliestSearch();
+    Workspace workspace = saveWorkspace("single", 1, List.of());
+    reservationRepository.save(
+        new Reservation(
+            workspace.getId(),
+            Constants.FIRST_USER_ID,
+            new TimeSlot(SEARCH_DAY.atTime(10, 30), Duration.ofMinutes(90))));
+    FindEarliestAvailableQuery query = earliestQuery(SEARCH_DAY, 1, null, null, 2, 3);
+
+    // Act
+    List<AvailableSlotResult> results = workspaceApplicationService.findEarliestAvailable(query);
+
+    // Assert
+    assertEquals(
+        List.of(
+            new AvailableSlotResult(
+                workspace,
+                new TimeSlot(SEARCH_DAY.atTime(12, 0), Duration.ofHours(2)),
+                SEARCH_DAY.atTime(15, 59))),
+        results);
+  }
+
+  @Test
+  void shouldFindEarliestSlotOnlyWhereFewerReservationsThanSeatsAreHeld() {
+    // Arrange
+    setUpEarliestSearch();
+    Workspace workspace = saveWorkspace("double", 2, List.of());
+    reservationRepository.save(
+        new Reservation(
+            workspace.getId(),
+            Constants.FIRST_USER_ID,
+            new TimeSlot(SEARCH_DAY.atTime(11, 0), Duration.ofHours(2))));
+    reservationRepository.save(
+        new Reservation(
+            workspace.getId(),
+            Constants.SECOND_USER_ID,
+            new TimeSlot(SEARCH_DAY.atTime(12, 0), Duration.ofHours(2))));
+    FindEarliestAvailableQuery query = earliestQuery(SEARCH_DAY, 1, null, null, 3, 3);
+
+    // Act
+    List<AvailableSlotResult> results = workspaceApplicationService.findEarliestAvailable(query);
+
+    // Assert
+    assertEquals(1, results.size());
+    assertEquals(SEARCH_DAY.atTime(13, 0), results.getFirst().timeSlot().start());
+    assertEquals(SEARCH_DAY.atTime(14, 59), results.getFirst().latestStart());
+  }
+
+  @Test
+  void shouldReturnEarliestSlotsAcrossWorkspacesUpToTheLimit() {
+    // Arrange
+    setUpEarliestSearch();
+    Workspace first = saveWorkspace("a", 1, List.of());
+    Workspace second = saveWorkspace("b", 1, List.of());
+    reservationRepository.save(
+        new Reservation(
+            first.getId(),
+            Constants.FIRST_USER_ID,
+            new TimeSlot(SEARCH_DAY.atTime(10, 0), Duration.ofHours(8))));
+    FindEarliestAvailableQuery query =
+        earliestQuery(SEARCH_DAY, 3, LocalTime.of(8, 0), LocalTime.of(18, 0), 2, 3);
+
+    // Act
+    List<AvailableSlotResult> results = workspaceApplicationService.findEarliestAvailable(query);
+
+    // Assert
+    LocalDateTime nextDay = SEARCH_DAY.plusDays(1).atTime(10, 1);
+    assertEquals(
+        List.of(SEARCH_DAY.atTime(10, 1), nextDay, nextDay),
+        results.stream().map(result -> result.timeSlot().start()).toList());
+    assertEquals(
+        List.of(second, first, second),
+        results.stream().map(AvailableSlotResult::workspace).toList());
+  }
+
+  @Test
+  void shouldFindEarliestSlotWithinTheDailyHours() {
+    // Arrange
+    setUpEarliestSearch();
+    Workspace workspace = saveWorkspace("afternoon", 1, List.of());
+    FindEarliestAvailableQuery query =
+        earliestQuery(SEARCH_DAY, 1, LocalTime.of(14, 0), LocalTime.of(16, 0), 2, 3);
+
+    // Act
+    List<AvailableSlotResult> results = workspaceApplicationService.findEarliestAvailable(query);
+
+    // Assert
+    assertEquals(1, results.size());
+    assertEquals(workspace, results.getFirst().workspace());
+    assertEquals(SEARCH_DAY.atTime(14, 0), results.getFirst().timeSlot().start());
+    assertEquals(SEARCH_DAY.atTime(14, 0), results.getFirst().latestStart());
+  }
+
+  @Test
+  void shouldThrowExceptionWhenEarliestSearchLimitIsZero() {
+    // Arrange
+    setUpEarliestSearch();
+    FindEarliestAvailableQuery query = earliestQuery(SEARCH_DAY, 1, null, null, 2, 0);
+
+    // Act & Assert
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> workspaceApplicationService.findEarliestAvailable(query));
+  }
+
+  private Workspace saveWorkspace(
+      String name, int capacity, List<WorkspaceProperty> properties) {
+    return workspaceRepository.save(
+        new Workspace(name, Constants.FIRST_WORKSPACE_OPENING_HOURS, capacity, properties));
+  }
+
+  // The ledger reads the same fakes as the service, like the scanning ledger reads the database
+  private WorkspaceApplicationService createService(ReservationSeriesRepository seriesRepository) {
+    return createService(
+        seriesRepository,
+        new ScanningOccupancyLedger(reservationRepository, seriesRepository),
+        AvailabilityEvaluator.sequential());
+  }
+
+  private WorkspaceApplicationService createService(
+      ReservationSeriesRepository seriesRepository,
+      OccupancyLedger occupancyLedger,
+      AvailabilityEvaluator availabilityEvaluator) {
+    availabilityCache = new AvailabilityCache(16);
+    return new WorkspaceApplicationService(
+        workspaceRepository,
+        reservationRepository,
+        seriesRepository,
+        occupancyLedger,
+        availabilityCache,
+        availabilityEvaluator);
+  }
+
+  private void setUpEarliestSearch() {
+    workspaceRepository = new FakeWorkspaceRepository();
+    reservationRepository = new FakeReservationRepository();
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
+  }
+
+  private static FindEarliestAvailableQuery earliestQuery(
+      LocalDate firstDay, int days, LocalTime dailyFrom, LocalTime dailyTo, int hours, int limit) {
+    return new FindEarliestAvailableQuery(
+        new TimeSlot(firstDay.atStartOfDay(), Duration.ofDays(days)),
+        dailyFrom,
+        dailyTo,
+        Duration.ofHours(hours),
+        limit,
+        Optional.empty(),
+        Optional.empty());
+  }
+}
@@ -0,0 +1,123 @@
+package de.schonvoll.cleanspace.application.services.workspace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.schonvoll.cleanspace.application.Constants;
+import de.schonvoll.cleanspace.application.commands.FindAvailableWorkspacesQuery;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationSeriesRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeWorkspaceRepository;
+import de.schonvoll.cleanspace.application.ports.OccupancyLedger;
+import de.schonvoll.cleanspace.application.services.AvailabilityCache;
+import de.schonvoll.cleanspace.application.services.AvailabilityEvaluator;
+import de.schonvoll.cleanspace.application.services.ScanningOccupancyLedger;
+import de.schonvoll.cleanspace.application.services.WorkspaceApplicationService;
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.repositories.ReservationRepository;
+import de.schonvoll.cleanspace.domain.repositories.ReservationSeriesRepository;
+import de.schonvoll.cleanspace.domain.repositories.WorkspaceRepository;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceProperty;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class ParallelAvailabilitySearchTest {
+  private static final LocalDate SEARCH_DAY = LocalDate.of(2030, 1, 7);
+
+  private WorkspaceRepository workspaceRepository;
+  private ReservationRepository reservationRepository;
+
+  private AvailabilityCache availabilityCache;
+  private WorkspaceApplicationService workspaceApplicationService;
+
+  @Test
+  void shouldFindSameWorkspacesInSameOrderWhenReadInParallelChunks() {
+    // Arrange
+    workspaceRepository = new FakeWorkspaceRepository();
+    reservationRepository = new FakeReservationRepository();
+    ReservationSeriesRepository seriesRepository = new FakeReservationSeriesRepository();
+    List<String> readingThreads = Collections.synchronizedList(new ArrayList<>());
+    List<Integer> chunkSizes = Collections.synchronizedList(new ArrayList<>());
+    OccupancyLedger recordingLedger =
+        new ScanningOccupancyLedger(reservationRepository, seriesRepository) {
+          @Override
+          public Map<UUID, int[]> takenSeats(
+              Collection<UUID> workspaceIds, TimeSlot range, Duration bucketSize) {
+            readingThreads.add(Thread.currentThread().getName());
+            chunkSizes.add(workspaceIds.size());
+            return super.takenSeats(workspaceIds, range, bucketSize);
+          }
+        };
+    TimeSlot timeSlot =
+        new TimeSlot(LocalDateTime.of(SEARCH_DAY, LocalTime.of(11, 0)), Duration.ofHours(1));
+    Set<Workspace> free = new HashSet<>();
+    for (int i = 0; i < 9; i++) {
+      Workspace workspace = saveWorkspace("desk " + i, 1, List.of());
+      if (i % 3 == 0) {
+        reservationRepository.save(
+            new Reservation(workspace.getId(), Constants.FIRST_USER_ID, timeSlot));
+      } else {
+        free.add(workspace);
+      }
+    }
+    FindAvailableWorkspacesQuery query =
+        new FindAvailableWorkspacesQuery(timeSlot, Optional.empty(), Optional.empty());
+    List<Workspace> sequential = createService(seriesRepository).findAvailable(query);
+
+    try (AvailabilityEvaluator evaluator = AvailabilityEvaluator.parallel(2, 4)) {
+      workspaceApplicationService = createService(seriesRepository, recordingLedger, evaluator);
+
+      // Act
+      List<Workspace> results = workspaceApplicationService.findAvailable(query);
+
+      // Assert
+      assertEquals(free, Set.copyOf(results));
+      assertEquals(sequential, results);
+      assertTrue(chunkSizes.size() > 1);
+      assertTrue(chunkSizes.stream().allMatch(size -> size < 4));
+      assertTrue(readingThreads.stream().allMatch(name -> name.startsWith("availability-")));
+    }
+  }
+
+  private Workspace saveWorkspace(
+      String name, int capacity, List<WorkspaceProperty> properties) {
+    return workspaceRepository.save(
+        new Workspace(name, Constants.FIRST_WORKSPACE_OPENING_HOURS, capacity, properties));
+  }
+
+  // The ledger reads the same fakes as the service, like the scanning ledger reads the database
+  private WorkspaceApplicationService createService(ReservationSeriesRepository seriesRepository) {
+    return createService(
+        seriesRepository,
+        new ScanningOccupancyLedger(reservationRepository, seriesRepository),
+        AvailabilityEvaluator.sequential());
+  }
+
+  private WorkspaceApplicationService createService(
+      ReservationSeriesRepository seriesRepository,
+      OccupancyLedger occupancyLedger,
+      AvailabilityEvaluator availabilityEvaluator) {
+    availabilityCache = new AvailabilityCache(16);
+    return new WorkspaceApplicationService(
+        workspaceRepository,
+        reservationRepository,
+        seriesRepository,
+        occupancyLedger,
+        availabilityCache,
+        availabilityEvaluator);
+  }
+}
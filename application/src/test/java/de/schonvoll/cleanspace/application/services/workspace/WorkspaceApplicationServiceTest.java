@@ -1,4 +1,4 @@
-package de.schonvoll.cleanspace.application.services;
+package de.schonvoll.cleanspace.application.services.workspace;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -6,29 +6,32 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import de.schonvoll.cleanspace.application.Constants;
 import de.schonvoll.cleanspace.application.commands.CreateWorkspaceCommand;
-import de.schonvoll.cleanspace.application.commands.FindAvailableWorkspacesQuery;
 import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationRepository;
+import de.schonvoll.cleanspace.application.doubles.fake.FakeReservationSeriesRepository;
 import de.schonvoll.cleanspace.application.doubles.fake.FakeWorkspaceRepository;
-import de.schonvoll.cleanspace.domain.entities.Reservation;
-import de.schonvoll.cleanspace.domain.entities.User;
+import de.schonvoll.cleanspace.application.ports.OccupancyLedger;
+import de.schonvoll.cleanspace.application.services.AvailabilityCache;
+import de.schonvoll.cleanspace.application.services.AvailabilityEvaluator;
+import de.schonvoll.cleanspace.application.services.ScanningOccupancyLedger;
+import de.schonvoll.cleanspace.application.services.WorkspaceApplicationService;
 import de.schonvoll.cleanspace.domain.entities.Workspace;
 import de.schonvoll.cleanspace.domain.exceptions.DuplicateWorkspaceException;
 import de.schonvoll.cleanspace.domain.exceptions.OpeningHoursInvalidException;
 import de.schonvoll.cleanspace.domain.repositories.ReservationRepository;
+import de.schonvoll.cleanspace.domain.repositories.ReservationSeriesRepository;
 import de.schonvoll.cleanspace.domain.repositories.WorkspaceRepository;
 import de.schonvoll.cleanspace.domain.valueobjects.OpeningHours;
-import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceProperty;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspacePropertySet;
 import java.time.LocalTime;
 import java.util.List;
-import java.util.Optional;
 import org.junit.jupiter.api.Test;
 
 public class WorkspaceApplicationServiceTest {
   private WorkspaceRepository workspaceRepository;
   private ReservationRepository reservationRepository;
 
+  private AvailabilityCache availabilityCache;
   private WorkspaceApplicationService workspaceApplicationService;
 
   @Test
@@ -36,8 +39,7 @@ public class WorkspaceApplicationServiceTest {
     // Arrange
     workspaceRepository = new FakeWorkspaceRepository();
     reservationRepository = new FakeReservationRepository();
-    workspaceApplicationService =
-        new WorkspaceApplicationService(workspaceRepository, reservationRepository);
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
     CreateWorkspaceCommand command =
         new CreateWorkspaceCommand(
             Constants.FIRST_WORKSPACE_NAME,
@@ -53,44 +55,12 @@ public class WorkspaceApplicationServiceTest {
     assertEquals(1, workspaceRepository.findAll().size());
   }
 
-  @Test
-  void testFindAvailableHappyPath() {
-    // Arrange
-    workspaceRepository = new FakeWorkspaceRepository();
-    reservationRepository = new FakeReservationRepository();
-    workspaceApplicationService =
-        new WorkspaceApplicationService(workspaceRepository, reservationRepository);
-    Workspace workspace = Constants.getFirstWorkspace();
-    workspaceRepository.save(workspace);
-    TimeSlot timeSlot =
-        new TimeSlot(
-            LocalDateTime.of(
-                LocalDate.now(), Constants.FIRST_WORKSPACE_OPENING_HOURS.open().plusMinutes(10)),
-            Constants.FIRST_WORKSPACE_OPENING_HOURS.getDuration().minusMinutes(10));
-    Integer minCapacity = workspace.getCapacity();
-    FindAvailableWorkspacesQuery query =
-        new FindAvailableWorkspacesQuery(
-            timeSlot,
-            Optional.of(minCapacity),
-            Optional.of(Constants.FIRST_WORKSPACE_PROPERTY_LIST));
-
-    List<Workspace> results = workspaceApplicationService.findAvailable(query);
-
-    assertEquals(1, results.size());
-    Workspace found = results.getFirst();
-    assertEquals(Constants.FIRST_WORKSPACE_NAME, found.getName());
-    assertEquals(Constants.FIRST_WORKSPACE_OPENING_HOURS, found.getOpeningHours());
-    assertEquals(Constants.FIRST_WORKSPACE_CAPACITY, found.getCapacity());
-    assertEquals(found.getProperties(), Constants.FIRST_WORKSPACE_PROPERTY_LIST);
-  }
-
   @Test
   void shouldThrowExceptionWhenNameIsNull() {
     // Arrange
     workspaceRepository = new FakeWorkspaceRepository();
     reservationRepository = new FakeReservationRepository();
-    workspaceApplicationService =
-        new WorkspaceApplicationService(workspaceRepository, reservationRepository);
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
 
     CreateWorkspaceCommand command =
         new CreateWorkspaceCommand(
@@ -108,8 +78,7 @@ public class WorkspaceApplicationServiceTest {
     // Arrange
     workspaceRepository = new FakeWorkspaceRepository();
     reservationRepository = new FakeReservationRepository();
-    workspaceApplicationService =
-        new WorkspaceApplicationService(workspaceRepository, reservationRepository);
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
 
     CreateWorkspaceCommand command =
         new CreateWorkspaceCommand(
@@ -127,8 +96,7 @@ public class WorkspaceApplicationServiceTest {
     // Arrange
     workspaceRepository = new FakeWorkspaceRepository();
     reservationRepository = new FakeReservationRepository();
-    workspaceApplicationService =
-        new WorkspaceApplicationService(workspaceRepository, reservationRepository);
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
 
     String longName = "A".repeat(126);
     CreateWorkspaceCommand command =
@@ -148,8 +116,7 @@ public class WorkspaceApplicationServiceTest {
     workspaceRepository = new FakeWorkspaceRepository();
     workspaceRepository.save(Constants.getFirstWorkspace());
     reservationRepository = new FakeReservationRepository();
-    workspaceApplicationService =
-        new WorkspaceApplicationService(workspaceRepository, reservationRepository);
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
 
     CreateWorkspaceCommand command =
         new CreateWorkspaceCommand(
@@ -166,8 +133,7 @@ public class WorkspaceApplicationServiceTest {
     // Arrange
     workspaceRepository = new FakeWorkspaceRepository();
     reservationRepository = new FakeReservationRepository();
-    workspaceApplicationService =
-        new WorkspaceApplicationService(workspaceRepository, reservationRepository);
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
 
     CreateWorkspaceCommand command =
         new CreateWorkspaceCommand(
@@ -186,8 +152,7 @@ public class WorkspaceApplicationServiceTest {
     // Arrange
     workspaceRepository = new FakeWorkspaceRepository();
     reservationRepository = new FakeReservationRepository();
-    workspaceApplicationService =
-        new WorkspaceApplicationService(workspaceRepository, reservationRepository);
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
 
     CreateWorkspaceCommand command =
         new CreateWorkspaceCommand(
@@ -205,8 +170,7 @@ public class WorkspaceApplicationServiceTest {
     // Arrange
     workspaceRepository = new FakeWorkspaceRepository();
     reservationRepository = new FakeReservationRepository();
-    workspaceApplicationService =
-        new WorkspaceApplicationService(workspaceRepository, reservationRepository);
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
 
     CreateWorkspaceCommand command =
         new CreateWorkspaceCommand(
@@ -224,8 +188,7 @@ public class WorkspaceApplicationServiceTest {
     // Arrange
     workspaceRepository = new FakeWorkspaceRepository();
     reservationRepository = new FakeReservationRepository();
-    workspaceApplicationService =
-        new WorkspaceApplicationService(workspaceRepository, reservationRepository);
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
 
     // Create invalid opening hours (you need to check how to make OpeningHours invalid)
     OpeningHours invalidOpeningHours =
@@ -246,99 +209,48 @@ public class WorkspaceApplicationServiceTest {
   }
 
   @Test
-  void shouldFindWorkspacesWithSufficientCapacity() {
+  void shouldReadBackPropertiesOfSavedWorkspaceOnceInTheGivenOrder() {
     // Arrange
     workspaceRepository = new FakeWorkspaceRepository();
     reservationRepository = new FakeReservationRepository();
-    workspaceApplicationService =
-        new WorkspaceApplicationService(workspaceRepository, reservationRepository);
-
-    Workspace workspace = Constants.getFirstWorkspace();
-    workspaceRepository.save(workspace);
-
-    TimeSlot timeSlot =
-        new TimeSlot(
-            LocalDateTime.of(
-                LocalDate.now(), Constants.FIRST_WORKSPACE_OPENING_HOURS.open().plusMinutes(10)),
-            Constants.FIRST_WORKSPACE_OPENING_HOURS.getDuration().minusMinutes(10));
-
-    // Verwenden Sie eine Kapazität kleiner als die des Workspace
-    int workspaceCapacity = Constants.FIRST_WORKSPACE_CAPACITY;
-    FindAvailableWorkspacesQuery query =
-        new FindAvailableWorkspacesQuery(
-            timeSlot,
-            Optional.of(workspaceCapacity - 1), // Weniger als workspace capacity
-            Optional.empty());
+    workspaceApplicationService = createService(new FakeReservationSeriesRepository());
+    WorkspaceProperty parking = Constants.getFirstWorkspaceProperty();
+    // Known to the dictionary before the monitor, so the given order is not the order of the ids
+    WorkspacePropertySet.of(List.of(parking));
+    WorkspaceProperty monitor = new WorkspaceProperty("Monitor", "34 inch");
+    CreateWorkspaceCommand command =
+        new CreateWorkspaceCommand(
+            "with duplicates",
+            Constants.FIRST_WORKSPACE_OPENING_HOURS,
+            Constants.FIRST_WORKSPACE_CAPACITY,
+            List.of(monitor, parking, monitor));
 
     // Act
-    List<Workspace> results = workspaceApplicationService.findAvailable(query);
+    Workspace created = workspaceApplicationService.create(command);
 
     // Assert
-    assertEquals(1, results.size());
+    assertEquals(List.of(monitor, parking), created.getProperties());
   }
 
-  @Test
-  void shouldNotFindWorkspacesWithInsufficientCapacity() {
-    // Arrange
-    workspaceRepository = new FakeWorkspaceRepository();
-    reservationRepository = new FakeReservationRepository();
-    workspaceApplicationService =
-        new WorkspaceApplicationService(workspaceRepository, reservationRepository);
-
-    Workspace workspace = Constants.getFirstWorkspace();
-    workspaceRepository.save(workspace);
-
-    TimeSlot timeSlot =
-        new TimeSlot(
-            LocalDateTime.of(
-                LocalDate.now(), Constants.FIRST_WORKSPACE_OPENING_HOURS.open().plusMinutes(10)),
-            Constants.FIRST_WORKSPACE_OPENING_HOURS.getDuration().minusMinutes(10));
-
-    FindAvailableWorkspacesQuery query =
-        new FindAvailableWorkspacesQuery(
-            timeSlot,
-            Optional.of(999), // minCapacity höher als workspace capacity
-            Optional.empty()); // Keine Properties-Filter
-
-    // Act
-    List<Workspace> results = workspaceApplicationService.findAvailable(query);
-
-    // Assert
-    assertEquals(0, results.size());
+  // The ledger reads the same fakes as the service, like the scanning ledger reads the database
+  private WorkspaceApplicationService createService(ReservationSeriesRepository seriesRepository) {
+    return createService(
+        seriesRepository,
+        new ScanningOccupancyLedger(reservationRepository, seriesRepository),
+        AvailabilityEvaluator.sequential());
   }
 
-  @Test
-  void shouldFilterWorkspacesByAvailableCapacity() {
-    // Arrange
-    workspaceRepository = new FakeWorkspaceRepository();
-    reservationRepository = new FakeReservationRepository();
-    workspaceApplicationService =
-        new WorkspaceApplicationService(workspaceRepository, reservationRepository);
-
-    Workspace workspace = Constants.getFirstWorkspace();
-    workspaceRepository.save(workspace);
-
-    TimeSlot timeSlot =
-        new TimeSlot(
-            LocalDateTime.of(
-                LocalDate.now(), Constants.FIRST_WORKSPACE_OPENING_HOURS.open().plusMinutes(10)),
-            Constants.FIRST_WORKSPACE_OPENING_HOURS.getDuration().minusMinutes(10));
-
-    User user = Constants.getFirstUser();
-
-    // Fülle den Workspace bis zur Kapazität mit Reservierungen
-    for (int i = 0; i < workspace.getCapacity(); i++) {
-      Reservation reservation = new Reservation(workspace.getId(), user.getId(), timeSlot);
-      reservationRepository.save(reservation);
-    }
-
-    FindAvailableWorkspacesQuery query =
-        new FindAvailableWorkspacesQuery(timeSlot, Optional.empty(), Optional.empty());
-
-    // Act
-    List<Workspace> results = workspaceApplicationService.findAvailable(query);
-
-    // Assert - Workspace sollte NICHT verfügbar sein
-    assertEquals(0, results.size());
+  private WorkspaceApplicationService createService(
+      ReservationSeriesRepository seriesRepository,
+      OccupancyLedger occupancyLedger,
+      AvailabilityEvaluator availabilityEvaluator) {
+    availabilityCache = new AvailabilityCache(16);
+    return new WorkspaceApplicationService(
+        workspaceRepository,
+        reservationRepository,
+        seriesRepository,
+        occupancyLedger,
+        availabilityCache,
+        availabilityEvaluator);
   }
 }
@@ -0,0 +1,277 @@
+package de.schonvoll.cleanspace.domain.entities;
+
+import de.schonvoll.cleanspace.domain.valueobjects.OccurrenceOverride;
+import de.schonvoll.cleanspace.domain.valueobjects.RecurrenceRule;
+import de.schonvoll.cleanspace.domain.valueobjects.SeriesOccurrence;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import lombok.Getter;
+
+/**
+ * Domain entity representing a recurring workspace reservation. Only the first occurrence, the
+ * {@link RecurrenceRule} and the {@link OccurrenceOverride}s of single occurrences are stored. The
+ * occurrences themselves are computed when they are asked for, so a series of hundreds of
+ * occurrences is still a single entity, and cancelling or moving one occurrence only adds an
+ * override.
+ *
+ * <p>A series is immutable; {@link #withOverride} returns a changed copy.
+ */
+@Getter
+public class ReservationSeries {
+  private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+
+  private final UUID id;
+  private final UUID workspaceId;
+  private final UUID userId;
+  private final TimeSlot firstOccurrence;
+  private final RecurrenceRule recurrenceRule;
+  private final Map<LocalDate, OccurrenceOverride> overrides;
+
+  /**
+   * Creates a reservation series.
+   *
+   * @param id the unique identifier of the series
+   * @param workspaceId the {@link UUID} of the workspace being reserved
+   * @param userId the {@link UUID} of the user making the reservation
+   * @param firstOccurrence the {@link TimeSlot} of the first occurrence
+   * @param recurrenceRule the {@link RecurrenceRule} the first occurrence is repeated by
+   * @param overrides the {@link OccurrenceOverride}s of single occurrences
+   */
+  public ReservationSeries(
+      UUID id,
+      UUID workspaceId,
+      UUID userId,
+      TimeSlot firstOccurrence,
+      RecurrenceRule recurrenceRule,
+      Collection<OccurrenceOverride> overrides) {
+    this.id = id;
+    this.workspaceId = workspaceId;
+    this.userId = userId;
+    this.firstOccurrence = firstOccurrence;
+    this.recurrenceRule = recurrenceRule;
+    Map<LocalDate, OccurrenceOverride> byDate = new HashMap<>();
+    for (OccurrenceOverride override : overrides) {
+      byDate.put(override.occurrenceDate(), override);
+    }
+    this.overrides = Collections.unmodifiableMap(byDate);
+  }
+
+  /**
+   * Creates a new reservation series without an ID and without overrides (for new entities).
+   *
+   * @param workspaceId the {@link UUID} of the workspace being reserved
+   * @param userId the {@link UUID} of the user making the reservation
+   * @param firstOccurrence the {@link TimeSlot} of the first occurrence
+   * @param recurrenceRule the {@link RecurrenceRule} the first occurrence is repeated by
+   */
+  public ReservationSeries(
+      UUID workspaceId, UUID userId, TimeSlot firstOccurrence, RecurrenceRule recurrenceRule) {
+    this(null, workspaceId, userId, firstOccurrence, recurrenceRule, List.of());
+  }
+
+  public ReservationSeries withId(UUID id) {
+    return new ReservationSeries(
+        id, workspaceId, userId, firstOccurrence, recurrenceRule, overrides.values());
+  }
+
+  /**
+   * Returns a copy of this series with the given override, replacing an earlier override of the
+   * same occurrence.
+   *
+   * @param override the {@link OccurrenceOverride} to apply
+   * @return the changed series
+   * @throws IllegalArgumentException when no occurrence is scheduled on the override's date
+   */
+  public ReservationSeries withOverride(OccurrenceOverride override) {
+    if (!isScheduledOn(override.occurrenceDate())) {
+      throw new IllegalArgumentException(
+          "No occurrence of the series is scheduled on " + override.occurrenceDate() + ".");
+    }
+    Map<LocalDate, OccurrenceOverride> changed = new HashMap<>(overrides);
+    changed.put(override.occurrenceDate(), override);
+    return new ReservationSeries(
+        id, workspaceId, userId, firstOccurrence, recurrenceRule, changed.values());
+  }
+
+  /**
+   * Counts the occurrences the rule schedules, including cancelled ones.
+   *
+   * @return the number of scheduled occurrences
+   */
+  public long scheduledCount() {
+    return lastIndex() + 1;
+  }
+
+  public boolean isScheduledOn(LocalDate date) {
+    long days = ChronoUnit.DAYS.between(firstDate(), date);
+    long period = recurrenceRule.periodInDays();
+    return days >= 0 && days % period == 0 && days / period <= lastIndex();
+  }
+
+  /**
+   * Finds the occurrence originally scheduled on a date.
+   *
+   * @param occurrenceDate the date the occurrence was originally scheduled on
+   * @return the occurrence, at its new time if it was moved, or null if none is scheduled on that
+   *     date or it was cancelled
+   */
+  public SeriesOccurrence occurrenceOn(LocalDate occurrenceDate) {
+    if (!isScheduledOn(occurrenceDate)) {
+      return null;
+    }
+    return occurrenceAt(ChronoUnit.DAYS.between(firstDate(), occurrenceDate) / period());
+  }
+
+  /**
+   * Lazily computes all occurrences that are not cancelled, in the order they were originally
+   * scheduled in.
+   *
+   * @return a stream of the occurrences
+   */
+  public Stream<SeriesOccurrence> occurrences() {
+    return LongStream.rangeClosed(0, lastIndex())
+        .mapToObj(this::occurrenceAt)
+        .filter(Objects::nonNull);
+  }
+
+  /**
+   * Computes the occurrences that overlap a time slot. Only the scheduled occurrences that can
+   * reach into the time slot are computed, no matter how long the series runs.
+   *
+   * @param window the {@link TimeSlot} to find occurrences within
+   * @return list of the overlapping occurrences that are not cancelled, ordered by start time
+   */
+  public List<SeriesOccurrence> occurrencesWithin(TimeSlot window) {
+    List<SeriesOccurrence> found = new ArrayList<>();
+    // An occurrence starting no later than the duration before the window ends before it starts
+    long secondsBefore =
+        Duration.between(
+                firstOccurrence.start(), window.start().minus(firstOccurrence.duration()))
+            .getSeconds();
+    long lastIndex = lastIndex();
+    for (long index = Math.max(0, Math.floorDiv(secondsBefore, period() * SECONDS_PER_DAY));
+        index <= lastIndex;
+        index++) {
+      TimeSlot scheduled = scheduledTimeSlot(index);
+      if (!scheduled.start().isBefore(window.end())) {
+        break;
+      }
+      LocalDate date = scheduled.start().toLocalDate();
+      if (!overrides.containsKey(date) && scheduled.conflictsWith(window)) {
+        found.add(new SeriesOccurrence(date, scheduled));
+      }
+    }
+    // Moved occurrences may have left their scheduled place, so they are looked at separately
+    for (OccurrenceOverride override : overrides.values()) {
+      if (!override.isCancelled() && override.timeSlot().conflictsWith(window)) {
+        found.add(new SeriesOccurrence(override.occurrenceDate(), override.timeSlot()));
+      }
+    }
+    found.sort(Comparator.comparing(occurrence -> occurrence.timeSlot().start()));
+    return found;
+  }
+
+  /**
+   * Computes the occurrences that overlap a time slot as reservations, so they can be checked
+   * together with single reservations.
+   *
+   * @param window the {@link TimeSlot} to find occurrences within
+   * @return list of the overlapping occurrences as reservations, ordered by start time
+   */
+  public List<Reservation> reservationsWithin(TimeSlot window) {
+    return occurrencesWithin(window).stream().map(this::toReservation).toList();
+  }
+
+  /**
+   * Converts an occurrence into a reservation of this series' user and workspace. Its ID is derived
+   * from the series' ID and the occurrence date, so it stays the same every time it is computed.
+   *
+   * @param occurrence the {@link SeriesOccurrence} to convert
+   * @return the occurrence as reservation
+   */
+  public Reservation toReservation(SeriesOccurrence occurrence) {
+    return new Reservation(
+        occurrenceId(occurrence.occurrenceDate()), workspaceId, userId, occurrence.timeSlot());
+  }
+
+  public UUID occurrenceId(LocalDate occurrenceDate) {
+    if (id == null) {
+      return null;
+    }
+    return UUID.nameUUIDFromBytes((id + "/" + occurrenceDate).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Computes the time slot from the start of the earliest to the end of the latest occurrence,
+   * including moved occurrences.
+   *
+   * @return the {@link TimeSlot} covered by the series
+   */
+  public TimeSlot span() {
+    LocalDateTime start = firstOccurrence.start();
+    LocalDateTime end = lastIndex() < 0 ? start : scheduledTimeSlot(lastIndex()).end();
+    for (OccurrenceOverride override : overrides.values()) {
+      if (!override.isCancelled()) {
+        start = override.timeSlot().start().isBefore(start) ? override.timeSlot().start() : start;
+        end = override.timeSlot().end().isAfter(end) ? override.timeSlot().end() : end;
+      }
+    }
+    return new TimeSlot(start, Duration.between(start, end));
+  }
+
+  private SeriesOccurrence occurrenceAt(long index) {
+    TimeSlot scheduled = scheduledTimeSlot(index);
+    LocalDate date = scheduled.start().toLocalDate();
+    OccurrenceOverride override = overrides.get(date);
+    if (override == null) {
+      return new SeriesOccurrence(date, scheduled);
+    }
+    return override.isCancelled() ? null : new SeriesOccurrence(date, override.timeSlot());
+  }
+
+  private TimeSlot scheduledTimeSlot(long index) {
+    return new TimeSlot(
+        firstOccurrence.start().plusDays(index * period()), firstOccurrence.duration());
+  }
+
+  private long lastIndex() {
+    return recurrenceRule.lastIndex(firstDate());
+  }
+
+  private long period() {
+    return recurrenceRule.periodInDays();
+  }
+
+  private LocalDate firstDate() {
+    return firstOccurrence.start().toLocalDate();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ReservationSeries that = (ReservationSeries) o;
+    return Objects.equals(id, that.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(id);
+  }
+}
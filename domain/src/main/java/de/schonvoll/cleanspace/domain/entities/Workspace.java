@@ -2,6 +2,7 @@ package de.schonvoll.cleanspace.domain.entities;
 
 import de.schonvoll.cleanspace.domain.valueobjects.OpeningHours;
 import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceProperty;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspacePropertySet;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -13,7 +14,8 @@ import lombok.Setter;
 
 /**
  * Domain entity representing a workspace in the system. Contains workspace details including {@link
- * OpeningHours}, capacity, and {@link WorkspaceProperty} specifications.
+ * OpeningHours}, capacity, and {@link WorkspaceProperty} specifications. The properties are held
+ * as a {@link WorkspacePropertySet} of dictionary ids and decoded when read as a list.
  */
 @Builder(toBuilder = true)
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
@@ -23,7 +25,7 @@ public class Workspace {
   @Setter private String name;
   @Setter private OpeningHours openingHours;
   @Setter private int capacity;
-  @Setter private List<WorkspaceProperty> properties;
+  private WorkspacePropertySet propertySet;
 
   /**
    * Creates a new workspace without an ID (for new entities).
@@ -39,7 +41,25 @@ public class Workspace {
     this.name = name;
     this.openingHours = openingHours;
     this.capacity = capacity;
-    this.properties = properties;
+    this.propertySet = encode(properties);
+  }
+
+  /**
+   * Returns the properties of the workspace.
+   *
+   * @return a new {@link List} of the {@link WorkspaceProperty} specifications, or null if none
+   *     were set
+   */
+  public List<WorkspaceProperty> getProperties() {
+    return propertySet == null ? null : propertySet.toList();
+  }
+
+  public void setProperties(List<WorkspaceProperty> properties) {
+    this.propertySet = encode(properties);
+  }
+
+  private static WorkspacePropertySet encode(List<WorkspaceProperty> properties) {
+    return properties == null ? null : WorkspacePropertySet.of(properties);
   }
 
   @Override
@@ -55,4 +75,12 @@ public class Workspace {
   public int hashCode() {
     return Objects.hashCode(id);
   }
+
+  /** Builder accepting the properties as a list, like the constructor. */
+  public static class WorkspaceBuilder {
+    public WorkspaceBuilder properties(List<WorkspaceProperty> properties) {
+      this.propertySet = encode(properties);
+      return this;
+    }
+  }
 }
@@ -0,0 +1,7 @@
+package de.schonvoll.cleanspace.domain.exceptions;
+
+public class DuplicateUserException extends RuntimeException {
+  public DuplicateUserException(String message) {
+    super(message);
+  }
+}
@@ -1,7 +1,9 @@
 package de.schonvoll.cleanspace.domain.repositories;
 
 import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.valueobjects.ReservationCursor;
 import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,6 +16,14 @@ public interface ReservationRepository {
    */
   Reservation save(Reservation reservation);
 
+  /**
+   * Saves several reservations in one batch.
+   *
+   * @param reservations the reservations to save
+   * @return the saved reservations in the given order, with generated IDs where they were null
+   */
+  List<Reservation> saveAll(List<Reservation> reservations);
+
   /**
    * Finds a reservation by its unique identifier.
    *
@@ -33,15 +43,35 @@ public interface ReservationRepository {
    * Finds all reservations made by a specific user.
    *
    * @param userId the unique identifier of the user
-   * @return list of reservations made by the user
+   * @return list of reservations made by the user, ordered by start time
    */
   List<Reservation> findByUserId(UUID userId);
 
+  /**
+   * Finds one page of the reservations made by a specific user. By default all of the user's
+   * reservations are loaded and the page is cut from them; adapters with a sorted index override
+   * this to seek to the cursor instead.
+   *
+   * @param userId the unique identifier of the user
+   * @param after the {@link ReservationCursor} the page starts behind, or null for the first page
+   * @param limit the most reservations to return
+   * @return the user's reservations after the cursor, ordered by start time and then id
+   */
+  default List<Reservation> findByUserIdAfter(UUID userId, ReservationCursor after, int limit) {
+    return findByUserId(userId).stream()
+        .filter(reservation -> after == null || after.precedes(reservation))
+        .sorted(
+            Comparator.comparing((Reservation reservation) -> reservation.getTimeSlot().start())
+                .thenComparing(Reservation::getId))
+        .limit(limit)
+        .toList();
+  }
+
   /**
    * Finds all reservations for a specific workspace.
    *
    * @param workspaceId the unique identifier of the workspace
-   * @return list of reservations for the workspace
+   * @return list of reservations for the workspace, ordered by start time
    */
   List<Reservation> findByWorkspaceId(UUID workspaceId);
 
@@ -52,4 +82,48 @@ public interface ReservationRepository {
    * @return list of all conflicting reservations
    */
   List<Reservation> findConflictingWithTimeslot(TimeSlot timeSlot);
+
+  /**
+   * Finds the reservations of one workspace that conflict with the given TimeSlot.
+   *
+   * @param workspaceId the unique identifier of the workspace
+   * @param timeSlot the {@link TimeSlot} to check for conflicts
+   * @return list of the workspace's conflicting reservations
+   */
+  List<Reservation> findConflictingInWorkspace(UUID workspaceId, TimeSlot timeSlot);
+
+  /**
+   * Counts the reservations of one workspace that conflict with the given TimeSlot, without
+   * loading them.
+   *
+   * @param workspaceId the unique identifier of the workspace
+   * @param timeSlot the {@link TimeSlot} to check for conflicts
+   * @return the number of the workspace's conflicting reservations
+   */
+  long countConflictingInWorkspace(UUID workspaceId, TimeSlot timeSlot);
+
+  /**
+   * Finds the reservations of one user, in any workspace, that conflict with the given TimeSlot.
+   * By default all of the user's reservations are loaded and filtered; adapters with an index by
+   * user and time override this to read only the time slot.
+   *
+   * @param userId the unique identifier of the user
+   * @param timeSlot the {@link TimeSlot} to check for conflicts
+   * @return list of the user's conflicting reservations
+   */
+  default List<Reservation> findConflictingForUser(UUID userId, TimeSlot timeSlot) {
+    return findByUserId(userId).stream()
+        .filter(reservation -> reservation.getTimeSlot().conflictsWith(timeSlot))
+        .toList();
+  }
+
+  /**
+   * Checks whether a user has any reservation, in any workspace, that conflicts with the given
+   * TimeSlot.
+   *
+   * @param userId the unique identifier of the user
+   * @param timeSlot the {@link TimeSlot} to check for conflicts
+   * @return true if the user already has a conflicting reservation
+   */
+  boolean existsConflictingForUser(UUID userId, TimeSlot timeSlot);
 }
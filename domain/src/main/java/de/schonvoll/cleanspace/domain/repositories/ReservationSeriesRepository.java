@@ -0,0 +1,78 @@
+package de.schonvoll.cleanspace.domain.repositories;
+
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
+import de.schonvoll.cleanspace.domain.valueobjects.OccurrenceOverride;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.util.List;
+import java.util.UUID;
+
+public interface ReservationSeriesRepository {
+  /**
+   * Saves a reservation series to the repository.
+   *
+   * @param series the {@link ReservationSeries} to save
+   * @return the saved series with generated ID if it was null
+   */
+  ReservationSeries save(ReservationSeries series);
+
+  /**
+   * Adds an override of a single occurrence to a saved series, replacing an earlier override of
+   * the same occurrence. The rest of the series is not written again.
+   *
+   * @param seriesId the unique identifier of the series
+   * @param override the {@link OccurrenceOverride} to add
+   */
+  void saveOverride(UUID seriesId, OccurrenceOverride override);
+
+  /**
+   * Finds a reservation series by its unique identifier.
+   *
+   * @param id the unique identifier of the series
+   * @return the series with the given ID, or null if not found
+   */
+  ReservationSeries findById(UUID id);
+
+  /**
+   * Finds all reservation series of a specific user.
+   *
+   * @param userId the unique identifier of the user
+   * @return list of the user's series
+   */
+  List<ReservationSeries> findByUserId(UUID userId);
+
+  /**
+   * Finds all reservation series of a specific workspace.
+   *
+   * @param workspaceId the unique identifier of the workspace
+   * @return list of the workspace's series
+   */
+  List<ReservationSeries> findByWorkspaceId(UUID workspaceId);
+
+  /**
+   * Finds the reservation series whose span overlaps the given TimeSlot. Their occurrences within
+   * the time slot are computed with {@link ReservationSeries#occurrencesWithin}.
+   *
+   * @param timeSlot the {@link TimeSlot} to check for conflicts
+   * @return list of the series that may have occurrences within the time slot
+   */
+  List<ReservationSeries> findOverlapping(TimeSlot timeSlot);
+
+  /**
+   * Finds the reservation series of one workspace whose span overlaps the given TimeSlot.
+   *
+   * @param workspaceId the unique identifier of the workspace
+   * @param timeSlot the {@link TimeSlot} to check for conflicts
+   * @return list of the workspace's series that may have occurrences within the time slot
+   */
+  List<ReservationSeries> findOverlappingInWorkspace(UUID workspaceId, TimeSlot timeSlot);
+
+  /**
+   * Finds the reservation series of one user, in any workspace, whose span overlaps the given
+   * TimeSlot.
+   *
+   * @param userId the unique identifier of the user
+   * @param timeSlot the {@link TimeSlot} to check for conflicts
+   * @return list of the user's series that may have occurrences within the time slot
+   */
+  List<ReservationSeries> findOverlappingForUser(UUID userId, TimeSlot timeSlot);
+}
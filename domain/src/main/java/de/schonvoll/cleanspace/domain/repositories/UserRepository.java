@@ -1,6 +1,7 @@
 package de.schonvoll.cleanspace.domain.repositories;
 
 import de.schonvoll.cleanspace.domain.entities.User;
+import de.schonvoll.cleanspace.domain.exceptions.DuplicateUserException;
 import java.util.List;
 import java.util.UUID;
 
@@ -10,6 +11,7 @@ public interface UserRepository {
    *
    * @param user the {@link User} to save
    * @return the saved user with generated ID if it was null
+   * @throws DuplicateUserException when another user is already stored with the same email
    */
   User save(User user);
 
@@ -1,15 +1,19 @@
 package de.schonvoll.cleanspace.domain.repositories;
 
 import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.exceptions.DuplicateWorkspaceException;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceCatalog;
 import java.util.List;
 import java.util.UUID;
 
 public interface WorkspaceRepository {
   /**
-   * Saves a workspace to the repository.
+   * Saves a workspace to the repository. Checking that no other workspace uses the same name and
+   * storing the workspace happen atomically, so concurrent saves cannot create duplicate names.
    *
    * @param workspace the {@link Workspace} to save
    * @return the saved workspace with generated ID if it was null
+   * @throws DuplicateWorkspaceException when another workspace already uses the same name
    */
   Workspace save(Workspace workspace);
 
@@ -35,4 +39,21 @@ public interface WorkspaceRepository {
    * @return list of all workspaces
    */
   List<Workspace> findAll();
+
+  /**
+   * Returns the current catalog of all workspaces. The catalog is immutable and a new one with a
+   * higher version replaces it whenever a workspace is saved, so callers may cache anything they
+   * derive from it against its version.
+   *
+   * @return the current {@link WorkspaceCatalog}
+   */
+  WorkspaceCatalog findCatalog();
+
+  /**
+   * Returns the version the catalog currently has, without loading any workspace. Callers holding
+   * data derived from an older version load the catalog again with {@link #findCatalog}.
+   *
+   * @return the version of the current {@link WorkspaceCatalog}
+   */
+  long catalogVersion();
 }
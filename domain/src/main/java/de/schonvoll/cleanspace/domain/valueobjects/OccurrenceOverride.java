@@ -0,0 +1,25 @@
+package de.schonvoll.cleanspace.domain.valueobjects;
+
+import java.time.LocalDate;
+
+/**
+ * Change to a single occurrence of a reservation series, which either cancels it or moves it to
+ * another time slot. The rest of the series is left as it is.
+ *
+ * @param occurrenceDate the date the occurrence was originally scheduled on
+ * @param timeSlot the {@link TimeSlot} the occurrence is moved to, or null if it is cancelled
+ */
+public record OccurrenceOverride(LocalDate occurrenceDate, TimeSlot timeSlot) {
+
+  public static OccurrenceOverride cancelled(LocalDate occurrenceDate) {
+    return new OccurrenceOverride(occurrenceDate, null);
+  }
+
+  public static OccurrenceOverride movedTo(LocalDate occurrenceDate, TimeSlot timeSlot) {
+    return new OccurrenceOverride(occurrenceDate, timeSlot);
+  }
+
+  public boolean isCancelled() {
+    return timeSlot == null;
+  }
+}
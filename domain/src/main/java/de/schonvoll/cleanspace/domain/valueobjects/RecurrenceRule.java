@@ -0,0 +1,49 @@
+package de.schonvoll.cleanspace.domain.valueobjects;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Rule repeating a reservation every few days or weeks. A series ends on a date, after a number of
+ * occurrences, or at whichever of the two comes first.
+ *
+ * @param frequency whether the reservation repeats daily or weekly
+ * @param interval the number of days or weeks between two occurrences, at least 1
+ * @param until the last date an occurrence may start on, or null
+ * @param count the maximum number of occurrences, or null
+ */
+public record RecurrenceRule(Frequency frequency, int interval, LocalDate until, Integer count) {
+
+  /** How often a reservation repeats. */
+  public enum Frequency {
+    DAILY,
+    WEEKLY
+  }
+
+  public boolean isValid() {
+    return frequency != null
+        && interval >= 1
+        && (until != null || count != null)
+        && (count == null || count >= 1);
+  }
+
+  public long periodInDays() {
+    return frequency == Frequency.WEEKLY ? 7L * interval : interval;
+  }
+
+  /**
+   * Computes the index of the last occurrence of a series whose first occurrence starts on the
+   * given date.
+   *
+   * @param firstDate the date the first occurrence starts on
+   * @return the zero-based index of the last occurrence, or -1 if the series has none
+   */
+  public long lastIndex(LocalDate firstDate) {
+    long last = count != null ? count - 1L : Long.MAX_VALUE;
+    if (until != null) {
+      long days = ChronoUnit.DAYS.between(firstDate, until);
+      last = Math.min(last, Math.floorDiv(days, periodInDays()));
+    }
+    return Math.max(last, -1);
+  }
+}
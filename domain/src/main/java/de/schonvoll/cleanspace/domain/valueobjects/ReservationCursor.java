@@ -0,0 +1,32 @@
+package de.schonvoll.cleanspace.domain.valueobjects;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Position in a list of reservations ordered by start time and then id. A page read after a cursor
+ * starts right behind the reservation the cursor was taken from, so later pages cost the same as
+ * the first and reservations saved in between neither repeat nor shift the pages.
+ *
+ * @param start the start time of the last reservation of the previous page
+ * @param id the unique identifier of that reservation, breaking ties between equal start times
+ */
+public record ReservationCursor(LocalDateTime start, UUID id) {
+
+  public static ReservationCursor of(Reservation reservation) {
+    return new ReservationCursor(reservation.getTimeSlot().start(), reservation.getId());
+  }
+
+  /**
+   * Checks whether a reservation comes after this cursor, comparing ids as {@link UUID#compareTo}
+   * does.
+   *
+   * @param reservation the {@link Reservation} to check
+   * @return true if the reservation belongs to a later page
+   */
+  public boolean precedes(Reservation reservation) {
+    int byStart = reservation.getTimeSlot().start().compareTo(start);
+    return byStart != 0 ? byStart > 0 : reservation.getId().compareTo(id) > 0;
+  }
+}
@@ -0,0 +1,12 @@
+package de.schonvoll.cleanspace.domain.valueobjects;
+
+import java.time.LocalDate;
+
+/**
+ * One occurrence of a reservation series.
+ *
+ * @param occurrenceDate the date the occurrence was originally scheduled on, which identifies it
+ *     within its series even after it was moved
+ * @param timeSlot the {@link TimeSlot} the occurrence takes place in
+ */
+public record SeriesOccurrence(LocalDate occurrenceDate, TimeSlot timeSlot) {}
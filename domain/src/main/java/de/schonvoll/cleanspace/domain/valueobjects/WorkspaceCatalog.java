@@ -0,0 +1,18 @@
+package de.schonvoll.cleanspace.domain.valueobjects;
+
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import java.util.List;
+
+/**
+ * Immutable list of all workspaces as of one version of the workspace repository. The version
+ * grows with every saved workspace, so data derived from a catalog stays valid as long as the
+ * repository still reports the same version.
+ *
+ * @param version the repository version this catalog was taken at
+ * @param workspaces all workspaces at that version
+ */
+public record WorkspaceCatalog(long version, List<Workspace> workspaces) {
+  public WorkspaceCatalog {
+    workspaces = List.copyOf(workspaces);
+  }
+}
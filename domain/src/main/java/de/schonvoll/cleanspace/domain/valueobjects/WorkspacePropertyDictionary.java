@@ -0,0 +1,65 @@
+package de.schonvoll.cleanspace.domain.valueobjects;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide dictionary assigning every distinct {@link WorkspaceProperty} a small int id, so
+ * each property is held once no matter how many workspaces have it. Ids are handed out in the
+ * order properties are first seen and are never reused; the dictionary only grows with the number
+ * of distinct properties ever saved.
+ */
+final class WorkspacePropertyDictionary {
+  static final int UNKNOWN = -1;
+
+  private static final ConcurrentHashMap<WorkspaceProperty, Integer> idsByProperty =
+      new ConcurrentHashMap<>();
+  // Written under the class lock before the id is published through idsByProperty
+  private static volatile WorkspaceProperty[] propertiesById = new WorkspaceProperty[16];
+  private static int size;
+
+  private WorkspacePropertyDictionary() {}
+
+  /**
+   * Returns the id of the given property, assigning a new one if it was not seen before.
+   *
+   * @param property the {@link WorkspaceProperty} to intern
+   * @return the id of the property
+   */
+  static int intern(WorkspaceProperty property) {
+    Integer id = idsByProperty.get(property);
+    return id != null
+        ? id
+        : idsByProperty.computeIfAbsent(property, WorkspacePropertyDictionary::append);
+  }
+
+  /**
+   * Returns the id of the given property without assigning one.
+   *
+   * @param property the {@link WorkspaceProperty} to look up
+   * @return the id of the property, or {@link #UNKNOWN} if no workspace ever had it
+   */
+  static int lookup(WorkspaceProperty property) {
+    return idsByProperty.getOrDefault(property, UNKNOWN);
+  }
+
+  /**
+   * Returns the property with the given id.
+   *
+   * @param id an id returned by {@link #intern}
+   * @return the {@link WorkspaceProperty}
+   */
+  static WorkspaceProperty propertyOf(int id) {
+    return propertiesById[id];
+  }
+
+  private static synchronized int append(WorkspaceProperty property) {
+    WorkspaceProperty[] properties = propertiesById;
+    if (size == properties.length) {
+      properties = Arrays.copyOf(properties, size * 2);
+    }
+    properties[size] = property;
+    propertiesById = properties;
+    return size++;
+  }
+}
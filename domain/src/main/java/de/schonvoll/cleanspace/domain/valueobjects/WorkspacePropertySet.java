@@ -0,0 +1,159 @@
+package de.schonvoll.cleanspace.domain.valueobjects;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable set of {@link WorkspaceProperty} specifications, stored as the ids the properties have
+ * in a process-wide dictionary. A workspace holds a few ints instead of a list of string pairs, and
+ * checking whether it has all required properties is a merge of two short sorted arrays instead of
+ * comparing strings. The ids are kept a second time in the order the properties were given, so
+ * they are read back in that order; when both orders agree, the array is shared.
+ */
+public final class WorkspacePropertySet {
+  public static final WorkspacePropertySet EMPTY = new WorkspacePropertySet(new int[0], new int[0]);
+
+  private final int[] ids;
+  private final int[] givenOrder;
+
+  private WorkspacePropertySet(int[] ids, int[] givenOrder) {
+    this.ids = ids;
+    this.givenOrder = givenOrder;
+  }
+
+  /**
+   * Encodes the properties of a workspace, adding new ones to the dictionary.
+   *
+   * @param properties the {@link WorkspaceProperty} specifications, duplicates are dropped after
+   *     their first occurrence
+   * @return the encoded set
+   */
+  public static WorkspacePropertySet of(Collection<WorkspaceProperty> properties) {
+    int[] ids = new int[properties.size()];
+    int i = 0;
+    for (WorkspaceProperty property : properties) {
+      ids[i++] = WorkspacePropertyDictionary.intern(property);
+    }
+    return encodedOf(ids);
+  }
+
+  /**
+   * Encodes the properties a search requires without adding them to the dictionary. A property no
+   * workspace ever had is kept as an unknown id, which no workspace's set contains.
+   *
+   * @param properties the required {@link WorkspaceProperty} specifications
+   * @return the encoded set
+   */
+  public static WorkspacePropertySet lookup(Collection<WorkspaceProperty> properties) {
+    int[] ids = new int[properties.size()];
+    int i = 0;
+    for (WorkspaceProperty property : properties) {
+      ids[i++] = WorkspacePropertyDictionary.lookup(property);
+    }
+    return encodedOf(ids);
+  }
+
+  private static WorkspacePropertySet encodedOf(int[] given) {
+    if (given.length == 0) {
+      return EMPTY;
+    }
+    int[] sorted = given.clone();
+    Arrays.sort(sorted);
+    int unique = 1;
+    for (int i = 1; i < sorted.length; i++) {
+      if (sorted[i] != sorted[unique - 1]) {
+        sorted[unique++] = sorted[i];
+      }
+    }
+    int[] ids = unique == sorted.length ? sorted : Arrays.copyOf(sorted, unique);
+
+    int[] givenOrder = new int[unique];
+    boolean[] seen = new boolean[unique];
+    int next = 0;
+    for (int id : given) {
+      int position = Arrays.binarySearch(ids, id);
+      if (!seen[position]) {
+        seen[position] = true;
+        givenOrder[next++] = id;
+      }
+    }
+    return new WorkspacePropertySet(ids, Arrays.equals(ids, givenOrder) ? ids : givenOrder);
+  }
+
+  /**
+   * Checks whether this set has every property of the other one.
+   *
+   * @param required the properties to look for
+   * @return true if all of them are in this set
+   */
+  public boolean containsAll(WorkspacePropertySet required) {
+    int i = 0;
+    for (int id : required.ids) {
+      while (i < ids.length && ids[i] < id) {
+        i++;
+      }
+      if (i == ids.length || ids[i] != id) {
+        return false;
+      }
+      i++;
+    }
+    return true;
+  }
+
+  /**
+   * Checks whether any required property is unknown to the dictionary, so no workspace has it.
+   *
+   * @return true if the set contains an unknown property
+   */
+  public boolean hasUnknown() {
+    return ids.length > 0 && ids[0] == WorkspacePropertyDictionary.UNKNOWN;
+  }
+
+  public int size() {
+    return ids.length;
+  }
+
+  /**
+   * Returns the dictionary id at the given position, ids are in ascending order.
+   *
+   * @param index the position within the set
+   * @return the id of the property at that position
+   */
+  public int idAt(int index) {
+    return ids[index];
+  }
+
+  /**
+   * Decodes the set into its properties, in the order they were given.
+   *
+   * @return a new list of the {@link WorkspaceProperty} specifications
+   * @throws IllegalStateException if the set contains an unknown property
+   */
+  public List<WorkspaceProperty> toList() {
+    if (hasUnknown()) {
+      throw new IllegalStateException("A looked up property set cannot be decoded.");
+    }
+    List<WorkspaceProperty> properties = new ArrayList<>(givenOrder.length);
+    for (int id : givenOrder) {
+      properties.add(WorkspacePropertyDictionary.propertyOf(id));
+    }
+    return properties;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof WorkspacePropertySet that && Arrays.equals(ids, that.ids);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(ids);
+  }
+
+  @Override
+  public String toString() {
+    return hasUnknown() ? Arrays.toString(ids) : toList().toString();
+  }
+}
@@ -0,0 +1,275 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Column-oriented in-memory implementation of ReservationRepository for very large reservation
+ * histories, selected with {@code cleanspace.in-memory.reservation-store=columnar}. Reservations
+ * are kept in {@link ReservationColumns} instead of as objects, which keeps heap use and GC work
+ * flat as the history grows; with {@code cleanspace.in-memory.columnar.off-heap=true} the columns
+ * leave the heap altogether. Domain objects are only created for the reservations a query
+ * returns, so every call hands out fresh instances.
+ *
+ * <p>Queries scan the packed columns instead of maintaining secondary indexes. Times are stored
+ * with minute precision, so time slots with seconds are rejected. Reads share a read lock and
+ * writes take the write lock; every save is appended to the {@link InMemoryJournal}.
+ */
+@Repository
+@Profile("in-memory")
+@ConditionalOnProperty(name = "cleanspace.in-memory.reservation-store", havingValue = "columnar")
+public class ColumnarReservationRepository implements RecoverableReservationRepository {
+  private static final Comparator<Reservation> BY_START =
+      Comparator.comparing((Reservation reservation) -> reservation.getTimeSlot().start())
+          .thenComparing(Reservation::getId);
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final ReservationColumns columns;
+  private final InMemoryJournal journal;
+
+  public ColumnarReservationRepository() {
+    this(InMemoryJournal.disabled(), false);
+  }
+
+  @Autowired
+  public ColumnarReservationRepository(
+      InMemoryJournal journal,
+      @Value("${cleanspace.in-memory.columnar.off-heap:false}") boolean offHeap) {
+    this.journal = journal;
+    this.columns = new ReservationColumns(offHeap);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException when the time slot is not given in whole minutes
+   */
+  @Override
+  public Reservation save(Reservation reservation) {
+    Reservation persistedReservation =
+        reservation.getId() != null
+            ? reservation
+            : new Reservation(
+                UUID.randomUUID(),
+                reservation.getWorkspaceId(),
+                reservation.getUserId(),
+                reservation.getTimeSlot());
+    journal.mutate(
+        () -> {
+          lock.writeLock().lock();
+          try {
+            // Appended first, so a failing journal leaves the columns unchanged
+            journal.append(persistedReservation);
+            write(persistedReservation);
+          } finally {
+            lock.writeLock().unlock();
+          }
+        });
+    return persistedReservation;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Reservation> saveAll(List<Reservation> reservations) {
+    List<Reservation> saved = new ArrayList<>(reservations.size());
+    for (Reservation reservation : reservations) {
+      saved.add(save(reservation));
+    }
+    return saved;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Reservation findById(UUID id) {
+    lock.readLock().lock();
+    try {
+      int row = columns.rowOf(id.getMostSignificantBits(), id.getLeastSignificantBits());
+      return row < 0 ? null : columns.materialize(row);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Reservation> findAll() {
+    return scan(row -> true);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The reservations are ordered by start time.
+   */
+  @Override
+  public List<Reservation> findByUserId(UUID userId) {
+    long most = userId.getMostSignificantBits();
+    long least = userId.getLeastSignificantBits();
+    List<Reservation> found =
+        scan(row -> columns.userIdLeast(row) == least && columns.userIdMost(row) == most);
+    found.sort(BY_START);
+    return found;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The reservations are ordered by start time.
+   */
+  @Override
+  public List<Reservation> findByWorkspaceId(UUID workspaceId) {
+    long most = workspaceId.getMostSignificantBits();
+    long least = workspaceId.getLeastSignificantBits();
+    List<Reservation> found =
+        scan(
+            row ->
+                columns.workspaceIdLeast(row) == least && columns.workspaceIdMost(row) == most);
+    found.sort(BY_START);
+    return found;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Reservation> findConflictingWithTimeslot(TimeSlot timeSlot) {
+    long queryStart = ReservationColumns.floorMinutes(timeSlot.start());
+    long queryEnd = ReservationColumns.ceilMinutes(timeSlot.end());
+    List<Reservation> found = scan(row -> columns.overlaps(row, queryStart, queryEnd));
+    found.sort(BY_START);
+    return found;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The reservations are ordered by start time.
+   */
+  @Override
+  public List<Reservation> findConflictingInWorkspace(UUID workspaceId, TimeSlot timeSlot) {
+    List<Reservation> found = scan(inWorkspaceOverlapping(workspaceId, timeSlot));
+    found.sort(BY_START);
+    return found;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long countConflictingInWorkspace(UUID workspaceId, TimeSlot timeSlot) {
+    IntPredicate matches = inWorkspaceOverlapping(workspaceId, timeSlot);
+    lock.readLock().lock();
+    try {
+      long count = 0;
+      for (int row = 0, size = columns.size(); row < size; row++) {
+        if (matches.test(row)) {
+          count++;
+        }
+      }
+      return count;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Reservation> findConflictingForUser(UUID userId, TimeSlot timeSlot) {
+    long most = userId.getMostSignificantBits();
+    long least = userId.getLeastSignificantBits();
+    long queryStart = ReservationColumns.floorMinutes(timeSlot.start());
+    long queryEnd = ReservationColumns.ceilMinutes(timeSlot.end());
+    lock.readLock().lock();
+    try {
+      List<Reservation> found = new ArrayList<>();
+      for (int row = 0, size = columns.size(); row < size; row++) {
+        if (columns.userIdLeast(row) == least
+            && columns.userIdMost(row) == most
+            && columns.overlaps(row, queryStart, queryEnd)) {
+          found.add(columns.materialize(row));
+        }
+      }
+      return found;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean existsConflictingForUser(UUID userId, TimeSlot timeSlot) {
+    long most = userId.getMostSignificantBits();
+    long least = userId.getLeastSignificantBits();
+    long queryStart = ReservationColumns.floorMinutes(timeSlot.start());
+    long queryEnd = ReservationColumns.ceilMinutes(timeSlot.end());
+    lock.readLock().lock();
+    try {
+      for (int row = 0, size = columns.size(); row < size; row++) {
+        if (columns.userIdLeast(row) == least
+            && columns.userIdMost(row) == most
+            && columns.overlaps(row, queryStart, queryEnd)) {
+          return true;
+        }
+      }
+      return false;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void restoreAll(Collection<Reservation> reservations) {
+    lock.writeLock().lock();
+    try {
+      if (columns.size() > 0) {
+        throw new IllegalStateException("Only an empty repository can be restored");
+      }
+      reservations.forEach(this::write);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private List<Reservation> scan(IntPredicate matches) {
+    lock.readLock().lock();
+    try {
+      List<Reservation> found = new ArrayList<>();
+      for (int row = 0, size = columns.size(); row < size; row++) {
+        if (matches.test(row)) {
+          found.add(columns.materialize(row));
+        }
+      }
+      return found;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private IntPredicate inWorkspaceOverlapping(UUID workspaceId, TimeSlot timeSlot) {
+    long most = workspaceId.getMostSignificantBits();
+    long least = workspaceId.getLeastSignificantBits();
+    long queryStart = ReservationColumns.floorMinutes(timeSlot.start());
+    long queryEnd = ReservationColumns.ceilMinutes(timeSlot.end());
+    return row ->
+        columns.workspaceIdLeast(row) == least
+            && columns.workspaceIdMost(row) == most
+            && columns.overlaps(row, queryStart, queryEnd);
+  }
+
+  private void write(Reservation reservation) {
+    if (!ReservationColumns.isWholeMinutes(reservation.getTimeSlot())) {
+      throw new IllegalArgumentException(
+          "Reservations must start and last in whole minutes: " + reservation.getTimeSlot());
+    }
+    columns.put(reservation);
+  }
+}
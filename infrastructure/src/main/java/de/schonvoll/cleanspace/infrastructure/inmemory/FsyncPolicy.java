@@ -0,0 +1,14 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+/** When the in-memory journal forces appended records from the page cache to the disk. */
+public enum FsyncPolicy {
+  /** Forces every record before the save returns. Nothing acknowledged is ever lost. */
+  PER_WRITE,
+  /**
+   * Forces all records appended since the last flush on a fixed interval. A crash loses at most
+   * one interval of acknowledged writes.
+   */
+  INTERVAL,
+  /** Never forces explicitly and leaves write back to the operating system. */
+  OS
+}
@@ -0,0 +1,71 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import de.schonvoll.cleanspace.application.ports.BookingCoordinator;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory implementation of {@link BookingCoordinator} using striped locks. Every workspace id
+ * maps to one of a fixed number of lock stripes, so bookings of the same workspace are serialized
+ * while bookings of workspaces on other stripes run in parallel. Two workspaces sharing a stripe
+ * only wait for each other, which is harmless, and the number of locks stays fixed however many
+ * workspaces there are.
+ */
+@Component
+@Profile("in-memory")
+public class InMemoryBookingCoordinator implements BookingCoordinator {
+  private static final int DEFAULT_STRIPES = 1024;
+
+  private final Object[] stripes;
+
+  public InMemoryBookingCoordinator() {
+    this(DEFAULT_STRIPES);
+  }
+
+  /**
+   * Creates a coordinator with the given number of lock stripes.
+   *
+   * @param stripeCount the number of lock stripes
+   */
+  InMemoryBookingCoordinator(int stripeCount) {
+    this.stripes = new Object[stripeCount];
+    Arrays.setAll(stripes, stripe -> new Object());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public <T> T bookExclusively(UUID workspaceId, Supplier<T> booking) {
+    synchronized (stripes[stripeOf(workspaceId)]) {
+      return booking.get();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The stripes of the workspaces are locked in ascending order, each one only once.
+   */
+  @Override
+  public <T> T bookExclusively(Collection<UUID> workspaceIds, Supplier<T> booking) {
+    int[] stripesToLock =
+        workspaceIds.stream().mapToInt(this::stripeOf).distinct().sorted().toArray();
+    return bookHoldingStripes(stripesToLock, 0, booking);
+  }
+
+  private <T> T bookHoldingStripes(int[] stripesToLock, int next, Supplier<T> booking) {
+    if (next == stripesToLock.length) {
+      return booking.get();
+    }
+    synchronized (stripes[stripesToLock[next]]) {
+      return bookHoldingStripes(stripesToLock, next + 1, booking);
+    }
+  }
+
+  int stripeOf(UUID workspaceId) {
+    return Math.floorMod(workspaceId.hashCode(), stripes.length);
+  }
+}
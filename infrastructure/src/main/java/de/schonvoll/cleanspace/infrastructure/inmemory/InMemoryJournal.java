@@ -0,0 +1,230 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Append-only journal of the mutations of the in-memory repositories. Records go to numbered
+ * {@link MappedJournalFile} segments; {@link InMemoryPersistence} replays them on startup and drops
+ * them once a snapshot covers them. When the journal is disabled every operation is a no-op, so the
+ * repositories behave exactly like the purely volatile store.
+ *
+ * <p>Repositories wrap each mutation in {@link #mutate} and {@link #append} the new state before
+ * updating their indexes, so a failed append leaves them unchanged. With {@link
+ * FsyncPolicy#PER_WRITE} the records are forced to the disk once the mutation has run, outside of
+ * any lock the repository holds while indexing. Forcing only reads the write position under the
+ * lock that serializes appends and then releases it, so appends go on while the disk catches up,
+ * and whatever they add is left to the next flush. Rotating to a new segment waits for running
+ * mutations, so once {@link #rotate} returns every record of the older segments is visible in the
+ * repositories and a snapshot taken afterwards covers them.
+ */
+@Component
+@Profile("in-memory")
+@EnableConfigurationProperties(JournalProperties.class)
+public class InMemoryJournal {
+  private final JournalProperties properties;
+  private final ReentrantReadWriteLock rotationLock = new ReentrantReadWriteLock();
+  private final ReentrantLock appendLock = new ReentrantLock();
+  private MappedJournalFile segment;
+  private long sequence;
+  private ScheduledExecutorService flusher;
+
+  public InMemoryJournal(JournalProperties properties) {
+    this.properties = properties;
+  }
+
+  /**
+   * Creates a journal that never writes anything, for repositories used without Spring.
+   *
+   * @return a disabled {@link InMemoryJournal}
+   */
+  public static InMemoryJournal disabled() {
+    return new InMemoryJournal(JournalProperties.disabled());
+  }
+
+  /**
+   * Returns whether mutations are journaled.
+   *
+   * @return {@code true} when the journal is enabled
+   */
+  public boolean isEnabled() {
+    return properties.enabled();
+  }
+
+  /**
+   * Returns the settings of this journal.
+   *
+   * @return the {@link JournalProperties}
+   */
+  public JournalProperties getProperties() {
+    return properties;
+  }
+
+  /**
+   * Runs a repository mutation that appends its new state, so that it never straddles a rotation.
+   * Returns once the appended records are durable according to the configured {@link
+   * FsyncPolicy}.
+   *
+   * @param mutation appends the new state with {@link #append} and then updates the repository
+   */
+  void mutate(Runnable mutation) {
+    if (!properties.enabled()) {
+      mutation.run();
+      return;
+    }
+    rotationLock.readLock().lock();
+    try {
+      mutation.run();
+      if (properties.fsyncPolicy() == FsyncPolicy.PER_WRITE) {
+        // Still before a rotation can close the segment the records were appended to
+        flush();
+      }
+    } finally {
+      rotationLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Appends the new state of an entity. The record is forced to the disk by {@link #mutate} or the
+   * background flush, depending on the configured {@link FsyncPolicy}.
+   *
+   * @param entity the saved {@code User}, {@code Workspace}, {@code Reservation} or {@code
+   *     ReservationSeries}, or a {@link JournalCodec.SeriesOverride}
+   * @throws IllegalStateException when the journal is enabled but was not opened yet
+   */
+  void append(Object entity) {
+    if (!properties.enabled()) {
+      return;
+    }
+    byte type = JournalCodec.typeOf(entity);
+    byte[] payload = JournalCodec.encode(entity);
+    appendLock.lock();
+    try {
+      if (segment == null) {
+        throw new IllegalStateException("The in-memory journal has not been opened");
+      }
+      if (!segment.append(type, payload)) {
+        // A full segment is simply continued by the next one, replay reads them all in order.
+        openSegment(sequence + 1);
+        segment.append(type, payload);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
+  /**
+   * Starts appending to a new segment with the given sequence number.
+   *
+   * @param firstSequence the sequence number of the first segment written by this process
+   * @throws IOException when the segment cannot be created
+   */
+  void open(long firstSequence) throws IOException {
+    Files.createDirectories(properties.directory());
+    appendLock.lock();
+    try {
+      openSegment(firstSequence);
+    } finally {
+      appendLock.unlock();
+    }
+    if (properties.fsyncPolicy() == FsyncPolicy.INTERVAL) {
+      flusher =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "in-memory-journal-flusher");
+                thread.setDaemon(true);
+                return thread;
+              });
+      long intervalMillis = Math.max(1, properties.fsyncInterval().toMillis());
+      flusher.scheduleWithFixedDelay(
+          this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Closes the current segment and continues in a new one, waiting for running mutations first.
+   *
+   * @return the sequence number of the new segment; all older segments are complete
+   * @throws IOException when the new segment cannot be created
+   */
+  long rotate() throws IOException {
+    rotationLock.writeLock().lock();
+    appendLock.lock();
+    try {
+      openSegment(sequence + 1);
+      return sequence;
+    } finally {
+      appendLock.unlock();
+      rotationLock.writeLock().unlock();
+    }
+  }
+
+  /** Forces all records appended so far to the disk. */
+  void flush() {
+    MappedJournalFile.Appended appended;
+    appendLock.lock();
+    try {
+      if (segment == null) {
+        return;
+      }
+      appended = segment.appended();
+    } finally {
+      appendLock.unlock();
+    }
+    appended.force();
+  }
+
+  /**
+   * Stops the background flush and closes the current segment.
+   *
+   * @throws IOException when the segment cannot be closed
+   */
+  void close() throws IOException {
+    if (flusher != null) {
+      flusher.shutdownNow();
+    }
+    appendLock.lock();
+    try {
+      if (segment != null) {
+        segment.close();
+        segment = null;
+      }
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
+  /**
+   * Returns the file of the journal segment with the given sequence number.
+   *
+   * @param directory the journal directory
+   * @param sequence the sequence number of the segment
+   * @return the {@link Path} of the segment
+   */
+  static Path segmentPath(Path directory, long sequence) {
+    return directory.resolve("journal-%020d.log".formatted(sequence));
+  }
+
+  private void openSegment(long nextSequence) throws IOException {
+    MappedJournalFile next =
+        MappedJournalFile.create(
+            segmentPath(properties.directory(), nextSequence), properties.segmentSize());
+    if (segment != null) {
+      segment.close();
+    }
+    segment = next;
+    sequence = nextSequence;
+  }
+}
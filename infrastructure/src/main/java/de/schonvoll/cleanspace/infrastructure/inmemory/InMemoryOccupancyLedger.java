@@ -0,0 +1,397 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import de.schonvoll.cleanspace.application.ports.OccupancyLedger;
+import de.schonvoll.cleanspace.application.services.ScanningOccupancyLedger;
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.repositories.ReservationRepository;
+import de.schonvoll.cleanspace.domain.repositories.ReservationSeriesRepository;
+import de.schonvoll.cleanspace.domain.valueobjects.SeriesOccurrence;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory implementation of {@link OccupancyLedger} that counts the taken seats of every
+ * workspace per fixed-size time bucket, in one {@link OccupancySegmentTree} per workspace and day.
+ * Taking a seat finds the most seats taken in any bucket the time slot touches and, if that is
+ * below the workspace's capacity, adds a seat to all of them; both are O(log b) range operations
+ * for b buckets per day, independent of how long the time slot is or how many reservations exist.
+ * Bookings lock only the days they touch, so they only contend when they book the same workspace
+ * on the same day.
+ *
+ * <p>A reservation counts against a whole bucket even if it covers only part of it, so the bucket
+ * counts can only be too high, never too low. They are exact as long as every time slot held on a
+ * day starts and ends on a bucket boundary, set with {@code
+ * cleanspace.in-memory.occupancy.bucket-size}. Every day also keeps the unaligned time slots it
+ * holds, and when its buckets look full, those are swept on top of the seats the aligned ones take
+ * in each bucket to find the exact number of seats taken at the same time. Two back-to-back
+ * bookings sharing a bucket therefore never take two seats.
+ *
+ * <p>The same counts answer availability searches and occupancy heatmaps, so neither scans the
+ * reservations.
+ *
+ * <p>The days of a workspace are built from its saved reservations and the occurrences of its
+ * saved reservation series the first time it is used, so reservations restored at startup are
+ * counted as well.
+ *
+ * <p>Days that have ended are dropped with {@link #evictDaysBefore}, which {@link
+ * ReservationTiering} calls whenever it archives ended reservations, so the ledger does not grow
+ * with the history of the workspaces. Bookings and searches touching a dropped day read its seats
+ * from the repositories instead, like the {@link ScanningOccupancyLedger} does.
+ */
+@Component
+@Profile("in-memory")
+public class InMemoryOccupancyLedger implements OccupancyLedger {
+  private static final long SECONDS_PER_DAY = Duration.ofDays(1).getSeconds();
+
+  private final ReservationRepository reservationRepository;
+  private final ReservationSeriesRepository reservationSeriesRepository;
+  private final long bucketSeconds;
+  private final int bucketsPerDay;
+  private final ScanningOccupancyLedger evictedDays;
+  private final ConcurrentHashMap<UUID, ConcurrentHashMap<Long, Day>> daysByWorkspace =
+      new ConcurrentHashMap<>();
+  // The epoch day before which no day is held any more
+  private final AtomicLong firstHeldDay = new AtomicLong(Long.MIN_VALUE);
+
+  /**
+   * Creates an empty ledger.
+   *
+   * @param reservationRepository the {@link ReservationRepository} the days are built from
+   * @param reservationSeriesRepository the {@link ReservationSeriesRepository} whose occurrences
+   *     are counted as well
+   * @param bucketSize the length of a time bucket, at least one second and dividing a day evenly
+   */
+  @Autowired
+  public InMemoryOccupancyLedger(
+      ReservationRepository reservationRepository,
+      ReservationSeriesRepository reservationSeriesRepository,
+      @Value("${cleanspace.in-memory.occupancy.bucket-size:15m}") Duration bucketSize) {
+    if (bucketSize.getSeconds() < 1 || SECONDS_PER_DAY % bucketSize.getSeconds() != 0) {
+      throw new IllegalArgumentException(
+          "Occupancy buckets must be at least one second long and divide a day evenly");
+    }
+    this.reservationRepository = reservationRepository;
+    this.reservationSeriesRepository = reservationSeriesRepository;
+    this.bucketSeconds = bucketSize.getSeconds();
+    this.bucketsPerDay = Math.toIntExact(SECONDS_PER_DAY / bucketSeconds);
+    this.evictedDays =
+        new ScanningOccupancyLedger(reservationRepository, reservationSeriesRepository);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>A time slot touching a dropped day is checked against the saved reservations instead,
+   * which is exact because bookings of a workspace run one at a time under the {@code
+   * BookingCoordinator}. The seat is then taken on the days still held.
+   */
+  @Override
+  public boolean tryOccupy(Workspace workspace, TimeSlot timeSlot) {
+    List<DayRange> ranges = dayRangesOf(daysOf(workspace.getId()), timeSlot, true);
+    if (ranges.getFirst().day() != null) {
+      return tryOccupyLocked(ranges, 0, timeSlot, workspace.getCapacity());
+    }
+    if (!evictedDays.tryOccupy(workspace, timeSlot)) {
+      return false;
+    }
+    for (DayRange range : ranges) {
+      if (range.day() != null) {
+        synchronized (range.day()) {
+          range.day().add(range, timeSlot);
+        }
+      }
+    }
+    return true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void release(UUID workspaceId, TimeSlot timeSlot) {
+    // Days that were never built never had a seat taken
+    for (DayRange range : dayRangesOf(daysOf(workspaceId), timeSlot, false)) {
+      if (range.day() != null) {
+        synchronized (range.day()) {
+          range.day().remove(range, timeSlot);
+        }
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Every bucket of the range is one range query on the days it touches, so the reservations
+   * are never read. A day holding time slots that do not line up with its buckets is swept
+   * instead, wherever its buckets count a seat taken. A range starting on a dropped day is read
+   * from the repositories.
+   */
+  @Override
+  public Map<UUID, int[]> takenSeats(
+      Collection<UUID> workspaceIds, TimeSlot range, Duration bucketSize) {
+    if (Math.floorDiv(firstBucketOf(range), bucketsPerDay) < firstHeldDay.get()) {
+      return evictedDays.takenSeats(workspaceIds, range, bucketSize);
+    }
+    int bucketCount =
+        Math.toIntExact(Math.ceilDiv(range.duration().toNanos(), bucketSize.toNanos()));
+    Map<UUID, int[]> takenSeats = new HashMap<>();
+    for (UUID workspaceId : workspaceIds) {
+      ConcurrentHashMap<Long, Day> days = daysOf(workspaceId);
+      int[] seats = new int[bucketCount];
+      for (int bucket = 0; bucket < bucketCount; bucket++) {
+        LocalDateTime start = range.start().plus(bucketSize.multipliedBy(bucket));
+        LocalDateTime end =
+            start.plus(bucketSize).isBefore(range.end()) ? start.plus(bucketSize) : range.end();
+        TimeSlot window = new TimeSlot(start, Duration.between(start, end));
+        for (DayRange day : dayRangesOf(days, window, false)) {
+          if (day.day() != null) {
+            synchronized (day.day()) {
+              seats[bucket] = Math.max(seats[bucket], day.day().takenSeats(day, window));
+            }
+          }
+        }
+      }
+      takenSeats.put(workspaceId, seats);
+    }
+    return takenSeats;
+  }
+
+  /**
+   * Drops the days that ended before the given time, in every workspace.
+   *
+   * @param cutoff the time before which a day must have ended to be dropped
+   * @return the number of days dropped
+   */
+  public int evictDaysBefore(LocalDateTime cutoff) {
+    // Raised first, so a day dropped below is never built again as an empty one
+    long firstKept = firstHeldDay.accumulateAndGet(cutoff.toLocalDate().toEpochDay(), Math::max);
+    int evicted = 0;
+    for (ConcurrentHashMap<Long, Day> days : daysByWorkspace.values()) {
+      for (Iterator<Long> day = days.keySet().iterator(); day.hasNext(); ) {
+        if (day.next() < firstKept) {
+          day.remove();
+          evicted++;
+        }
+      }
+    }
+    return evicted;
+  }
+
+  // Locks all days in ascending order, so that no booking can take the last seat of a day in
+  // between and two bookings spanning the same days cannot deadlock
+  private static boolean tryOccupyLocked(
+      List<DayRange> ranges, int locked, TimeSlot timeSlot, int capacity) {
+    if (locked < ranges.size()) {
+      synchronized (ranges.get(locked).day()) {
+        return tryOccupyLocked(ranges, locked + 1, timeSlot, capacity);
+      }
+    }
+    for (DayRange range : ranges) {
+      if (range.day().takenSeats(range, timeSlot) >= capacity) {
+        return false;
+      }
+    }
+    for (DayRange range : ranges) {
+      range.day().add(range, timeSlot);
+    }
+    return true;
+  }
+
+  private ConcurrentHashMap<Long, Day> daysOf(UUID workspaceId) {
+    ConcurrentHashMap<Long, Day> days = daysByWorkspace.get(workspaceId);
+    return days != null
+        ? days
+        : daysByWorkspace.computeIfAbsent(workspaceId, this::countSavedReservations);
+  }
+
+  private ConcurrentHashMap<Long, Day> countSavedReservations(UUID workspaceId) {
+    // The days are not shared before they are returned, so they are filled without locking
+    ConcurrentHashMap<Long, Day> days = new ConcurrentHashMap<>();
+    for (Reservation reservation : reservationRepository.findByWorkspaceId(workspaceId)) {
+      count(days, reservation.getTimeSlot());
+    }
+    for (ReservationSeries series : reservationSeriesRepository.findByWorkspaceId(workspaceId)) {
+      series.occurrences().map(SeriesOccurrence::timeSlot).forEach(slot -> count(days, slot));
+    }
+    return days;
+  }
+
+  private void count(ConcurrentHashMap<Long, Day> days, TimeSlot timeSlot) {
+    for (DayRange range : dayRangesOf(days, timeSlot, true)) {
+      if (range.day() != null) {
+        range.day().add(range, timeSlot);
+      }
+    }
+  }
+
+  // Splits the buckets a time slot touches at midnight, in ascending order of the days. Dropped
+  // days are never built again and come without a day.
+  private List<DayRange> dayRangesOf(
+      ConcurrentHashMap<Long, Day> days, TimeSlot timeSlot, boolean create) {
+    long first = firstBucketOf(timeSlot);
+    long end = endBucketOf(timeSlot);
+    long firstHeld = firstHeldDay.get();
+    List<DayRange> ranges = new ArrayList<>();
+    for (long day = Math.floorDiv(first, bucketsPerDay); day * bucketsPerDay < end; day++) {
+      long dayStart = day * bucketsPerDay;
+      Day held =
+          day < firstHeld
+              ? null
+              : create ? days.computeIfAbsent(day, key -> new Day(bucketsPerDay)) : days.get(day);
+      ranges.add(
+          new DayRange(
+              held,
+              LocalDateTime.ofEpochSecond(day * SECONDS_PER_DAY, 0, ZoneOffset.UTC),
+              (int) (Math.max(first, dayStart) - dayStart),
+              (int) (Math.min(end, dayStart + bucketsPerDay) - dayStart)));
+    }
+    return ranges;
+  }
+
+  private long firstBucketOf(TimeSlot timeSlot) {
+    return Math.floorDiv(timeSlot.start().toEpochSecond(ZoneOffset.UTC), bucketSeconds);
+  }
+
+  private long endBucketOf(TimeSlot timeSlot) {
+    LocalDateTime end = timeSlot.end();
+    long endSeconds = end.toEpochSecond(ZoneOffset.UTC) + (end.getNano() > 0 ? 1 : 0);
+    return Math.ceilDiv(endSeconds, bucketSeconds);
+  }
+
+  private boolean isAligned(TimeSlot timeSlot) {
+    return isAligned(timeSlot.start()) && isAligned(timeSlot.end());
+  }
+
+  private boolean isAligned(LocalDateTime time) {
+    return time.getNano() == 0 && time.toEpochSecond(ZoneOffset.UTC) % bucketSeconds == 0;
+  }
+
+  private record DayRange(Day day, LocalDateTime dayStart, int from, int to) {}
+
+  /**
+   * The seats taken on one day of one workspace: their counts per bucket and the time slots holding
+   * them that do not line up with the buckets. Not thread-safe, the ledger serializes all access to
+   * a day on the day itself.
+   */
+  private final class Day {
+    private final OccupancySegmentTree buckets;
+    // How often each unaligned time slot is held, created with the first one
+    private Map<TimeSlot, Integer> unaligned;
+
+    private Day(int bucketsPerDay) {
+      this.buckets = new OccupancySegmentTree(bucketsPerDay);
+    }
+
+    private void add(DayRange range, TimeSlot timeSlot) {
+      buckets.add(range.from(), range.to(), 1);
+      if (!isAligned(timeSlot)) {
+        if (unaligned == null) {
+          unaligned = new HashMap<>();
+        }
+        unaligned.merge(timeSlot, 1, Integer::sum);
+      }
+    }
+
+    private void remove(DayRange range, TimeSlot timeSlot) {
+      buckets.add(range.from(), range.to(), -1);
+      if (unaligned != null && !isAligned(timeSlot)) {
+        unaligned.computeIfPresent(timeSlot, (held, count) -> count == 1 ? null : count - 1);
+        if (unaligned.isEmpty()) {
+          unaligned = null;
+        }
+      }
+    }
+
+    // The bucket count is exact while all time slots line up with the buckets, and otherwise
+    // only an upper bound that is refined by sweeping the unaligned time slots
+    private int takenSeats(DayRange range, TimeSlot window) {
+      int counted = buckets.max(range.from(), range.to());
+      if (counted == 0 || unaligned == null) {
+        return counted;
+      }
+      LocalDateTime dayEnd = range.dayStart().plusDays(1);
+      LocalDateTime from =
+          window.start().isAfter(range.dayStart()) ? window.start() : range.dayStart();
+      LocalDateTime to = window.end().isBefore(dayEnd) ? window.end() : dayEnd;
+      return peakConcurrency(range, from, to);
+    }
+
+    // An aligned time slot covers whole buckets, so the aligned ones take a fixed number of seats
+    // within a bucket: its count less the unaligned time slots touching it. On top of that, the
+    // unaligned ones, clipped to [from, to), are swept in time order for their peak in the bucket.
+    private int peakConcurrency(DayRange range, LocalDateTime from, LocalDateTime to) {
+      long dayFirstBucket =
+          Math.floorDiv(range.dayStart().toEpochSecond(ZoneOffset.UTC), bucketSeconds);
+      int[] touchingFrom = new int[range.to() - range.from() + 1];
+      List<LocalDateTime> starts = new ArrayList<>();
+      List<LocalDateTime> ends = new ArrayList<>();
+      unaligned.forEach(
+          (timeSlot, count) -> {
+            int first = (int) Math.max(firstBucketOf(timeSlot) - dayFirstBucket, range.from());
+            int end = (int) Math.min(endBucketOf(timeSlot) - dayFirstBucket, range.to());
+            if (first < end) {
+              touchingFrom[first - range.from()] += count;
+              touchingFrom[end - range.from()] -= count;
+            }
+            if (timeSlot.start().isBefore(to) && timeSlot.end().isAfter(from)) {
+              for (int held = 0; held < count; held++) {
+                starts.add(timeSlot.start().isAfter(from) ? timeSlot.start() : from);
+                ends.add(timeSlot.end().isBefore(to) ? timeSlot.end() : to);
+              }
+            }
+          });
+      starts.sort(null);
+      ends.sort(null);
+      int peak = 0;
+      int touching = 0;
+      int concurrent = 0;
+      int start = 0;
+      int end = 0;
+      for (int bucket = range.from(); bucket < range.to(); bucket++) {
+        touching += touchingFrom[bucket - range.from()];
+        LocalDateTime bucketStart = range.dayStart().plusSeconds(bucket * bucketSeconds);
+        LocalDateTime bucketEnd = bucketStart.plusSeconds(bucketSeconds);
+        bucketStart = bucketStart.isAfter(from) ? bucketStart : from;
+        bucketEnd = bucketEnd.isBefore(to) ? bucketEnd : to;
+        while (start < starts.size() && !starts.get(start).isAfter(bucketStart)) {
+          concurrent++;
+          start++;
+        }
+        while (end < ends.size() && !ends.get(end).isAfter(bucketStart)) {
+          concurrent--;
+          end++;
+        }
+        int highest = concurrent;
+        while (start < starts.size() && starts.get(start).isBefore(bucketEnd)) {
+          // Time slots are half-open, so a time slot ending when another starts frees its seat
+          // first
+          while (!ends.get(end).isAfter(starts.get(start))) {
+            concurrent--;
+            end++;
+          }
+          concurrent++;
+          start++;
+          highest = Math.max(highest, concurrent);
+        }
+        peak = Math.max(peak, buckets.max(bucket, bucket + 1) - touching + highest);
+      }
+      return peak;
+    }
+  }
+}
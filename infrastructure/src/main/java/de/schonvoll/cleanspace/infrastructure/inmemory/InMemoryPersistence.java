@@ -0,0 +1,283 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
+import de.schonvoll.cleanspace.domain.entities.User;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.infrastructure.inmemory.JournalCodec.SeriesOverride;
+import de.schonvoll.cleanspace.infrastructure.inmemory.MappedJournalFile.RecordConsumer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes the in-memory profile durable. On startup it loads the latest snapshot into the
+ * repositories and replays the journal segments written after it, before any request is served.
+ * Afterwards it periodically writes a new snapshot and drops the segments and snapshots it
+ * supersedes. Does nothing while the {@link InMemoryJournal} is disabled.
+ *
+ * <p>A snapshot is taken without stopping writers: the journal is rotated first, then the
+ * repositories are dumped. Records of the new segment may already be contained in the snapshot,
+ * which is harmless because replaying a save is idempotent and the segment is replayed in order.
+ *
+ * <p>Reservation series and their overrides are restored along with the reservations. Recovery
+ * runs before any request is served, so the {@link InMemoryOccupancyLedger}, which builds its days
+ * from the repositories on first use, counts the seats the recovered series hold.
+ *
+ * <p>Recovery time grows with the number of stored reservations rather than with the journal tail:
+ * most of it goes into bulk loading the reservation indexes, which a snapshot has to do just the
+ * same. More frequent snapshots therefore only shorten the replay, not the startup as a whole.
+ */
+@Component
+@Profile("in-memory")
+@Slf4j
+public class InMemoryPersistence {
+  private static final int SNAPSHOT_MAGIC = 0x43534e50;
+  private static final int SNAPSHOT_VERSION = 1;
+  private static final int SNAPSHOT_HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;
+  private static final int SNAPSHOT_FOOTER_BYTES = Byte.BYTES + Integer.BYTES;
+  private static final byte END_OF_SNAPSHOT = 0;
+
+  private final InMemoryJournal journal;
+  private final InMemoryUserRepository userRepository;
+  private final InMemoryWorkspaceRepository workspaceRepository;
+  private final RecoverableReservationRepository reservationRepository;
+  private final InMemoryReservationSeriesRepository reservationSeriesRepository;
+  private ScheduledExecutorService snapshotScheduler;
+
+  public InMemoryPersistence(
+      InMemoryJournal journal,
+      InMemoryUserRepository userRepository,
+      InMemoryWorkspaceRepository workspaceRepository,
+      RecoverableReservationRepository reservationRepository,
+      InMemoryReservationSeriesRepository reservationSeriesRepository) {
+    this.journal = journal;
+    this.userRepository = userRepository;
+    this.workspaceRepository = workspaceRepository;
+    this.reservationRepository = reservationRepository;
+    this.reservationSeriesRepository = reservationSeriesRepository;
+  }
+
+  /**
+   * Restores the repositories from the latest valid snapshot and the journal segments after it,
+   * then opens a new segment and schedules the periodic snapshots.
+   *
+   * @throws IOException when the journal directory cannot be read or written
+   */
+  @PostConstruct
+  public void recover() throws IOException {
+    if (!journal.isEnabled()) {
+      return;
+    }
+    Path directory = journal.getProperties().directory();
+    Files.createDirectories(directory);
+    long startedAt = System.nanoTime();
+
+    // Reservations are collected and bulk loaded at the end, later records replacing earlier ones.
+    Map<UUID, Reservation> reservations = new HashMap<>();
+    RecordConsumer restore =
+        (type, payload) -> {
+          switch (JournalCodec.decode(type, payload)) {
+            case User user -> userRepository.restore(user);
+            case Workspace workspace -> workspaceRepository.restore(workspace);
+            case Reservation reservation -> reservations.put(reservation.getId(), reservation);
+            case ReservationSeries series -> reservationSeriesRepository.restore(series);
+            case SeriesOverride seriesOverride ->
+                reservationSeriesRepository.restore(seriesOverride);
+            default -> throw new IllegalStateException("Unsupported journal record type: " + type);
+          }
+        };
+
+    List<Long> snapshots = sequences(directory, "snapshot-", ".bin");
+    long coveredSequence = 0;
+    for (int i = snapshots.size() - 1; i >= 0; i--) {
+      Path snapshot = snapshotPath(directory, snapshots.get(i));
+      if (isComplete(snapshot)) {
+        loadSnapshot(snapshot, restore);
+        coveredSequence = snapshots.get(i);
+        break;
+      }
+      log.warn("Skipping incomplete in-memory snapshot {}", snapshot);
+    }
+
+    List<Long> segments = sequences(directory, "journal-", ".log");
+    int replayed = 0;
+    for (long segment : segments) {
+      if (segment >= coveredSequence) {
+        replayed +=
+            MappedJournalFile.replay(
+                InMemoryJournal.segmentPath(directory, segment), restore);
+      }
+    }
+    reservationRepository.restoreAll(reservations.values());
+
+    long lastSequence =
+        Math.max(
+            snapshots.isEmpty() ? 0 : snapshots.getLast(),
+            segments.isEmpty() ? 0 : segments.getLast());
+    journal.open(lastSequence + 1);
+    log.info(
+        "Recovered in-memory store from {} (snapshot {}, {} journal records) in {} ms",
+        directory,
+        coveredSequence,
+        replayed,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+
+    snapshotScheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "in-memory-snapshot");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long intervalMillis = Math.max(1, journal.getProperties().snapshotInterval().toMillis());
+    snapshotScheduler.scheduleWithFixedDelay(
+        this::snapshotQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Writes a snapshot of all repositories and drops the journal segments and snapshots it covers.
+   *
+   * @throws IOException when the snapshot cannot be written
+   */
+  public synchronized void snapshot() throws IOException {
+    if (!journal.isEnabled()) {
+      return;
+    }
+    Path directory = journal.getProperties().directory();
+    long sequence = journal.rotate();
+    Path target = snapshotPath(directory, sequence);
+    Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+    try (FileOutputStream file = new FileOutputStream(temporary.toFile());
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+      out.writeInt(SNAPSHOT_MAGIC);
+      out.writeInt(SNAPSHOT_VERSION);
+      out.writeLong(sequence);
+      writeAll(out, userRepository.findAll());
+      writeAll(out, workspaceRepository.findAll());
+      writeAll(out, reservationRepository.findAll());
+      writeAll(out, reservationSeriesRepository.findAll());
+      out.writeByte(END_OF_SNAPSHOT);
+      out.writeInt(SNAPSHOT_MAGIC);
+      out.flush();
+      file.getFD().sync();
+    }
+    Files.move(
+        temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+    for (long older : sequences(directory, "snapshot-", ".bin")) {
+      if (older < sequence) {
+        Files.deleteIfExists(snapshotPath(directory, older));
+      }
+    }
+    for (long older : sequences(directory, "journal-", ".log")) {
+      if (older < sequence) {
+        Files.deleteIfExists(InMemoryJournal.segmentPath(directory, older));
+      }
+    }
+  }
+
+  /**
+   * Writes a final snapshot, so the next start only loads it, and closes the journal.
+   *
+   * @throws IOException when the snapshot cannot be written or the journal cannot be closed
+   */
+  @PreDestroy
+  public void shutdown() throws IOException {
+    if (!journal.isEnabled()) {
+      return;
+    }
+    if (snapshotScheduler != null) {
+      snapshotScheduler.shutdownNow();
+    }
+    try {
+      snapshot();
+    } finally {
+      journal.close();
+    }
+  }
+
+  private void snapshotQuietly() {
+    try {
+      snapshot();
+    } catch (IOException | RuntimeException e) {
+      log.error("Writing the in-memory snapshot failed, the journal keeps growing", e);
+    }
+  }
+
+  private static void loadSnapshot(Path path, RecordConsumer restore) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      buffer.position(SNAPSHOT_HEADER_BYTES);
+      for (byte type = buffer.get(); type != END_OF_SNAPSHOT; type = buffer.get()) {
+        int length = buffer.getInt();
+        restore.accept(type, buffer.slice(buffer.position(), length));
+        buffer.position(buffer.position() + length);
+      }
+    }
+  }
+
+  private static boolean isComplete(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < SNAPSHOT_HEADER_BYTES + SNAPSHOT_FOOTER_BYTES) {
+        return false;
+      }
+      ByteBuffer header = ByteBuffer.allocate(SNAPSHOT_HEADER_BYTES);
+      channel.read(header, 0);
+      ByteBuffer footer = ByteBuffer.allocate(SNAPSHOT_FOOTER_BYTES);
+      channel.read(footer, size - SNAPSHOT_FOOTER_BYTES);
+      return header.getInt(0) == SNAPSHOT_MAGIC
+          && header.getInt(Integer.BYTES) == SNAPSHOT_VERSION
+          && footer.get(0) == END_OF_SNAPSHOT
+          && footer.getInt(Byte.BYTES) == SNAPSHOT_MAGIC;
+    }
+  }
+
+  private static void writeAll(DataOutputStream out, List<?> entities) throws IOException {
+    for (Object entity : entities) {
+      byte[] payload = JournalCodec.encode(entity);
+      out.writeByte(JournalCodec.typeOf(entity));
+      out.writeInt(payload.length);
+      out.write(payload);
+    }
+  }
+
+  private static Path snapshotPath(Path directory, long sequence) {
+    return directory.resolve("snapshot-%020d.bin".formatted(sequence));
+  }
+
+  private static List<Long> sequences(Path directory, String prefix, String suffix)
+      throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .map(file -> file.getFileName().toString())
+          .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+          .map(name -> name.substring(prefix.length(), name.length() - suffix.length()))
+          .filter(number -> !number.isEmpty() && number.chars().allMatch(Character::isDigit))
+          .map(Long::parseLong)
+          .sorted()
+          .toList();
+    }
+  }
+}
@@ -1,25 +1,67 @@
 package de.schonvoll.cleanspace.infrastructure.inmemory;
 
 import de.schonvoll.cleanspace.domain.entities.Reservation;
-import de.schonvoll.cleanspace.domain.repositories.ReservationRepository;
+import de.schonvoll.cleanspace.domain.valueobjects.ReservationCursor;
 import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
-import java.util.HashMap;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 /**
- * In-memory implementation of ReservationRepository for development and testing. Uses a HashMap to
- * store Reservation entities.
+ * In-memory implementation of ReservationRepository for development and testing. Uses a
+ * {@link UuidHashMap} to store Reservation entities, a {@link ReservationIntervalTree} to answer
+ * conflict queries and {@link SortedReservationIndex} instances per user and per workspace, so no
+ * query scans every stored reservation. Safe for concurrent request threads; reads never block.
+ * Every save is appended to the {@link InMemoryJournal}, which is a no-op unless it is enabled.
+ *
+ * <p>Reservations that have ended can be moved into a compact {@link ReservationArchive} with
+ * {@link #archiveEndedBefore}, which {@link ReservationTiering} does periodically. The indexes then
+ * only hold the hot tier of current and upcoming reservations. Lookups by id, user and workspace
+ * and {@link #findAll()} also read the archive. Conflict queries only read it for time slots that
+ * start before the latest archived end.
  */
 @Repository
 @Profile("in-memory")
-public class InMemoryReservationRepository implements ReservationRepository {
-  private final HashMap<UUID, Reservation> reservationHashMap;
+@ConditionalOnProperty(
+    name = "cleanspace.in-memory.reservation-store",
+    havingValue = "object",
+    matchIfMissing = true)
+public class InMemoryReservationRepository implements RecoverableReservationRepository {
+  private static final Comparator<Reservation> BY_START =
+      Comparator.comparing((Reservation reservation) -> reservation.getTimeSlot().start())
+          .thenComparing(Reservation::getId);
+
+  private final UuidHashMap<Reservation> reservationHashMap;
+  private final ReservationIntervalTree timeSlotIndex;
+  private final SortedReservationIndex userIndex;
+  private final SortedReservationIndex workspaceIndex;
+  private final ConcurrentHashMap<UUID, IndexedKeys> indexedKeysById;
+  private final ReservationArchive archive;
+  private final InMemoryJournal journal;
 
   public InMemoryReservationRepository() {
-    this.reservationHashMap = new HashMap<>();
+    this(InMemoryJournal.disabled());
+  }
+
+  @Autowired
+  public InMemoryReservationRepository(InMemoryJournal journal) {
+    this.journal = journal;
+    this.reservationHashMap = new UuidHashMap<>();
+    this.timeSlotIndex = new ReservationIntervalTree();
+    this.userIndex = new SortedReservationIndex();
+    this.workspaceIndex = new SortedReservationIndex();
+    this.indexedKeysById = new ConcurrentHashMap<>();
+    this.archive = new ReservationArchive();
   }
 
   /** {@inheritDoc} */
@@ -32,46 +74,262 @@ public class InMemoryReservationRepository implements ReservationRepository {
               reservation.getWorkspaceId(),
               reservation.getUserId(),
               reservation.getTimeSlot());
-      reservationHashMap.put(persistedReservation.getId(), persistedReservation);
+      store(persistedReservation);
       return persistedReservation;
     }
-    reservationHashMap.put(reservation.getId(), reservation);
+    store(reservation);
     return reservation;
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public List<Reservation> saveAll(List<Reservation> reservations) {
+    List<Reservation> saved = new ArrayList<>(reservations.size());
+    for (Reservation reservation : reservations) {
+      saved.add(save(reservation));
+    }
+    return saved;
+  }
+
   /** {@inheritDoc} */
   @Override
   public Reservation findById(UUID id) {
-    return reservationHashMap.get(id);
+    Reservation reservation = reservationHashMap.get(id);
+    return reservation != null || archive.isEmpty() ? reservation : archive.findById(id);
   }
 
   /** {@inheritDoc} */
   @Override
   public List<Reservation> findAll() {
-    return reservationHashMap.values().stream().toList();
+    List<Reservation> hot = reservationHashMap.values();
+    if (archive.isEmpty()) {
+      return hot;
+    }
+    return withArchived(hot, archive.findAll());
   }
 
-  /** {@inheritDoc} */
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The reservations are ordered by start time.
+   */
   @Override
   public List<Reservation> findByUserId(UUID userId) {
-    return reservationHashMap.values().stream()
-        .filter(reservation -> reservation.getUserId().equals(userId))
-        .toList();
+    List<Reservation> hot = userIndex.find(userId);
+    List<Reservation> archived =
+        archive.isEmpty() ? List.of() : archive.findByUserId(userId);
+    return archived.isEmpty() ? hot : sortedByStart(withArchived(hot, archived));
   }
 
-  /** {@inheritDoc} */
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The page is read from the user index starting at the cursor. While the archive is not
+   * empty, at most a page of the user's archived reservations after the cursor is read from it as
+   * well and the two pages are merged.
+   */
+  @Override
+  public List<Reservation> findByUserIdAfter(UUID userId, ReservationCursor after, int limit) {
+    List<Reservation> hot = userIndex.findAfter(userId, after, limit);
+    if (archive.isEmpty()) {
+      return hot;
+    }
+    List<Reservation> archived = archive.findByUserIdAfter(userId, after, limit);
+    if (archived.isEmpty()) {
+      return hot;
+    }
+    List<Reservation> page = sortedByStart(withArchived(hot, archived));
+    return page.size() > limit ? List.copyOf(page.subList(0, limit)) : page;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The reservations are ordered by start time.
+   */
   @Override
   public List<Reservation> findByWorkspaceId(UUID workspaceId) {
-    return reservationHashMap.values().stream()
-        .filter(reservation -> reservation.getWorkspaceId().equals(workspaceId))
-        .toList();
+    List<Reservation> hot = workspaceIndex.find(workspaceId);
+    List<Reservation> archived =
+        archive.isEmpty() ? List.of() : archive.findByWorkspaceId(workspaceId);
+    return archived.isEmpty() ? hot : sortedByStart(withArchived(hot, archived));
   }
 
   /** {@inheritDoc} */
   @Override
   public List<Reservation> findConflictingWithTimeslot(TimeSlot timeSlot) {
-    return reservationHashMap.values().stream()
-        .filter(reservation -> timeSlot.conflictsWith(reservation.getTimeSlot()))
+    List<Reservation> hot = timeSlotIndex.findOverlapping(timeSlot);
+    if (!timeSlot.start().isBefore(archive.archivedUntil())) {
+      return hot;
+    }
+    return withArchived(hot, archive.findOverlapping(timeSlot));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The reservations are ordered by start time.
+   */
+  @Override
+  public List<Reservation> findConflictingInWorkspace(UUID workspaceId, TimeSlot timeSlot) {
+    List<Reservation> hot = workspaceIndex.findOverlapping(workspaceId, timeSlot);
+    if (!timeSlot.start().isBefore(archive.archivedUntil())) {
+      return hot;
+    }
+    return sortedByStart(
+        withArchived(hot, conflicting(archive.findByWorkspaceId(workspaceId), timeSlot)));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long countConflictingInWorkspace(UUID workspaceId, TimeSlot timeSlot) {
+    if (!timeSlot.start().isBefore(archive.archivedUntil())) {
+      return workspaceIndex.countOverlapping(workspaceId, timeSlot);
+    }
+    return findConflictingInWorkspace(workspaceId, timeSlot).size();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Reservation> findConflictingForUser(UUID userId, TimeSlot timeSlot) {
+    List<Reservation> hot = userIndex.findOverlapping(userId, timeSlot);
+    if (!timeSlot.start().isBefore(archive.archivedUntil())) {
+      return hot;
+    }
+    return sortedByStart(withArchived(hot, conflicting(archive.findByUserId(userId), timeSlot)));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean existsConflictingForUser(UUID userId, TimeSlot timeSlot) {
+    if (userIndex.hasOverlapping(userId, timeSlot)) {
+      return true;
+    }
+    return timeSlot.start().isBefore(archive.archivedUntil())
+        && !conflicting(archive.findByUserId(userId), timeSlot).isEmpty();
+  }
+
+  /**
+   * Moves every reservation that ended at or before the cutoff from the hot tier into the archive.
+   * Reservations whose time slot is not in whole minutes stay in the hot tier, because the archive
+   * stores minutes only.
+   *
+   * @param cutoff the time at or before which a reservation must have ended
+   * @return the number of reservations archived
+   */
+  int archiveEndedBefore(LocalDateTime cutoff) {
+    int archived = 0;
+    for (Reservation candidate : reservationHashMap.values()) {
+      if (!isArchivable(candidate, cutoff)) {
+        continue;
+      }
+      boolean[] moved = new boolean[1];
+      // Inside compute, so a concurrent save of the same reservation either wins or is archived
+      reservationHashMap.compute(
+          candidate.getId(),
+          (id, current) -> {
+            if (current == null || !isArchivable(current, cutoff)) {
+              return current;
+            }
+            // Archive first, so readers of both tiers never miss the reservation while it moves
+            archive.append(current);
+            IndexedKeys keys = indexedKeysById.remove(id);
+            userIndex.remove(keys.userId(), keys.start(), id);
+            workspaceIndex.remove(keys.workspaceId(), keys.start(), id);
+            timeSlotIndex.remove(id);
+            moved[0] = true;
+            return null;
+          });
+      archived += moved[0] ? 1 : 0;
+    }
+    return archived;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The indexes are bulk loaded, which is what keeps startup fast for large stores.
+   */
+  @Override
+  public void restoreAll(Collection<Reservation> reservations) {
+    if (!reservationHashMap.isEmpty()) {
+      throw new IllegalStateException("Only an empty repository can be restored");
+    }
+    for (Reservation reservation : reservations) {
+      reservationHashMap.put(reservation.getId(), reservation);
+      indexedKeysById.put(reservation.getId(), IndexedKeys.of(reservation));
+    }
+    userIndex.load(reservations, Reservation::getUserId);
+    workspaceIndex.load(reservations, Reservation::getWorkspaceId);
+    timeSlotIndex.load(reservations);
+  }
+
+  private void store(Reservation reservation) {
+    journal.mutate(() -> index(reservation));
+  }
+
+  private void index(Reservation reservation) {
+    // Indexing inside compute keeps map, indexes and journal in the same order for concurrent saves
+    // of one id. The keys are snapshotted because the stored instance may have been changed via
+    // setters. Appending first leaves map and indexes unchanged when the journal fails.
+    reservationHashMap.compute(
+        reservation.getId(),
+        (id, previous) -> {
+          journal.append(reservation);
+          IndexedKeys keys = IndexedKeys.of(reservation);
+          IndexedKeys previousKeys = indexedKeysById.put(id, keys);
+          if (previousKeys != null) {
+            userIndex.remove(previousKeys.userId(), previousKeys.start(), id);
+            workspaceIndex.remove(previousKeys.workspaceId(), previousKeys.start(), id);
+          }
+          userIndex.add(keys.userId(), keys.start(), reservation);
+          workspaceIndex.add(keys.workspaceId(), keys.start(), reservation);
+          timeSlotIndex.upsert(reservation);
+          if (previous == null && !archive.isEmpty()) {
+            // Only after the hot indexes hold the new version, so lookups never miss it
+            archive.supersede(id);
+          }
+          return reservation;
+        });
+  }
+
+  private static List<Reservation> withArchived(List<Reservation> hot, List<Reservation> archived) {
+    if (archived.isEmpty()) {
+      return hot;
+    }
+    // A reservation being archived right now can show up in both tiers
+    Set<UUID> hotIds = new HashSet<>();
+    hot.forEach(reservation -> hotIds.add(reservation.getId()));
+    List<Reservation> combined = new ArrayList<>(hot);
+    for (Reservation reservation : archived) {
+      if (!hotIds.contains(reservation.getId())) {
+        combined.add(reservation);
+      }
+    }
+    return combined;
+  }
+
+  private static List<Reservation> conflicting(List<Reservation> reservations, TimeSlot timeSlot) {
+    return reservations.stream()
+        .filter(reservation -> reservation.getTimeSlot().conflictsWith(timeSlot))
         .toList();
   }
+
+  private static List<Reservation> sortedByStart(List<Reservation> reservations) {
+    List<Reservation> sorted = new ArrayList<>(reservations);
+    sorted.sort(BY_START);
+    return sorted;
+  }
+
+  private static boolean isArchivable(Reservation reservation, LocalDateTime cutoff) {
+    TimeSlot timeSlot = reservation.getTimeSlot();
+    return !timeSlot.end().isAfter(cutoff) && ReservationColumns.isWholeMinutes(timeSlot);
+  }
+
+  private record IndexedKeys(UUID userId, UUID workspaceId, LocalDateTime start) {
+    private static IndexedKeys of(Reservation reservation) {
+      return new IndexedKeys(
+          reservation.getUserId(), reservation.getWorkspaceId(), reservation.getTimeSlot().start());
+    }
+  }
 }
@@ -0,0 +1,154 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
+import de.schonvoll.cleanspace.domain.repositories.ReservationSeriesRepository;
+import de.schonvoll.cleanspace.domain.valueobjects.OccurrenceOverride;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import de.schonvoll.cleanspace.infrastructure.inmemory.JournalCodec.SeriesOverride;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+/**
+ * In-memory implementation of ReservationSeriesRepository for development and testing. A series is
+ * one immutable entry no matter how many occurrences it has, so the lookups simply scan all
+ * series. Overrides replace the entry with a changed copy, so readers never see a series
+ * half-changed. Every saved series and every added override is appended to the {@link
+ * InMemoryJournal}, which is a no-op unless it is enabled, so the seats that series occurrences
+ * hold survive a restart.
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryReservationSeriesRepository implements ReservationSeriesRepository {
+  private final ConcurrentHashMap<UUID, ReservationSeries> seriesById = new ConcurrentHashMap<>();
+  private final InMemoryJournal journal;
+
+  public InMemoryReservationSeriesRepository() {
+    this(InMemoryJournal.disabled());
+  }
+
+  @Autowired
+  public InMemoryReservationSeriesRepository(InMemoryJournal journal) {
+    this.journal = journal;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ReservationSeries save(ReservationSeries series) {
+    ReservationSeries persistedSeries =
+        series.getId() == null ? series.withId(UUID.randomUUID()) : series;
+    // Appending inside compute keeps map and journal in the same order for concurrent saves
+    journal.mutate(
+        () ->
+            seriesById.compute(
+                persistedSeries.getId(),
+                (id, previous) -> {
+                  journal.append(persistedSeries);
+                  return persistedSeries;
+                }));
+    return persistedSeries;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException when the series does not exist or has no occurrence on the
+   *     override's date
+   */
+  @Override
+  public void saveOverride(UUID seriesId, OccurrenceOverride override) {
+    journal.mutate(
+        () ->
+            seriesById.compute(
+                seriesId,
+                (id, series) -> {
+                  if (series == null) {
+                    throw new IllegalArgumentException(
+                        "No reservation series with ID " + seriesId + ".");
+                  }
+                  ReservationSeries changed = series.withOverride(override);
+                  journal.append(new SeriesOverride(seriesId, override));
+                  return changed;
+                }));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ReservationSeries findById(UUID id) {
+    return seriesById.get(id);
+  }
+
+  /**
+   * Returns all series, for snapshots of the in-memory store.
+   *
+   * @return the stored series
+   */
+  List<ReservationSeries> findAll() {
+    return List.copyOf(seriesById.values());
+  }
+
+  /**
+   * Stores a series read back from the journal without journaling it again.
+   *
+   * @param series the recovered {@link ReservationSeries}, overrides included
+   */
+  void restore(ReservationSeries series) {
+    seriesById.put(series.getId(), series);
+  }
+
+  /**
+   * Applies an override read back from the journal without journaling it again. Replaying an
+   * override the series already holds changes nothing.
+   *
+   * @param seriesOverride the recovered {@link SeriesOverride}
+   */
+  void restore(SeriesOverride seriesOverride) {
+    seriesById.computeIfPresent(
+        seriesOverride.seriesId(), (id, series) -> series.withOverride(seriesOverride.override()));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<ReservationSeries> findByUserId(UUID userId) {
+    return seriesById.values().stream()
+        .filter(series -> series.getUserId().equals(userId))
+        .toList();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<ReservationSeries> findByWorkspaceId(UUID workspaceId) {
+    return seriesById.values().stream()
+        .filter(series -> series.getWorkspaceId().equals(workspaceId))
+        .toList();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<ReservationSeries> findOverlapping(TimeSlot timeSlot) {
+    return seriesById.values().stream()
+        .filter(series -> series.span().conflictsWith(timeSlot))
+        .toList();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<ReservationSeries> findOverlappingInWorkspace(UUID workspaceId, TimeSlot timeSlot) {
+    return seriesById.values().stream()
+        .filter(series -> series.getWorkspaceId().equals(workspaceId))
+        .filter(series -> series.span().conflictsWith(timeSlot))
+        .toList();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<ReservationSeries> findOverlappingForUser(UUID userId, TimeSlot timeSlot) {
+    return seriesById.values().stream()
+        .filter(series -> series.getUserId().equals(userId))
+        .filter(series -> series.span().conflictsWith(timeSlot))
+        .toList();
+  }
+}
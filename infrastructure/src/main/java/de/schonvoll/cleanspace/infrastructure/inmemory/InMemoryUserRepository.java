@@ -1,27 +1,48 @@
 package de.schonvoll.cleanspace.infrastructure.inmemory;
 
 import de.schonvoll.cleanspace.domain.entities.User;
+import de.schonvoll.cleanspace.domain.exceptions.DuplicateUserException;
 import de.schonvoll.cleanspace.domain.repositories.UserRepository;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 /**
- * In-memory implementation of UserRepository for development and testing. Uses a HashMap to store
- * User entities.
+ * In-memory implementation of UserRepository for development and testing. Uses a {@link
+ * UuidHashMap} to store User entities, so it is safe for concurrent request threads. A
+ * secondary index from the normalized email to the user id serves email lookups and enforces email
+ * uniqueness like the unique email column of the PostgreSQL schema. Every save is appended to the
+ * {@link InMemoryJournal}, which is a no-op unless the journal is enabled.
  */
 @Repository
 @Profile("in-memory")
 public class InMemoryUserRepository implements UserRepository {
-  private final HashMap<UUID, User> userHashMap;
+  private final UuidHashMap<User> userHashMap;
+  private final ConcurrentHashMap<String, UUID> userIdByEmail;
+  private final ConcurrentHashMap<UUID, String> indexedEmailByUserId;
+  private final InMemoryJournal journal;
 
   public InMemoryUserRepository() {
-    this.userHashMap = new HashMap<>();
+    this(InMemoryJournal.disabled());
   }
 
-  /** {@inheritDoc} */
+  @Autowired
+  public InMemoryUserRepository(InMemoryJournal journal) {
+    this.journal = journal;
+    this.userHashMap = new UuidHashMap<>();
+    this.userIdByEmail = new ConcurrentHashMap<>();
+    this.indexedEmailByUserId = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws DuplicateUserException when another user is already stored with the same email
+   */
   @Override
   public User save(User user) {
     if (user.getId() == null) {
@@ -32,10 +53,10 @@ public class InMemoryUserRepository implements UserRepository {
               user.getLastName(),
               user.getEmail(),
               user.getPasswordHash());
-      userHashMap.put(persistedUser.getId(), persistedUser);
+      store(persistedUser);
       return persistedUser;
     }
-    userHashMap.put(user.getId(), user);
+    store(user);
     return user;
   }
 
@@ -48,15 +69,70 @@ public class InMemoryUserRepository implements UserRepository {
   /** {@inheritDoc} */
   @Override
   public User findByEmail(String email) {
-    return userHashMap.values().stream()
-        .filter(user -> user.getEmail().equalsIgnoreCase(email))
-        .findFirst()
-        .orElse(null);
+    if (email == null) {
+      return null;
+    }
+    UUID userId = userIdByEmail.get(normalize(email));
+    return userId == null ? null : userHashMap.get(userId);
   }
 
   /** {@inheritDoc} */
   @Override
   public List<User> findAll() {
-    return userHashMap.values().stream().toList();
+    return userHashMap.values();
+  }
+
+  /**
+   * Stores a user read back from the journal without journaling it again. A conflicting email is
+   * taken over instead of rejected: a snapshot taken while writers run may hold two users with the
+   * same email, which the replay of the following journal records resolves.
+   *
+   * @param user the recovered {@link User}
+   */
+  void restore(User user) {
+    index(user, true);
+  }
+
+  private void store(User user) {
+    journal.mutate(() -> index(user, false));
+  }
+
+  private void index(User user, boolean recovering) {
+    // Claiming the email inside compute serializes saves of the same user, while putIfAbsent on the
+    // email index makes the uniqueness check atomic across different users.
+    userHashMap.compute(
+        user.getId(),
+        (id, previous) -> {
+          String email = user.getEmail() == null ? null : normalize(user.getEmail());
+          UUID owner = null;
+          if (email != null) {
+            owner =
+                recovering ? userIdByEmail.put(email, id) : userIdByEmail.putIfAbsent(email, id);
+            if (!recovering && owner != null && !owner.equals(id)) {
+              throw new DuplicateUserException("A user with this email already exists: " + email);
+            }
+          }
+          if (!recovering) {
+            try {
+              journal.append(user);
+            } catch (RuntimeException e) {
+              // Only the claim of the email was made yet, so giving it back undoes the save
+              if (email != null && owner == null) {
+                userIdByEmail.remove(email, id);
+              }
+              throw e;
+            }
+          }
+          String previousEmail =
+              email == null ? indexedEmailByUserId.remove(id) : indexedEmailByUserId.put(id, email);
+          if (previousEmail != null && !previousEmail.equals(email)) {
+            userIdByEmail.remove(previousEmail, id);
+          }
+          return user;
+        });
+  }
+
+  private static String normalize(String email) {
+    return email.toLowerCase(Locale.ROOT);
   }
 }
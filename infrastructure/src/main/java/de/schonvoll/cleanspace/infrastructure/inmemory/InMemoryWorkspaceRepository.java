@@ -1,42 +1,61 @@
 package de.schonvoll.cleanspace.infrastructure.inmemory;
 
 import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.exceptions.DuplicateWorkspaceException;
 import de.schonvoll.cleanspace.domain.repositories.WorkspaceRepository;
-import java.util.HashMap;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceCatalog;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 /**
- * In-memory implementation of WorkspaceRepository for development and testing. Uses a HashMap to
- * store Workspace entities.
+ * In-memory implementation of WorkspaceRepository for development and testing. Uses a {@link
+ * UuidHashMap} to store Workspace entities, so it is safe for concurrent request threads. A
+ * secondary index from the case-insensitive name to the workspace id serves name lookups and makes
+ * the name uniqueness check part of the save itself. Every save is appended to the {@link
+ * InMemoryJournal}, which is a no-op unless the journal is enabled.
+ *
+ * <p>Listing all workspaces is served from an immutable {@link WorkspaceCatalog}. Saves are rare,
+ * so each one copies the catalog with the saved workspace swapped in and publishes the copy through
+ * a volatile field, and readers get the whole list without locking or copying.
  */
 @Repository
 @Profile("in-memory")
 public class InMemoryWorkspaceRepository implements WorkspaceRepository {
-  private final HashMap<UUID, Workspace> workspaceHashMap;
+  private final UuidHashMap<Workspace> workspaceHashMap;
+  private final ConcurrentHashMap<String, UUID> workspaceIdByName;
+  private final ConcurrentHashMap<UUID, String> indexedNameByWorkspaceId;
+  private final InMemoryJournal journal;
+  private final Object catalogLock = new Object();
+  private volatile WorkspaceCatalog catalog = new WorkspaceCatalog(0, List.of());
 
   public InMemoryWorkspaceRepository() {
-    this.workspaceHashMap = new HashMap<>();
+    this(InMemoryJournal.disabled());
+  }
+
+  @Autowired
+  public InMemoryWorkspaceRepository(InMemoryJournal journal) {
+    this.journal = journal;
+    this.workspaceHashMap = new UuidHashMap<>();
+    this.workspaceIdByName = new ConcurrentHashMap<>();
+    this.indexedNameByWorkspaceId = new ConcurrentHashMap<>();
   }
 
   /** {@inheritDoc} */
   @Override
   public Workspace save(Workspace workspace) {
     if (workspace.getId() == null) {
-      Workspace persistedWorkspace =
-          Workspace.builder()
-              .id(UUID.randomUUID())
-              .name(workspace.getName())
-              .openingHours(workspace.getOpeningHours())
-              .capacity(workspace.getCapacity())
-              .properties(workspace.getProperties())
-              .build();
-      workspaceHashMap.put(persistedWorkspace.getId(), persistedWorkspace);
+      // The copy shares the encoded properties instead of decoding and interning them again
+      Workspace persistedWorkspace = workspace.toBuilder().id(UUID.randomUUID()).build();
+      store(persistedWorkspace);
       return persistedWorkspace;
     }
-    workspaceHashMap.put(workspace.getId(), workspace);
+    store(workspace);
     return workspace;
   }
 
@@ -49,15 +68,110 @@ public class InMemoryWorkspaceRepository implements WorkspaceRepository {
   /** {@inheritDoc} */
   @Override
   public Workspace findByName(String name) {
-    return workspaceHashMap.values().stream()
-        .filter(workspace -> workspace.getName().equalsIgnoreCase(name))
-        .findFirst()
-        .orElse(null);
+    if (name == null) {
+      return null;
+    }
+    UUID workspaceId = workspaceIdByName.get(normalize(name));
+    return workspaceId == null ? null : workspaceHashMap.get(workspaceId);
   }
 
   /** {@inheritDoc} */
   @Override
   public List<Workspace> findAll() {
-    return workspaceHashMap.values().stream().toList();
+    return catalog.workspaces();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public WorkspaceCatalog findCatalog() {
+    return catalog;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long catalogVersion() {
+    return catalog.version();
+  }
+
+  /**
+   * Stores a workspace read back from the journal without journaling it again. A conflicting name
+   * is taken over instead of rejected, because a snapshot taken while writers run may briefly hold
+   * two workspaces with the same name until the following journal records are replayed.
+   *
+   * @param workspace the recovered {@link Workspace}
+   */
+  void restore(Workspace workspace) {
+    synchronized (catalogLock) {
+      index(workspace, true);
+      publish(workspace);
+    }
+  }
+
+  private void store(Workspace workspace) {
+    journal.mutate(
+        () -> {
+          synchronized (catalogLock) {
+            index(workspace, false);
+            publish(workspace);
+          }
+        });
+  }
+
+  private void publish(Workspace workspace) {
+    // Writers are serialized by the catalog lock, so the catalog read here is the latest one
+    WorkspaceCatalog current = catalog;
+    List<Workspace> workspaces = current.workspaces();
+    int position = 0;
+    while (position < workspaces.size()
+        && !workspaces.get(position).getId().equals(workspace.getId())) {
+      position++;
+    }
+    Workspace[] next = workspaces.toArray(new Workspace[Math.max(position + 1, workspaces.size())]);
+    next[position] = workspace;
+    catalog = new WorkspaceCatalog(current.version() + 1, Arrays.asList(next));
+  }
+
+  private void index(Workspace workspace, boolean recovering) {
+    // Claiming the name inside compute serializes saves of the same workspace, while putIfAbsent on
+    // the name index makes the uniqueness check atomic across different workspaces.
+    workspaceHashMap.compute(
+        workspace.getId(),
+        (id, previous) -> {
+          String name = workspace.getName() == null ? null : normalize(workspace.getName());
+          UUID owner = null;
+          if (name != null) {
+            owner =
+                recovering
+                    ? workspaceIdByName.put(name, id)
+                    : workspaceIdByName.putIfAbsent(name, id);
+            if (!recovering && owner != null && !owner.equals(id)) {
+              throw new DuplicateWorkspaceException(
+                  "It already exists a workspace with the name: " + workspace.getName());
+            }
+          }
+          if (!recovering) {
+            try {
+              journal.append(workspace);
+            } catch (RuntimeException e) {
+              // Only the claim of the name was made yet, so giving it back undoes the save
+              if (name != null && owner == null) {
+                workspaceIdByName.remove(name, id);
+              }
+              throw e;
+            }
+          }
+          String previousName =
+              name == null
+                  ? indexedNameByWorkspaceId.remove(id)
+                  : indexedNameByWorkspaceId.put(id, name);
+          if (previousName != null && !previousName.equals(name)) {
+            workspaceIdByName.remove(previousName, id);
+          }
+          return workspace;
+        });
+  }
+
+  private static String normalize(String name) {
+    return name.toLowerCase(Locale.ROOT);
   }
 }
@@ -0,0 +1,300 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
+import de.schonvoll.cleanspace.domain.entities.User;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.valueobjects.OccurrenceOverride;
+import de.schonvoll.cleanspace.domain.valueobjects.OpeningHours;
+import de.schonvoll.cleanspace.domain.valueobjects.RecurrenceRule;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceProperty;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of the stored entities shared by journal segments and snapshots. Every
+ * entity is written as a type tag followed by its fields; strings are length prefixed UTF-8 with a
+ * negative length for {@code null}.
+ *
+ * <p>A reservation series is written as a whole, overrides included, when it is saved. Overrides
+ * added later are journaled on their own as a {@link SeriesOverride}, so moving one occurrence does
+ * not write the series again.
+ */
+final class JournalCodec {
+  static final byte USER = 1;
+  static final byte WORKSPACE = 2;
+  static final byte RESERVATION = 3;
+  static final byte RESERVATION_SERIES = 4;
+  static final byte SERIES_OVERRIDE = 5;
+
+  private JournalCodec() {}
+
+  /**
+   * Encodes an entity into its payload.
+   *
+   * @param entity a {@link User}, {@link Workspace}, {@link Reservation}, {@link
+   *     ReservationSeries} or {@link SeriesOverride}
+   * @return the encoded payload without the type tag
+   */
+  static byte[] encode(Object entity) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      switch (entity) {
+        case User user -> writeUser(out, user);
+        case Workspace workspace -> writeWorkspace(out, workspace);
+        case Reservation reservation -> writeReservation(out, reservation);
+        case ReservationSeries series -> writeSeries(out, series);
+        case SeriesOverride seriesOverride -> writeSeriesOverride(out, seriesOverride);
+        default -> throw new IllegalArgumentException("Unsupported entity: " + entity);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Returns the type tag of an entity.
+   *
+   * @param entity a {@link User}, {@link Workspace}, {@link Reservation}, {@link
+   *     ReservationSeries} or {@link SeriesOverride}
+   * @return the tag the entity is encoded with
+   */
+  static byte typeOf(Object entity) {
+    return switch (entity) {
+      case User user -> USER;
+      case Workspace workspace -> WORKSPACE;
+      case Reservation reservation -> RESERVATION;
+      case ReservationSeries series -> RESERVATION_SERIES;
+      case SeriesOverride seriesOverride -> SERIES_OVERRIDE;
+      default -> throw new IllegalArgumentException("Unsupported entity: " + entity);
+    };
+  }
+
+  /**
+   * Decodes an entity from the current position of the buffer.
+   *
+   * @param type the type tag the entity was encoded with
+   * @param buffer the buffer positioned at the start of the payload
+   * @return the decoded entity
+   */
+  static Object decode(byte type, ByteBuffer buffer) {
+    return switch (type) {
+      case USER -> readUser(buffer);
+      case WORKSPACE -> readWorkspace(buffer);
+      case RESERVATION -> readReservation(buffer);
+      case RESERVATION_SERIES -> readSeries(buffer);
+      case SERIES_OVERRIDE -> readSeriesOverride(buffer);
+      default -> throw new IllegalStateException("Unknown journal record type: " + type);
+    };
+  }
+
+  private static void writeUser(DataOutputStream out, User user) throws IOException {
+    writeUuid(out, user.getId());
+    writeString(out, user.getFirstName());
+    writeString(out, user.getLastName());
+    writeString(out, user.getEmail());
+    writeString(out, user.getPasswordHash());
+  }
+
+  private static User readUser(ByteBuffer buffer) {
+    return new User(
+        readUuid(buffer),
+        readString(buffer),
+        readString(buffer),
+        readString(buffer),
+        readString(buffer));
+  }
+
+  private static void writeWorkspace(DataOutputStream out, Workspace workspace)
+      throws IOException {
+    writeUuid(out, workspace.getId());
+    writeString(out, workspace.getName());
+    OpeningHours openingHours = workspace.getOpeningHours();
+    out.writeBoolean(openingHours != null);
+    if (openingHours != null) {
+      out.writeLong(openingHours.open().toNanoOfDay());
+      out.writeLong(openingHours.close().toNanoOfDay());
+    }
+    out.writeInt(workspace.getCapacity());
+    List<WorkspaceProperty> properties = workspace.getProperties();
+    out.writeInt(properties == null ? -1 : properties.size());
+    if (properties != null) {
+      for (WorkspaceProperty property : properties) {
+        writeString(out, property.key());
+        writeString(out, property.value());
+      }
+    }
+  }
+
+  private static Workspace readWorkspace(ByteBuffer buffer) {
+    Workspace.WorkspaceBuilder builder =
+        Workspace.builder().id(readUuid(buffer)).name(readString(buffer));
+    if (buffer.get() != 0) {
+      builder.openingHours(
+          new OpeningHours(
+              LocalTime.ofNanoOfDay(buffer.getLong()), LocalTime.ofNanoOfDay(buffer.getLong())));
+    }
+    builder.capacity(buffer.getInt());
+    int propertyCount = buffer.getInt();
+    if (propertyCount >= 0) {
+      List<WorkspaceProperty> properties = new ArrayList<>(propertyCount);
+      for (int i = 0; i < propertyCount; i++) {
+        properties.add(new WorkspaceProperty(readString(buffer), readString(buffer)));
+      }
+      builder.properties(properties);
+    }
+    return builder.build();
+  }
+
+  private static void writeReservation(DataOutputStream out, Reservation reservation)
+      throws IOException {
+    writeUuid(out, reservation.getId());
+    writeUuid(out, reservation.getWorkspaceId());
+    writeUuid(out, reservation.getUserId());
+    writeTimeSlot(out, reservation.getTimeSlot());
+  }
+
+  private static Reservation readReservation(ByteBuffer buffer) {
+    UUID id = readUuid(buffer);
+    UUID workspaceId = readUuid(buffer);
+    UUID userId = readUuid(buffer);
+    return new Reservation(id, workspaceId, userId, readTimeSlot(buffer));
+  }
+
+  private static void writeSeries(DataOutputStream out, ReservationSeries series)
+      throws IOException {
+    writeUuid(out, series.getId());
+    writeUuid(out, series.getWorkspaceId());
+    writeUuid(out, series.getUserId());
+    writeTimeSlot(out, series.getFirstOccurrence());
+    RecurrenceRule rule = series.getRecurrenceRule();
+    out.writeByte(rule.frequency().ordinal());
+    out.writeInt(rule.interval());
+    out.writeBoolean(rule.until() != null);
+    if (rule.until() != null) {
+      out.writeLong(rule.until().toEpochDay());
+    }
+    out.writeBoolean(rule.count() != null);
+    if (rule.count() != null) {
+      out.writeInt(rule.count());
+    }
+    out.writeInt(series.getOverrides().size());
+    for (OccurrenceOverride override : series.getOverrides().values()) {
+      writeOverride(out, override);
+    }
+  }
+
+  private static ReservationSeries readSeries(ByteBuffer buffer) {
+    UUID id = readUuid(buffer);
+    UUID workspaceId = readUuid(buffer);
+    UUID userId = readUuid(buffer);
+    TimeSlot firstOccurrence = readTimeSlot(buffer);
+    RecurrenceRule.Frequency frequency = RecurrenceRule.Frequency.values()[buffer.get()];
+    int interval = buffer.getInt();
+    LocalDate until = buffer.get() != 0 ? LocalDate.ofEpochDay(buffer.getLong()) : null;
+    Integer count = buffer.get() != 0 ? buffer.getInt() : null;
+    int overrideCount = buffer.getInt();
+    List<OccurrenceOverride> overrides = new ArrayList<>(overrideCount);
+    for (int i = 0; i < overrideCount; i++) {
+      overrides.add(readOverride(buffer));
+    }
+    return new ReservationSeries(
+        id,
+        workspaceId,
+        userId,
+        firstOccurrence,
+        new RecurrenceRule(frequency, interval, until, count),
+        overrides);
+  }
+
+  private static void writeSeriesOverride(DataOutputStream out, SeriesOverride seriesOverride)
+      throws IOException {
+    writeUuid(out, seriesOverride.seriesId());
+    writeOverride(out, seriesOverride.override());
+  }
+
+  private static SeriesOverride readSeriesOverride(ByteBuffer buffer) {
+    return new SeriesOverride(readUuid(buffer), readOverride(buffer));
+  }
+
+  private static void writeOverride(DataOutputStream out, OccurrenceOverride override)
+      throws IOException {
+    out.writeLong(override.occurrenceDate().toEpochDay());
+    out.writeBoolean(!override.isCancelled());
+    if (!override.isCancelled()) {
+      writeTimeSlot(out, override.timeSlot());
+    }
+  }
+
+  private static OccurrenceOverride readOverride(ByteBuffer buffer) {
+    LocalDate occurrenceDate = LocalDate.ofEpochDay(buffer.getLong());
+    return buffer.get() != 0
+        ? OccurrenceOverride.movedTo(occurrenceDate, readTimeSlot(buffer))
+        : OccurrenceOverride.cancelled(occurrenceDate);
+  }
+
+  private static void writeTimeSlot(DataOutputStream out, TimeSlot timeSlot) throws IOException {
+    out.writeLong(timeSlot.start().toEpochSecond(ZoneOffset.UTC));
+    out.writeInt(timeSlot.start().getNano());
+    out.writeLong(timeSlot.duration().getSeconds());
+    out.writeInt(timeSlot.duration().getNano());
+  }
+
+  private static TimeSlot readTimeSlot(ByteBuffer buffer) {
+    LocalDateTime start =
+        LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+    Duration duration = Duration.ofSeconds(buffer.getLong(), buffer.getInt());
+    return new TimeSlot(start, duration);
+  }
+
+  /**
+   * An override added to a saved reservation series, journaled without the rest of the series.
+   *
+   * @param seriesId the unique identifier of the series
+   * @param override the added {@link OccurrenceOverride}
+   */
+  record SeriesOverride(UUID seriesId, OccurrenceOverride override) {}
+
+  private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+    out.writeLong(uuid.getMostSignificantBits());
+    out.writeLong(uuid.getLeastSignificantBits());
+  }
+
+  private static UUID readUuid(ByteBuffer buffer) {
+    return new UUID(buffer.getLong(), buffer.getLong());
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,42 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the journal that makes the in-memory profile durable, bound from the {@code
+ * cleanspace.in-memory.journal} properties.
+ *
+ * @param enabled whether mutations are journaled and recovered on startup at all
+ * @param directory the directory holding the journal segments and snapshots
+ * @param fsyncPolicy when appended records are forced to the disk
+ * @param fsyncInterval how often records are forced with {@link FsyncPolicy#INTERVAL}
+ * @param snapshotInterval how often a snapshot is written and older segments are dropped
+ * @param segmentSize the number of bytes a journal segment is mapped with initially
+ */
+@ConfigurationProperties(prefix = "cleanspace.in-memory.journal")
+public record JournalProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("data") Path directory,
+    @DefaultValue("interval") FsyncPolicy fsyncPolicy,
+    @DefaultValue("100ms") Duration fsyncInterval,
+    @DefaultValue("10m") Duration snapshotInterval,
+    @DefaultValue("67108864") int segmentSize) {
+
+  /**
+   * Creates settings with the journal switched off.
+   *
+   * @return the {@link JournalProperties} of a purely volatile store
+   */
+  public static JournalProperties disabled() {
+    return new JournalProperties(
+        false,
+        Path.of("data"),
+        FsyncPolicy.INTERVAL,
+        Duration.ofMillis(100),
+        Duration.ofMinutes(10),
+        64 << 20);
+  }
+}
@@ -0,0 +1,193 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * One append-only journal segment written through a memory-mapped file. Each record is framed as
+ * {@code [int length][int crc32][byte type][payload]}; the checksum covers type and payload, so a
+ * record torn by a crash ends the replay instead of corrupting the store. The mapping grows by
+ * doubling up to the 2 GiB limit of a single mapping, after which {@link #append} reports that the
+ * segment is full. Not thread-safe; {@link InMemoryJournal} serializes all access, except for
+ * forcing an {@link Appended} region, which may run while other records are appended.
+ */
+final class MappedJournalFile implements Closeable {
+  static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + Byte.BYTES;
+  private static final int MAX_MAPPED_BYTES = Integer.MAX_VALUE;
+
+  private final Path path;
+  private final FileChannel channel;
+  private final CRC32 checksum = new CRC32();
+  private MappedByteBuffer buffer;
+  private int position;
+
+  private MappedJournalFile(Path path, FileChannel channel, int initialSize) throws IOException {
+    this.path = path;
+    this.channel = channel;
+    this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, initialSize);
+  }
+
+  /**
+   * Creates a new, empty segment.
+   *
+   * @param path the file of the segment, which must not exist yet
+   * @param initialSize the number of bytes mapped up front
+   * @return the opened {@link MappedJournalFile}
+   * @throws IOException when the file cannot be created or mapped
+   */
+  static MappedJournalFile create(Path path, int initialSize) throws IOException {
+    FileChannel channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    try {
+      return new MappedJournalFile(path, channel, initialSize);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Appends one record to the segment, leaving it to {@link #force} to reach the disk.
+   *
+   * @param type the type tag of the record
+   * @param payload the encoded record
+   * @return {@code false} when the record does not fit into this segment any more
+   * @throws IOException when the mapping cannot be grown
+   */
+  boolean append(byte type, byte[] payload) throws IOException {
+    int recordBytes = HEADER_BYTES + payload.length;
+    if ((long) position + recordBytes + Integer.BYTES > MAX_MAPPED_BYTES) {
+      return false;
+    }
+    ensureCapacity(position + recordBytes + Integer.BYTES);
+    checksum.reset();
+    checksum.update(type);
+    checksum.update(payload);
+    int start = position;
+    buffer.position(start + Integer.BYTES);
+    buffer.putInt((int) checksum.getValue());
+    buffer.put(type);
+    buffer.put(payload);
+    // The length is written last, so a reader never sees a frame whose payload is still missing.
+    buffer.putInt(start, payload.length);
+    position = start + recordBytes;
+    return true;
+  }
+
+  /** Forces every record appended so far to the disk. */
+  void force() {
+    buffer.force(0, position);
+  }
+
+  /**
+   * Captures the records appended so far, so they can be forced after the caller stopped
+   * serializing access. A mapping stays valid after the segment was grown or closed, and both force
+   * what they leave behind themselves.
+   *
+   * @return the {@link Appended} region of this segment
+   */
+  Appended appended() {
+    return new Appended(buffer, position);
+  }
+
+  /**
+   * Returns the number of bytes used by the records of this segment.
+   *
+   * @return the write position
+   */
+  int size() {
+    return position;
+  }
+
+  /**
+   * Returns the file of this segment.
+   *
+   * @return the {@link Path} of the segment
+   */
+  Path path() {
+    return path;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void close() throws IOException {
+    force();
+    channel.close();
+  }
+
+  /**
+   * Reads all intact records of a segment in append order.
+   *
+   * @param path the file of the segment
+   * @param consumer receives the type tag and the payload of every record
+   * @return the number of records read
+   * @throws IOException when the file cannot be read
+   */
+  static int replay(Path path, RecordConsumer consumer) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = Math.min(channel.size(), MAX_MAPPED_BYTES);
+      ByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      CRC32 crc = new CRC32();
+      int count = 0;
+      while (records.remaining() >= HEADER_BYTES) {
+        int start = records.position();
+        int length = records.getInt();
+        int expectedChecksum = records.getInt();
+        byte type = records.get();
+        if (length <= 0 || length > records.remaining()) {
+          break;
+        }
+        ByteBuffer payload = records.slice(records.position(), length);
+        crc.reset();
+        crc.update(type);
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != expectedChecksum) {
+          break;
+        }
+        consumer.accept(type, payload);
+        records.position(start + HEADER_BYTES + length);
+        count++;
+      }
+      return count;
+    }
+  }
+
+  private void ensureCapacity(int required) throws IOException {
+    if (required <= buffer.capacity()) {
+      return;
+    }
+    long grown = Math.max(required, Math.min((long) buffer.capacity() * 2, MAX_MAPPED_BYTES));
+    buffer.force();
+    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, grown);
+  }
+
+  /**
+   * The records of a segment appended up to some point.
+   *
+   * @param mapping the mapping the records were written to
+   * @param length the number of bytes the records take from the start of the mapping
+   */
+  record Appended(MappedByteBuffer mapping, int length) {
+
+    /** Forces the records to the disk. */
+    void force() {
+      mapping.force(0, length);
+    }
+  }
+
+  /** Receives the records of a segment during {@link #replay}. */
+  @FunctionalInterface
+  interface RecordConsumer {
+    void accept(byte type, ByteBuffer payload);
+  }
+}
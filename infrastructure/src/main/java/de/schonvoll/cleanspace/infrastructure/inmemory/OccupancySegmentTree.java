@@ -0,0 +1,86 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+/**
+ * Segment tree over the time buckets of one day of one workspace, counting the seats taken in
+ * every bucket. Taking seats in a range of buckets and finding the most seats taken within a range
+ * both take O(log b) for b buckets per day, however long the range is.
+ *
+ * <p>An addition covering a whole subtree is only recorded at the subtree's root as a pending
+ * amount, which is never pushed down: the maximum of a node already includes its own pending
+ * amount, and a query adds up the pending amounts on its way down instead. That keeps every update
+ * to a single pass from the root.
+ *
+ * <p>Not thread-safe, the ledger serializes all access to a tree on the tree itself.
+ */
+final class OccupancySegmentTree {
+  private final int buckets;
+  private final int[] max;
+  private final int[] pending;
+
+  /**
+   * Creates a tree in which no seat of any bucket is taken.
+   *
+   * @param buckets the number of buckets, at least one
+   */
+  OccupancySegmentTree(int buckets) {
+    this.buckets = buckets;
+    // A segment tree over n leaves never uses more than 4n nodes
+    this.max = new int[4 * buckets];
+    this.pending = new int[4 * buckets];
+  }
+
+  /**
+   * Adds seats to every bucket of a range.
+   *
+   * @param from the first bucket of the range
+   * @param to the bucket after the last one of the range
+   * @param seats the number of seats to add, negative to give seats back
+   */
+  void add(int from, int to, int seats) {
+    if (from < to) {
+      add(1, 0, buckets, from, to, seats);
+    }
+  }
+
+  /**
+   * Finds the most seats taken in any bucket of a range.
+   *
+   * @param from the first bucket of the range
+   * @param to the bucket after the last one of the range
+   * @return the highest number of seats taken within the range, or 0 if the range is empty
+   */
+  int max(int from, int to) {
+    return from < to ? max(1, 0, buckets, from, to) : 0;
+  }
+
+  private void add(int node, int low, int high, int from, int to, int seats) {
+    if (from <= low && high <= to) {
+      max[node] += seats;
+      pending[node] += seats;
+      return;
+    }
+    int middle = (low + high) >>> 1;
+    if (from < middle) {
+      add(2 * node, low, middle, from, to, seats);
+    }
+    if (middle < to) {
+      add(2 * node + 1, middle, high, from, to, seats);
+    }
+    max[node] = pending[node] + Math.max(max[2 * node], max[2 * node + 1]);
+  }
+
+  private int max(int node, int low, int high, int from, int to) {
+    if (from <= low && high <= to) {
+      return max[node];
+    }
+    int middle = (low + high) >>> 1;
+    int highest = Integer.MIN_VALUE;
+    if (from < middle) {
+      highest = max(2 * node, low, middle, from, to);
+    }
+    if (middle < to) {
+      highest = Math.max(highest, max(2 * node + 1, middle, high, from, to));
+    }
+    return pending[node] + highest;
+  }
+}
@@ -0,0 +1,20 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.repositories.ReservationRepository;
+import java.util.Collection;
+
+/**
+ * In-memory reservation store that {@link InMemoryPersistence} can fill from the journal on
+ * startup. Implemented by every reservation store the in-memory profile can be configured with.
+ */
+public interface RecoverableReservationRepository extends ReservationRepository {
+
+  /**
+   * Stores the reservations read back from the snapshot and journal without journaling them again.
+   *
+   * @param reservations the recovered reservations, each with a distinct id
+   * @throws IllegalStateException when the repository is not empty
+   */
+  void restoreAll(Collection<Reservation> reservations);
+}
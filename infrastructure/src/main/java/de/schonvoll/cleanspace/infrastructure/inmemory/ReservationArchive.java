@@ -0,0 +1,322 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.valueobjects.ReservationCursor;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Append-only cold tier for reservations that have ended. Archived reservations are packed into
+ * {@link ReservationColumns} rows instead of being kept as objects with entries in every index, and
+ * the row numbers are listed per user and per workspace so owner lookups skip unrelated rows. The
+ * rows of a user are kept ordered by start time and id, so a page of them is a binary search for
+ * the cursor followed by reading at most a page of rows.
+ *
+ * <p>Rows are never removed. When an archived reservation is saved again, its row is marked
+ * superseded and the new version lives in the hot tier. Only reservations in whole minutes can be
+ * archived, see {@link ReservationColumns#isWholeMinutes}. Reads share a read lock and appends take
+ * the write lock.
+ */
+final class ReservationArchive {
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final ReservationColumns columns = new ReservationColumns(false);
+  private final BitSet superseded = new BitSet();
+  private final Map<UUID, RowList> rowsByUser = new HashMap<>();
+  private final Map<UUID, RowList> rowsByWorkspace = new HashMap<>();
+  private volatile int size;
+  private volatile LocalDateTime archivedUntil = LocalDateTime.MIN;
+
+  /**
+   * Tells whether the archive holds no rows at all, superseded ones included.
+   *
+   * @return whether nothing was ever archived
+   */
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the latest end of any archived reservation. Time slots starting at or after it cannot
+   * overlap an archived reservation.
+   *
+   * @return the latest archived end, or {@link LocalDateTime#MIN} when nothing was archived
+   */
+  LocalDateTime archivedUntil() {
+    return archivedUntil;
+  }
+
+  /**
+   * Appends a reservation, or rewrites its row when the reservation was archived before.
+   *
+   * @param reservation the {@link Reservation} to archive, with a time slot in whole minutes
+   */
+  void append(Reservation reservation) {
+    lock.writeLock().lock();
+    try {
+      UUID id = reservation.getId();
+      int previousRow = columns.rowOf(id.getMostSignificantBits(), id.getLeastSignificantBits());
+      if (previousRow >= 0) {
+        // The row's start and user may change, so it leaves its place in the user's order first
+        RowList previousRows =
+            rowsByUser.get(
+                new UUID(columns.userIdMost(previousRow), columns.userIdLeast(previousRow)));
+        previousRows.remove(previousRow);
+      }
+      int row = columns.put(reservation);
+      // Only a rewritten row can already be listed under its workspace
+      boolean rewritten = previousRow >= 0;
+      superseded.clear(row);
+      RowList userRows = rowsByUser.computeIfAbsent(reservation.getUserId(), key -> new RowList());
+      userRows.insert(firstAfter(userRows, row, this::compareRows), row);
+      rowsByWorkspace
+          .computeIfAbsent(reservation.getWorkspaceId(), key -> new RowList())
+          .add(row, rewritten);
+      size = columns.size();
+      LocalDateTime end = reservation.getTimeSlot().end();
+      if (end.isAfter(archivedUntil)) {
+        archivedUntil = end;
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Marks the archived version of a reservation as replaced by a newer one in the hot tier.
+   *
+   * @param id the unique identifier of the reservation
+   */
+  void supersede(UUID id) {
+    if (findRow(id) < 0) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      int row = columns.rowOf(id.getMostSignificantBits(), id.getLeastSignificantBits());
+      if (row >= 0) {
+        superseded.set(row);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Finds an archived reservation by its unique identifier.
+   *
+   * @param id the unique identifier of the reservation
+   * @return a fresh copy of the archived reservation, or null if it is not archived
+   */
+  Reservation findById(UUID id) {
+    lock.readLock().lock();
+    try {
+      int row = columns.rowOf(id.getMostSignificantBits(), id.getLeastSignificantBits());
+      return row < 0 || superseded.get(row) ? null : columns.materialize(row);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns all archived reservations.
+   *
+   * @return fresh copies of the archived reservations in archive order
+   */
+  List<Reservation> findAll() {
+    return scan(row -> true);
+  }
+
+  /**
+   * Finds the archived reservations of a user.
+   *
+   * @param userId the unique identifier of the user
+   * @return fresh copies of the user's archived reservations ordered by start time and id
+   */
+  List<Reservation> findByUserId(UUID userId) {
+    return findByUserIdAfter(userId, null, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Finds a page of the archived reservations of a user, by a binary search for the cursor in the
+   * user's ordered rows.
+   *
+   * @param userId the unique identifier of the user
+   * @param after the cursor to start behind, or null for the first page
+   * @param limit the most reservations to return
+   * @return fresh copies of at most {@code limit} archived reservations after the cursor, ordered
+   *     by start time and id
+   */
+  List<Reservation> findByUserIdAfter(UUID userId, ReservationCursor after, int limit) {
+    lock.readLock().lock();
+    try {
+      RowList rows = rowsByUser.get(userId);
+      if (rows == null) {
+        return List.of();
+      }
+      int first = after == null ? 0 : firstAfter(rows, after, this::compareToCursor);
+      List<Reservation> found = new ArrayList<>(Math.min(limit, rows.size - first));
+      for (int i = first; i < rows.size && found.size() < limit; i++) {
+        if (!superseded.get(rows.rows[i])) {
+          found.add(columns.materialize(rows.rows[i]));
+        }
+      }
+      return found;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Finds the archived reservations in a workspace.
+   *
+   * @param workspaceId the unique identifier of the workspace
+   * @return fresh copies of the workspace's archived reservations in archive order
+   */
+  List<Reservation> findByWorkspaceId(UUID workspaceId) {
+    long most = workspaceId.getMostSignificantBits();
+    long least = workspaceId.getLeastSignificantBits();
+    return find(
+        rowsByWorkspace,
+        workspaceId,
+        row -> columns.workspaceIdLeast(row) == least && columns.workspaceIdMost(row) == most);
+  }
+
+  /**
+   * Finds the archived reservations overlapping a time slot by scanning the archive, which is only
+   * worth it for time slots that start before {@link #archivedUntil()}.
+   *
+   * @param timeSlot the {@link TimeSlot} to check
+   * @return fresh copies of the overlapping archived reservations in archive order
+   */
+  List<Reservation> findOverlapping(TimeSlot timeSlot) {
+    long from = ReservationColumns.floorMinutes(timeSlot.start());
+    long to = ReservationColumns.ceilMinutes(timeSlot.end());
+    return scan(row -> columns.overlaps(row, from, to));
+  }
+
+  private int findRow(UUID id) {
+    lock.readLock().lock();
+    try {
+      return columns.rowOf(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private List<Reservation> find(Map<UUID, RowList> rowsByOwner, UUID ownerId, IntPredicate owns) {
+    lock.readLock().lock();
+    try {
+      RowList rows = rowsByOwner.get(ownerId);
+      if (rows == null) {
+        return List.of();
+      }
+      // A row stays listed under an earlier workspace after it was re-archived for another one
+      List<Reservation> found = new ArrayList<>(rows.size);
+      for (int i = 0; i < rows.size; i++) {
+        int row = rows.rows[i];
+        if (!superseded.get(row) && owns.test(row)) {
+          found.add(columns.materialize(row));
+        }
+      }
+      return found;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private static <K> int firstAfter(RowList rows, K key, RowComparator<K> comparator) {
+    int low = 0;
+    int high = rows.size;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (comparator.compare(rows.rows[middle], key) <= 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private int compareRows(int row, Integer other) {
+    int byStart = Integer.compare(columns.startMinutes(row), columns.startMinutes(other));
+    return byStart != 0 ? byStart : idOf(row).compareTo(idOf(other));
+  }
+
+  private int compareToCursor(int row, ReservationCursor cursor) {
+    LocalDateTime start =
+        LocalDateTime.ofEpochSecond(columns.startMinutes(row) * 60L, 0, ZoneOffset.UTC);
+    int byStart = start.compareTo(cursor.start());
+    return byStart != 0 ? byStart : idOf(row).compareTo(cursor.id());
+  }
+
+  private UUID idOf(int row) {
+    return new UUID(columns.idMost(row), columns.idLeast(row));
+  }
+
+  private List<Reservation> scan(IntPredicate matches) {
+    lock.readLock().lock();
+    try {
+      List<Reservation> found = new ArrayList<>();
+      for (int row = 0, rows = columns.size(); row < rows; row++) {
+        if (!superseded.get(row) && matches.test(row)) {
+          found.add(columns.materialize(row));
+        }
+      }
+      return found;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private static final class RowList {
+    private int[] rows = new int[4];
+    private int size;
+
+    private void add(int row, boolean unlessListed) {
+      for (int i = 0; unlessListed && i < size; i++) {
+        if (rows[i] == row) {
+          return;
+        }
+      }
+      if (size == rows.length) {
+        rows = Arrays.copyOf(rows, size * 2);
+      }
+      rows[size++] = row;
+    }
+
+    private void insert(int index, int row) {
+      if (size == rows.length) {
+        rows = Arrays.copyOf(rows, size * 2);
+      }
+      System.arraycopy(rows, index, rows, index + 1, size - index);
+      rows[index] = row;
+      size++;
+    }
+
+    private void remove(int row) {
+      for (int i = 0; i < size; i++) {
+        if (rows[i] == row) {
+          System.arraycopy(rows, i + 1, rows, i, size - i - 1);
+          size--;
+          return;
+        }
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface RowComparator<K> {
+    int compare(int row, K key);
+  }
+}
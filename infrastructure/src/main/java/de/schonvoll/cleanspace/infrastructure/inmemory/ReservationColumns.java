@@ -0,0 +1,275 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Column-wise storage of reservation rows. Every field lives in its own primitive column: the three
+ * ids as pairs of longs, the start as epoch minutes and the duration in minutes, about 56 bytes per
+ * row without any per-row object. The columns are backed by heap or direct (off-heap) buffers and
+ * grow by doubling.
+ *
+ * <p>Rows are found by id through an open-addressing table of row numbers that compares the id
+ * columns directly, so the table itself stores no keys. Not thread-safe; {@link
+ * ColumnarReservationRepository} and {@link ReservationArchive} guard all access.
+ */
+final class ReservationColumns {
+  private static final int NO_ROW = -1;
+  private static final int INITIAL_CAPACITY = 1 << 10;
+
+  private final boolean offHeap;
+  private LongBuffer idMost;
+  private LongBuffer idLeast;
+  private LongBuffer workspaceIdMost;
+  private LongBuffer workspaceIdLeast;
+  private LongBuffer userIdMost;
+  private LongBuffer userIdLeast;
+  private IntBuffer startMinutes;
+  private IntBuffer durationMinutes;
+  private IntBuffer rowBySlot;
+  private int size;
+
+  /**
+   * Creates empty columns.
+   *
+   * @param offHeap whether the columns are allocated outside the Java heap
+   */
+  ReservationColumns(boolean offHeap) {
+    this.offHeap = offHeap;
+    resize(INITIAL_CAPACITY);
+  }
+
+  /**
+   * Returns the number of stored rows.
+   *
+   * @return the row count
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Finds the row of the reservation with the given id.
+   *
+   * @param most the most significant bits of the reservation id
+   * @param least the least significant bits of the reservation id
+   * @return the row number, or {@code -1} when no such row exists
+   */
+  int rowOf(long most, long least) {
+    int mask = rowBySlot.capacity() - 1;
+    for (int slot = slotOf(most, least, mask); ; slot = (slot + 1) & mask) {
+      int row = rowBySlot.get(slot);
+      if (row == NO_ROW || (idMost.get(row) == most && idLeast.get(row) == least)) {
+        return row;
+      }
+    }
+  }
+
+  /**
+   * Inserts a row or overwrites the row with the same reservation id.
+   *
+   * @param idMostBits the most significant bits of the reservation id
+   * @param idLeastBits the least significant bits of the reservation id
+   * @param workspaceMostBits the most significant bits of the workspace id
+   * @param workspaceLeastBits the least significant bits of the workspace id
+   * @param userMostBits the most significant bits of the user id
+   * @param userLeastBits the least significant bits of the user id
+   * @param start the start as minutes since the epoch
+   * @param duration the duration in minutes
+   * @return the row number written
+   */
+  int put(
+      long idMostBits,
+      long idLeastBits,
+      long workspaceMostBits,
+      long workspaceLeastBits,
+      long userMostBits,
+      long userLeastBits,
+      int start,
+      int duration) {
+    int row = rowOf(idMostBits, idLeastBits);
+    if (row == NO_ROW) {
+      if (size == idMost.capacity()) {
+        resize(size * 2);
+      }
+      row = size++;
+      idMost.put(row, idMostBits);
+      idLeast.put(row, idLeastBits);
+      insertSlot(row);
+    }
+    workspaceIdMost.put(row, workspaceMostBits);
+    workspaceIdLeast.put(row, workspaceLeastBits);
+    userIdMost.put(row, userMostBits);
+    userIdLeast.put(row, userLeastBits);
+    startMinutes.put(row, start);
+    durationMinutes.put(row, duration);
+    return row;
+  }
+
+  /**
+   * Inserts a row for the reservation or overwrites the row with the same reservation id.
+   *
+   * @param reservation the {@link Reservation} to write, with a time slot in whole minutes
+   * @return the row number written
+   */
+  int put(Reservation reservation) {
+    TimeSlot timeSlot = reservation.getTimeSlot();
+    return put(
+        reservation.getId().getMostSignificantBits(),
+        reservation.getId().getLeastSignificantBits(),
+        reservation.getWorkspaceId().getMostSignificantBits(),
+        reservation.getWorkspaceId().getLeastSignificantBits(),
+        reservation.getUserId().getMostSignificantBits(),
+        reservation.getUserId().getLeastSignificantBits(),
+        Math.toIntExact(timeSlot.start().toEpochSecond(ZoneOffset.UTC) / 60),
+        Math.toIntExact(timeSlot.duration().toMinutes()));
+  }
+
+  /**
+   * Creates a new domain object from a row.
+   *
+   * @param row the row number
+   * @return a fresh {@link Reservation} holding the row's values
+   */
+  Reservation materialize(int row) {
+    LocalDateTime start =
+        LocalDateTime.ofEpochSecond(startMinutes.get(row) * 60L, 0, ZoneOffset.UTC);
+    return new Reservation(
+        new UUID(idMost.get(row), idLeast.get(row)),
+        new UUID(workspaceIdMost.get(row), workspaceIdLeast.get(row)),
+        new UUID(userIdMost.get(row), userIdLeast.get(row)),
+        new TimeSlot(start, Duration.ofMinutes(durationMinutes.get(row))));
+  }
+
+  /**
+   * Tells whether a row overlaps the given range. The bounds are usually a query rounded outwards
+   * with {@link #floorMinutes} and {@link #ceilMinutes}; since stored bounds are whole minutes,
+   * that gives the same result as comparing exact times.
+   *
+   * @param row the row number
+   * @param fromMinutes the start of the range in minutes since the epoch, inclusive
+   * @param toMinutes the end of the range in minutes since the epoch, exclusive
+   * @return whether the row's time slot overlaps the range
+   */
+  boolean overlaps(int row, long fromMinutes, long toMinutes) {
+    long start = startMinutes.get(row);
+    return start < toMinutes && start + durationMinutes.get(row) > fromMinutes;
+  }
+
+  /**
+   * Tells whether a time slot can be stored without losing precision.
+   *
+   * @param timeSlot the {@link TimeSlot} to check
+   * @return whether start and duration are whole minutes
+   */
+  static boolean isWholeMinutes(TimeSlot timeSlot) {
+    LocalDateTime start = timeSlot.start();
+    Duration duration = timeSlot.duration();
+    return start.getSecond() == 0
+        && start.getNano() == 0
+        && duration.toSecondsPart() == 0
+        && duration.toNanosPart() == 0;
+  }
+
+  static long floorMinutes(LocalDateTime time) {
+    return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+  }
+
+  static long ceilMinutes(LocalDateTime time) {
+    return Math.ceilDiv(time.toEpochSecond(ZoneOffset.UTC) + (time.getNano() > 0 ? 1 : 0), 60);
+  }
+
+  long idMost(int row) {
+    return idMost.get(row);
+  }
+
+  long idLeast(int row) {
+    return idLeast.get(row);
+  }
+
+  long workspaceIdMost(int row) {
+    return workspaceIdMost.get(row);
+  }
+
+  long workspaceIdLeast(int row) {
+    return workspaceIdLeast.get(row);
+  }
+
+  long userIdMost(int row) {
+    return userIdMost.get(row);
+  }
+
+  long userIdLeast(int row) {
+    return userIdLeast.get(row);
+  }
+
+  int startMinutes(int row) {
+    return startMinutes.get(row);
+  }
+
+  int durationMinutes(int row) {
+    return durationMinutes.get(row);
+  }
+
+  private void insertSlot(int row) {
+    int mask = rowBySlot.capacity() - 1;
+    int slot = slotOf(idMost.get(row), idLeast.get(row), mask);
+    while (rowBySlot.get(slot) != NO_ROW) {
+      slot = (slot + 1) & mask;
+    }
+    rowBySlot.put(slot, row);
+  }
+
+  private void resize(int capacity) {
+    idMost = copy(idMost, capacity);
+    idLeast = copy(idLeast, capacity);
+    workspaceIdMost = copy(workspaceIdMost, capacity);
+    workspaceIdLeast = copy(workspaceIdLeast, capacity);
+    userIdMost = copy(userIdMost, capacity);
+    userIdLeast = copy(userIdLeast, capacity);
+    startMinutes = copy(startMinutes, capacity);
+    durationMinutes = copy(durationMinutes, capacity);
+    // Twice as many slots as rows keeps the load factor at or below one half.
+    rowBySlot = allocate(2 * capacity * Integer.BYTES).asIntBuffer();
+    for (int slot = 0; slot < rowBySlot.capacity(); slot++) {
+      rowBySlot.put(slot, NO_ROW);
+    }
+    for (int row = 0; row < size; row++) {
+      insertSlot(row);
+    }
+  }
+
+  private LongBuffer copy(LongBuffer column, int capacity) {
+    LongBuffer grown = allocate(capacity * Long.BYTES).asLongBuffer();
+    if (column != null) {
+      grown.put(0, column, 0, size);
+    }
+    return grown;
+  }
+
+  private IntBuffer copy(IntBuffer column, int capacity) {
+    IntBuffer grown = allocate(capacity * Integer.BYTES).asIntBuffer();
+    if (column != null) {
+      grown.put(0, column, 0, size);
+    }
+    return grown;
+  }
+
+  private ByteBuffer allocate(int bytes) {
+    ByteBuffer buffer = offHeap ? ByteBuffer.allocateDirect(bytes) : ByteBuffer.allocate(bytes);
+    return buffer.order(ByteOrder.nativeOrder());
+  }
+
+  private static int slotOf(long most, long least, int mask) {
+    long hash = (most ^ least) * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+}
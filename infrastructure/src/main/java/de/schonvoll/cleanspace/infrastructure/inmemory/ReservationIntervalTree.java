@@ -0,0 +1,236 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Augmented interval tree over the {@link TimeSlot} of stored reservations. Nodes are ordered by
+ * start time (ties broken by reservation id) and carry the latest end time of their subtree, so an
+ * overlap query only descends into subtrees that can contain a conflict. The tree is balanced as a
+ * treap, which keeps insert, remove and query at O(log n) expected, plus O(k) for k results.
+ *
+ * <p>Nodes are immutable and every write publishes a new root built by path copying. Queries read
+ * the current root without locking; writes are serialized on the tree.
+ */
+final class ReservationIntervalTree {
+  private final Map<UUID, Node> nodesById = new HashMap<>();
+  private volatile Node root;
+
+  /**
+   * Indexes the reservation under its current time slot, replacing any previously indexed time slot
+   * of the same reservation.
+   *
+   * @param reservation the {@link Reservation} to index, must have an id
+   */
+  synchronized void upsert(Reservation reservation) {
+    Node node = new Node(reservation);
+    Node previous = nodesById.put(reservation.getId(), node);
+    Node current = previous == null ? root : remove(root, previous);
+    root = insert(current, node);
+  }
+
+  /**
+   * Builds the index of an empty tree from many reservations at once in O(n log n), which is much
+   * cheaper than inserting them one by one with path copying.
+   *
+   * @param reservations the reservations to index, each with a distinct id
+   * @throws IllegalStateException when the tree is not empty
+   */
+  synchronized void load(Collection<Reservation> reservations) {
+    if (root != null) {
+      throw new IllegalStateException("Only an empty interval tree can be bulk loaded");
+    }
+    Node[] sorted = reservations.stream().map(Node::new).sorted().toArray(Node[]::new);
+    // Handing out descending random priorities in breadth-first order of the balanced shape keeps
+    // the heap order of the treap and the priority distribution of one built by inserts.
+    int[] priorities = ThreadLocalRandom.current().ints(sorted.length).sorted().toArray();
+    int[] priorityByIndex = new int[sorted.length];
+    int[] ranges = new int[2 * sorted.length];
+    int head = 0;
+    int tail = 0;
+    int next = priorities.length;
+    if (sorted.length > 0) {
+      ranges[tail++] = 0;
+      ranges[tail++] = sorted.length - 1;
+    }
+    while (head < tail) {
+      int low = ranges[head++];
+      int high = ranges[head++];
+      int middle = (low + high) >>> 1;
+      priorityByIndex[middle] = priorities[--next];
+      if (low < middle) {
+        ranges[tail++] = low;
+        ranges[tail++] = middle - 1;
+      }
+      if (middle < high) {
+        ranges[tail++] = middle + 1;
+        ranges[tail++] = high;
+      }
+    }
+    Node loaded = build(sorted, priorityByIndex, 0, sorted.length - 1);
+    Arrays.stream(sorted).forEach(node -> nodesById.put(node.id, node));
+    root = loaded;
+  }
+
+  /**
+   * Removes the reservation with the given id from the index, if present.
+   *
+   * @param id the unique identifier of the reservation
+   */
+  synchronized void remove(UUID id) {
+    Node node = nodesById.remove(id);
+    if (node != null) {
+      root = remove(root, node);
+    }
+  }
+
+  /**
+   * Finds all indexed reservations whose time slot conflicts with the given one.
+   *
+   * @param timeSlot the {@link TimeSlot} to check for conflicts
+   * @return list of conflicting reservations, ordered by start time
+   */
+  List<Reservation> findOverlapping(TimeSlot timeSlot) {
+    List<Reservation> result = new ArrayList<>();
+    collectOverlapping(root, timeSlot.start(), timeSlot.end(), result);
+    return result;
+  }
+
+  private static void collectOverlapping(
+      Node node, LocalDateTime start, LocalDateTime end, List<Reservation> result) {
+    if (node == null || !node.maxEnd.isAfter(start)) {
+      return;
+    }
+    collectOverlapping(node.left, start, end, result);
+    if (!node.start.isBefore(end)) {
+      return;
+    }
+    if (node.end.isAfter(start)) {
+      result.add(node.reservation);
+    }
+    collectOverlapping(node.right, start, end, result);
+  }
+
+  private static Node build(Node[] sorted, int[] priorities, int low, int high) {
+    if (low > high) {
+      return null;
+    }
+    int middle = (low + high) >>> 1;
+    Node node =
+        new Node(
+            sorted[middle],
+            priorities[middle],
+            build(sorted, priorities, low, middle - 1),
+            build(sorted, priorities, middle + 1, high));
+    sorted[middle] = node;
+    return node;
+  }
+
+  private static Node insert(Node node, Node inserted) {
+    if (node == null) {
+      return inserted;
+    }
+    if (inserted.compareTo(node) < 0) {
+      Node left = insert(node.left, inserted);
+      if (left.priority > node.priority) {
+        return left.withChildren(left.left, node.withChildren(left.right, node.right));
+      }
+      return node.withChildren(left, node.right);
+    }
+    Node right = insert(node.right, inserted);
+    if (right.priority > node.priority) {
+      return right.withChildren(node.withChildren(node.left, right.left), right.right);
+    }
+    return node.withChildren(node.left, right);
+  }
+
+  private static Node remove(Node node, Node removed) {
+    if (node == null) {
+      return null;
+    }
+    int comparison = removed.compareTo(node);
+    if (comparison == 0) {
+      return merge(node.left, node.right);
+    }
+    if (comparison < 0) {
+      return node.withChildren(remove(node.left, removed), node.right);
+    }
+    return node.withChildren(node.left, remove(node.right, removed));
+  }
+
+  private static Node merge(Node left, Node right) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+    if (left.priority > right.priority) {
+      return left.withChildren(left.left, merge(left.right, right));
+    }
+    return right.withChildren(merge(left, right.left), right.right);
+  }
+
+  private static final class Node implements Comparable<Node> {
+    private final Reservation reservation;
+    private final UUID id;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final int priority;
+    private final LocalDateTime maxEnd;
+    private final Node left;
+    private final Node right;
+
+    private Node(Reservation reservation) {
+      this.reservation = reservation;
+      this.id = reservation.getId();
+      this.start = reservation.getTimeSlot().start();
+      this.end = reservation.getTimeSlot().end();
+      this.priority = ThreadLocalRandom.current().nextInt();
+      this.maxEnd = end;
+      this.left = null;
+      this.right = null;
+    }
+
+    private Node(Node template, Node left, Node right) {
+      this(template, template.priority, left, right);
+    }
+
+    private Node(Node template, int priority, Node left, Node right) {
+      this.reservation = template.reservation;
+      this.id = template.id;
+      this.start = template.start;
+      this.end = template.end;
+      this.priority = priority;
+      this.left = left;
+      this.right = right;
+      LocalDateTime latestEnd = end;
+      if (left != null && left.maxEnd.isAfter(latestEnd)) {
+        latestEnd = left.maxEnd;
+      }
+      if (right != null && right.maxEnd.isAfter(latestEnd)) {
+        latestEnd = right.maxEnd;
+      }
+      this.maxEnd = latestEnd;
+    }
+
+    private Node withChildren(Node left, Node right) {
+      return new Node(this, left, right);
+    }
+
+    @Override
+    public int compareTo(Node other) {
+      int byStart = start.compareTo(other.start);
+      return byStart != 0 ? byStart : id.compareTo(other.id);
+    }
+  }
+}
@@ -0,0 +1,181 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.valueobjects.ReservationCursor;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * One partition of {@link ShardedReservationRepository}. All changes to the shard's map and indexes
+ * run on the shard's own writer thread, so writers of different shards never contend and a shard
+ * needs no write locks of its own. Callers wait for their change to be applied. Reads go straight
+ * to the concurrent map and indexes and never wait for the writer.
+ */
+final class ReservationShard {
+  private final ExecutorService writer;
+  private final UuidHashMap<Reservation> reservations = new UuidHashMap<>();
+  private final ReservationIntervalTree timeSlotIndex = new ReservationIntervalTree();
+  private final SortedReservationIndex userIndex = new SortedReservationIndex();
+  private final SortedReservationIndex workspaceIndex = new SortedReservationIndex();
+  // Only touched by the writer thread
+  private final Map<UUID, IndexedKeys> indexedKeysById = new HashMap<>();
+
+  /**
+   * Creates an empty shard and starts its writer thread.
+   *
+   * @param number the shard number, used to name the writer thread
+   */
+  ReservationShard(int number) {
+    this.writer =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "reservation-shard-" + number);
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /**
+   * Adds or replaces a reservation and appends it to the journal, waiting until both are done.
+   *
+   * @param reservation the {@link Reservation} to store
+   * @param journal the {@link InMemoryJournal} to append the reservation to
+   */
+  void put(Reservation reservation, InMemoryJournal journal) {
+    await(
+        writer.submit(
+            () -> {
+              // Appended first, so a failing journal leaves the shard unchanged
+              journal.append(reservation);
+              UUID id = reservation.getId();
+              IndexedKeys keys = IndexedKeys.of(reservation);
+              IndexedKeys previousKeys = indexedKeysById.put(id, keys);
+              if (previousKeys != null) {
+                userIndex.remove(previousKeys.userId(), previousKeys.start(), id);
+                workspaceIndex.remove(previousKeys.workspaceId(), previousKeys.start(), id);
+              }
+              userIndex.add(keys.userId(), keys.start(), reservation);
+              workspaceIndex.add(keys.workspaceId(), keys.start(), reservation);
+              timeSlotIndex.upsert(reservation);
+              reservations.put(id, reservation);
+            }));
+  }
+
+  /**
+   * Removes a reservation, waiting until it is gone from the map and all indexes.
+   *
+   * @param id the unique identifier of the reservation
+   */
+  void remove(UUID id) {
+    await(
+        writer.submit(
+            () -> {
+              IndexedKeys keys = indexedKeysById.remove(id);
+              if (keys == null) {
+                return;
+              }
+              reservations.remove(id);
+              userIndex.remove(keys.userId(), keys.start(), id);
+              workspaceIndex.remove(keys.workspaceId(), keys.start(), id);
+              timeSlotIndex.remove(id);
+            }));
+  }
+
+  /**
+   * Bulk loads an empty shard, waiting until the indexes are built.
+   *
+   * @param loaded the reservations belonging to this shard
+   */
+  void load(Collection<Reservation> loaded) {
+    await(
+        writer.submit(
+            () -> {
+              for (Reservation reservation : loaded) {
+                reservations.put(reservation.getId(), reservation);
+                indexedKeysById.put(reservation.getId(), IndexedKeys.of(reservation));
+              }
+              userIndex.load(loaded, Reservation::getUserId);
+              workspaceIndex.load(loaded, Reservation::getWorkspaceId);
+              timeSlotIndex.load(loaded);
+            }));
+  }
+
+  boolean isEmpty() {
+    return reservations.isEmpty();
+  }
+
+  Reservation findById(UUID id) {
+    return reservations.get(id);
+  }
+
+  List<Reservation> findAll() {
+    return reservations.values();
+  }
+
+  List<Reservation> findByUserId(UUID userId) {
+    return userIndex.find(userId);
+  }
+
+  List<Reservation> findByUserIdAfter(UUID userId, ReservationCursor after, int limit) {
+    return userIndex.findAfter(userId, after, limit);
+  }
+
+  List<Reservation> findByWorkspaceId(UUID workspaceId) {
+    return workspaceIndex.find(workspaceId);
+  }
+
+  List<Reservation> findOverlapping(TimeSlot timeSlot) {
+    return timeSlotIndex.findOverlapping(timeSlot);
+  }
+
+  List<Reservation> findOverlappingInWorkspace(UUID workspaceId, TimeSlot timeSlot) {
+    return workspaceIndex.findOverlapping(workspaceId, timeSlot);
+  }
+
+  long countOverlappingInWorkspace(UUID workspaceId, TimeSlot timeSlot) {
+    return workspaceIndex.countOverlapping(workspaceId, timeSlot);
+  }
+
+  List<Reservation> findOverlappingForUser(UUID userId, TimeSlot timeSlot) {
+    return userIndex.findOverlapping(userId, timeSlot);
+  }
+
+  boolean hasOverlappingForUser(UUID userId, TimeSlot timeSlot) {
+    return userIndex.hasOverlapping(userId, timeSlot);
+  }
+
+  /** Stops the writer thread once the changes already submitted are applied. */
+  void close() {
+    writer.shutdown();
+  }
+
+  private static void await(Future<?> change) {
+    try {
+      change.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the reservation shard", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("Reservation shard failed", e.getCause());
+    }
+  }
+
+  private record IndexedKeys(UUID userId, UUID workspaceId, LocalDateTime start) {
+    private static IndexedKeys of(Reservation reservation) {
+      return new IndexedKeys(
+          reservation.getUserId(), reservation.getWorkspaceId(), reservation.getTimeSlot().start());
+    }
+  }
+}
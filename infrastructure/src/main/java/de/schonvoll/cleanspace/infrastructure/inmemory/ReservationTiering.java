@@ -0,0 +1,100 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background job that periodically moves reservations that have ended out of the hot indexes of
+ * {@link InMemoryReservationRepository} into its archive, and drops the days that have ended from
+ * the {@link InMemoryOccupancyLedger}.
+ */
+@Component
+@Profile("in-memory")
+@ConditionalOnProperty(
+    name = "cleanspace.in-memory.reservation-store",
+    havingValue = "object",
+    matchIfMissing = true)
+@EnableConfigurationProperties(TieringProperties.class)
+@Slf4j
+public class ReservationTiering {
+  private final InMemoryReservationRepository reservationRepository;
+  private final InMemoryOccupancyLedger occupancyLedger;
+  private final TieringProperties properties;
+  private ScheduledExecutorService tieringScheduler;
+
+  public ReservationTiering(
+      InMemoryReservationRepository reservationRepository,
+      InMemoryOccupancyLedger occupancyLedger,
+      TieringProperties properties) {
+    this.reservationRepository = reservationRepository;
+    this.occupancyLedger = occupancyLedger;
+    this.properties = properties;
+  }
+
+  /** Schedules the job, starting one interval after startup. */
+  @PostConstruct
+  public void start() {
+    if (!properties.enabled()) {
+      return;
+    }
+    tieringScheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "in-memory-tiering");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long intervalMillis = Math.max(1, properties.interval().toMillis());
+    tieringScheduler.scheduleWithFixedDelay(
+        this::archiveEndedQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Archives every reservation that has ended by now and drops the ledger days before today.
+   *
+   * @return the number of reservations archived
+   */
+  public int archiveEnded() {
+    long startedAt = System.nanoTime();
+    LocalDateTime cutoff = LocalDateTime.now();
+    int archived = reservationRepository.archiveEndedBefore(cutoff);
+    int evictedDays = occupancyLedger.evictDaysBefore(cutoff);
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    if (archived > 0 || evictedDays > 0) {
+      log.info(
+          "Archived {} ended reservations and dropped {} ledger days in {} ms",
+          archived,
+          evictedDays,
+          elapsedMillis);
+    } else {
+      log.debug("No ended reservations to archive ({} ms)", elapsedMillis);
+    }
+    return archived;
+  }
+
+  /** Stops the job. */
+  @PreDestroy
+  public void stop() {
+    if (tieringScheduler != null) {
+      tieringScheduler.shutdownNow();
+    }
+  }
+
+  private void archiveEndedQuietly() {
+    try {
+      archiveEnded();
+    } catch (RuntimeException e) {
+      // A failed run must not cancel the schedule; the next run picks the reservations up again
+      log.error("Archiving ended reservations failed", e);
+    }
+  }
+}
@@ -0,0 +1,261 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.valueobjects.ReservationCursor;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+/**
+ * In-memory implementation of ReservationRepository that partitions reservations by workspace
+ * across {@link ReservationShard}s, selected with {@code
+ * cleanspace.in-memory.reservation-store=sharded}. Every shard applies its changes on its own
+ * writer thread, so bookings for workspaces in different shards never contend. The number of
+ * shards defaults to the number of available processors.
+ *
+ * <p>Lookups by workspace read one shard. Lookups by id and user and conflict queries fan out
+ * across all shards and merge the results. Updates of existing reservations are serialized per id,
+ * because changing the workspace can move a reservation into another shard. Every save is
+ * appended to the {@link InMemoryJournal}, which is a no-op unless it is enabled.
+ */
+@Repository
+@Profile("in-memory")
+@ConditionalOnProperty(name = "cleanspace.in-memory.reservation-store", havingValue = "sharded")
+public class ShardedReservationRepository implements RecoverableReservationRepository {
+  private static final int ID_LOCK_STRIPES = 256;
+  private static final Comparator<Reservation> BY_START =
+      Comparator.comparing((Reservation reservation) -> reservation.getTimeSlot().start())
+          .thenComparing(Reservation::getId);
+
+  private final ReservationShard[] shards;
+  private final Object[] idLocks;
+  private final InMemoryJournal journal;
+
+  public ShardedReservationRepository() {
+    this(InMemoryJournal.disabled(), 0);
+  }
+
+  /**
+   * Creates the shards and starts their writer threads.
+   *
+   * @param journal the {@link InMemoryJournal} every save is appended to
+   * @param shardCount the number of shards, or 0 for one per available processor
+   */
+  @Autowired
+  public ShardedReservationRepository(
+      InMemoryJournal journal, @Value("${cleanspace.in-memory.sharded.shards:0}") int shardCount) {
+    this.journal = journal;
+    int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+    this.shards = new ReservationShard[count];
+    for (int shard = 0; shard < count; shard++) {
+      shards[shard] = new ReservationShard(shard);
+    }
+    this.idLocks = new Object[ID_LOCK_STRIPES];
+    Arrays.setAll(idLocks, stripe -> new Object());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Reservation save(Reservation reservation) {
+    if (reservation.getId() == null) {
+      // A fresh id cannot be stored in any shard yet, so no other save needs to be waited for
+      Reservation persistedReservation =
+          new Reservation(
+              UUID.randomUUID(),
+              reservation.getWorkspaceId(),
+              reservation.getUserId(),
+              reservation.getTimeSlot());
+      ReservationShard target = shardOf(reservation.getWorkspaceId());
+      journal.mutate(() -> target.put(persistedReservation, journal));
+      return persistedReservation;
+    }
+    UUID id = reservation.getId();
+    synchronized (idLocks[Math.floorMod(id.hashCode(), ID_LOCK_STRIPES)]) {
+      journal.mutate(
+          () -> {
+            ReservationShard target = shardOf(reservation.getWorkspaceId());
+            for (ReservationShard shard : shards) {
+              if (shard != target && shard.findById(id) != null) {
+                shard.remove(id);
+              }
+            }
+            target.put(reservation, journal);
+          });
+    }
+    return reservation;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Reservation> saveAll(List<Reservation> reservations) {
+    List<Reservation> saved = new ArrayList<>(reservations.size());
+    for (Reservation reservation : reservations) {
+      saved.add(save(reservation));
+    }
+    return saved;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Reservation findById(UUID id) {
+    for (ReservationShard shard : shards) {
+      Reservation reservation = shard.findById(id);
+      if (reservation != null) {
+        return reservation;
+      }
+    }
+    return null;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Reservation> findAll() {
+    List<Reservation> all = new ArrayList<>();
+    for (ReservationShard shard : shards) {
+      all.addAll(shard.findAll());
+    }
+    return all;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The reservations are ordered by start time.
+   */
+  @Override
+  public List<Reservation> findByUserId(UUID userId) {
+    List<Reservation> found = new ArrayList<>();
+    for (ReservationShard shard : shards) {
+      found.addAll(shard.findByUserId(userId));
+    }
+    found.sort(BY_START);
+    return found;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Every shard seeks to the cursor in its user index and returns at most one page, and the
+   * first page of the merged results is kept.
+   */
+  @Override
+  public List<Reservation> findByUserIdAfter(UUID userId, ReservationCursor after, int limit) {
+    List<Reservation> found = new ArrayList<>();
+    for (ReservationShard shard : shards) {
+      found.addAll(shard.findByUserIdAfter(userId, after, limit));
+    }
+    found.sort(BY_START);
+    return found.size() > limit ? List.copyOf(found.subList(0, limit)) : found;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The reservations are ordered by start time.
+   */
+  @Override
+  public List<Reservation> findByWorkspaceId(UUID workspaceId) {
+    return shardOf(workspaceId).findByWorkspaceId(workspaceId);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The shards are searched in parallel and the reservations are ordered by start time.
+   */
+  @Override
+  public List<Reservation> findConflictingWithTimeslot(TimeSlot timeSlot) {
+    return Arrays.stream(shards)
+        .parallel()
+        .flatMap(shard -> shard.findOverlapping(timeSlot).stream())
+        .sorted(BY_START)
+        .toList();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Only the workspace's shard is searched and the reservations are ordered by start time.
+   */
+  @Override
+  public List<Reservation> findConflictingInWorkspace(UUID workspaceId, TimeSlot timeSlot) {
+    return shardOf(workspaceId).findOverlappingInWorkspace(workspaceId, timeSlot);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long countConflictingInWorkspace(UUID workspaceId, TimeSlot timeSlot) {
+    return shardOf(workspaceId).countOverlappingInWorkspace(workspaceId, timeSlot);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Reservation> findConflictingForUser(UUID userId, TimeSlot timeSlot) {
+    List<Reservation> found = new ArrayList<>();
+    for (ReservationShard shard : shards) {
+      found.addAll(shard.findOverlappingForUser(userId, timeSlot));
+    }
+    found.sort(BY_START);
+    return found;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean existsConflictingForUser(UUID userId, TimeSlot timeSlot) {
+    for (ReservationShard shard : shards) {
+      if (shard.hasOverlappingForUser(userId, timeSlot)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Every shard bulk loads its own reservations on its writer thread.
+   */
+  @Override
+  public void restoreAll(Collection<Reservation> reservations) {
+    if (Arrays.stream(shards).anyMatch(shard -> !shard.isEmpty())) {
+      throw new IllegalStateException("Only an empty repository can be restored");
+    }
+    List<List<Reservation>> byShard = new ArrayList<>(shards.length);
+    for (int shard = 0; shard < shards.length; shard++) {
+      byShard.add(new ArrayList<>());
+    }
+    for (Reservation reservation : reservations) {
+      byShard.get(shardNumberOf(reservation.getWorkspaceId())).add(reservation);
+    }
+    IntStream.range(0, shards.length)
+        .parallel()
+        .forEach(shard -> shards[shard].load(byShard.get(shard)));
+  }
+
+  /** Stops the writer threads of all shards. */
+  @PreDestroy
+  public void close() {
+    for (ReservationShard shard : shards) {
+      shard.close();
+    }
+  }
+
+  private ReservationShard shardOf(UUID workspaceId) {
+    return shards[shardNumberOf(workspaceId)];
+  }
+
+  private int shardNumberOf(UUID workspaceId) {
+    return Math.floorMod(workspaceId.hashCode(), shards.length);
+  }
+}
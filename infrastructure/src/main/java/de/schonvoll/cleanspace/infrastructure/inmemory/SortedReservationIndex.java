@@ -0,0 +1,209 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.valueobjects.ReservationCursor;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Secondary index from an owning id (a user or a workspace) to its reservations, kept sorted by
+ * start time. Lookups touch only the reservations of that owner instead of the whole store.
+ *
+ * <p>The longest duration ever added per owner bounds overlap lookups: a reservation overlapping a
+ * time slot cannot start earlier than the slot's start minus that duration, so only the entries
+ * from there up to the slot's end are looked at.
+ */
+final class SortedReservationIndex {
+  private static final UUID LOWEST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+  private final ConcurrentHashMap<UUID, ConcurrentSkipListMap<EntryKey, Reservation>>
+      entriesByOwner = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<UUID, Duration> longestDurationByOwner =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Adds the reservation under the given owner, sorted by the given start time.
+   *
+   * @param ownerId the id the reservation is looked up by
+   * @param start the start time the reservation is sorted by
+   * @param reservation the {@link Reservation} to add
+   */
+  void add(UUID ownerId, LocalDateTime start, Reservation reservation) {
+    longestDurationByOwner.merge(
+        ownerId, reservation.getTimeSlot().duration(), SortedReservationIndex::longer);
+    entriesByOwner.compute(
+        ownerId,
+        (id, entries) -> {
+          ConcurrentSkipListMap<EntryKey, Reservation> result =
+              entries == null ? new ConcurrentSkipListMap<>() : entries;
+          result.put(new EntryKey(start, reservation.getId()), reservation);
+          return result;
+        });
+  }
+
+  /**
+   * Fills an empty index with many reservations at once. Every owner's entries are sorted in a
+   * plain tree map first and its skip list is then built from them in one linear pass.
+   *
+   * @param reservations the reservations to add
+   * @param ownerOf extracts the id each reservation is looked up by
+   * @throws IllegalStateException when the index is not empty
+   */
+  void load(Collection<Reservation> reservations, Function<Reservation, UUID> ownerOf) {
+    if (!entriesByOwner.isEmpty()) {
+      throw new IllegalStateException("Only an empty reservation index can be bulk loaded");
+    }
+    Map<UUID, TreeMap<EntryKey, Reservation>> sortedByOwner = new HashMap<>();
+    for (Reservation reservation : reservations) {
+      UUID ownerId = ownerOf.apply(reservation);
+      sortedByOwner
+          .computeIfAbsent(ownerId, id -> new TreeMap<>())
+          .put(new EntryKey(reservation.getTimeSlot().start(), reservation.getId()), reservation);
+      longestDurationByOwner.merge(
+          ownerId, reservation.getTimeSlot().duration(), SortedReservationIndex::longer);
+    }
+    sortedByOwner.forEach(
+        (ownerId, entries) -> entriesByOwner.put(ownerId, new ConcurrentSkipListMap<>(entries)));
+  }
+
+  /**
+   * Removes the reservation that was added under the given owner and start time.
+   *
+   * @param ownerId the id the reservation was added under
+   * @param start the start time the reservation was added with
+   * @param reservationId the unique identifier of the reservation
+   */
+  void remove(UUID ownerId, LocalDateTime start, UUID reservationId) {
+    entriesByOwner.computeIfPresent(
+        ownerId,
+        (id, entries) -> {
+          entries.remove(new EntryKey(start, reservationId));
+          return entries.isEmpty() ? null : entries;
+        });
+  }
+
+  /**
+   * Finds all reservations of the given owner.
+   *
+   * @param ownerId the id the reservations were added under
+   * @return list of the owner's reservations ordered by start time
+   */
+  List<Reservation> find(UUID ownerId) {
+    ConcurrentSkipListMap<EntryKey, Reservation> entries = entriesByOwner.get(ownerId);
+    return entries == null ? List.of() : List.copyOf(entries.values());
+  }
+
+  /**
+   * Finds one page of the reservations of the given owner by seeking to the cursor in the sorted
+   * entries, so only the returned reservations are touched.
+   *
+   * @param ownerId the id the reservations were added under
+   * @param after the {@link ReservationCursor} the page starts behind, or null for the first page
+   * @param limit the most reservations to return
+   * @return list of the owner's reservations after the cursor ordered by start time and id
+   */
+  List<Reservation> findAfter(UUID ownerId, ReservationCursor after, int limit) {
+    ConcurrentSkipListMap<EntryKey, Reservation> entries = entriesByOwner.get(ownerId);
+    if (entries == null) {
+      return List.of();
+    }
+    Collection<Reservation> following =
+        after == null
+            ? entries.values()
+            : entries.tailMap(new EntryKey(after.start(), after.id()), false).values();
+    return following.stream().limit(limit).toList();
+  }
+
+  /**
+   * Finds the reservations of the given owner that overlap a time slot.
+   *
+   * @param ownerId the id the reservations were added under
+   * @param timeSlot the {@link TimeSlot} to check for conflicts
+   * @return list of the owner's overlapping reservations ordered by start time
+   */
+  List<Reservation> findOverlapping(UUID ownerId, TimeSlot timeSlot) {
+    List<Reservation> found = new ArrayList<>();
+    forEachOverlapping(ownerId, timeSlot, found::add);
+    return found;
+  }
+
+  /**
+   * Counts the reservations of the given owner that overlap a time slot.
+   *
+   * @param ownerId the id the reservations were added under
+   * @param timeSlot the {@link TimeSlot} to check for conflicts
+   * @return the number of the owner's overlapping reservations
+   */
+  long countOverlapping(UUID ownerId, TimeSlot timeSlot) {
+    long[] count = new long[1];
+    forEachOverlapping(
+        ownerId,
+        timeSlot,
+        reservation -> {
+          count[0]++;
+          return true;
+        });
+    return count[0];
+  }
+
+  /**
+   * Tells whether any reservation of the given owner overlaps a time slot.
+   *
+   * @param ownerId the id the reservations were added under
+   * @param timeSlot the {@link TimeSlot} to check for conflicts
+   * @return whether the owner has an overlapping reservation
+   */
+  boolean hasOverlapping(UUID ownerId, TimeSlot timeSlot) {
+    boolean[] found = new boolean[1];
+    forEachOverlapping(
+        ownerId,
+        timeSlot,
+        reservation -> {
+          found[0] = true;
+          return false;
+        });
+    return found[0];
+  }
+
+  // Hands the owner's overlapping reservations to the callback in start order until it says stop
+  private void forEachOverlapping(
+      UUID ownerId, TimeSlot timeSlot, Predicate<Reservation> continueAfter) {
+    ConcurrentSkipListMap<EntryKey, Reservation> entries = entriesByOwner.get(ownerId);
+    Duration longest = longestDurationByOwner.get(ownerId);
+    if (entries == null || longest == null) {
+      return;
+    }
+    EntryKey from = new EntryKey(timeSlot.start().minus(longest), LOWEST_ID);
+    EntryKey to = new EntryKey(timeSlot.end(), LOWEST_ID);
+    for (Reservation reservation : entries.subMap(from, true, to, false).values()) {
+      if (reservation.getTimeSlot().conflictsWith(timeSlot) && !continueAfter.test(reservation)) {
+        return;
+      }
+    }
+  }
+
+  private static Duration longer(Duration first, Duration second) {
+    return first.compareTo(second) >= 0 ? first : second;
+  }
+
+  private record EntryKey(LocalDateTime start, UUID reservationId)
+      implements Comparable<EntryKey> {
+    @Override
+    public int compareTo(EntryKey other) {
+      int byStart = start.compareTo(other.start);
+      return byStart != 0 ? byStart : reservationId.compareTo(other.reservationId);
+    }
+  }
+}
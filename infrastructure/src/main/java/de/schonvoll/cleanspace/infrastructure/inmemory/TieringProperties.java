@@ -0,0 +1,16 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the job that moves ended reservations into the archive, bound from the {@code
+ * cleanspace.in-memory.tiering} properties.
+ *
+ * @param enabled whether ended reservations are archived at all
+ * @param interval how often the job runs
+ */
+@ConfigurationProperties(prefix = "cleanspace.in-memory.tiering")
+public record TieringProperties(
+    @DefaultValue("true") boolean enabled, @DefaultValue("1h") Duration interval) {}
@@ -0,0 +1,231 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Concurrent hash map keyed by {@link UUID}, used as the primary index of the in-memory
+ * repositories. Keys are stored as the two longs of the UUID in open-addressing tables with linear
+ * probing, so entries need no node objects and lookups never call {@link UUID#hashCode()} or
+ * {@link UUID#equals(Object)}.
+ *
+ * <p>The map is split into segments with one writer lock each. Reads take no lock: a writer fills
+ * the key of a slot before publishing its value with release semantics, and a reader that sees the
+ * value with acquire semantics therefore sees the key. A slot never changes its key once it is
+ * used; removed entries leave a tombstone that only a later resize drops, after which the segment
+ * publishes a fresh table. Tables grow at 70% load, so every probe ends at an empty slot.
+ *
+ * @param <V> the type of the mapped values
+ */
+final class UuidHashMap<V> {
+  private static final int SEGMENT_BITS = 6;
+  private static final int MAX_LOAD_PERCENT = 70;
+  private static final int INITIAL_SLOTS = 16;
+  private static final Object TOMBSTONE = new Object();
+  private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Object[].class);
+
+  private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+
+  UuidHashMap() {
+    for (int i = 0; i < segments.length; i++) {
+      segments[i] = new Segment();
+    }
+  }
+
+  /**
+   * Returns the value mapped to the key without locking.
+   *
+   * @param key the key to look up
+   * @return the mapped value, or {@code null} when there is none
+   */
+  @SuppressWarnings("unchecked")
+  V get(UUID key) {
+    long most = key.getMostSignificantBits();
+    long least = key.getLeastSignificantBits();
+    int hash = hash(most, least);
+    Table table = segmentFor(hash).table;
+    for (int slot = hash & table.mask; ; slot = (slot + 1) & table.mask) {
+      Object value = VALUES.getAcquire(table.values, slot);
+      if (value == null) {
+        return null;
+      }
+      if (table.keys[2 * slot] == most && table.keys[2 * slot + 1] == least) {
+        return value == TOMBSTONE ? null : (V) value;
+      }
+    }
+  }
+
+  /**
+   * Atomically replaces the value of a key with the result of the function, like {@link
+   * java.util.Map#compute}. The function runs under the lock of the key's segment, so calls for
+   * the same key are serialized; it must not modify this map. When it returns {@code null} the
+   * entry is removed, when it throws the map is left unchanged.
+   *
+   * @param key the key whose value is computed
+   * @param remapping computes the new value from the key and the current value or {@code null}
+   * @return the new value, or {@code null} when the entry was removed
+   */
+  V compute(UUID key, BiFunction<? super UUID, ? super V, ? extends V> remapping) {
+    long most = key.getMostSignificantBits();
+    long least = key.getLeastSignificantBits();
+    int hash = hash(most, least);
+    Segment segment = segmentFor(hash);
+    synchronized (segment) {
+      Table table = segment.table;
+      int slot = probe(table, hash, most, least);
+      Object current = table.values[slot];
+      @SuppressWarnings("unchecked")
+      V previous = current == null || current == TOMBSTONE ? null : (V) current;
+      V next = remapping.apply(key, previous);
+      if (next == null) {
+        if (previous != null) {
+          VALUES.setRelease(table.values, slot, TOMBSTONE);
+          segment.size--;
+        }
+        return null;
+      }
+      if (current == null) {
+        if (100L * (segment.usedSlots + 1) > (long) MAX_LOAD_PERCENT * (table.mask + 1)) {
+          table = segment.resize();
+          slot = probe(table, hash, most, least);
+        }
+        table.keys[2 * slot] = most;
+        table.keys[2 * slot + 1] = least;
+        segment.usedSlots++;
+      }
+      VALUES.setRelease(table.values, slot, next);
+      if (previous == null) {
+        segment.size++;
+      }
+      return next;
+    }
+  }
+
+  /**
+   * Maps the key to the value, replacing any previous value.
+   *
+   * @param key the key to map
+   * @param value the value to map the key to, not {@code null}
+   */
+  void put(UUID key, V value) {
+    compute(key, (id, previous) -> value);
+  }
+
+  /**
+   * Removes the entry of the key, if present.
+   *
+   * @param key the key to remove
+   */
+  void remove(UUID key) {
+    compute(key, (id, previous) -> null);
+  }
+
+  /**
+   * Returns the number of entries.
+   *
+   * @return the sum of the segment sizes at the time each segment was read
+   */
+  int size() {
+    int size = 0;
+    for (Segment segment : segments) {
+      size += segment.size;
+    }
+    return size;
+  }
+
+  /**
+   * Returns whether the map has no entries.
+   *
+   * @return {@code true} when no segment holds an entry
+   */
+  boolean isEmpty() {
+    for (Segment segment : segments) {
+      if (segment.size > 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Copies the values into a new list. Like the iterators of {@link
+   * java.util.concurrent.ConcurrentHashMap}, it may or may not reflect concurrent writes.
+   *
+   * @return list of all values, in no particular order
+   */
+  @SuppressWarnings("unchecked")
+  List<V> values() {
+    List<V> values = new ArrayList<>(size());
+    for (Segment segment : segments) {
+      Object[] slots = segment.table.values;
+      for (int slot = 0; slot < slots.length; slot++) {
+        Object value = VALUES.getAcquire(slots, slot);
+        if (value != null && value != TOMBSTONE) {
+          values.add((V) value);
+        }
+      }
+    }
+    return values;
+  }
+
+  private Segment segmentFor(int hash) {
+    return segments[hash >>> (Integer.SIZE - SEGMENT_BITS)];
+  }
+
+  private static int probe(Table table, int hash, long most, long least) {
+    for (int slot = hash & table.mask; ; slot = (slot + 1) & table.mask) {
+      if (table.values[slot] == null
+          || (table.keys[2 * slot] == most && table.keys[2 * slot + 1] == least)) {
+        return slot;
+      }
+    }
+  }
+
+  private static int hash(long most, long least) {
+    long hash = (most ^ least) * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32));
+  }
+
+  private static final class Table {
+    private final long[] keys;
+    private final Object[] values;
+    private final int mask;
+
+    private Table(int slots) {
+      this.keys = new long[2 * slots];
+      this.values = new Object[slots];
+      this.mask = slots - 1;
+    }
+  }
+
+  private static final class Segment {
+    private volatile Table table = new Table(INITIAL_SLOTS);
+    private volatile int size;
+    private int usedSlots;
+
+    /** Rehashes the live entries into a table at most half full, dropping tombstones. */
+    private Table resize() {
+      Table old = table;
+      int slots = Math.max(INITIAL_SLOTS, Integer.highestOneBit(2 * size + 1) << 1);
+      Table grown = new Table(slots);
+      for (int slot = 0; slot < old.values.length; slot++) {
+        Object value = old.values[slot];
+        if (value != null && value != TOMBSTONE) {
+          long most = old.keys[2 * slot];
+          long least = old.keys[2 * slot + 1];
+          int target = probe(grown, hash(most, least), most, least);
+          grown.keys[2 * target] = most;
+          grown.keys[2 * target + 1] = least;
+          grown.values[target] = value;
+        }
+      }
+      usedSlots = size;
+      table = grown;
+      return grown;
+    }
+  }
+}
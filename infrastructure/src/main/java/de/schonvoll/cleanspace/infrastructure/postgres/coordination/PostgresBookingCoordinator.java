@@ -0,0 +1,65 @@
+package de.schonvoll.cleanspace.infrastructure.postgres.coordination;
+
+import de.schonvoll.cleanspace.application.ports.BookingCoordinator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * PostgreSQL implementation of {@link BookingCoordinator} using transaction-scoped advisory locks.
+ * A booking runs in one transaction that first takes the advisory lock of its workspace, so
+ * bookings of the same workspace are serialized across all application instances. The lock is
+ * released when the transaction commits or rolls back, and no row or table is locked.
+ *
+ * <p>The 128-bit workspace id is folded into the 64-bit lock key. Two workspaces with the same key
+ * only wait for each other.
+ */
+@Component
+@Profile("postgres")
+public class PostgresBookingCoordinator implements BookingCoordinator {
+  @PersistenceContext private EntityManager entityManager;
+
+  /** {@inheritDoc} */
+  @Override
+  @Transactional
+  public <T> T bookExclusively(UUID workspaceId, Supplier<T> booking) {
+    lock(lockKeyOf(workspaceId));
+    return booking.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The advisory locks are taken in ascending key order, each one only once.
+   */
+  @Override
+  @Transactional
+  public <T> T bookExclusively(Collection<UUID> workspaceIds, Supplier<T> booking) {
+    long[] keys =
+        workspaceIds.stream()
+            .mapToLong(PostgresBookingCoordinator::lockKeyOf)
+            .distinct()
+            .sorted()
+            .toArray();
+    for (long key : keys) {
+      lock(key);
+    }
+    return booking.get();
+  }
+
+  private void lock(long key) {
+    entityManager
+        .createNativeQuery("SELECT 1 FROM pg_advisory_xact_lock(:key)")
+        .setParameter("key", key)
+        .getSingleResult();
+  }
+
+  private static long lockKeyOf(UUID workspaceId) {
+    return workspaceId.getMostSignificantBits() ^ workspaceId.getLeastSignificantBits();
+  }
+}
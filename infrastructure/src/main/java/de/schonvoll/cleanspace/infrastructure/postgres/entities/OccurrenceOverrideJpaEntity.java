@@ -0,0 +1,37 @@
+package de.schonvoll.cleanspace.infrastructure.postgres.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(
+    name = "reservation_series_overrides",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "uk_reservation_series_overrides_occurrence",
+            columnNames = {"series_id", "occurrence_date"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class OccurrenceOverrideJpaEntity extends AuditableEntity {
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  private UUID seriesId;
+  private LocalDate occurrenceDate;
+  // Both null when the occurrence is cancelled
+  private LocalDateTime startTime;
+  private Duration duration;
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import java.time.Duration;
@@ -14,7 +15,12 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "reservations")
+@Table(
+    name = "reservations",
+    indexes = {
+      @Index(name = "idx_reservations_workspace_start", columnList = "workspace_id, start_time"),
+      @Index(name = "idx_reservations_user_start_id", columnList = "user_id, start_time, id")
+    })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,46 @@
+package de.schonvoll.cleanspace.infrastructure.postgres.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(
+    name = "reservation_series",
+    indexes = {
+      @Index(name = "idx_reservation_series_workspace_span", columnList = "workspace_id, span_end"),
+      @Index(name = "idx_reservation_series_user_span", columnList = "user_id, span_end")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReservationSeriesJpaEntity extends AuditableEntity {
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  private UUID workspaceId;
+  private UUID userId;
+  private LocalDateTime startTime;
+  private Duration duration;
+  private String frequency;
+  private int recurrenceInterval;
+  private LocalDate untilDate;
+  private Integer occurrenceCount;
+  // Start of the earliest and end of the latest occurrence, so overlap queries need no expansion
+  private LocalDateTime spanStart;
+  private LocalDateTime spanEnd;
+
+  @Version private long version;
+}
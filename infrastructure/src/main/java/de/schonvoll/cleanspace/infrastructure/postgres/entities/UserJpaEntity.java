@@ -1,6 +1,5 @@
 package de.schonvoll.cleanspace.infrastructure.postgres.entities;
 
-import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -18,6 +17,9 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 public class UserJpaEntity extends AuditableEntity {
+  /** The unique index on the lower-cased email, created by {@code postgres-indexes.sql}. */
+  public static final String UNIQUE_EMAIL_INDEX = "uk_users_email_lower";
+
   @Id
   @GeneratedValue(strategy = GenerationType.UUID)
   private UUID id;
@@ -25,7 +27,6 @@ public class UserJpaEntity extends AuditableEntity {
   private String firstName;
   private String lastName;
 
-  @Column(unique = true)
   private String email;
 
   private String passwordHash;
@@ -0,0 +1,24 @@
+package de.schonvoll.cleanspace.infrastructure.postgres.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The single row counting the saves of workspaces across all application instances sharing the
+ * database, so every instance can tell whether its copy of the workspace catalog is current.
+ */
+@Entity
+@Table(name = "workspace_catalog_version")
+@Getter
+@Setter
+@NoArgsConstructor
+public class WorkspaceCatalogVersionJpaEntity {
+  public static final short ROW_ID = 1;
+
+  @Id private short id;
+  private long version;
+}
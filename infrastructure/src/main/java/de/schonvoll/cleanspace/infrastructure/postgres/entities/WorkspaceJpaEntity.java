@@ -23,6 +23,9 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 public class WorkspaceJpaEntity extends AuditableEntity {
+  /** The unique index on the lower-cased name, created by {@code postgres-indexes.sql}. */
+  public static final String UNIQUE_NAME_INDEX = "uk_workspaces_name_lower";
+
   @Id
   @GeneratedValue(strategy = GenerationType.UUID)
   private UUID id;
@@ -0,0 +1,17 @@
+package de.schonvoll.cleanspace.infrastructure.postgres.jpa;
+
+import de.schonvoll.cleanspace.infrastructure.postgres.entities.OccurrenceOverrideJpaEntity;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OccurrenceOverrideJpaRepository
+    extends JpaRepository<OccurrenceOverrideJpaEntity, UUID> {
+  List<OccurrenceOverrideJpaEntity> findBySeriesIdIn(Collection<UUID> seriesIds);
+
+  Optional<OccurrenceOverrideJpaEntity> findBySeriesIdAndOccurrenceDate(
+      UUID seriesId, LocalDate occurrenceDate);
+}
@@ -9,9 +9,34 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface ReservationJpaRepository extends JpaRepository<ReservationJpaEntity, UUID> {
-  List<ReservationJpaEntity> findByUserId(UUID userId);
+  List<ReservationJpaEntity> findByUserIdOrderByStartTimeAsc(UUID userId);
 
-  List<ReservationJpaEntity> findByWorkspaceId(UUID workspaceId);
+  @Query(
+      value =
+          "SELECT * FROM reservations r "
+              + "WHERE r.user_id = :userId "
+              + "ORDER BY r.start_time, r.id "
+              + "LIMIT :limit",
+      nativeQuery = true)
+  List<ReservationJpaEntity> findFirstPageByUserId(
+      @Param("userId") UUID userId, @Param("limit") int limit);
+
+  // The row comparison seeks into idx_reservations_user_start_id instead of skipping earlier rows
+  @Query(
+      value =
+          "SELECT * FROM reservations r "
+              + "WHERE r.user_id = :userId "
+              + "AND (r.start_time, r.id) > (:afterStart, :afterId) "
+              + "ORDER BY r.start_time, r.id "
+              + "LIMIT :limit",
+      nativeQuery = true)
+  List<ReservationJpaEntity> findPageByUserIdAfter(
+      @Param("userId") UUID userId,
+      @Param("afterStart") LocalDateTime afterStart,
+      @Param("afterId") UUID afterId,
+      @Param("limit") int limit);
+
+  List<ReservationJpaEntity> findByWorkspaceIdOrderByStartTimeAsc(UUID workspaceId);
 
   @Query(
       value =
@@ -21,4 +46,58 @@ public interface ReservationJpaRepository extends JpaRepository<ReservationJpaEn
       nativeQuery = true)
   List<ReservationJpaEntity> findConflictingWithTimeslot(
       @Param("queryStart") LocalDateTime queryStart, @Param("queryEnd") LocalDateTime queryEnd);
+
+  @Query(
+      value =
+          "SELECT * FROM reservations r "
+              + "WHERE r.workspace_id = :workspaceId "
+              + "AND r.start_time < :queryEnd "
+              + "AND (r.start_time, r.start_time + (r.duration / 1000000000.0) * interval '1 second') "
+              + "OVERLAPS (:queryStart, :queryEnd) "
+              + "ORDER BY r.start_time",
+      nativeQuery = true)
+  List<ReservationJpaEntity> findConflictingInWorkspace(
+      @Param("workspaceId") UUID workspaceId,
+      @Param("queryStart") LocalDateTime queryStart,
+      @Param("queryEnd") LocalDateTime queryEnd);
+
+  @Query(
+      value =
+          "SELECT count(*) FROM reservations r "
+              + "WHERE r.workspace_id = :workspaceId "
+              + "AND r.start_time < :queryEnd "
+              + "AND (r.start_time, r.start_time + (r.duration / 1000000000.0) * interval '1 second') "
+              + "OVERLAPS (:queryStart, :queryEnd)",
+      nativeQuery = true)
+  long countConflictingInWorkspace(
+      @Param("workspaceId") UUID workspaceId,
+      @Param("queryStart") LocalDateTime queryStart,
+      @Param("queryEnd") LocalDateTime queryEnd);
+
+  @Query(
+      value =
+          "SELECT * FROM reservations r "
+              + "WHERE r.user_id = :userId "
+              + "AND r.start_time < :queryEnd "
+              + "AND (r.start_time, r.start_time + (r.duration / 1000000000.0) * interval '1 second') "
+              + "OVERLAPS (:queryStart, :queryEnd) "
+              + "ORDER BY r.start_time",
+      nativeQuery = true)
+  List<ReservationJpaEntity> findConflictingForUser(
+      @Param("userId") UUID userId,
+      @Param("queryStart") LocalDateTime queryStart,
+      @Param("queryEnd") LocalDateTime queryEnd);
+
+  @Query(
+      value =
+          "SELECT EXISTS (SELECT 1 FROM reservations r "
+              + "WHERE r.user_id = :userId "
+              + "AND r.start_time < :queryEnd "
+              + "AND (r.start_time, r.start_time + (r.duration / 1000000000.0) * interval '1 second') "
+              + "OVERLAPS (:queryStart, :queryEnd))",
+      nativeQuery = true)
+  boolean existsConflictingForUser(
+      @Param("userId") UUID userId,
+      @Param("queryStart") LocalDateTime queryStart,
+      @Param("queryEnd") LocalDateTime queryEnd);
 }
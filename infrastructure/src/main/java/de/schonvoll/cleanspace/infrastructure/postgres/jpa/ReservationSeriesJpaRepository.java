@@ -0,0 +1,23 @@
+package de.schonvoll.cleanspace.infrastructure.postgres.jpa;
+
+import de.schonvoll.cleanspace.infrastructure.postgres.entities.ReservationSeriesJpaEntity;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ReservationSeriesJpaRepository
+    extends JpaRepository<ReservationSeriesJpaEntity, UUID> {
+  List<ReservationSeriesJpaEntity> findByUserId(UUID userId);
+
+  List<ReservationSeriesJpaEntity> findByWorkspaceId(UUID workspaceId);
+
+  List<ReservationSeriesJpaEntity> findBySpanStartBeforeAndSpanEndAfter(
+      LocalDateTime queryEnd, LocalDateTime queryStart);
+
+  List<ReservationSeriesJpaEntity> findByWorkspaceIdAndSpanStartBeforeAndSpanEndAfter(
+      UUID workspaceId, LocalDateTime queryEnd, LocalDateTime queryStart);
+
+  List<ReservationSeriesJpaEntity> findByUserIdAndSpanStartBeforeAndSpanEndAfter(
+      UUID userId, LocalDateTime queryEnd, LocalDateTime queryStart);
+}
@@ -3,7 +3,11 @@ package de.schonvoll.cleanspace.infrastructure.postgres.jpa;
 import de.schonvoll.cleanspace.infrastructure.postgres.entities.UserJpaEntity;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface UserJpaRepository extends JpaRepository<UserJpaEntity, UUID> {
-  UserJpaEntity findByEmail(String email);
+  // Emails are unique regardless of case, and compared like the unique index does
+  @Query("SELECT u FROM UserJpaEntity u WHERE lower(u.email) = lower(:email)")
+  UserJpaEntity findByEmail(@Param("email") String email);
 }
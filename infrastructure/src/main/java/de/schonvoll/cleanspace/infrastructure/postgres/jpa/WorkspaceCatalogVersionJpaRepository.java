@@ -0,0 +1,24 @@
+package de.schonvoll.cleanspace.infrastructure.postgres.jpa;
+
+import de.schonvoll.cleanspace.infrastructure.postgres.entities.WorkspaceCatalogVersionJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface WorkspaceCatalogVersionJpaRepository
+    extends JpaRepository<WorkspaceCatalogVersionJpaEntity, Short> {
+
+  // Creates the row on the first save, afterwards the row lock orders concurrent saves
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO workspace_catalog_version (id, version) VALUES (1, 1) "
+              + "ON CONFLICT (id) DO UPDATE SET version = workspace_catalog_version.version + 1",
+      nativeQuery = true)
+  void increment();
+
+  @Query(
+      value = "SELECT COALESCE(MAX(version), 0) FROM workspace_catalog_version",
+      nativeQuery = true)
+  long current();
+}
@@ -4,7 +4,11 @@ import de.schonvoll.cleanspace.infrastructure.postgres.entities.WorkspaceJpaEnti
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface WorkspaceJpaRepository extends JpaRepository<WorkspaceJpaEntity, UUID> {
-  Optional<WorkspaceJpaEntity> findByName(String name);
+  // Names are unique regardless of case, and compared like the unique index does
+  @Query("SELECT w FROM WorkspaceJpaEntity w WHERE lower(w.name) = lower(:name)")
+  Optional<WorkspaceJpaEntity> findByName(@Param("name") String name);
 }
@@ -0,0 +1,101 @@
+package de.schonvoll.cleanspace.infrastructure.postgres.mapper;
+
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
+import de.schonvoll.cleanspace.domain.valueobjects.OccurrenceOverride;
+import de.schonvoll.cleanspace.domain.valueobjects.RecurrenceRule;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import de.schonvoll.cleanspace.infrastructure.postgres.entities.OccurrenceOverrideJpaEntity;
+import de.schonvoll.cleanspace.infrastructure.postgres.entities.ReservationSeriesJpaEntity;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps between ReservationSeries domain entities and ReservationSeriesJpaEntity persistence
+ * objects. The overrides of single occurrences are mapped to rows of their own, so changing one
+ * occurrence does not rewrite the series.
+ */
+@Component
+public class ReservationSeriesMapper {
+
+  /**
+   * Converts a JPA entity and its override rows to a domain entity.
+   *
+   * @param jpaEntity the JPA entity to convert
+   * @param overrides the override rows of the series
+   * @return the corresponding domain entity
+   */
+  public static ReservationSeries toDomain(
+      ReservationSeriesJpaEntity jpaEntity, List<OccurrenceOverrideJpaEntity> overrides) {
+    RecurrenceRule rule =
+        new RecurrenceRule(
+            RecurrenceRule.Frequency.valueOf(jpaEntity.getFrequency()),
+            jpaEntity.getRecurrenceInterval(),
+            jpaEntity.getUntilDate(),
+            jpaEntity.getOccurrenceCount());
+    return new ReservationSeries(
+        jpaEntity.getId(),
+        jpaEntity.getWorkspaceId(),
+        jpaEntity.getUserId(),
+        new TimeSlot(jpaEntity.getStartTime(), jpaEntity.getDuration()),
+        rule,
+        overrides.stream().map(ReservationSeriesMapper::toDomain).toList());
+  }
+
+  /**
+   * Converts an override row to a domain value object.
+   *
+   * @param jpaEntity the override row to convert
+   * @return the corresponding override
+   */
+  public static OccurrenceOverride toDomain(OccurrenceOverrideJpaEntity jpaEntity) {
+    if (jpaEntity.getStartTime() == null) {
+      return OccurrenceOverride.cancelled(jpaEntity.getOccurrenceDate());
+    }
+    return OccurrenceOverride.movedTo(
+        jpaEntity.getOccurrenceDate(),
+        new TimeSlot(jpaEntity.getStartTime(), jpaEntity.getDuration()));
+  }
+
+  /**
+   * Converts a domain entity to a JPA entity, without its overrides.
+   *
+   * @param domainEntity the domain entity to convert
+   * @return the corresponding JPA entity
+   */
+  public static ReservationSeriesJpaEntity toJpaEntity(ReservationSeries domainEntity) {
+    ReservationSeriesJpaEntity jpaEntity = new ReservationSeriesJpaEntity();
+    RecurrenceRule rule = domainEntity.getRecurrenceRule();
+    jpaEntity.setId(domainEntity.getId());
+    jpaEntity.setWorkspaceId(domainEntity.getWorkspaceId());
+    jpaEntity.setUserId(domainEntity.getUserId());
+    jpaEntity.setStartTime(domainEntity.getFirstOccurrence().start());
+    jpaEntity.setDuration(domainEntity.getFirstOccurrence().duration());
+    jpaEntity.setFrequency(rule.frequency().name());
+    jpaEntity.setRecurrenceInterval(rule.interval());
+    jpaEntity.setUntilDate(rule.until());
+    jpaEntity.setOccurrenceCount(rule.count());
+    jpaEntity.setSpanStart(domainEntity.span().start());
+    jpaEntity.setSpanEnd(domainEntity.span().end());
+    return jpaEntity;
+  }
+
+  /**
+   * Converts an override of a series to its row.
+   *
+   * @param seriesId the unique identifier of the series
+   * @param override the override to convert
+   * @return the corresponding override row
+   */
+  public static OccurrenceOverrideJpaEntity toJpaEntity(
+      UUID seriesId, OccurrenceOverride override) {
+    OccurrenceOverrideJpaEntity jpaEntity = new OccurrenceOverrideJpaEntity();
+    jpaEntity.setSeriesId(seriesId);
+    jpaEntity.setOccurrenceDate(override.occurrenceDate());
+    if (!override.isCancelled()) {
+      jpaEntity.setStartTime(override.timeSlot().start());
+      jpaEntity.setDuration(override.timeSlot().duration());
+    }
+    return jpaEntity;
+  }
+}
@@ -0,0 +1,28 @@
+package de.schonvoll.cleanspace.infrastructure.postgres.repositories;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Tells which constraint a {@link DataIntegrityViolationException} was raised for, so a repository
+ * only translates the violations it expects and lets all others through.
+ */
+final class ConstraintViolations {
+  private ConstraintViolations() {}
+
+  /**
+   * Checks whether the exception was caused by a violation of the given constraint or index.
+   *
+   * @param exception the {@link DataIntegrityViolationException} thrown on save
+   * @param constraintName the name of the constraint or unique index
+   * @return whether the named constraint was violated
+   */
+  static boolean isViolationOf(DataIntegrityViolationException exception, String constraintName) {
+    for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException violation) {
+        return constraintName.equalsIgnoreCase(violation.getConstraintName());
+      }
+    }
+    return false;
+  }
+}
@@ -2,6 +2,7 @@ package de.schonvoll.cleanspace.infrastructure.postgres.repositories;
 
 import de.schonvoll.cleanspace.domain.entities.Reservation;
 import de.schonvoll.cleanspace.domain.repositories.ReservationRepository;
+import de.schonvoll.cleanspace.domain.valueobjects.ReservationCursor;
 import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
 import de.schonvoll.cleanspace.infrastructure.postgres.entities.ReservationJpaEntity;
 import de.schonvoll.cleanspace.infrastructure.postgres.jpa.ReservationJpaRepository;
@@ -30,6 +31,18 @@ public class ReservationPostgresRepository implements ReservationRepository {
     return ReservationMapper.toDomain(savedJpaReservation);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The inserts are sent to the database in JDBC batches.
+   */
+  @Override
+  public List<Reservation> saveAll(List<Reservation> reservations) {
+    List<ReservationJpaEntity> entities =
+        reservations.stream().map(ReservationMapper::toJpaEntity).toList();
+    return jpaRepository.saveAll(entities).stream().map(ReservationMapper::toDomain).toList();
+  }
+
   /** {@inheritDoc} */
   @Override
   public Reservation findById(UUID id) {
@@ -45,13 +58,31 @@ public class ReservationPostgresRepository implements ReservationRepository {
   /** {@inheritDoc} */
   @Override
   public List<Reservation> findByUserId(UUID userId) {
-    return jpaRepository.findByUserId(userId).stream().map(ReservationMapper::toDomain).toList();
+    return jpaRepository.findByUserIdOrderByStartTimeAsc(userId).stream()
+        .map(ReservationMapper::toDomain)
+        .toList();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The page is read with a keyset query on start time and id, served by the index on user,
+   * start time and id, so a later page costs the same as the first. Ids are compared in the
+   * database's UUID order.
+   */
+  @Override
+  public List<Reservation> findByUserIdAfter(UUID userId, ReservationCursor after, int limit) {
+    List<ReservationJpaEntity> page =
+        after == null
+            ? jpaRepository.findFirstPageByUserId(userId, limit)
+            : jpaRepository.findPageByUserIdAfter(userId, after.start(), after.id(), limit);
+    return page.stream().map(ReservationMapper::toDomain).toList();
   }
 
   /** {@inheritDoc} */
   @Override
   public List<Reservation> findByWorkspaceId(UUID workspaceId) {
-    return jpaRepository.findByWorkspaceId(workspaceId).stream()
+    return jpaRepository.findByWorkspaceIdOrderByStartTimeAsc(workspaceId).stream()
         .map(ReservationMapper::toDomain)
         .toList();
   }
@@ -63,4 +94,35 @@ public class ReservationPostgresRepository implements ReservationRepository {
         jpaRepository.findConflictingWithTimeslot(timeSlot.start(), timeSlot.end());
     return conflicting.stream().map(ReservationMapper::toDomain).toList();
   }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Reservation> findConflictingInWorkspace(UUID workspaceId, TimeSlot timeSlot) {
+    return jpaRepository
+        .findConflictingInWorkspace(workspaceId, timeSlot.start(), timeSlot.end())
+        .stream()
+        .map(ReservationMapper::toDomain)
+        .toList();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long countConflictingInWorkspace(UUID workspaceId, TimeSlot timeSlot) {
+    return jpaRepository.countConflictingInWorkspace(
+        workspaceId, timeSlot.start(), timeSlot.end());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Reservation> findConflictingForUser(UUID userId, TimeSlot timeSlot) {
+    return jpaRepository.findConflictingForUser(userId, timeSlot.start(), timeSlot.end()).stream()
+        .map(ReservationMapper::toDomain)
+        .toList();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean existsConflictingForUser(UUID userId, TimeSlot timeSlot) {
+    return jpaRepository.existsConflictingForUser(userId, timeSlot.start(), timeSlot.end());
+  }
 }
@@ -0,0 +1,147 @@
+package de.schonvoll.cleanspace.infrastructure.postgres.repositories;
+
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
+import de.schonvoll.cleanspace.domain.repositories.ReservationSeriesRepository;
+import de.schonvoll.cleanspace.domain.valueobjects.OccurrenceOverride;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import de.schonvoll.cleanspace.infrastructure.postgres.entities.OccurrenceOverrideJpaEntity;
+import de.schonvoll.cleanspace.infrastructure.postgres.entities.ReservationSeriesJpaEntity;
+import de.schonvoll.cleanspace.infrastructure.postgres.jpa.OccurrenceOverrideJpaRepository;
+import de.schonvoll.cleanspace.infrastructure.postgres.jpa.ReservationSeriesJpaRepository;
+import de.schonvoll.cleanspace.infrastructure.postgres.mapper.ReservationSeriesMapper;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * PostgreSQL implementation of {@link ReservationSeriesRepository} using JPA. A series is one row
+ * of {@code reservation_series} and every override of a single occurrence one row of {@code
+ * reservation_series_overrides}. The span columns of a series let overlap queries find it without
+ * expanding its occurrences, and the overrides of all series found are loaded in one more query.
+ */
+@Repository
+@Profile("postgres")
+@AllArgsConstructor
+public class ReservationSeriesPostgresRepository implements ReservationSeriesRepository {
+  private final ReservationSeriesJpaRepository jpaRepository;
+  private final OccurrenceOverrideJpaRepository overrideJpaRepository;
+
+  /** {@inheritDoc} */
+  @Override
+  @Transactional
+  public ReservationSeries save(ReservationSeries series) {
+    ReservationSeriesJpaEntity saved =
+        jpaRepository.save(ReservationSeriesMapper.toJpaEntity(series));
+    List<OccurrenceOverrideJpaEntity> overrides =
+        overrideJpaRepository.saveAll(
+            series.getOverrides().values().stream()
+                .map(override -> ReservationSeriesMapper.toJpaEntity(saved.getId(), override))
+                .toList());
+    return ReservationSeriesMapper.toDomain(saved, overrides);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Only the override row is written, and the span of the series when a moved occurrence lies
+   * outside of it.
+   *
+   * @throws IllegalArgumentException when the series does not exist or has no occurrence on the
+   *     override's date
+   */
+  @Override
+  @Transactional
+  public void saveOverride(UUID seriesId, OccurrenceOverride override) {
+    ReservationSeries series = findById(seriesId);
+    if (series == null) {
+      throw new IllegalArgumentException("No reservation series with ID " + seriesId + ".");
+    }
+    TimeSlot span = series.withOverride(override).span();
+    OccurrenceOverrideJpaEntity row =
+        overrideJpaRepository
+            .findBySeriesIdAndOccurrenceDate(seriesId, override.occurrenceDate())
+            .orElseGet(OccurrenceOverrideJpaEntity::new);
+    OccurrenceOverrideJpaEntity changed = ReservationSeriesMapper.toJpaEntity(seriesId, override);
+    row.setSeriesId(seriesId);
+    row.setOccurrenceDate(override.occurrenceDate());
+    row.setStartTime(changed.getStartTime());
+    row.setDuration(changed.getDuration());
+    overrideJpaRepository.save(row);
+
+    if (!span.equals(series.span())) {
+      jpaRepository
+          .findById(seriesId)
+          .ifPresent(
+              entity -> {
+                entity.setSpanStart(span.start());
+                entity.setSpanEnd(span.end());
+              });
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ReservationSeries findById(UUID id) {
+    return jpaRepository
+        .findById(id)
+        .map(entity -> withOverrides(List.of(entity)).getFirst())
+        .orElse(null);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<ReservationSeries> findByUserId(UUID userId) {
+    return withOverrides(jpaRepository.findByUserId(userId));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<ReservationSeries> findByWorkspaceId(UUID workspaceId) {
+    return withOverrides(jpaRepository.findByWorkspaceId(workspaceId));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<ReservationSeries> findOverlapping(TimeSlot timeSlot) {
+    return withOverrides(
+        jpaRepository.findBySpanStartBeforeAndSpanEndAfter(timeSlot.end(), timeSlot.start()));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<ReservationSeries> findOverlappingInWorkspace(UUID workspaceId, TimeSlot timeSlot) {
+    return withOverrides(
+        jpaRepository.findByWorkspaceIdAndSpanStartBeforeAndSpanEndAfter(
+            workspaceId, timeSlot.end(), timeSlot.start()));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<ReservationSeries> findOverlappingForUser(UUID userId, TimeSlot timeSlot) {
+    return withOverrides(
+        jpaRepository.findByUserIdAndSpanStartBeforeAndSpanEndAfter(
+            userId, timeSlot.end(), timeSlot.start()));
+  }
+
+  private List<ReservationSeries> withOverrides(List<ReservationSeriesJpaEntity> entities) {
+    if (entities.isEmpty()) {
+      return List.of();
+    }
+    Map<UUID, List<OccurrenceOverrideJpaEntity>> overridesBySeries =
+        overrideJpaRepository
+            .findBySeriesIdIn(entities.stream().map(ReservationSeriesJpaEntity::getId).toList())
+            .stream()
+            .collect(Collectors.groupingBy(OccurrenceOverrideJpaEntity::getSeriesId));
+    return entities.stream()
+        .map(
+            entity ->
+                ReservationSeriesMapper.toDomain(
+                    entity, overridesBySeries.getOrDefault(entity.getId(), List.of())))
+        .toList();
+  }
+}
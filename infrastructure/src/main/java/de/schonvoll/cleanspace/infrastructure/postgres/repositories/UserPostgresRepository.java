@@ -1,6 +1,7 @@
 package de.schonvoll.cleanspace.infrastructure.postgres.repositories;
 
 import de.schonvoll.cleanspace.domain.entities.User;
+import de.schonvoll.cleanspace.domain.exceptions.DuplicateUserException;
 import de.schonvoll.cleanspace.domain.repositories.UserRepository;
 import de.schonvoll.cleanspace.infrastructure.postgres.entities.UserJpaEntity;
 import de.schonvoll.cleanspace.infrastructure.postgres.jpa.UserJpaRepository;
@@ -9,6 +10,7 @@ import java.util.List;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -21,11 +23,25 @@ import org.springframework.stereotype.Repository;
 public class UserPostgresRepository implements UserRepository {
   private final UserJpaRepository jpaRepository;
 
-  /** {@inheritDoc} */
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Emails are unique regardless of case, enforced by the unique index on the lower-cased email.
+   * Violations of other constraints are not translated.
+   *
+   * @throws DuplicateUserException when the unique email index is violated
+   */
   @Override
   public User save(User user) {
-    UserJpaEntity savedJpaUser = jpaRepository.save(UserMapper.toJpaEntity(user));
-    return UserMapper.toDomain(savedJpaUser);
+    try {
+      UserJpaEntity savedJpaUser = jpaRepository.save(UserMapper.toJpaEntity(user));
+      return UserMapper.toDomain(savedJpaUser);
+    } catch (DataIntegrityViolationException e) {
+      if (!ConstraintViolations.isViolationOf(e, UserJpaEntity.UNIQUE_EMAIL_INDEX)) {
+        throw e;
+      }
+      throw new DuplicateUserException("A user with this email already exists: " + user.getEmail());
+    }
   }
 
   /** {@inheritDoc} */
@@ -1,32 +1,58 @@
 package de.schonvoll.cleanspace.infrastructure.postgres.repositories;
 
 import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.exceptions.DuplicateWorkspaceException;
 import de.schonvoll.cleanspace.domain.repositories.WorkspaceRepository;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceCatalog;
 import de.schonvoll.cleanspace.infrastructure.postgres.entities.WorkspaceJpaEntity;
+import de.schonvoll.cleanspace.infrastructure.postgres.jpa.WorkspaceCatalogVersionJpaRepository;
 import de.schonvoll.cleanspace.infrastructure.postgres.jpa.WorkspaceJpaRepository;
 import de.schonvoll.cleanspace.infrastructure.postgres.mapper.WorkspaceMapper;
 import java.util.List;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * PostgreSQL implementation of WorkspaceRepository using JPA. Delegates to WorkspaceJpaRepository
  * and handles domain-persistence mapping via WorkspaceMapper.
+ *
+ * <p>The version of the workspace catalog is kept in a row of its own, bumped in the transaction
+ * of every workspace save, so all application instances sharing the database see the same version
+ * and can read it without loading the workspaces.
  */
 @Repository
 @Profile("postgres")
 @AllArgsConstructor
 public class WorkspacePostgresRepository implements WorkspaceRepository {
   private final WorkspaceJpaRepository jpaRepository;
+  private final WorkspaceCatalogVersionJpaRepository catalogVersionJpaRepository;
 
-  /** {@inheritDoc} */
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Names are unique regardless of case, enforced by the unique index on the lower-cased name.
+   * Violations of other constraints are not translated.
+   */
   @Override
+  @Transactional
   public Workspace save(Workspace workspace) {
-    WorkspaceJpaEntity savedJpaWorkspace =
-        jpaRepository.save(WorkspaceMapper.toJpaEntity(workspace));
-    return WorkspaceMapper.toDomain(savedJpaWorkspace);
+    try {
+      // Flushed right away, so a violated constraint is reported here and not on commit
+      WorkspaceJpaEntity savedJpaWorkspace =
+          jpaRepository.saveAndFlush(WorkspaceMapper.toJpaEntity(workspace));
+      catalogVersionJpaRepository.increment();
+      return WorkspaceMapper.toDomain(savedJpaWorkspace);
+    } catch (DataIntegrityViolationException e) {
+      if (!ConstraintViolations.isViolationOf(e, WorkspaceJpaEntity.UNIQUE_NAME_INDEX)) {
+        throw e;
+      }
+      throw new DuplicateWorkspaceException(
+          "It already exists a workspace with the name: " + workspace.getName());
+    }
   }
 
   /** {@inheritDoc} */
@@ -52,4 +78,22 @@ public class WorkspacePostgresRepository implements WorkspaceRepository {
   public List<Workspace> findAll() {
     return jpaRepository.findAll().stream().map(WorkspaceMapper::toDomain).toList();
   }
-}
\ No newline at end of file
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The version is read before the workspaces, so a catalog can only be newer than its version
+   * and never older.
+   */
+  @Override
+  public WorkspaceCatalog findCatalog() {
+    long version = catalogVersion();
+    return new WorkspaceCatalog(version, findAll());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long catalogVersion() {
+    return catalogVersionJpaRepository.current();
+  }
+}
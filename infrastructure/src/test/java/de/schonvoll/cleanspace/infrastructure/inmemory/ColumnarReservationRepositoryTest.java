@@ -0,0 +1,135 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ColumnarReservationRepositoryTest {
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 1, 6, 0, 0);
+  private static final UUID USER_ID = UUID.randomUUID();
+  private static final UUID WORKSPACE_ID = UUID.randomUUID();
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void shouldReturnUserReservationsOrderedByStart(boolean offHeap) {
+    // Arrange
+    ColumnarReservationRepository repository = repository(offHeap);
+    Reservation late = repository.save(reservation(USER_ID, WORKSPACE_ID, 15));
+    Reservation early = repository.save(reservation(USER_ID, WORKSPACE_ID, 9));
+    Reservation noon = repository.save(reservation(USER_ID, UUID.randomUUID(), 12));
+    repository.save(reservation(UUID.randomUUID(), WORKSPACE_ID, 10));
+
+    // Act
+    List<Reservation> found = repository.findByUserId(USER_ID);
+
+    // Assert
+    assertEquals(List.of(early, noon, late), found);
+    assertEquals(early.getTimeSlot(), found.getFirst().getTimeSlot());
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void shouldOverwriteRowWhenExistingReservationIsSavedAgain(boolean offHeap) {
+    // Arrange
+    ColumnarReservationRepository repository = repository(offHeap);
+    Reservation saved = repository.save(reservation(USER_ID, WORKSPACE_ID, 9));
+    UUID otherWorkspaceId = UUID.randomUUID();
+    TimeSlot moved = new TimeSlot(MONDAY.plusHours(14), Duration.ofMinutes(45));
+
+    // Act
+    repository.save(new Reservation(saved.getId(), otherWorkspaceId, USER_ID, moved));
+
+    // Assert
+    assertEquals(1, repository.findAll().size());
+    assertTrue(repository.findByWorkspaceId(WORKSPACE_ID).isEmpty());
+    assertEquals(List.of(saved), repository.findByWorkspaceId(otherWorkspaceId));
+    assertEquals(moved, repository.findById(saved.getId()).getTimeSlot());
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void shouldFindOnlyOverlappingReservationsAsConflicts(boolean offHeap) {
+    // Arrange
+    ColumnarReservationRepository repository = repository(offHeap);
+    repository.save(reservation(USER_ID, WORKSPACE_ID, 8));
+    Reservation overlapping = repository.save(reservation(USER_ID, WORKSPACE_ID, 9));
+    repository.save(reservation(USER_ID, WORKSPACE_ID, 10));
+    TimeSlot query =
+        new TimeSlot(MONDAY.plusHours(9).plusMinutes(30).plusSeconds(10), Duration.ofMinutes(29));
+
+    // Act
+    List<Reservation> conflicting = repository.findConflictingWithTimeslot(query);
+
+    // Assert
+    assertEquals(List.of(overlapping), conflicting);
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void shouldScopeConflictsToTheGivenWorkspace(boolean offHeap) {
+    // Arrange
+    ColumnarReservationRepository repository = repository(offHeap);
+    Reservation inWorkspace = repository.save(reservation(USER_ID, WORKSPACE_ID, 9));
+    repository.save(reservation(UUID.randomUUID(), UUID.randomUUID(), 9));
+    TimeSlot query = new TimeSlot(MONDAY.plusHours(9).plusMinutes(30), Duration.ofMinutes(30));
+
+    // Act
+    List<Reservation> conflicting = repository.findConflictingInWorkspace(WORKSPACE_ID, query);
+
+    // Assert
+    assertEquals(List.of(inWorkspace), conflicting);
+    assertEquals(1, repository.countConflictingInWorkspace(WORKSPACE_ID, query));
+    assertTrue(repository.existsConflictingForUser(USER_ID, query));
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void shouldKeepFindingRowsAfterColumnsGrow(boolean offHeap) {
+    // Arrange
+    ColumnarReservationRepository repository = repository(offHeap);
+    Reservation first = repository.save(reservation(USER_ID, WORKSPACE_ID, 0));
+
+    // Act
+    for (int i = 0; i < 5000; i++) {
+      repository.save(reservation(UUID.randomUUID(), UUID.randomUUID(), i % 24));
+    }
+
+    // Assert
+    assertEquals(5001, repository.findAll().size());
+    assertEquals(WORKSPACE_ID, repository.findById(first.getId()).getWorkspaceId());
+    assertNull(repository.findById(UUID.randomUUID()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void shouldRejectTimeSlotsWithSeconds(boolean offHeap) {
+    // Arrange
+    ColumnarReservationRepository repository = repository(offHeap);
+    Reservation reservation =
+        new Reservation(
+            WORKSPACE_ID, USER_ID, new TimeSlot(MONDAY.plusSeconds(30), Duration.ofHours(1)));
+
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> repository.save(reservation));
+    assertTrue(repository.findAll().isEmpty());
+  }
+
+  private static ColumnarReservationRepository repository(boolean offHeap) {
+    return new ColumnarReservationRepository(InMemoryJournal.disabled(), offHeap);
+  }
+
+  private static Reservation reservation(UUID userId, UUID workspaceId, int startHour) {
+    return new Reservation(
+        workspaceId, userId, new TimeSlot(MONDAY.plusHours(startHour), Duration.ofHours(1)));
+  }
+}
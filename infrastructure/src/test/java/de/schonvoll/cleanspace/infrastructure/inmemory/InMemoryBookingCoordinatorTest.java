@@ -0,0 +1,107 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InMemoryBookingCoordinatorTest {
+  private final InMemoryBookingCoordinator coordinator = new InMemoryBookingCoordinator(16);
+  private final UUID workspaceId = UUID.randomUUID();
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newFixedThreadPool(2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldSerializeBookingsOfTheSameWorkspace() throws Exception {
+    // Arrange
+    CountDownLatch firstEntered = new CountDownLatch(1);
+    CountDownLatch releaseFirst = new CountDownLatch(1);
+    AtomicBoolean secondRan = new AtomicBoolean();
+    Future<?> first =
+        executor.submit(
+            () ->
+                coordinator.bookExclusively(
+                    workspaceId,
+                    () -> {
+                      firstEntered.countDown();
+                      await(releaseFirst);
+                      return null;
+                    }));
+    firstEntered.await(10, TimeUnit.SECONDS);
+
+    // Act
+    Future<?> second =
+        executor.submit(
+            () -> coordinator.bookExclusively(workspaceId, () -> secondRan.getAndSet(true)));
+    Thread.sleep(100);
+    boolean ranWhileFirstHeldTheLock = secondRan.get();
+    releaseFirst.countDown();
+    first.get(10, TimeUnit.SECONDS);
+    second.get(10, TimeUnit.SECONDS);
+
+    // Assert
+    assertFalse(ranWhileFirstHeldTheLock);
+    assertTrue(secondRan.get());
+  }
+
+  @Test
+  void shouldNotBlockBookingsOfWorkspacesOnOtherStripes() throws Exception {
+    // Arrange
+    UUID otherWorkspaceId = UUID.randomUUID();
+    while (coordinator.stripeOf(otherWorkspaceId) == coordinator.stripeOf(workspaceId)) {
+      otherWorkspaceId = UUID.randomUUID();
+    }
+    UUID other = otherWorkspaceId;
+    CountDownLatch firstEntered = new CountDownLatch(1);
+    CountDownLatch releaseFirst = new CountDownLatch(1);
+    Future<?> first =
+        executor.submit(
+            () ->
+                coordinator.bookExclusively(
+                    workspaceId,
+                    () -> {
+                      firstEntered.countDown();
+                      await(releaseFirst);
+                      return null;
+                    }));
+    firstEntered.await(10, TimeUnit.SECONDS);
+
+    // Act
+    String result =
+        executor.submit(() -> coordinator.bookExclusively(other, () -> "booked"))
+            .get(10, TimeUnit.SECONDS);
+
+    // Assert
+    assertEquals("booked", result);
+    releaseFirst.countDown();
+    first.get(10, TimeUnit.SECONDS);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,354 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.schonvoll.cleanspace.application.commands.CreateReservationCommand;
+import de.schonvoll.cleanspace.application.commands.FindEarliestAvailableQuery;
+import de.schonvoll.cleanspace.application.results.AvailableSlotResult;
+import de.schonvoll.cleanspace.application.services.AvailabilityCache;
+import de.schonvoll.cleanspace.application.services.AvailabilityEvaluator;
+import de.schonvoll.cleanspace.application.services.ReservationApplicationService;
+import de.schonvoll.cleanspace.application.services.WorkspaceApplicationService;
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
+import de.schonvoll.cleanspace.domain.entities.User;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.valueobjects.OpeningHours;
+import de.schonvoll.cleanspace.domain.valueobjects.RecurrenceRule;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InMemoryOccupancyLedgerTest {
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 1, 6, 0, 0);
+
+  private InMemoryReservationRepository reservationRepository;
+  private InMemoryReservationSeriesRepository seriesRepository;
+  private InMemoryOccupancyLedger ledger;
+
+  @BeforeEach
+  void setUp() {
+    reservationRepository = new InMemoryReservationRepository();
+    seriesRepository = new InMemoryReservationSeriesRepository();
+    ledger =
+        new InMemoryOccupancyLedger(
+            reservationRepository, seriesRepository, Duration.ofMinutes(15));
+  }
+
+  @Test
+  void shouldLeaveAllBucketsUnchangedWhenOneOfThemIsFull() {
+    // Arrange
+    Workspace workspace = workspace(1);
+    assertTrue(ledger.tryOccupy(workspace, slot(11, 60)));
+
+    // Act
+    boolean occupied = ledger.tryOccupy(workspace, slot(10, 120));
+
+    // Assert
+    assertFalse(occupied);
+    assertTrue(ledger.tryOccupy(workspace, slot(10, 60)));
+    assertTrue(ledger.tryOccupy(workspace, slot(12, 60)));
+  }
+
+  @Test
+  void shouldCountReservationsSavedBeforeTheWorkspaceWasFirstBooked() {
+    // Arrange
+    Workspace workspace = workspace(2);
+    reservationRepository.save(new Reservation(workspace.getId(), UUID.randomUUID(), slot(9, 60)));
+    reservationRepository.save(new Reservation(workspace.getId(), UUID.randomUUID(), slot(9, 30)));
+
+    // Act
+    boolean occupied = ledger.tryOccupy(workspace, slot(9, 15));
+
+    // Assert
+    assertFalse(occupied);
+    TimeSlot afterShorterReservation =
+        new TimeSlot(MONDAY.plusHours(9).plusMinutes(30), Duration.ofMinutes(15));
+    assertTrue(ledger.tryOccupy(workspace, afterShorterReservation));
+  }
+
+  @Test
+  void shouldCountSeriesOccurrencesSavedBeforeTheWorkspaceWasFirstBooked() {
+    // Arrange
+    Workspace workspace = workspace(1);
+    RecurrenceRule daily = new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, null, 5);
+    seriesRepository.save(
+        new ReservationSeries(workspace.getId(), UUID.randomUUID(), slot(9, 60), daily));
+
+    // Act
+    boolean occupied =
+        ledger.tryOccupy(
+            workspace, new TimeSlot(MONDAY.plusDays(4).plusHours(9), Duration.ofMinutes(15)));
+
+    // Assert
+    assertFalse(occupied);
+    assertTrue(
+        ledger.tryOccupy(
+            workspace, new TimeSlot(MONDAY.plusDays(5).plusHours(9), Duration.ofMinutes(15))));
+  }
+
+  @Test
+  void shouldAcceptBackToBackBookingsSharingABucket() {
+    // Arrange
+    Workspace workspace = workspace(1);
+    TimeSlot first = new TimeSlot(MONDAY.plusHours(9), Duration.ofMinutes(10));
+    TimeSlot second = new TimeSlot(first.end(), Duration.ofMinutes(15));
+    assertTrue(ledger.tryOccupy(workspace, first));
+
+    // Act
+    boolean occupied = ledger.tryOccupy(workspace, second);
+
+    // Assert
+    assertTrue(occupied);
+    assertFalse(
+        ledger.tryOccupy(
+            workspace, new TimeSlot(MONDAY.plusHours(9).plusMinutes(5), Duration.ofMinutes(1))));
+    assertFalse(ledger.tryOccupy(workspace, slot(9, 15)));
+  }
+
+  @Test
+  void shouldCountSavedReservationsNotAlignedToBucketsExactly() {
+    // Arrange
+    Workspace workspace = workspace(1);
+    reservationRepository.save(
+        new Reservation(
+            workspace.getId(),
+            UUID.randomUUID(),
+            new TimeSlot(MONDAY.plusHours(9), Duration.ofMinutes(10))));
+    TimeSlot afterIt = new TimeSlot(MONDAY.plusHours(9).plusMinutes(10), Duration.ofMinutes(50));
+
+    // Act
+    boolean occupied = ledger.tryOccupy(workspace, afterIt);
+
+    // Assert
+    assertTrue(occupied);
+    TimeSlot morning = new TimeSlot(MONDAY.plusHours(9), Duration.ofHours(1));
+    assertArrayEquals(
+        new int[] {1, 1},
+        ledger.takenSeats(List.of(workspace.getId()), morning, Duration.ofMinutes(30))
+            .get(workspace.getId()));
+  }
+
+  @Test
+  void shouldFallBackToBucketCountsOnceUnalignedBookingsAreReleased() {
+    // Arrange
+    Workspace workspace = workspace(1);
+    TimeSlot unaligned = new TimeSlot(MONDAY.plusHours(9), Duration.ofMinutes(10));
+    assertTrue(ledger.tryOccupy(workspace, unaligned));
+    ledger.release(workspace.getId(), unaligned);
+
+    // Act
+    boolean occupied = ledger.tryOccupy(workspace, slot(9, 15));
+
+    // Assert
+    assertTrue(occupied);
+    assertFalse(ledger.tryOccupy(workspace, unaligned));
+  }
+
+  @Test
+  void shouldAddSeatsOfAlignedBookingsToTheSweepOfUnalignedOnes() {
+    // Arrange
+    Workspace workspace = workspace(2);
+    assertTrue(ledger.tryOccupy(workspace, slot(9, 60)));
+    assertTrue(
+        ledger.tryOccupy(
+            workspace, new TimeSlot(MONDAY.plusHours(9).plusMinutes(10), Duration.ofMinutes(10))));
+    TimeSlot laterInTheBucket =
+        new TimeSlot(MONDAY.plusHours(9).plusMinutes(20), Duration.ofMinutes(10));
+
+    // Act
+    boolean occupied = ledger.tryOccupy(workspace, laterInTheBucket);
+
+    // Assert
+    assertTrue(occupied);
+    assertFalse(
+        ledger.tryOccupy(
+            workspace, new TimeSlot(MONDAY.plusHours(9).plusMinutes(15), Duration.ofMinutes(1))));
+    assertTrue(
+        ledger.tryOccupy(
+            workspace, new TimeSlot(MONDAY.plusHours(9).plusMinutes(30), Duration.ofMinutes(5))));
+  }
+
+  @Test
+  void shouldBookTheEarliestSlotFoundBySearch() {
+    // Arrange
+    InMemoryWorkspaceRepository workspaceRepository = new InMemoryWorkspaceRepository();
+    InMemoryUserRepository userRepository = new InMemoryUserRepository();
+    Workspace workspace = workspaceRepository.save(workspace(1));
+    User user = userRepository.save(new User("Jane", "Doe", "jane@example.com", "hash"));
+    AvailabilityCache cache = new AvailabilityCache(16);
+    ReservationApplicationService reservations =
+        new ReservationApplicationService(
+            reservationRepository,
+            seriesRepository,
+            workspaceRepository,
+            userRepository,
+            new InMemoryBookingCoordinator(),
+            ledger,
+            cache);
+    WorkspaceApplicationService workspaces =
+        new WorkspaceApplicationService(
+            workspaceRepository,
+            reservationRepository,
+            seriesRepository,
+            ledger,
+            cache,
+            AvailabilityEvaluator.sequential());
+    reservations.create(
+        new CreateReservationCommand(
+            workspace.getName(),
+            user.getEmail(),
+            new TimeSlot(MONDAY.plusHours(9), Duration.ofMinutes(10))));
+    FindEarliestAvailableQuery query =
+        new FindEarliestAvailableQuery(
+            slot(9, 180), null, null, Duration.ofMinutes(15), 1, Optional.empty(), Optional.empty());
+
+    // Act
+    AvailableSlotResult earliest = workspaces.findEarliestAvailable(query).getFirst();
+    Reservation booked =
+        reservations.create(
+            new CreateReservationCommand(
+                earliest.workspace().getName(), user.getEmail(), earliest.timeSlot()));
+
+    // Assert
+    assertEquals(MONDAY.plusHours(9).plusMinutes(10), earliest.timeSlot().start());
+    assertEquals(earliest.timeSlot(), booked.getTimeSlot());
+  }
+
+  @Test
+  void shouldFreeTheSeatWhenReleased() {
+    // Arrange
+    Workspace workspace = workspace(1);
+    ledger.tryOccupy(workspace, slot(9, 60));
+
+    // Act
+    ledger.release(workspace.getId(), slot(9, 60));
+
+    // Assert
+    assertTrue(ledger.tryOccupy(workspace, slot(9, 30)));
+  }
+
+  @Test
+  void shouldNotOccupyMoreSeatsThanCapacityUnderConcurrentBookings() throws Exception {
+    // Arrange
+    Workspace workspace = workspace(3);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Boolean>> bookings = new ArrayList<>();
+
+    // Act
+    for (int i = 0; i < 32; i++) {
+      bookings.add(
+          executor.submit(
+              () -> {
+                start.await();
+                return ledger.tryOccupy(workspace, slot(9, 60));
+              }));
+    }
+    start.countDown();
+    int occupied = 0;
+    for (Future<Boolean> booking : bookings) {
+      occupied += booking.get(10, TimeUnit.SECONDS) ? 1 : 0;
+    }
+    executor.shutdown();
+
+    // Assert
+    assertEquals(3, occupied);
+  }
+
+  @Test
+  void shouldReadTakenSeatsPerBucketFromTheCounters() {
+    // Arrange
+    Workspace workspace = workspace(2);
+    reservationRepository.save(new Reservation(workspace.getId(), UUID.randomUUID(), slot(9, 90)));
+    assertTrue(ledger.tryOccupy(workspace, slot(10, 60)));
+    TimeSlot morning = new TimeSlot(MONDAY.plusHours(8), Duration.ofHours(4));
+
+    // Act
+    int[] takenSeats =
+        ledger.takenSeats(List.of(workspace.getId()), morning, Duration.ofHours(1))
+            .get(workspace.getId());
+
+    // Assert
+    assertArrayEquals(new int[] {0, 1, 2, 0}, takenSeats);
+  }
+
+  @Test
+  void shouldCheckEveryDayOfATimeSlotSpanningMidnight() {
+    // Arrange
+    Workspace workspace = workspace(1);
+    assertTrue(ledger.tryOccupy(workspace, slot(24, 30)));
+
+    // Act
+    boolean occupied = ledger.tryOccupy(workspace, slot(23, 120));
+
+    // Assert
+    assertFalse(occupied);
+    assertTrue(ledger.tryOccupy(workspace, slot(23, 60)));
+    ledger.release(workspace.getId(), slot(24, 30));
+    assertFalse(ledger.tryOccupy(workspace, slot(23, 120)));
+    assertTrue(ledger.tryOccupy(workspace, slot(24, 60)));
+  }
+
+  @Test
+  void shouldReadDroppedDaysFromTheRepositories() {
+    // Arrange
+    Workspace workspace = workspace(1);
+    assertTrue(ledger.tryOccupy(workspace, slot(9, 60)));
+    reservationRepository.save(new Reservation(workspace.getId(), UUID.randomUUID(), slot(9, 60)));
+    assertTrue(ledger.tryOccupy(workspace, slot(33, 60)));
+
+    // Act
+    int evicted = ledger.evictDaysBefore(MONDAY.plusDays(1).plusHours(12));
+
+    // Assert
+    assertEquals(1, evicted);
+    assertFalse(ledger.tryOccupy(workspace, slot(9, 30)));
+    assertTrue(ledger.tryOccupy(workspace, slot(10, 60)));
+    assertFalse(ledger.tryOccupy(workspace, slot(33, 60)));
+    assertArrayEquals(
+        new int[] {1, 0},
+        ledger.takenSeats(List.of(workspace.getId()), slot(9, 120), Duration.ofHours(1))
+            .get(workspace.getId()));
+  }
+
+  @Test
+  void shouldRejectBucketSizeNotDividingADay() {
+    // Act & Assert
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new InMemoryOccupancyLedger(
+                reservationRepository, seriesRepository, Duration.ofMinutes(7)));
+  }
+
+  private static Workspace workspace(int capacity) {
+    return Workspace.builder()
+        .id(UUID.randomUUID())
+        .name("Workspace")
+        .openingHours(new OpeningHours(LocalTime.of(8, 0), LocalTime.of(20, 0)))
+        .capacity(capacity)
+        .properties(List.of())
+        .build();
+  }
+
+  private static TimeSlot slot(int startHour, int minutes) {
+    return new TimeSlot(MONDAY.plusHours(startHour), Duration.ofMinutes(minutes));
+  }
+}
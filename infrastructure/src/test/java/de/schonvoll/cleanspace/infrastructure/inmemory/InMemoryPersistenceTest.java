@@ -0,0 +1,257 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
+import de.schonvoll.cleanspace.domain.entities.User;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.valueobjects.OccurrenceOverride;
+import de.schonvoll.cleanspace.domain.valueobjects.OpeningHours;
+import de.schonvoll.cleanspace.domain.valueobjects.RecurrenceRule;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceProperty;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InMemoryPersistenceTest {
+  private static final OpeningHours OPENING_HOURS =
+      new OpeningHours(LocalTime.of(8, 0), LocalTime.of(18, 0));
+  private static final TimeSlot TIME_SLOT =
+      new TimeSlot(LocalDateTime.of(2025, 1, 6, 9, 0), Duration.ofHours(1));
+
+  @TempDir Path directory;
+
+  private Store store;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    store = Store.open(directory);
+  }
+
+  @Test
+  void shouldRecoverSavesFromJournalAfterCrash() throws IOException {
+    // Arrange
+    User user = store.users.save(new User("John", "Doe", "john@cleanspace.de", "hash"));
+    Workspace workspace =
+        store.workspaces.save(
+            new Workspace(
+                "Quiet", OPENING_HOURS, 4, List.of(new WorkspaceProperty("monitor", "2"))));
+    Reservation reservation =
+        store.reservations.save(new Reservation(workspace.getId(), user.getId(), TIME_SLOT));
+    store.journal.close();
+
+    // Act
+    Store recovered = Store.open(directory);
+
+    // Assert
+    assertEquals("john@cleanspace.de", recovered.users.findById(user.getId()).getEmail());
+    Workspace recoveredWorkspace = recovered.workspaces.findByName("quiet");
+    assertEquals(workspace, recoveredWorkspace);
+    assertEquals(OPENING_HOURS, recoveredWorkspace.getOpeningHours());
+    assertEquals(List.of(new WorkspaceProperty("monitor", "2")), recoveredWorkspace.getProperties());
+    assertEquals(List.of(reservation), recovered.reservations.findByUserId(user.getId()));
+    assertEquals(TIME_SLOT, recovered.reservations.findById(reservation.getId()).getTimeSlot());
+  }
+
+  @Test
+  void shouldLeaveRepositoriesUnchangedWhenTheJournalFails() throws IOException {
+    // Arrange
+    UUID userId = UUID.randomUUID();
+    store.journal.close();
+
+    // Act
+    assertThrows(
+        IllegalStateException.class,
+        () -> store.users.save(new User("John", "Doe", "john@cleanspace.de", "hash")));
+    assertThrows(
+        IllegalStateException.class,
+        () -> store.workspaces.save(new Workspace("Quiet", OPENING_HOURS, 4, List.of())));
+    assertThrows(
+        IllegalStateException.class,
+        () -> store.reservations.save(new Reservation(UUID.randomUUID(), userId, TIME_SLOT)));
+
+    // Assert
+    assertNull(store.users.findByEmail("john@cleanspace.de"));
+    assertNull(store.workspaces.findByName("Quiet"));
+    assertTrue(store.reservations.findByUserId(userId).isEmpty());
+    assertTrue(store.reservations.findConflictingWithTimeslot(TIME_SLOT).isEmpty());
+    store.journal.open(1000);
+    store.users.save(new User("John", "Doe", "john@cleanspace.de", "hash"));
+    store.workspaces.save(new Workspace("Quiet", OPENING_HOURS, 4, List.of()));
+  }
+
+  @Test
+  void shouldRecoverFromSnapshotAndJournalTail() throws IOException {
+    // Arrange
+    User renamed = store.users.save(new User("John", "Doe", "john@cleanspace.de", "hash"));
+    store.persistence.snapshot();
+    renamed.setEmail("johnny@cleanspace.de");
+    store.users.save(renamed);
+    User added = store.users.save(new User("Jane", "Doe", "john@cleanspace.de", "hash"));
+    store.journal.close();
+
+    // Act
+    Store recovered = Store.open(directory);
+
+    // Assert
+    assertEquals(renamed, recovered.users.findByEmail("johnny@cleanspace.de"));
+    assertEquals(added, recovered.users.findByEmail("john@cleanspace.de"));
+    assertEquals(2, recovered.users.findAll().size());
+  }
+
+  @Test
+  void shouldKeepConflictIndexWorkingAfterBulkRestore() throws IOException {
+    // Arrange
+    UUID workspaceId = UUID.randomUUID();
+    List<Reservation> saved = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      TimeSlot timeSlot =
+          new TimeSlot(TIME_SLOT.start().plusMinutes(17L * i), Duration.ofHours(2));
+      saved.add(store.reservations.save(new Reservation(workspaceId, UUID.randomUUID(), timeSlot)));
+    }
+    store.persistence.snapshot();
+    store.journal.close();
+    Store recovered = Store.open(directory);
+    Reservation moved = recovered.reservations.findById(saved.getFirst().getId());
+    moved.setTimeSlot(new TimeSlot(TIME_SLOT.start().plusDays(7), Duration.ofHours(1)));
+    recovered.reservations.save(moved);
+    TimeSlot query = new TimeSlot(TIME_SLOT.start().plusHours(10), Duration.ofMinutes(90));
+
+    // Act
+    List<Reservation> conflicting = recovered.reservations.findConflictingWithTimeslot(query);
+
+    // Assert
+    List<Reservation> expected =
+        recovered.reservations.findByWorkspaceId(workspaceId).stream()
+            .filter(reservation -> reservation.getTimeSlot().conflictsWith(query))
+            .toList();
+    assertEquals(expected, conflicting);
+    assertEquals(200, recovered.reservations.findByWorkspaceId(workspaceId).size());
+    assertEquals(
+        List.of(moved), recovered.reservations.findConflictingWithTimeslot(moved.getTimeSlot()));
+  }
+
+  @Test
+  void shouldKeepSeatsOfSeriesOccurrencesOccupiedAfterRestart() throws IOException {
+    // Arrange
+    Workspace workspace =
+        store.workspaces.save(new Workspace("Single", OPENING_HOURS, 1, List.of()));
+    ReservationSeries series =
+        store.series.save(
+            new ReservationSeries(
+                workspace.getId(),
+                UUID.randomUUID(),
+                TIME_SLOT,
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, null, 5)));
+    store.persistence.snapshot();
+    TimeSlot movedFrom = new TimeSlot(TIME_SLOT.start().plusDays(2), TIME_SLOT.duration());
+    TimeSlot movedTo = new TimeSlot(movedFrom.start().plusHours(4), TIME_SLOT.duration());
+    store.series.saveOverride(
+        series.getId(), OccurrenceOverride.movedTo(movedFrom.start().toLocalDate(), movedTo));
+    store.journal.close();
+
+    // Act
+    Store recovered = Store.open(directory);
+    InMemoryOccupancyLedger ledger =
+        new InMemoryOccupancyLedger(
+            recovered.reservations, recovered.series, Duration.ofMinutes(15));
+
+    // Assert
+    assertEquals(1, recovered.series.findByWorkspaceId(workspace.getId()).size());
+    assertFalse(
+        ledger.tryOccupy(
+            workspace, new TimeSlot(TIME_SLOT.start().plusDays(1), TIME_SLOT.duration())));
+    assertFalse(ledger.tryOccupy(workspace, movedTo));
+    assertTrue(ledger.tryOccupy(workspace, movedFrom));
+  }
+
+  @Test
+  void shouldDropSegmentsCoveredBySnapshot() throws IOException {
+    // Arrange
+    store.users.save(new User("John", "Doe", "john@cleanspace.de", "hash"));
+
+    // Act
+    store.persistence.snapshot();
+
+    // Assert
+    assertEquals(List.of("journal-00000000000000000002.log"), files("journal-"));
+    assertEquals(List.of("snapshot-00000000000000000002.bin"), files("snapshot-"));
+  }
+
+  @Test
+  void shouldStopReplayAtTornRecord() throws IOException {
+    // Arrange
+    User kept = store.users.save(new User("John", "Doe", "john@cleanspace.de", "hash"));
+    User torn = store.users.save(new User("Jane", "Doe", "jane@cleanspace.de", "hash"));
+    store.journal.close();
+    Path segment = InMemoryJournal.segmentPath(directory, 1);
+    int keptRecordBytes = MappedJournalFile.HEADER_BYTES + JournalCodec.encode(kept).length;
+    try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+      file.seek(keptRecordBytes + MappedJournalFile.HEADER_BYTES + 3);
+      file.write(0x7f);
+    }
+
+    // Act
+    Store recovered = Store.open(directory);
+
+    // Assert
+    assertEquals(kept, recovered.users.findByEmail("john@cleanspace.de"));
+    assertNull(recovered.users.findById(torn.getId()));
+  }
+
+  private List<String> files(String prefix) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .map(file -> file.getFileName().toString())
+          .filter(name -> name.startsWith(prefix))
+          .sorted()
+          .toList();
+    }
+  }
+
+  private record Store(
+      InMemoryJournal journal,
+      InMemoryPersistence persistence,
+      InMemoryUserRepository users,
+      InMemoryWorkspaceRepository workspaces,
+      InMemoryReservationRepository reservations,
+      InMemoryReservationSeriesRepository series) {
+
+    private static Store open(Path directory) throws IOException {
+      InMemoryJournal journal =
+          new InMemoryJournal(
+              new JournalProperties(
+                  true,
+                  directory,
+                  FsyncPolicy.OS,
+                  Duration.ofMillis(100),
+                  Duration.ofDays(1),
+                  1 << 12));
+      InMemoryUserRepository users = new InMemoryUserRepository(journal);
+      InMemoryWorkspaceRepository workspaces = new InMemoryWorkspaceRepository(journal);
+      InMemoryReservationRepository reservations = new InMemoryReservationRepository(journal);
+      InMemoryReservationSeriesRepository series = new InMemoryReservationSeriesRepository(journal);
+      InMemoryPersistence persistence =
+          new InMemoryPersistence(journal, users, workspaces, reservations, series);
+      persistence.recover();
+      return new Store(journal, persistence, users, workspaces, reservations, series);
+    }
+  }
+}
@@ -0,0 +1,166 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.entities.User;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.valueobjects.OpeningHours;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InMemoryRepositoryConcurrencyTest {
+  private static final int WRITERS = 64;
+  private static final int WRITES_PER_WRITER = 500;
+  private static final LocalDateTime DAY = LocalDateTime.of(2025, 1, 6, 0, 0);
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newFixedThreadPool(WRITERS + 1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldNotLoseReservationWritesUnderConcurrentWriters() throws Exception {
+    // Arrange
+    InMemoryReservationRepository repository = new InMemoryReservationRepository();
+    TimeSlot timeSlot = new TimeSlot(DAY.plusHours(9), Duration.ofHours(1));
+
+    // Act
+    runConcurrently(
+        writer ->
+            repository.save(new Reservation(UUID.randomUUID(), UUID.randomUUID(), timeSlot)),
+        () -> repository.findConflictingWithTimeslot(timeSlot).size() + repository.findAll().size());
+
+    // Assert
+    int expected = WRITERS * WRITES_PER_WRITER;
+    assertEquals(expected, repository.findAll().size());
+    assertEquals(expected, repository.findConflictingWithTimeslot(timeSlot).size());
+  }
+
+  @Test
+  void shouldKeepConflictIndexConsistentWhenSameReservationIsUpdatedConcurrently()
+      throws Exception {
+    // Arrange
+    InMemoryReservationRepository repository = new InMemoryReservationRepository();
+    Reservation stored =
+        repository.save(
+            new Reservation(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                new TimeSlot(DAY.plusHours(9), Duration.ofHours(1))));
+
+    // Act
+    runConcurrently(
+        writer -> {
+          TimeSlot moved = new TimeSlot(DAY.plusDays(writer), Duration.ofHours(1));
+          repository.save(
+              new Reservation(stored.getId(), stored.getWorkspaceId(), stored.getUserId(), moved));
+        },
+        () -> repository.findAll().size());
+
+    // Assert
+    TimeSlot finalSlot = repository.findById(stored.getId()).getTimeSlot();
+    TimeSlot everyDay = new TimeSlot(DAY, Duration.ofDays(WRITERS + 1));
+    assertEquals(1, repository.findConflictingWithTimeslot(everyDay).size());
+    assertEquals(1, repository.findConflictingWithTimeslot(finalSlot).size());
+  }
+
+  @Test
+  void shouldNotLoseUserWritesUnderConcurrentWriters() throws Exception {
+    // Arrange
+    InMemoryUserRepository repository = new InMemoryUserRepository();
+
+    // Act
+    runConcurrently(
+        writer ->
+            repository.save(
+                new User("First", "Last", UUID.randomUUID() + "@cleanspace.de", "hash")),
+        () -> repository.findAll().size());
+
+    // Assert
+    assertEquals(WRITERS * WRITES_PER_WRITER, repository.findAll().size());
+  }
+
+  @Test
+  void shouldNotLoseWorkspaceWritesUnderConcurrentWriters() throws Exception {
+    // Arrange
+    InMemoryWorkspaceRepository repository = new InMemoryWorkspaceRepository();
+    OpeningHours openingHours = new OpeningHours(LocalTime.of(8, 0), LocalTime.of(18, 0));
+
+    // Act
+    runConcurrently(
+        writer ->
+            repository.save(new Workspace(UUID.randomUUID().toString(), openingHours, 1, List.of())),
+        () -> repository.findAll().size());
+
+    // Assert
+    assertEquals(WRITERS * WRITES_PER_WRITER, repository.findAll().size());
+  }
+
+  private void runConcurrently(Writer writer, Reader reader) throws Exception {
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicBoolean writing = new AtomicBoolean(true);
+    List<Future<?>> writers = new ArrayList<>();
+    for (int i = 0; i < WRITERS; i++) {
+      int writerIndex = i;
+      writers.add(
+          executor.submit(
+              () -> {
+                start.await();
+                for (int write = 0; write < WRITES_PER_WRITER; write++) {
+                  writer.write(writerIndex);
+                }
+                return null;
+              }));
+    }
+    Future<?> scanning =
+        executor.submit(
+            () -> {
+              start.await();
+              while (writing.get()) {
+                reader.read();
+              }
+              return null;
+            });
+
+    start.countDown();
+    for (Future<?> future : writers) {
+      future.get(30, TimeUnit.SECONDS);
+    }
+    writing.set(false);
+    scanning.get(30, TimeUnit.SECONDS);
+    assertTrue(writers.stream().allMatch(Future::isDone));
+  }
+
+  @FunctionalInterface
+  private interface Writer {
+    void write(int writerIndex);
+  }
+
+  @FunctionalInterface
+  private interface Reader {
+    int read();
+  }
+}
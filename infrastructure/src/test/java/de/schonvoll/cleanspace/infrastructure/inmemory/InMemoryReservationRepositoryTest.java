@@ -0,0 +1,283 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.valueobjects.ReservationCursor;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InMemoryReservationRepositoryTest {
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 1, 6, 0, 0);
+  private static final UUID USER_ID = UUID.randomUUID();
+  private static final UUID WORKSPACE_ID = UUID.randomUUID();
+
+  private InMemoryReservationRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    repository = new InMemoryReservationRepository();
+  }
+
+  @Test
+  void shouldReturnUserReservationsOrderedByStart() {
+    // Arrange
+    Reservation late = repository.save(reservation(USER_ID, WORKSPACE_ID, 15));
+    Reservation early = repository.save(reservation(USER_ID, WORKSPACE_ID, 9));
+    Reservation noon = repository.save(reservation(USER_ID, UUID.randomUUID(), 12));
+    repository.save(reservation(UUID.randomUUID(), WORKSPACE_ID, 10));
+
+    // Act
+    List<Reservation> found = repository.findByUserId(USER_ID);
+
+    // Assert
+    assertEquals(List.of(early, noon, late), found);
+  }
+
+  @Test
+  void shouldMoveReservationBetweenWorkspacesWhenReassignedViaSetter() {
+    // Arrange
+    UUID otherWorkspaceId = UUID.randomUUID();
+    Reservation saved = repository.save(reservation(USER_ID, WORKSPACE_ID, 9));
+    saved.setWorkspaceId(otherWorkspaceId);
+
+    // Act
+    repository.save(saved);
+
+    // Assert
+    assertTrue(repository.findByWorkspaceId(WORKSPACE_ID).isEmpty());
+    assertEquals(List.of(saved), repository.findByWorkspaceId(otherWorkspaceId));
+  }
+
+  @Test
+  void shouldMoveReservationBetweenUsersWhenReassignedViaSetter() {
+    // Arrange
+    UUID otherUserId = UUID.randomUUID();
+    Reservation saved = repository.save(reservation(USER_ID, WORKSPACE_ID, 9));
+    saved.setUserId(otherUserId);
+
+    // Act
+    repository.save(saved);
+
+    // Assert
+    assertTrue(repository.findByUserId(USER_ID).isEmpty());
+    assertEquals(List.of(saved), repository.findByUserId(otherUserId));
+  }
+
+  @Test
+  void shouldReorderAndReindexReservationWhenTimeSlotChanges() {
+    // Arrange
+    Reservation first = repository.save(reservation(USER_ID, WORKSPACE_ID, 9));
+    Reservation second = repository.save(reservation(USER_ID, WORKSPACE_ID, 11));
+    TimeSlot oldSlot = first.getTimeSlot();
+    first.setTimeSlot(new TimeSlot(MONDAY.plusHours(14), Duration.ofHours(1)));
+
+    // Act
+    repository.save(first);
+
+    // Assert
+    assertEquals(List.of(second, first), repository.findByWorkspaceId(WORKSPACE_ID));
+    assertTrue(repository.findConflictingWithTimeslot(oldSlot).isEmpty());
+    assertEquals(List.of(first), repository.findConflictingWithTimeslot(first.getTimeSlot()));
+  }
+
+  @Test
+  void shouldFindOnlyOverlappingReservationsAsConflicts() {
+    // Arrange
+    repository.save(reservation(USER_ID, WORKSPACE_ID, 8));
+    Reservation overlapping = repository.save(reservation(USER_ID, WORKSPACE_ID, 9));
+    repository.save(reservation(USER_ID, WORKSPACE_ID, 10));
+    TimeSlot query = new TimeSlot(MONDAY.plusHours(9).plusMinutes(30), Duration.ofMinutes(30));
+
+    // Act
+    List<Reservation> conflicting = repository.findConflictingWithTimeslot(query);
+
+    // Assert
+    assertEquals(List.of(overlapping), conflicting);
+  }
+
+  @Test
+  void shouldFindWorkspaceConflictsStartingLongBeforeTheTimeSlot() {
+    // Arrange
+    Reservation allDay =
+        repository.save(
+            new Reservation(WORKSPACE_ID, USER_ID, new TimeSlot(MONDAY, Duration.ofHours(24))));
+    Reservation overlapping = repository.save(reservation(UUID.randomUUID(), WORKSPACE_ID, 14));
+    repository.save(reservation(UUID.randomUUID(), WORKSPACE_ID, 16));
+    repository.save(reservation(UUID.randomUUID(), UUID.randomUUID(), 14));
+    TimeSlot query = new TimeSlot(MONDAY.plusHours(14).plusMinutes(30), Duration.ofHours(1));
+
+    // Act
+    List<Reservation> conflicting = repository.findConflictingInWorkspace(WORKSPACE_ID, query);
+
+    // Assert
+    assertEquals(List.of(allDay, overlapping), conflicting);
+    assertEquals(2, repository.countConflictingInWorkspace(WORKSPACE_ID, query));
+    assertTrue(repository.existsConflictingForUser(USER_ID, query));
+  }
+
+  @Test
+  void shouldFindArchivedReservationsInWorkspaceAndUserConflicts() {
+    // Arrange
+    Reservation ended = repository.save(reservation(USER_ID, WORKSPACE_ID, 9));
+    repository.archiveEndedBefore(MONDAY.plusHours(12));
+
+    // Act
+    long count = repository.countConflictingInWorkspace(WORKSPACE_ID, ended.getTimeSlot());
+
+    // Assert
+    assertEquals(1, count);
+    assertTrue(repository.existsConflictingForUser(USER_ID, ended.getTimeSlot()));
+    assertTrue(
+        repository.findConflictingInWorkspace(UUID.randomUUID(), ended.getTimeSlot()).isEmpty());
+  }
+
+  @Test
+  void shouldFindUserConflictsAcrossArchiveAndHotTier() {
+    // Arrange
+    repository.save(reservation(USER_ID, WORKSPACE_ID, 7));
+    Reservation ended = repository.save(reservation(USER_ID, WORKSPACE_ID, 9));
+    Reservation upcoming = repository.save(reservation(USER_ID, UUID.randomUUID(), 14));
+    repository.save(reservation(USER_ID, WORKSPACE_ID, 18));
+    repository.save(reservation(UUID.randomUUID(), WORKSPACE_ID, 10));
+    repository.archiveEndedBefore(MONDAY.plusHours(12));
+    TimeSlot query = new TimeSlot(MONDAY.plusHours(9), Duration.ofHours(6));
+
+    // Act
+    List<Reservation> conflicting = repository.findConflictingForUser(USER_ID, query);
+
+    // Assert
+    assertEquals(List.of(ended, upcoming), conflicting);
+  }
+
+  @Test
+  void shouldStillFindArchivedReservationsByIdUserAndWorkspace() {
+    // Arrange
+    Reservation late = repository.save(reservation(USER_ID, WORKSPACE_ID, 15));
+    Reservation early = repository.save(reservation(USER_ID, WORKSPACE_ID, 9));
+    Reservation noon = repository.save(reservation(USER_ID, WORKSPACE_ID, 11));
+
+    // Act
+    int archived = repository.archiveEndedBefore(MONDAY.plusHours(12));
+
+    // Assert
+    assertEquals(2, archived);
+    assertEquals(List.of(early, noon, late), repository.findByUserId(USER_ID));
+    assertEquals(List.of(early, noon, late), repository.findByWorkspaceId(WORKSPACE_ID));
+    assertEquals(early.getTimeSlot(), repository.findById(early.getId()).getTimeSlot());
+    assertEquals(3, repository.findAll().size());
+  }
+
+  @Test
+  void shouldPageUserReservationsAcrossArchiveAndHotTier() {
+    // Arrange
+    Reservation late = repository.save(reservation(USER_ID, WORKSPACE_ID, 15));
+    Reservation early = repository.save(reservation(USER_ID, WORKSPACE_ID, 9));
+    Reservation noon = repository.save(reservation(USER_ID, UUID.randomUUID(), 11));
+    Reservation evening = repository.save(reservation(USER_ID, WORKSPACE_ID, 18));
+    repository.save(reservation(UUID.randomUUID(), WORKSPACE_ID, 10));
+    repository.archiveEndedBefore(MONDAY.plusHours(12));
+
+    // Act
+    List<Reservation> first = repository.findByUserIdAfter(USER_ID, null, 3);
+    List<Reservation> second =
+        repository.findByUserIdAfter(USER_ID, ReservationCursor.of(first.get(2)), 3);
+
+    // Assert
+    assertEquals(List.of(early, noon, late), first);
+    assertEquals(List.of(evening), second);
+  }
+
+  @Test
+  void shouldPageThroughArchivedReservationsMovedBeforeTheyWereArchivedAgain() {
+    // Arrange
+    Reservation seven = repository.save(reservation(USER_ID, WORKSPACE_ID, 7));
+    Reservation one = repository.save(reservation(USER_ID, WORKSPACE_ID, 1));
+    Reservation moved = repository.save(reservation(USER_ID, WORKSPACE_ID, 5));
+    Reservation three = repository.save(reservation(USER_ID, WORKSPACE_ID, 3));
+    Reservation handedOver = repository.save(reservation(USER_ID, WORKSPACE_ID, 4));
+    repository.archiveEndedBefore(MONDAY.plusHours(10));
+    TimeSlot earlier = new TimeSlot(MONDAY.plusHours(2), Duration.ofHours(1));
+    moved = repository.save(new Reservation(moved.getId(), WORKSPACE_ID, USER_ID, earlier));
+    repository.save(
+        new Reservation(
+            handedOver.getId(), WORKSPACE_ID, UUID.randomUUID(), handedOver.getTimeSlot()));
+    repository.archiveEndedBefore(MONDAY.plusHours(10));
+    Reservation upcoming = repository.save(reservation(USER_ID, WORKSPACE_ID, 15));
+
+    // Act
+    List<Reservation> first = repository.findByUserIdAfter(USER_ID, null, 2);
+    List<Reservation> second =
+        repository.findByUserIdAfter(USER_ID, ReservationCursor.of(first.get(1)), 2);
+    List<Reservation> third =
+        repository.findByUserIdAfter(USER_ID, ReservationCursor.of(second.get(1)), 2);
+
+    // Assert
+    assertEquals(List.of(one, moved), first);
+    assertEquals(List.of(three, seven), second);
+    assertEquals(List.of(upcoming), third);
+  }
+
+  @Test
+  void shouldFindArchivedConflictsOnlyForTimeSlotsReachingIntoThePast() {
+    // Arrange
+    Reservation ended = repository.save(reservation(USER_ID, WORKSPACE_ID, 9));
+    Reservation upcoming = repository.save(reservation(USER_ID, WORKSPACE_ID, 15));
+    repository.archiveEndedBefore(MONDAY.plusHours(12));
+
+    // Act
+    List<Reservation> pastConflicts = repository.findConflictingWithTimeslot(ended.getTimeSlot());
+    List<Reservation> upcomingConflicts =
+        repository.findConflictingWithTimeslot(upcoming.getTimeSlot());
+
+    // Assert
+    assertEquals(List.of(ended), pastConflicts);
+    assertEquals(List.of(upcoming), upcomingConflicts);
+  }
+
+  @Test
+  void shouldReplaceArchivedReservationWhenItIsSavedAgain() {
+    // Arrange
+    Reservation ended = repository.save(reservation(USER_ID, WORKSPACE_ID, 9));
+    repository.archiveEndedBefore(MONDAY.plusHours(12));
+    TimeSlot moved = new TimeSlot(MONDAY.plusHours(16), Duration.ofHours(1));
+
+    // Act
+    repository.save(new Reservation(ended.getId(), WORKSPACE_ID, USER_ID, moved));
+
+    // Assert
+    assertEquals(moved, repository.findById(ended.getId()).getTimeSlot());
+    assertEquals(1, repository.findByUserId(USER_ID).size());
+    assertTrue(repository.findConflictingWithTimeslot(ended.getTimeSlot()).isEmpty());
+    assertEquals(1, repository.findAll().size());
+  }
+
+  @Test
+  void shouldKeepReservationsInHotTierUntilTheyEndInWholeMinutes() {
+    // Arrange
+    repository.save(reservation(USER_ID, WORKSPACE_ID, 12));
+    repository.save(
+        new Reservation(
+            WORKSPACE_ID,
+            USER_ID,
+            new TimeSlot(MONDAY.plusHours(8).plusSeconds(30), Duration.ofHours(1))));
+
+    // Act
+    int archived = repository.archiveEndedBefore(MONDAY.plusHours(12));
+
+    // Assert
+    assertEquals(0, archived);
+    assertEquals(2, repository.findByUserId(USER_ID).size());
+  }
+
+  private static Reservation reservation(UUID userId, UUID workspaceId, int startHour) {
+    return new Reservation(
+        workspaceId, userId, new TimeSlot(MONDAY.plusHours(startHour), Duration.ofHours(1)));
+  }
+}
@@ -0,0 +1,117 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
+import de.schonvoll.cleanspace.domain.valueobjects.OccurrenceOverride;
+import de.schonvoll.cleanspace.domain.valueobjects.RecurrenceRule;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InMemoryReservationSeriesRepositoryTest {
+  private static final LocalDateTime MONDAY_NINE = LocalDateTime.of(2025, 1, 6, 9, 0);
+  private static final RecurrenceRule TEN_DAYS =
+      new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, null, 10);
+
+  private InMemoryReservationSeriesRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    repository = new InMemoryReservationSeriesRepository();
+  }
+
+  @Test
+  void shouldAssignIdWhenSavingNewSeries() {
+    // Arrange
+    ReservationSeries series = series(UUID.randomUUID());
+
+    // Act
+    ReservationSeries saved = repository.save(series);
+
+    // Assert
+    assertNotNull(saved.getId());
+    assertEquals(saved, repository.findById(saved.getId()));
+  }
+
+  @Test
+  void shouldFindSeriesWhoseSpanOverlapsTheTimeSlot() {
+    // Arrange
+    UUID workspaceId = UUID.randomUUID();
+    ReservationSeries saved = repository.save(series(workspaceId));
+    TimeSlot lastDay = new TimeSlot(MONDAY_NINE.plusDays(9), Duration.ofHours(1));
+    TimeSlot dayAfter = new TimeSlot(MONDAY_NINE.plusDays(10), Duration.ofHours(1));
+
+    // Act
+    List<ReservationSeries> onLastDay = repository.findOverlappingInWorkspace(workspaceId, lastDay);
+    List<ReservationSeries> onDayAfter = repository.findOverlapping(dayAfter);
+
+    // Assert
+    assertEquals(List.of(saved), onLastDay);
+    assertTrue(onDayAfter.isEmpty());
+  }
+
+  @Test
+  void shouldFindOnlyTheUsersSeriesOverlappingTheTimeSlot() {
+    // Arrange
+    ReservationSeries saved = repository.save(series(UUID.randomUUID()));
+    repository.save(
+        new ReservationSeries(
+            UUID.randomUUID(),
+            UUID.randomUUID(),
+            new TimeSlot(MONDAY_NINE, Duration.ofHours(1)),
+            TEN_DAYS));
+    TimeSlot lastDay = new TimeSlot(MONDAY_NINE.plusDays(9), Duration.ofHours(1));
+    TimeSlot dayAfter = new TimeSlot(MONDAY_NINE.plusDays(10), Duration.ofHours(1));
+
+    // Act
+    List<ReservationSeries> onLastDay =
+        repository.findOverlappingForUser(saved.getUserId(), lastDay);
+
+    // Assert
+    assertEquals(List.of(saved), onLastDay);
+    assertTrue(repository.findOverlappingForUser(saved.getUserId(), dayAfter).isEmpty());
+  }
+
+  @Test
+  void shouldFindMovedOccurrenceOutsideTheScheduledSpan() {
+    // Arrange
+    ReservationSeries saved = repository.save(series(UUID.randomUUID()));
+    TimeSlot movedTo = new TimeSlot(MONDAY_NINE.plusDays(12), Duration.ofHours(1));
+
+    // Act
+    repository.saveOverride(
+        saved.getId(), OccurrenceOverride.movedTo(MONDAY_NINE.toLocalDate().plusDays(9), movedTo));
+
+    // Assert
+    assertEquals(List.of(saved), repository.findOverlapping(movedTo));
+    assertEquals(1, repository.findById(saved.getId()).occurrencesWithin(movedTo).size());
+  }
+
+  @Test
+  void shouldRejectOverrideOfUnscheduledOccurrence() {
+    // Arrange
+    ReservationSeries saved = repository.save(series(UUID.randomUUID()));
+
+    // Act
+    // Assert
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            repository.saveOverride(
+                saved.getId(),
+                OccurrenceOverride.cancelled(MONDAY_NINE.toLocalDate().plusDays(10))));
+  }
+
+  private static ReservationSeries series(UUID workspaceId) {
+    return new ReservationSeries(
+        workspaceId, UUID.randomUUID(), new TimeSlot(MONDAY_NINE, Duration.ofHours(1)), TEN_DAYS);
+  }
+}
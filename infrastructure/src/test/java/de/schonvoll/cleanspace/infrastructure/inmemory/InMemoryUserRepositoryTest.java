@@ -0,0 +1,102 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.schonvoll.cleanspace.domain.entities.User;
+import de.schonvoll.cleanspace.domain.exceptions.DuplicateUserException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InMemoryUserRepositoryTest {
+  private static final String EMAIL = "john.doe@example.com";
+
+  private InMemoryUserRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    repository = new InMemoryUserRepository();
+  }
+
+  @Test
+  void shouldFindUserByEmailIgnoringCase() {
+    // Arrange
+    User saved = repository.save(new User("John", "Doe", EMAIL, "hash"));
+
+    // Act
+    User found = repository.findByEmail("John.Doe@Example.COM");
+
+    // Assert
+    assertEquals(saved, found);
+  }
+
+  @Test
+  void shouldReindexEmailWhenExistingUserChangesEmail() {
+    // Arrange
+    User saved = repository.save(new User("John", "Doe", EMAIL, "hash"));
+    saved.setEmail("john@cleanspace.de");
+
+    // Act
+    repository.save(saved);
+
+    // Assert
+    assertNull(repository.findByEmail(EMAIL));
+    assertEquals(saved, repository.findByEmail("JOHN@cleanspace.de"));
+  }
+
+  @Test
+  void shouldThrowWhenEmailIsAlreadyTakenByAnotherUser() {
+    // Arrange
+    User first = repository.save(new User("John", "Doe", EMAIL, "hash"));
+
+    // Act & Assert
+    assertThrows(
+        DuplicateUserException.class,
+        () -> repository.save(new User("Jane", "Doe", EMAIL.toUpperCase(), "hash")));
+    assertEquals(first, repository.findByEmail(EMAIL));
+    assertEquals(1, repository.findAll().size());
+  }
+
+  @Test
+  void shouldAcceptOnlyOneOfManyConcurrentUsersWithSameEmail() throws Exception {
+    // Arrange
+    int writers = 64;
+    ExecutorService executor = Executors.newFixedThreadPool(writers);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Boolean>> results = new ArrayList<>();
+    Callable<Boolean> saveUser =
+        () -> {
+          start.await();
+          try {
+            repository.save(new User("John", "Doe", EMAIL, "hash"));
+            return true;
+          } catch (DuplicateUserException e) {
+            return false;
+          }
+        };
+
+    // Act
+    for (int i = 0; i < writers; i++) {
+      results.add(executor.submit(saveUser));
+    }
+    start.countDown();
+    int saved = 0;
+    for (Future<Boolean> result : results) {
+      saved += result.get(30, TimeUnit.SECONDS) ? 1 : 0;
+    }
+    executor.shutdownNow();
+
+    // Assert
+    assertEquals(1, saved);
+    assertEquals(1, repository.findAll().size());
+  }
+}
@@ -0,0 +1,137 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.domain.exceptions.DuplicateWorkspaceException;
+import de.schonvoll.cleanspace.domain.valueobjects.OpeningHours;
+import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceCatalog;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InMemoryWorkspaceRepositoryTest {
+  private static final String NAME = "The Quiet Corner";
+  private static final OpeningHours OPENING_HOURS =
+      new OpeningHours(LocalTime.of(8, 0), LocalTime.of(18, 0));
+
+  private InMemoryWorkspaceRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    repository = new InMemoryWorkspaceRepository();
+  }
+
+  @Test
+  void shouldFindWorkspaceByNameIgnoringCase() {
+    // Arrange
+    Workspace saved = repository.save(new Workspace(NAME, OPENING_HOURS, 4, List.of()));
+
+    // Act
+    Workspace found = repository.findByName("the quiet CORNER");
+
+    // Assert
+    assertEquals(saved, found);
+  }
+
+  @Test
+  void shouldReindexNameWhenWorkspaceIsRenamed() {
+    // Arrange
+    Workspace saved = repository.save(new Workspace(NAME, OPENING_HOURS, 4, List.of()));
+    saved.setName("The Loud Corner");
+
+    // Act
+    repository.save(saved);
+
+    // Assert
+    assertNull(repository.findByName(NAME));
+    assertEquals(saved, repository.findByName("The Loud Corner"));
+  }
+
+  @Test
+  void shouldThrowWhenNameIsAlreadyTakenByAnotherWorkspace() {
+    // Arrange
+    Workspace first = repository.save(new Workspace(NAME, OPENING_HOURS, 4, List.of()));
+    Workspace second = repository.save(new Workspace("Other", OPENING_HOURS, 4, List.of()));
+    second.setName(NAME.toUpperCase());
+
+    // Act & Assert
+    assertThrows(DuplicateWorkspaceException.class, () -> repository.save(second));
+    assertEquals(first, repository.findByName(NAME));
+    assertEquals(second, repository.findByName("Other"));
+  }
+
+  @Test
+  void shouldPublishNewCatalogVersionWithoutChangingEarlierCatalogs() {
+    // Arrange
+    Workspace first = repository.save(new Workspace(NAME, OPENING_HOURS, 4, List.of()));
+    WorkspaceCatalog before = repository.findCatalog();
+    Workspace renamed =
+        Workspace.builder()
+            .id(first.getId())
+            .name("The Loud Corner")
+            .openingHours(OPENING_HOURS)
+            .capacity(6)
+            .properties(List.of())
+            .build();
+
+    // Act
+    repository.save(renamed);
+    Workspace second = repository.save(new Workspace("Other", OPENING_HOURS, 2, List.of()));
+    assertThrows(
+        DuplicateWorkspaceException.class,
+        () -> repository.save(new Workspace("other", OPENING_HOURS, 2, List.of())));
+    WorkspaceCatalog after = repository.findCatalog();
+
+    // Assert
+    assertEquals(List.of(first), before.workspaces());
+    assertEquals(before.version() + 2, after.version());
+    assertEquals(List.of(renamed, second), after.workspaces());
+    assertSame(after.workspaces(), repository.findAll());
+  }
+
+  @Test
+  void shouldAcceptOnlyOneOfManyConcurrentWorkspacesWithSameName() throws Exception {
+    // Arrange
+    int writers = 64;
+    ExecutorService executor = Executors.newFixedThreadPool(writers);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Boolean>> results = new ArrayList<>();
+    Callable<Boolean> saveWorkspace =
+        () -> {
+          start.await();
+          try {
+            repository.save(new Workspace(NAME, OPENING_HOURS, 4, List.of()));
+            return true;
+          } catch (DuplicateWorkspaceException e) {
+            return false;
+          }
+        };
+
+    // Act
+    for (int i = 0; i < writers; i++) {
+      results.add(executor.submit(saveWorkspace));
+    }
+    start.countDown();
+    int saved = 0;
+    for (Future<Boolean> result : results) {
+      saved += result.get(30, TimeUnit.SECONDS) ? 1 : 0;
+    }
+    executor.shutdownNow();
+
+    // Assert
+    assertEquals(1, saved);
+    assertEquals(1, repository.findAll().size());
+  }
+}
@@ -0,0 +1,35 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedJournalFileTest {
+  private static final byte TYPE = 1;
+
+  @TempDir Path directory;
+
+  @Test
+  void shouldForceCapturedRegionAfterTheSegmentGrewAndClosed() throws IOException {
+    // Arrange
+    Path path = directory.resolve("journal.log");
+    MappedJournalFile segment = MappedJournalFile.create(path, 64);
+    assertTrue(segment.append(TYPE, new byte[16]));
+    MappedJournalFile.Appended appended = segment.appended();
+    for (int i = 0; i < 100; i++) {
+      assertTrue(segment.append(TYPE, new byte[16]));
+    }
+    segment.close();
+
+    // Act
+    appended.force();
+
+    // Assert
+    assertEquals(MappedJournalFile.HEADER_BYTES + 16, appended.length());
+    assertEquals(101, MappedJournalFile.replay(path, (type, payload) -> {}));
+  }
+}
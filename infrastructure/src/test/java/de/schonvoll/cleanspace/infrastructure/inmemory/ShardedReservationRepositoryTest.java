@@ -0,0 +1,196 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.schonvoll.cleanspace.domain.entities.Reservation;
+import de.schonvoll.cleanspace.domain.valueobjects.ReservationCursor;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ShardedReservationRepositoryTest {
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 1, 6, 0, 0);
+  private static final UUID USER_ID = UUID.randomUUID();
+
+  private ShardedReservationRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    repository = new ShardedReservationRepository(InMemoryJournal.disabled(), 4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    repository.close();
+  }
+
+  @Test
+  void shouldMergeUserReservationsFromAllShardsOrderedByStart() {
+    // Arrange
+    List<Reservation> saved = new ArrayList<>();
+    for (int hour = 16; hour >= 8; hour--) {
+      saved.add(0, repository.save(reservation(UUID.randomUUID(), hour)));
+    }
+
+    // Act
+    List<Reservation> found = repository.findByUserId(USER_ID);
+
+    // Assert
+    assertEquals(saved, found);
+    assertEquals(saved.size(), repository.findAll().size());
+  }
+
+  @Test
+  void shouldPageUserReservationsAcrossAllShards() {
+    // Arrange
+    for (int hour = 16; hour >= 8; hour--) {
+      repository.save(reservation(UUID.randomUUID(), hour));
+      repository.save(reservation(UUID.randomUUID(), hour));
+    }
+    List<Reservation> all = repository.findByUserId(USER_ID);
+
+    // Act
+    List<Reservation> paged = new ArrayList<>();
+    ReservationCursor after = null;
+    List<Reservation> page;
+    do {
+      page = repository.findByUserIdAfter(USER_ID, after, 4);
+      paged.addAll(page);
+      after = page.isEmpty() ? after : ReservationCursor.of(page.getLast());
+    } while (page.size() == 4);
+
+    // Assert
+    assertEquals(all, paged);
+  }
+
+  @Test
+  void shouldMoveReservationToOtherShardWhenWorkspaceChanges() {
+    // Arrange
+    UUID workspaceId = UUID.randomUUID();
+    UUID otherWorkspaceId = UUID.randomUUID();
+    while (Math.floorMod(otherWorkspaceId.hashCode(), 4)
+        == Math.floorMod(workspaceId.hashCode(), 4)) {
+      otherWorkspaceId = UUID.randomUUID();
+    }
+    Reservation saved = repository.save(reservation(workspaceId, 9));
+    saved.setWorkspaceId(otherWorkspaceId);
+
+    // Act
+    repository.save(saved);
+
+    // Assert
+    assertTrue(repository.findByWorkspaceId(workspaceId).isEmpty());
+    assertEquals(List.of(saved), repository.findByWorkspaceId(otherWorkspaceId));
+    assertEquals(List.of(saved), repository.findConflictingWithTimeslot(saved.getTimeSlot()));
+    assertEquals(1, repository.findAll().size());
+  }
+
+  @Test
+  void shouldFindConflictsAcrossAllShards() {
+    // Arrange
+    Reservation first = repository.save(reservation(UUID.randomUUID(), 9));
+    Reservation second = repository.save(reservation(UUID.randomUUID(), 9));
+    repository.save(reservation(UUID.randomUUID(), 11));
+    TimeSlot query = new TimeSlot(MONDAY.plusHours(9).plusMinutes(30), Duration.ofMinutes(30));
+
+    // Act
+    List<Reservation> conflicting = repository.findConflictingWithTimeslot(query);
+
+    // Assert
+    assertEquals(2, conflicting.size());
+    assertTrue(conflicting.containsAll(List.of(first, second)));
+  }
+
+  @Test
+  void shouldScopeWorkspaceConflictsToOneWorkspaceAndUserConflictsToAllShards() {
+    // Arrange
+    UUID workspaceId = UUID.randomUUID();
+    Reservation inWorkspace = repository.save(reservation(workspaceId, 9));
+    repository.save(reservation(UUID.randomUUID(), 9));
+    TimeSlot query = new TimeSlot(MONDAY.plusHours(9).plusMinutes(30), Duration.ofMinutes(30));
+
+    // Act
+    List<Reservation> conflicting = repository.findConflictingInWorkspace(workspaceId, query);
+
+    // Assert
+    assertEquals(List.of(inWorkspace), conflicting);
+    assertEquals(1, repository.countConflictingInWorkspace(workspaceId, query));
+    assertTrue(repository.existsConflictingForUser(USER_ID, query));
+    assertFalse(repository.existsConflictingForUser(UUID.randomUUID(), query));
+    assertEquals(2, repository.findConflictingForUser(USER_ID, query).size());
+  }
+
+  @Test
+  void shouldNotLoseWritesOfConcurrentWritersAcrossWorkspaces() throws Exception {
+    // Arrange
+    int writers = 16;
+    int writesPerWriter = 500;
+    ExecutorService executor = Executors.newFixedThreadPool(writers);
+    List<Future<?>> results = new ArrayList<>();
+
+    // Act
+    for (int writer = 0; writer < writers; writer++) {
+      results.add(
+          executor.submit(
+              () -> {
+                for (int write = 0; write < writesPerWriter; write++) {
+                  repository.save(reservation(UUID.randomUUID(), 9));
+                }
+              }));
+    }
+    for (Future<?> result : results) {
+      result.get(30, TimeUnit.SECONDS);
+    }
+    executor.shutdownNow();
+
+    // Assert
+    int expected = writers * writesPerWriter;
+    assertEquals(expected, repository.findAll().size());
+    assertEquals(expected, repository.findByUserId(USER_ID).size());
+    assertEquals(
+        expected,
+        repository
+            .findConflictingWithTimeslot(new TimeSlot(MONDAY.plusHours(9), Duration.ofHours(1)))
+            .size());
+  }
+
+  @Test
+  void shouldRestoreIntoShardsByWorkspace() {
+    // Arrange
+    UUID workspaceId = UUID.randomUUID();
+    List<Reservation> reservations =
+        List.of(
+            new Reservation(UUID.randomUUID(), workspaceId, USER_ID, slot(10)),
+            new Reservation(UUID.randomUUID(), workspaceId, USER_ID, slot(8)),
+            new Reservation(UUID.randomUUID(), UUID.randomUUID(), USER_ID, slot(9)));
+
+    // Act
+    repository.restoreAll(reservations);
+
+    // Assert
+    assertEquals(
+        List.of(reservations.get(1), reservations.get(0)),
+        repository.findByWorkspaceId(workspaceId));
+    assertEquals(reservations.get(2), repository.findById(reservations.get(2).getId()));
+  }
+
+  private static Reservation reservation(UUID workspaceId, int startHour) {
+    return new Reservation(workspaceId, USER_ID, slot(startHour));
+  }
+
+  private static TimeSlot slot(int startHour) {
+    return new TimeSlot(MONDAY.plusHours(startHour), Duration.ofHours(1));
+  }
+}
@@ -0,0 +1,162 @@
+package de.schonvoll.cleanspace.infrastructure.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UuidHashMapTest {
+  private UuidHashMap<String> map;
+
+  @BeforeEach
+  void setUp() {
+    map = new UuidHashMap<>();
+  }
+
+  @Test
+  void shouldBehaveLikeHashMapForRandomPutsAndRemoves() {
+    // Arrange
+    Map<UUID, String> expected = new HashMap<>();
+    List<UUID> keys = new ArrayList<>();
+    Random random = new Random(42);
+    for (int i = 0; i < 2000; i++) {
+      keys.add(new UUID(random.nextLong(), random.nextLong()));
+    }
+
+    // Act
+    for (int i = 0; i < 50_000; i++) {
+      UUID key = keys.get(random.nextInt(keys.size()));
+      if (random.nextInt(3) == 0) {
+        map.remove(key);
+        expected.remove(key);
+      } else {
+        map.put(key, "v" + i);
+        expected.put(key, "v" + i);
+      }
+    }
+
+    // Assert
+    for (UUID key : keys) {
+      assertEquals(expected.get(key), map.get(key));
+    }
+    assertEquals(expected.size(), map.size());
+    assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.values()));
+  }
+
+  @Test
+  void shouldRemoveEntryWhenComputeReturnsNull() {
+    // Arrange
+    UUID key = UUID.randomUUID();
+    map.put(key, "value");
+
+    // Act
+    String result = map.compute(key, (id, previous) -> null);
+
+    // Assert
+    assertNull(result);
+    assertNull(map.get(key));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  void shouldLeaveEntryUnchangedWhenComputeThrows() {
+    // Arrange
+    UUID key = UUID.randomUUID();
+    map.put(key, "value");
+
+    // Act & Assert
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            map.compute(
+                key,
+                (id, previous) -> {
+                  throw new IllegalStateException();
+                }));
+    assertEquals("value", map.get(key));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  void shouldNeverReturnForeignValueToLockFreeReadersDuringConcurrentWrites() throws Exception {
+    // Arrange
+    int writers = 8;
+    int keysPerWriter = 20_000;
+    ExecutorService executor = Executors.newFixedThreadPool(writers + 1);
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicBoolean writing = new AtomicBoolean(true);
+    List<Future<?>> futures = new ArrayList<>();
+    List<UUID> readKeys = new ArrayList<>();
+    for (int i = 0; i < writers * keysPerWriter; i += 97) {
+      readKeys.add(keyOf(i));
+    }
+
+    // Act
+    for (int writer = 0; writer < writers; writer++) {
+      int first = writer * keysPerWriter;
+      futures.add(
+          executor.submit(
+              () -> {
+                start.await();
+                for (int i = first; i < first + keysPerWriter; i++) {
+                  map.put(keyOf(i), Integer.toString(i));
+                  if (i % 3 == 0) {
+                    map.remove(keyOf(i));
+                  }
+                }
+                return null;
+              }));
+    }
+    Future<Integer> reader =
+        executor.submit(
+            () -> {
+              start.await();
+              int mismatches = 0;
+              while (writing.get()) {
+                for (int i = 0; i < readKeys.size(); i++) {
+                  String value = map.get(readKeys.get(i));
+                  if (value != null && !value.equals(Integer.toString(i * 97))) {
+                    mismatches++;
+                  }
+                }
+              }
+              return mismatches;
+            });
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get(60, TimeUnit.SECONDS);
+    }
+    writing.set(false);
+    int mismatches = reader.get(60, TimeUnit.SECONDS);
+    executor.shutdownNow();
+
+    // Assert
+    assertEquals(0, mismatches);
+    int kept = 0;
+    for (int i = 0; i < writers * keysPerWriter; i++) {
+      assertEquals(i % 3 == 0 ? null : Integer.toString(i), map.get(keyOf(i)));
+      kept += i % 3 == 0 ? 0 : 1;
+    }
+    assertEquals(kept, map.size());
+  }
+
+  private static UUID keyOf(int i) {
+    return new UUID(i * 0x9E3779B97F4A7C15L, i);
+  }
+}
@@ -1,14 +1,25 @@
 package de.schonvoll.cleanspace.main.config;
 
+import de.schonvoll.cleanspace.application.ports.BookingCoordinator;
+import de.schonvoll.cleanspace.application.ports.OccupancyLedger;
+import de.schonvoll.cleanspace.application.services.AvailabilityCache;
+import de.schonvoll.cleanspace.application.services.AvailabilityEvaluator;
+import de.schonvoll.cleanspace.application.services.OccupancyApplicationService;
 import de.schonvoll.cleanspace.application.services.ReservationApplicationService;
+import de.schonvoll.cleanspace.application.services.ReservationSeriesApplicationService;
+import de.schonvoll.cleanspace.application.services.ScanningOccupancyLedger;
 import de.schonvoll.cleanspace.application.services.UserApplicationService;
 import de.schonvoll.cleanspace.application.services.WorkspaceApplicationService;
 import de.schonvoll.cleanspace.domain.repositories.ReservationRepository;
+import de.schonvoll.cleanspace.domain.repositories.ReservationSeriesRepository;
 import de.schonvoll.cleanspace.domain.repositories.UserRepository;
 import de.schonvoll.cleanspace.domain.repositories.WorkspaceRepository;
 import de.schonvoll.cleanspace.domain.services.PasswordEncoder;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
 @Configuration
 public class DependencyInjection {
@@ -16,10 +27,54 @@ public class DependencyInjection {
   @Bean
   public ReservationApplicationService reservationApplicationService(
       ReservationRepository reservationRepository,
+      ReservationSeriesRepository reservationSeriesRepository,
       WorkspaceRepository workspaceRepository,
-      UserRepository userRepository) {
+      UserRepository userRepository,
+      BookingCoordinator bookingCoordinator,
+      OccupancyLedger occupancyLedger,
+      AvailabilityCache availabilityCache) {
     return new ReservationApplicationService(
-        reservationRepository, workspaceRepository, userRepository);
+        reservationRepository,
+        reservationSeriesRepository,
+        workspaceRepository,
+        userRepository,
+        bookingCoordinator,
+        occupancyLedger,
+        availabilityCache);
+  }
+
+  @Bean
+  public ReservationSeriesApplicationService reservationSeriesApplicationService(
+      ReservationRepository reservationRepository,
+      ReservationSeriesRepository reservationSeriesRepository,
+      WorkspaceRepository workspaceRepository,
+      UserRepository userRepository,
+      BookingCoordinator bookingCoordinator,
+      OccupancyLedger occupancyLedger,
+      AvailabilityCache availabilityCache) {
+    return new ReservationSeriesApplicationService(
+        reservationRepository,
+        reservationSeriesRepository,
+        workspaceRepository,
+        userRepository,
+        bookingCoordinator,
+        occupancyLedger,
+        availabilityCache);
+  }
+
+  // The in-memory profile counts occupancy in its own ledger, Postgres reads it from the database
+  @Bean
+  @Profile("postgres")
+  public OccupancyLedger occupancyLedger(
+      ReservationRepository reservationRepository,
+      ReservationSeriesRepository reservationSeriesRepository) {
+    return new ScanningOccupancyLedger(reservationRepository, reservationSeriesRepository);
+  }
+
+  @Bean
+  public OccupancyApplicationService occupancyApplicationService(
+      WorkspaceRepository workspaceRepository, OccupancyLedger occupancyLedger) {
+    return new OccupancyApplicationService(workspaceRepository, occupancyLedger);
   }
 
   @Bean
@@ -30,7 +85,54 @@ public class DependencyInjection {
 
   @Bean
   public WorkspaceApplicationService workspaceApplicationService(
-      WorkspaceRepository workspaceRepository, ReservationRepository reservationRepository) {
-    return new WorkspaceApplicationService(workspaceRepository, reservationRepository);
+      WorkspaceRepository workspaceRepository,
+      ReservationRepository reservationRepository,
+      ReservationSeriesRepository reservationSeriesRepository,
+      OccupancyLedger occupancyLedger,
+      AvailabilityCache availabilityCache,
+      AvailabilityEvaluator availabilityEvaluator) {
+    return new WorkspaceApplicationService(
+        workspaceRepository,
+        reservationRepository,
+        reservationSeriesRepository,
+        occupancyLedger,
+        availabilityCache,
+        availabilityEvaluator);
+  }
+
+  // The in-memory ledger reads every workspace on its own, so chunks of a large catalog are read
+  // in parallel; closed by Spring on shutdown
+  @Bean
+  @Profile("in-memory")
+  public AvailabilityEvaluator parallelAvailabilityEvaluator(
+      @Value("${cleanspace.availability.parallelism:0}") int parallelism,
+      @Value("${cleanspace.availability.parallel-threshold:4096}") int threshold) {
+    return AvailabilityEvaluator.parallel(
+        parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(), threshold);
+  }
+
+  // The scanning ledger queries all reservations of the time slot per read, so one read is cheaper
+  // than one per chunk
+  @Bean
+  @Profile("postgres")
+  public AvailabilityEvaluator sequentialAvailabilityEvaluator() {
+    return AvailabilityEvaluator.sequential();
+  }
+
+  // Shared by the services, so every reservation write outdates the cached searches it affects
+  @Bean
+  @Profile("in-memory")
+  public AvailabilityCache availabilityCache(
+      @Value("${cleanspace.availability-cache.max-entries:1024}") int maxEntries) {
+    return new AvailabilityCache(maxEntries);
+  }
+
+  // Writes of other instances sharing the database outdate nothing here, so entries expire
+  @Bean
+  @Profile("postgres")
+  public AvailabilityCache expiringAvailabilityCache(
+      @Value("${cleanspace.availability-cache.max-entries:1024}") int maxEntries,
+      @Value("${cleanspace.availability-cache.max-age:5s}") Duration maxAge) {
+    return new AvailabilityCache(maxEntries, maxAge);
   }
 }
@@ -0,0 +1,26 @@
+-- Runs after Hibernate has updated the schema. Workspace names and user emails are unique
+-- regardless of case, which Hibernate cannot declare, so the case-sensitive unique constraints it
+-- created on earlier versions are replaced by unique indexes on the lower-cased columns.
+-- Statements are separated by a slash, so the DO block can contain semicolons.
+DO $$
+DECLARE
+  legacy record;
+BEGIN
+  FOR legacy IN
+    SELECT c.conrelid::regclass AS table_name, c.conname
+    FROM pg_constraint c
+    JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+    WHERE c.contype = 'u'
+      AND cardinality(c.conkey) = 1
+      AND ((c.conrelid = 'workspaces'::regclass AND a.attname = 'name')
+        OR (c.conrelid = 'users'::regclass AND a.attname = 'email'))
+  LOOP
+    EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', legacy.table_name, legacy.conname);
+  END LOOP;
+END
+$$
+/
+CREATE UNIQUE INDEX IF NOT EXISTS uk_workspaces_name_lower ON workspaces (lower(name))
+/
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_email_lower ON users (lower(email))
+/
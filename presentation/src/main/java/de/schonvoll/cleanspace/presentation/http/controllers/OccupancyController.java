@@ -0,0 +1,65 @@
+package de.schonvoll.cleanspace.presentation.http.controllers;
+
+import de.schonvoll.cleanspace.application.commands.FindOccupancyQuery;
+import de.schonvoll.cleanspace.application.results.WorkspaceOccupancyResult;
+import de.schonvoll.cleanspace.application.services.OccupancyApplicationService;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import de.schonvoll.cleanspace.presentation.http.dtos.OccupancyRequest;
+import de.schonvoll.cleanspace.presentation.http.dtos.OccupancyResponse;
+import de.schonvoll.cleanspace.presentation.http.dtos.WorkspaceOccupancyResponse;
+import java.time.Duration;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for workspace occupancy. Serves the per-bucket seat counts occupancy heatmaps
+ * are drawn from.
+ */
+@RestController
+@RequestMapping("/api/occupancy")
+@AllArgsConstructor
+@Slf4j
+public class OccupancyController {
+  private static final int DEFAULT_BUCKET_SIZE_IN_MINUTES = 15;
+
+  private final OccupancyApplicationService occupancyApplicationService;
+
+  /**
+   * Finds the occupancy of all workspaces over a time range, divided into buckets.
+   *
+   * @param request the time range and bucket size
+   * @return the taken seats per bucket of every workspace
+   */
+  @GetMapping
+  public ResponseEntity<OccupancyResponse> findOccupancy(@RequestBody OccupancyRequest request) {
+    log.info("GET Request: Find Occupancy - Request: {}", request);
+    int bucketSizeInMinutes =
+        request.bucketSizeInMinutes() == null
+            ? DEFAULT_BUCKET_SIZE_IN_MINUTES
+            : request.bucketSizeInMinutes();
+    TimeSlot range =
+        request.from() == null || request.to() == null
+            ? null
+            : new TimeSlot(request.from(), Duration.between(request.from(), request.to()));
+
+    List<WorkspaceOccupancyResult> occupancy =
+        occupancyApplicationService.findOccupancy(
+            new FindOccupancyQuery(range, Duration.ofMinutes(bucketSizeInMinutes)));
+
+    OccupancyResponse response =
+        new OccupancyResponse(
+            request.from(),
+            request.to(),
+            bucketSizeInMinutes,
+            occupancy.stream().map(WorkspaceOccupancyResponse::fromResult).toList());
+    log.info("Success - Found occupancy of {} Workspaces", occupancy.size());
+    return new ResponseEntity<>(response, HttpStatus.OK);
+  }
+}
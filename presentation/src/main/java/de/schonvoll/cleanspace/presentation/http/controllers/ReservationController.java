@@ -1,15 +1,23 @@
 package de.schonvoll.cleanspace.presentation.http.controllers;
 
+import de.schonvoll.cleanspace.application.commands.CreateReservationBatchCommand;
 import de.schonvoll.cleanspace.application.commands.CreateReservationCommand;
 import de.schonvoll.cleanspace.application.commands.FindUserReservationsQuery;
+import de.schonvoll.cleanspace.application.results.ReservationBatchItemResult;
+import de.schonvoll.cleanspace.application.results.ReservationPage;
 import de.schonvoll.cleanspace.application.services.ReservationApplicationService;
 import de.schonvoll.cleanspace.domain.entities.Reservation;
 import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import de.schonvoll.cleanspace.presentation.http.dtos.CreateReservationBatchRequest;
 import de.schonvoll.cleanspace.presentation.http.dtos.CreateReservationRequest;
+import de.schonvoll.cleanspace.presentation.http.dtos.ReservationBatchItemResponse;
+import de.schonvoll.cleanspace.presentation.http.dtos.ReservationCursorToken;
+import de.schonvoll.cleanspace.presentation.http.dtos.ReservationPageResponse;
 import de.schonvoll.cleanspace.presentation.http.dtos.ReservationResponse;
 import de.schonvoll.cleanspace.presentation.http.dtos.UserReservationRequest;
 import java.time.Duration;
 import java.util.List;
+import java.util.stream.IntStream;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -17,8 +25,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 /**
- * REST controller for workspace reservation operations. Handles creation of new reservations and
- * retrieval of user reservations.
+ * REST controller for workspace reservation operations. Handles creation of new reservations, one
+ * at a time or in batches, and retrieval of user reservations.
  */
 @RestController
 @RequestMapping("/api/reservations")
@@ -26,6 +34,8 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class ReservationController {
 
+  private static final int DEFAULT_PAGE_LIMIT = 50;
+
   private final ReservationApplicationService reservationApplicationServiceUseCase;
 
   /**
@@ -39,11 +49,7 @@ public class ReservationController {
       @RequestBody CreateReservationRequest request) {
     log.info("POST Request: Create Reservation - Request: {}", request);
 
-    TimeSlot timeSlot =
-        new TimeSlot(request.start(), Duration.ofMinutes(request.durationInMinutes()));
-
-    CreateReservationCommand command =
-        new CreateReservationCommand(request.workspaceName(), request.userEmail(), timeSlot);
+    CreateReservationCommand command = toCommand(request);
 
     Reservation newReservation = reservationApplicationServiceUseCase.create(command);
 
@@ -53,26 +59,74 @@ public class ReservationController {
   }
 
   /**
-   * Retrieves all reservations for a specific user.
+   * Creates many workspace reservations at once.
    *
-   * @param request contains the user email to search for
-   * @return list of user's reservations
+   * @param request the reservations and whether the batch is all-or-nothing
+   * @return one result per reservation in request order; 201 when all were created, 409 when an
+   *     all-or-nothing batch was rejected, and 207 when only some were created
+   */
+  @PostMapping("/batch")
+  public ResponseEntity<List<ReservationBatchItemResponse>> createReservations(
+      @RequestBody CreateReservationBatchRequest request) {
+    log.info(
+        "POST Request: Create Reservation Batch - {} reservations, all or nothing: {}",
+        request.reservations() == null ? 0 : request.reservations().size(),
+        request.allOrNothing());
+
+    List<CreateReservationCommand> commands =
+        request.reservations() == null
+            ? List.of()
+            : request.reservations().stream().map(ReservationController::toCommand).toList();
+    List<ReservationBatchItemResult> results =
+        reservationApplicationServiceUseCase.createBatch(
+            new CreateReservationBatchCommand(commands, request.allOrNothing()));
+
+    List<ReservationBatchItemResponse> response =
+        IntStream.range(0, results.size())
+            .mapToObj(index -> ReservationBatchItemResponse.fromResult(index, results.get(index)))
+            .toList();
+    long created = results.stream().filter(ReservationBatchItemResult::isSaved).count();
+    HttpStatus status;
+    if (created == results.size()) {
+      status = HttpStatus.CREATED;
+    } else if (request.allOrNothing()) {
+      status = HttpStatus.CONFLICT;
+    } else {
+      status = HttpStatus.MULTI_STATUS;
+    }
+    log.info("Success - Created {} of {} reservations", created, results.size());
+    return new ResponseEntity<>(response, status);
+  }
+
+  /**
+   * Retrieves one page of the reservations of a specific user, ordered by start time. Further
+   * pages are requested with the {@code nextCursor} of the previous one.
+   *
+   * @param request contains the user email to search for, the cursor and the page size
+   * @return page of the user's reservations with the cursor of the next page
    */
   @GetMapping("/user")
-  public ResponseEntity<List<ReservationResponse>> getUserReservations(
+  public ResponseEntity<ReservationPageResponse> getUserReservations(
       @RequestBody UserReservationRequest request) {
-    log.info("GET Request: Find User Reservations - User Email: {}", request.userEmail());
-
-    FindUserReservationsQuery query = new FindUserReservationsQuery(request.userEmail());
-    List<Reservation> userReservations = reservationApplicationServiceUseCase.findByUser(query);
+    log.info("GET Request: Find User Reservations - Request: {}", request);
 
-    List<ReservationResponse> response =
-        userReservations.stream().map(ReservationResponse::fromDomain).toList();
+    FindUserReservationsQuery query =
+        new FindUserReservationsQuery(
+            request.userEmail(),
+            ReservationCursorToken.decode(request.cursor()),
+            request.limit() == null ? DEFAULT_PAGE_LIMIT : request.limit());
+    ReservationPage page = reservationApplicationServiceUseCase.findByUser(query);
 
     log.info(
         "Success - Found {} reservations for user: {}",
-        userReservations.size(),
+        page.reservations().size(),
         request.userEmail());
-    return ResponseEntity.ok(response);
+    return ResponseEntity.ok(ReservationPageResponse.fromResult(page));
+  }
+
+  private static CreateReservationCommand toCommand(CreateReservationRequest request) {
+    TimeSlot timeSlot =
+        new TimeSlot(request.start(), Duration.ofMinutes(request.durationInMinutes()));
+    return new CreateReservationCommand(request.workspaceName(), request.userEmail(), timeSlot);
   }
 }
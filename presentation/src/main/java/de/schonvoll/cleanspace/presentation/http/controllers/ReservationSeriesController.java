@@ -0,0 +1,153 @@
+package de.schonvoll.cleanspace.presentation.http.controllers;
+
+import de.schonvoll.cleanspace.application.commands.CancelOccurrenceCommand;
+import de.schonvoll.cleanspace.application.commands.CreateReservationSeriesCommand;
+import de.schonvoll.cleanspace.application.commands.FindSeriesOccurrencesQuery;
+import de.schonvoll.cleanspace.application.commands.MoveOccurrenceCommand;
+import de.schonvoll.cleanspace.application.services.ReservationSeriesApplicationService;
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
+import de.schonvoll.cleanspace.domain.valueobjects.RecurrenceRule;
+import de.schonvoll.cleanspace.domain.valueobjects.SeriesOccurrence;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import de.schonvoll.cleanspace.presentation.http.dtos.CreateReservationSeriesRequest;
+import de.schonvoll.cleanspace.presentation.http.dtos.MoveOccurrenceRequest;
+import de.schonvoll.cleanspace.presentation.http.dtos.ReservationSeriesResponse;
+import de.schonvoll.cleanspace.presentation.http.dtos.SeriesOccurrenceResponse;
+import de.schonvoll.cleanspace.presentation.http.dtos.SeriesOccurrencesRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for recurring reservations. Handles creation of reservation series, retrieval of
+ * their occurrences, and cancelling or moving single occurrences. Occurrences are addressed by the
+ * date they were originally scheduled on.
+ */
+@RestController
+@RequestMapping("/api/reservations/series")
+@AllArgsConstructor
+@Slf4j
+public class ReservationSeriesController {
+
+  private final ReservationSeriesApplicationService reservationSeriesApplicationService;
+
+  /**
+   * Creates a new recurring workspace reservation.
+   *
+   * @param request series details including workspace, user, first occurrence and recurrence rule
+   * @return created series information
+   */
+  @PostMapping
+  public ResponseEntity<ReservationSeriesResponse> createReservationSeries(
+      @RequestBody CreateReservationSeriesRequest request) {
+    log.info("POST Request: Create Reservation Series - Request: {}", request);
+
+    RecurrenceRule.Frequency frequency =
+        request.frequency() == null
+            ? null
+            : RecurrenceRule.Frequency.valueOf(request.frequency().toUpperCase(Locale.ROOT));
+    RecurrenceRule rule =
+        new RecurrenceRule(
+            frequency,
+            request.interval() == null ? 1 : request.interval(),
+            request.until(),
+            request.count());
+    TimeSlot firstOccurrence =
+        new TimeSlot(request.start(), Duration.ofMinutes(request.durationInMinutes()));
+    CreateReservationSeriesCommand command =
+        new CreateReservationSeriesCommand(
+            request.workspaceName(),
+            request.userEmail(),
+            firstOccurrence,
+            rule,
+            request.exceptions());
+
+    ReservationSeries newSeries = reservationSeriesApplicationService.create(command);
+
+    ReservationSeriesResponse response = ReservationSeriesResponse.fromDomain(newSeries);
+    log.info("Success - Reservation series created: {}", newSeries.getId());
+    return new ResponseEntity<>(response, HttpStatus.CREATED);
+  }
+
+  /**
+   * Retrieves the occurrences of a series within a time range.
+   *
+   * @param seriesId the unique identifier of the series
+   * @param request the time range to find occurrences within
+   * @return list of the occurrences ordered by start time
+   */
+  @GetMapping("/{seriesId}/occurrences")
+  public ResponseEntity<List<SeriesOccurrenceResponse>> getOccurrences(
+      @PathVariable("seriesId") UUID seriesId, @RequestBody SeriesOccurrencesRequest request) {
+    log.info("GET Request: Find Series Occurrences - Series: {}, Request: {}", seriesId, request);
+
+    TimeSlot window = new TimeSlot(request.from(), Duration.between(request.from(), request.to()));
+    List<SeriesOccurrence> occurrences =
+        reservationSeriesApplicationService.findOccurrences(
+            new FindSeriesOccurrencesQuery(seriesId, window));
+
+    List<SeriesOccurrenceResponse> response =
+        occurrences.stream().map(SeriesOccurrenceResponse::fromDomain).toList();
+    log.info("Success - Found {} occurrences of series: {}", occurrences.size(), seriesId);
+    return ResponseEntity.ok(response);
+  }
+
+  /**
+   * Cancels a single occurrence of a series.
+   *
+   * @param seriesId the unique identifier of the series
+   * @param occurrenceDate the date the occurrence was originally scheduled on
+   * @return an empty response
+   */
+  @DeleteMapping("/{seriesId}/occurrences/{occurrenceDate}")
+  public ResponseEntity<Void> cancelOccurrence(
+      @PathVariable("seriesId") UUID seriesId,
+      @PathVariable("occurrenceDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate occurrenceDate) {
+    log.info("DELETE Request: Cancel Occurrence - Series: {}, Date: {}", seriesId, occurrenceDate);
+
+    reservationSeriesApplicationService.cancelOccurrence(
+        new CancelOccurrenceCommand(seriesId, occurrenceDate));
+
+    log.info("Success - Occurrence cancelled");
+    return ResponseEntity.noContent().build();
+  }
+
+  /**
+   * Moves a single occurrence of a series to another time slot.
+   *
+   * @param seriesId the unique identifier of the series
+   * @param occurrenceDate the date the occurrence was originally scheduled on
+   * @param request the new start time and duration of the occurrence
+   * @return the moved occurrence
+   */
+  @PutMapping("/{seriesId}/occurrences/{occurrenceDate}")
+  public ResponseEntity<SeriesOccurrenceResponse> moveOccurrence(
+      @PathVariable("seriesId") UUID seriesId,
+      @PathVariable("occurrenceDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate occurrenceDate,
+      @RequestBody MoveOccurrenceRequest request) {
+    log.info(
+        "PUT Request: Move Occurrence - Series: {}, Date: {}, Request: {}",
+        seriesId,
+        occurrenceDate,
+        request);
+
+    TimeSlot timeSlot =
+        new TimeSlot(request.start(), Duration.ofMinutes(request.durationInMinutes()));
+    SeriesOccurrence moved =
+        reservationSeriesApplicationService.moveOccurrence(
+            new MoveOccurrenceCommand(seriesId, occurrenceDate, timeSlot));
+
+    log.info("Success - Occurrence moved: {}", moved);
+    return ResponseEntity.ok(SeriesOccurrenceResponse.fromDomain(moved));
+  }
+}
@@ -2,13 +2,19 @@ package de.schonvoll.cleanspace.presentation.http.controllers;
 
 import de.schonvoll.cleanspace.application.commands.CreateWorkspaceCommand;
 import de.schonvoll.cleanspace.application.commands.FindAvailableWorkspacesQuery;
+import de.schonvoll.cleanspace.application.commands.FindEarliestAvailableQuery;
+import de.schonvoll.cleanspace.application.results.AvailabilityCacheStats;
+import de.schonvoll.cleanspace.application.results.AvailableSlotResult;
 import de.schonvoll.cleanspace.application.services.WorkspaceApplicationService;
 import de.schonvoll.cleanspace.domain.entities.Workspace;
 import de.schonvoll.cleanspace.domain.valueobjects.OpeningHours;
 import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
 import de.schonvoll.cleanspace.domain.valueobjects.WorkspaceProperty;
+import de.schonvoll.cleanspace.presentation.http.dtos.AvailabilityCacheStatsResponse;
+import de.schonvoll.cleanspace.presentation.http.dtos.AvailableSlotResponse;
 import de.schonvoll.cleanspace.presentation.http.dtos.CreateWorkspaceRequest;
 import de.schonvoll.cleanspace.presentation.http.dtos.FindAvailableWorkspacesQueryDto;
+import de.schonvoll.cleanspace.presentation.http.dtos.FindEarliestAvailableQueryDto;
 import de.schonvoll.cleanspace.presentation.http.dtos.WorkspaceResponse;
 import java.time.Duration;
 import java.util.ArrayList;
@@ -34,6 +40,8 @@ import org.springframework.web.bind.annotation.RestController;
 @Slf4j
 public class WorkspaceController {
 
+  private static final int DEFAULT_SLOT_LIMIT = 10;
+
   private final WorkspaceApplicationService workspaceApplicationService;
 
   /**
@@ -81,23 +89,11 @@ public class WorkspaceController {
     TimeSlot timeSlot =
         new TimeSlot(queryDto.start(), Duration.ofMinutes(queryDto.durationInMinutes()));
 
-    List<WorkspaceProperty> requiredWorkspacePropertiesList = new ArrayList<>();
-    if (queryDto.requiredProperties() != null) {
-      for (String propString : queryDto.requiredProperties()) {
-        String[] keyValuePair = propString.split(":", 2);
-        if (keyValuePair.length == 2) {
-          requiredWorkspacePropertiesList.add(
-              new WorkspaceProperty(keyValuePair[0], keyValuePair[1]));
-        }
-      }
-    }
     FindAvailableWorkspacesQuery query =
         new FindAvailableWorkspacesQuery(
             timeSlot,
             Optional.ofNullable(queryDto.minCapacity()),
-            requiredWorkspacePropertiesList.isEmpty()
-                ? Optional.empty()
-                : Optional.of(requiredWorkspacePropertiesList));
+            parseProperties(queryDto.requiredProperties()));
 
     List<Workspace> availableWorkspaces = workspaceApplicationService.findAvailable(query);
     List<WorkspaceResponse> response =
@@ -105,4 +101,69 @@ public class WorkspaceController {
     log.info("Success - Found {} available Workspaces", availableWorkspaces.size());
     return new ResponseEntity<>(response, HttpStatus.OK);
   }
+
+  /**
+   * Finds the earliest time slots within a search window at which a workspace can still be booked.
+   * Optional daily hours narrow every day of the window, for example to any two hours between
+   * 08:00 and 18:00 over the next five days. The capacity and property filters work as for {@link
+   * #findAvailableWorkspaces}.
+   *
+   * @param queryDto search window, daily hours, slot duration, limit and workspace filters
+   * @return the earliest bookable time slots ordered by start time
+   */
+  @GetMapping("/available/earliest")
+  public ResponseEntity<List<AvailableSlotResponse>> findEarliestAvailableSlots(
+      @RequestBody FindEarliestAvailableQueryDto queryDto) {
+    log.info("GET Request: Find earliest available Slots - Query: {}", queryDto);
+    TimeSlot window =
+        queryDto.from() == null || queryDto.to() == null
+            ? null
+            : new TimeSlot(queryDto.from(), Duration.between(queryDto.from(), queryDto.to()));
+    FindEarliestAvailableQuery query =
+        new FindEarliestAvailableQuery(
+            window,
+            queryDto.dailyFrom(),
+            queryDto.dailyTo(),
+            Duration.ofMinutes(queryDto.durationInMinutes()),
+            queryDto.limit() == null ? DEFAULT_SLOT_LIMIT : queryDto.limit(),
+            Optional.ofNullable(queryDto.minCapacity()),
+            parseProperties(queryDto.requiredProperties()));
+
+    List<AvailableSlotResult> slots = workspaceApplicationService.findEarliestAvailable(query);
+    List<AvailableSlotResponse> response =
+        slots.stream().map(AvailableSlotResponse::fromResult).toList();
+    log.info("Success - Found {} available Slots", slots.size());
+    return new ResponseEntity<>(response, HttpStatus.OK);
+  }
+
+  /**
+   * Reads the hit, miss and eviction counters of the cache behind {@link
+   * #findAvailableWorkspaces}.
+   *
+   * @return the counters since the application started
+   */
+  @GetMapping("/available/cache")
+  public ResponseEntity<AvailabilityCacheStatsResponse> getAvailabilityCacheStats() {
+    log.info("GET Request: Availability Cache Stats");
+    AvailabilityCacheStats stats = workspaceApplicationService.availabilityCacheStats();
+    log.info("Success - Availability cache hit ratio: {}", stats.hitRatio());
+    return ResponseEntity.ok(AvailabilityCacheStatsResponse.fromResult(stats));
+  }
+
+  // Parses "key:value" strings, skipping malformed ones
+  private static Optional<List<WorkspaceProperty>> parseProperties(List<String> properties) {
+    List<WorkspaceProperty> requiredWorkspacePropertiesList = new ArrayList<>();
+    if (properties != null) {
+      for (String propString : properties) {
+        String[] keyValuePair = propString.split(":", 2);
+        if (keyValuePair.length == 2) {
+          requiredWorkspacePropertiesList.add(
+              new WorkspaceProperty(keyValuePair[0], keyValuePair[1]));
+        }
+      }
+    }
+    return requiredWorkspacePropertiesList.isEmpty()
+        ? Optional.empty()
+        : Optional.of(requiredWorkspacePropertiesList);
+  }
 }
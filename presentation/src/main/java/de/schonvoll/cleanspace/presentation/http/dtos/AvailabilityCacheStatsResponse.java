@@ -0,0 +1,19 @@
+package de.schonvoll.cleanspace.presentation.http.dtos;
+
+import de.schonvoll.cleanspace.application.results.AvailabilityCacheStats;
+
+/** REST API response for the counters of the availability search cache. */
+public record AvailabilityCacheStatsResponse(
+    long hits, long misses, long stale, long evictions, int size, double hitRatio) {
+
+  /** Converts the cache counters to API response format. */
+  public static AvailabilityCacheStatsResponse fromResult(AvailabilityCacheStats stats) {
+    return new AvailabilityCacheStatsResponse(
+        stats.hits(),
+        stats.misses(),
+        stats.stale(),
+        stats.evictions(),
+        stats.size(),
+        stats.hitRatio());
+  }
+}
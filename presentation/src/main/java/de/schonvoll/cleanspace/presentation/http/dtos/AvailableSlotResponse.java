@@ -0,0 +1,21 @@
+package de.schonvoll.cleanspace.presentation.http.dtos;
+
+import de.schonvoll.cleanspace.application.results.AvailableSlotResult;
+import java.time.LocalDateTime;
+
+/** REST API response for a bookable time slot of a workspace. */
+public record AvailableSlotResponse(
+    WorkspaceResponse workspace,
+    LocalDateTime start,
+    LocalDateTime end,
+    LocalDateTime latestStart) {
+
+  /** Converts the search result to API response format. */
+  public static AvailableSlotResponse fromResult(AvailableSlotResult slot) {
+    return new AvailableSlotResponse(
+        WorkspaceResponse.fromDomain(slot.workspace()),
+        slot.timeSlot().start(),
+        slot.timeSlot().end(),
+        slot.latestStart());
+  }
+}
@@ -0,0 +1,6 @@
+package de.schonvoll.cleanspace.presentation.http.dtos;
+
+import java.util.List;
+
+public record CreateReservationBatchRequest(
+    List<CreateReservationRequest> reservations, boolean allOrNothing) {}
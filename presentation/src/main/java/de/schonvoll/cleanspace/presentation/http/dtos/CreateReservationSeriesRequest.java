@@ -0,0 +1,29 @@
+package de.schonvoll.cleanspace.presentation.http.dtos;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Request for creating a recurring workspace reservation.
+ *
+ * @param workspaceName the name of the workspace to reserve
+ * @param userEmail the email of the user making the reservation
+ * @param start the start time of the first occurrence
+ * @param durationInMinutes the duration of every occurrence in minutes
+ * @param frequency {@code DAILY} or {@code WEEKLY}
+ * @param interval the number of days or weeks between two occurrences (optional, defaults to 1)
+ * @param until the last date an occurrence may start on (optional if count is set)
+ * @param count the maximum number of occurrences (optional if until is set)
+ * @param exceptions the dates of scheduled occurrences that are left out (optional)
+ */
+public record CreateReservationSeriesRequest(
+    String workspaceName,
+    String userEmail,
+    LocalDateTime start,
+    int durationInMinutes,
+    String frequency,
+    Integer interval,
+    LocalDate until,
+    Integer count,
+    Set<LocalDate> exceptions) {}
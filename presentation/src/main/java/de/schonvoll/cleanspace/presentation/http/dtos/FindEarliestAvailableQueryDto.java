@@ -0,0 +1,28 @@
+package de.schonvoll.cleanspace.presentation.http.dtos;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Query for finding the earliest bookable time slots within a search window.
+ *
+ * @param from the start of the search window
+ * @param to the end of the search window
+ * @param dailyFrom the earliest time of day a time slot may start at (optional)
+ * @param dailyTo the latest time of day a time slot may end at (optional)
+ * @param durationInMinutes the duration of the requested time slots in minutes
+ * @param limit the maximum number of time slots to return (optional, defaults to 10)
+ * @param minCapacity the minimum capacity required for the workspace (optional)
+ * @param requiredProperties the list of required workspace properties (optional)
+ */
+public record FindEarliestAvailableQueryDto(
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+    LocalTime dailyFrom,
+    LocalTime dailyTo,
+    int durationInMinutes,
+    Integer limit,
+    Integer minCapacity,
+    List<String> requiredProperties) {}
@@ -0,0 +1,5 @@
+package de.schonvoll.cleanspace.presentation.http.dtos;
+
+import java.time.LocalDateTime;
+
+public record MoveOccurrenceRequest(LocalDateTime start, int durationInMinutes) {}
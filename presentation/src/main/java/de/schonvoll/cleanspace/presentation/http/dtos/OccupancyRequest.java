@@ -0,0 +1,16 @@
+package de.schonvoll.cleanspace.presentation.http.dtos;
+
+import java.time.LocalDateTime;
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Query for the occupancy of all workspaces over a time range.
+ *
+ * @param from the start of the time range
+ * @param to the end of the time range
+ * @param bucketSizeInMinutes the length of a bucket in minutes (optional, defaults to 15)
+ */
+public record OccupancyRequest(
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+    Integer bucketSizeInMinutes) {}
@@ -0,0 +1,11 @@
+package de.schonvoll.cleanspace.presentation.http.dtos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** REST API response for the occupancy of all workspaces over a time range. */
+public record OccupancyResponse(
+    LocalDateTime from,
+    LocalDateTime to,
+    int bucketSizeInMinutes,
+    List<WorkspaceOccupancyResponse> workspaces) {}
@@ -0,0 +1,15 @@
+package de.schonvoll.cleanspace.presentation.http.dtos;
+
+import de.schonvoll.cleanspace.application.results.ReservationBatchItemResult;
+
+public record ReservationBatchItemResponse(
+    int index, ReservationResponse reservation, String error) {
+
+  public static ReservationBatchItemResponse fromResult(
+      int index, ReservationBatchItemResult result) {
+    return new ReservationBatchItemResponse(
+        index,
+        result.isSaved() ? ReservationResponse.fromDomain(result.reservation()) : null,
+        result.error());
+  }
+}
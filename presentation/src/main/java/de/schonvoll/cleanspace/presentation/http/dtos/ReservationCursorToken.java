@@ -0,0 +1,56 @@
+package de.schonvoll.cleanspace.presentation.http.dtos;
+
+import de.schonvoll.cleanspace.domain.valueobjects.ReservationCursor;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Converts a {@link ReservationCursor} to and from the opaque string handed to API clients, so they
+ * pass it back unchanged instead of building cursors of their own.
+ */
+public final class ReservationCursorToken {
+  private static final String SEPARATOR = "|";
+
+  private ReservationCursorToken() {}
+
+  /**
+   * Encodes a cursor for the API response.
+   *
+   * @param cursor the {@link ReservationCursor} to encode, or null
+   * @return the URL-safe token, or null if there is no cursor
+   */
+  public static String encode(ReservationCursor cursor) {
+    if (cursor == null) {
+      return null;
+    }
+    String plain = cursor.start() + SEPARATOR + cursor.id();
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a token received from an API client.
+   *
+   * @param token the token, or null or blank for the first page
+   * @return the {@link ReservationCursor}, or null for the first page
+   * @throws IllegalArgumentException when the token was not issued by {@link #encode}
+   */
+  public static ReservationCursor decode(String token) {
+    if (token == null || token.isBlank()) {
+      return null;
+    }
+    try {
+      String plain = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = plain.indexOf(SEPARATOR);
+      return new ReservationCursor(
+          LocalDateTime.parse(plain.substring(0, separator)),
+          UUID.fromString(plain.substring(separator + 1)));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid reservation cursor: " + token, e);
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package de.schonvoll.cleanspace.presentation.http.dtos;
+
+import de.schonvoll.cleanspace.application.results.ReservationPage;
+import java.util.List;
+
+/**
+ * REST API response for one page of reservations.
+ *
+ * @param reservations the reservations on the page, ordered by start time
+ * @param nextCursor the cursor to request the following page with, or null on the last page
+ */
+public record ReservationPageResponse(List<ReservationResponse> reservations, String nextCursor) {
+
+  /** Converts the page to API response format. */
+  public static ReservationPageResponse fromResult(ReservationPage page) {
+    return new ReservationPageResponse(
+        page.reservations().stream().map(ReservationResponse::fromDomain).toList(),
+        ReservationCursorToken.encode(page.next()));
+  }
+}
@@ -0,0 +1,35 @@
+package de.schonvoll.cleanspace.presentation.http.dtos;
+
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
+import de.schonvoll.cleanspace.domain.valueobjects.RecurrenceRule;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ReservationSeriesResponse(
+    UUID id,
+    UUID workspaceId,
+    UUID userId,
+    LocalDateTime start,
+    LocalDateTime end,
+    String frequency,
+    int interval,
+    LocalDate until,
+    Integer count,
+    long occurrences) {
+
+  public static ReservationSeriesResponse fromDomain(ReservationSeries series) {
+    RecurrenceRule rule = series.getRecurrenceRule();
+    return new ReservationSeriesResponse(
+        series.getId(),
+        series.getWorkspaceId(),
+        series.getUserId(),
+        series.getFirstOccurrence().start(),
+        series.getFirstOccurrence().end(),
+        rule.frequency().name(),
+        rule.interval(),
+        rule.until(),
+        rule.count(),
+        series.occurrences().count());
+  }
+}
@@ -0,0 +1,14 @@
+package de.schonvoll.cleanspace.presentation.http.dtos;
+
+import de.schonvoll.cleanspace.domain.valueobjects.SeriesOccurrence;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record SeriesOccurrenceResponse(
+    LocalDate occurrenceDate, LocalDateTime start, LocalDateTime end) {
+
+  public static SeriesOccurrenceResponse fromDomain(SeriesOccurrence occurrence) {
+    return new SeriesOccurrenceResponse(
+        occurrence.occurrenceDate(), occurrence.timeSlot().start(), occurrence.timeSlot().end());
+  }
+}
@@ -0,0 +1,11 @@
+package de.schonvoll.cleanspace.presentation.http.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Request for the occurrences of a reservation series within a time range.
+ *
+ * @param from the start of the time range
+ * @param to the end of the time range
+ */
+public record SeriesOccurrencesRequest(LocalDateTime from, LocalDateTime to) {}
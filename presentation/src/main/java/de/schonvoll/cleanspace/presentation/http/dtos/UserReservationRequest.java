@@ -1,3 +1,10 @@
 package de.schonvoll.cleanspace.presentation.http.dtos;
 
-public record UserReservationRequest(String userEmail) {}
+/**
+ * Request for one page of the reservations of a user.
+ *
+ * @param userEmail the email of the user whose reservations to find
+ * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+ * @param limit the maximum number of reservations on the page (optional)
+ */
+public record UserReservationRequest(String userEmail, String cursor, Integer limit) {}
@@ -0,0 +1,18 @@
+package de.schonvoll.cleanspace.presentation.http.dtos;
+
+import de.schonvoll.cleanspace.application.results.WorkspaceOccupancyResult;
+import java.util.UUID;
+
+/** REST API response for the occupancy of one workspace, one count per bucket. */
+public record WorkspaceOccupancyResponse(
+    UUID workspaceId, String name, int capacity, int[] takenSeats) {
+
+  /** Converts the occupancy result to API response format. */
+  public static WorkspaceOccupancyResponse fromResult(WorkspaceOccupancyResult occupancy) {
+    return new WorkspaceOccupancyResponse(
+        occupancy.workspace().getId(),
+        occupancy.workspace().getName(),
+        occupancy.workspace().getCapacity(),
+        occupancy.takenSeats());
+  }
+}
@@ -0,0 +1,60 @@
+package de.schonvoll.cleanspace.presentation.http.controllers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import de.schonvoll.cleanspace.application.commands.FindOccupancyQuery;
+import de.schonvoll.cleanspace.application.results.WorkspaceOccupancyResult;
+import de.schonvoll.cleanspace.application.services.OccupancyApplicationService;
+import de.schonvoll.cleanspace.domain.entities.Workspace;
+import de.schonvoll.cleanspace.presentation.http.dtos.OccupancyRequest;
+import de.schonvoll.cleanspace.presentation.http.dtos.OccupancyResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+@ExtendWith(MockitoExtension.class)
+class OccupancyControllerTest {
+
+  @Mock private OccupancyApplicationService occupancyApplicationService;
+
+  @InjectMocks private OccupancyController occupancyController;
+
+  @Test
+  void shouldFindOccupancyWithDefaultBucketSize() {
+    // Arrange
+    LocalDateTime from = LocalDateTime.of(2024, 3, 15, 8, 0);
+    OccupancyRequest request = new OccupancyRequest(from, from.plusHours(1), null);
+    Workspace workspace = mock(Workspace.class);
+    when(workspace.getId()).thenReturn(UUID.randomUUID());
+    when(workspace.getName()).thenReturn("Conference Room");
+    when(workspace.getCapacity()).thenReturn(4);
+    when(occupancyApplicationService.findOccupancy(any(FindOccupancyQuery.class)))
+        .thenReturn(List.of(new WorkspaceOccupancyResult(workspace, new int[] {0, 1, 3, 2})));
+
+    // Act
+    ResponseEntity<OccupancyResponse> response = occupancyController.findOccupancy(request);
+
+    // Assert
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(15, response.getBody().bucketSizeInMinutes());
+    assertEquals("Conference Room", response.getBody().workspaces().getFirst().name());
+    assertArrayEquals(
+        new int[] {0, 1, 3, 2}, response.getBody().workspaces().getFirst().takenSeats());
+
+    ArgumentCaptor<FindOccupancyQuery> captor = ArgumentCaptor.forClass(FindOccupancyQuery.class);
+    verify(occupancyApplicationService).findOccupancy(captor.capture());
+    assertEquals(Duration.ofMinutes(15), captor.getValue().bucketSize());
+    assertEquals(Duration.ofHours(1), captor.getValue().range().duration());
+  }
+}
@@ -4,19 +4,27 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import de.schonvoll.cleanspace.application.commands.CreateReservationBatchCommand;
 import de.schonvoll.cleanspace.application.commands.CreateReservationCommand;
 import de.schonvoll.cleanspace.application.commands.FindUserReservationsQuery;
+import de.schonvoll.cleanspace.application.results.ReservationBatchItemResult;
+import de.schonvoll.cleanspace.application.results.ReservationPage;
 import de.schonvoll.cleanspace.application.services.ReservationApplicationService;
 import de.schonvoll.cleanspace.domain.entities.Reservation;
 import de.schonvoll.cleanspace.domain.exceptions.WorkspaceNotFoundException;
+import de.schonvoll.cleanspace.domain.valueobjects.ReservationCursor;
 import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import de.schonvoll.cleanspace.presentation.http.dtos.CreateReservationBatchRequest;
 import de.schonvoll.cleanspace.presentation.http.dtos.CreateReservationRequest;
+import de.schonvoll.cleanspace.presentation.http.dtos.ReservationBatchItemResponse;
+import de.schonvoll.cleanspace.presentation.http.dtos.ReservationPageResponse;
 import de.schonvoll.cleanspace.presentation.http.dtos.ReservationResponse;
 import de.schonvoll.cleanspace.presentation.http.dtos.UserReservationRequest;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -83,30 +91,31 @@ class ReservationControllerTest {
   @Test
   void shouldFindUserReservationsSuccessfully() {
     // Arrange
-    UserReservationRequest request = new UserReservationRequest("user@example.com");
+    UserReservationRequest request = new UserReservationRequest("user@example.com", null, null);
     Reservation mockReservation = createMockReservation(LocalDateTime.now(), 60);
     List<Reservation> mockReservations = List.of(mockReservation);
 
     when(reservationApplicationService.findByUser(any(FindUserReservationsQuery.class)))
-        .thenReturn(mockReservations);
+        .thenReturn(new ReservationPage(mockReservations, null));
 
     // Act
-    ResponseEntity<List<ReservationResponse>> response =
+    ResponseEntity<ReservationPageResponse> response =
         reservationController.getUserReservations(request);
 
     // Assert
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertNotNull(response.getBody());
-    assertEquals(1, response.getBody().size());
+    assertEquals(1, response.getBody().reservations().size());
+    assertNull(response.getBody().nextCursor());
   }
 
   @Test
   void shouldMapUserRequestToQueryCorrectly() {
     // Arrange
-    UserReservationRequest request = new UserReservationRequest("specific@user.com");
+    UserReservationRequest request = new UserReservationRequest("specific@user.com", null, null);
 
     when(reservationApplicationService.findByUser(any(FindUserReservationsQuery.class)))
-        .thenReturn(Collections.emptyList());
+        .thenReturn(new ReservationPage(Collections.emptyList(), null));
 
     // Act
     reservationController.getUserReservations(request);
@@ -117,6 +126,46 @@ class ReservationControllerTest {
     verify(reservationApplicationService).findByUser(captor.capture());
 
     assertEquals("specific@user.com", captor.getValue().userEmail());
+    assertNull(captor.getValue().after());
+    assertEquals(50, captor.getValue().limit());
+  }
+
+  @Test
+  void shouldPassNextCursorOfPageBackAsCursorOfQuery() {
+    // Arrange
+    ReservationCursor next =
+        new ReservationCursor(LocalDateTime.of(2030, 1, 7, 9, 30), UUID.randomUUID());
+    when(reservationApplicationService.findByUser(any(FindUserReservationsQuery.class)))
+        .thenReturn(new ReservationPage(Collections.emptyList(), next))
+        .thenReturn(new ReservationPage(Collections.emptyList(), null));
+    String nextCursor =
+        reservationController
+            .getUserReservations(new UserReservationRequest("user@example.com", null, 10))
+            .getBody()
+            .nextCursor();
+
+    // Act
+    reservationController.getUserReservations(
+        new UserReservationRequest("user@example.com", nextCursor, 10));
+
+    // Assert
+    ArgumentCaptor<FindUserReservationsQuery> captor =
+        ArgumentCaptor.forClass(FindUserReservationsQuery.class);
+    verify(reservationApplicationService, times(2)).findByUser(captor.capture());
+    assertEquals(next, captor.getAllValues().get(1).after());
+    assertEquals(10, captor.getAllValues().get(1).limit());
+  }
+
+  @Test
+  void shouldRejectCursorNotIssuedByTheApi() {
+    // Arrange
+    UserReservationRequest request =
+        new UserReservationRequest("user@example.com", "not-a-cursor", null);
+
+    // Act & Assert
+    assertThrows(
+        IllegalArgumentException.class, () -> reservationController.getUserReservations(request));
+    verifyNoInteractions(reservationApplicationService);
   }
 
   @Test
@@ -133,6 +182,63 @@ class ReservationControllerTest {
         WorkspaceNotFoundException.class, () -> reservationController.createReservation(request));
   }
 
+  @Test
+  void shouldReturnCreatedWhenWholeBatchIsSaved() {
+    // Arrange
+    LocalDateTime start = LocalDateTime.of(2024, 1, 15, 10, 0);
+    CreateReservationBatchRequest request =
+        new CreateReservationBatchRequest(
+            List.of(
+                new CreateReservationRequest("Room A", "first@test.com", start, 60),
+                new CreateReservationRequest("Room A", "second@test.com", start, 60)),
+            true);
+    ReservationBatchItemResult saved =
+        ReservationBatchItemResult.saved(createMockReservation(start, 60));
+
+    when(reservationApplicationService.createBatch(any(CreateReservationBatchCommand.class)))
+        .thenReturn(List.of(saved, saved));
+
+    // Act
+    ResponseEntity<List<ReservationBatchItemResponse>> response =
+        reservationController.createReservations(request);
+
+    // Assert
+    ArgumentCaptor<CreateReservationBatchCommand> captor =
+        ArgumentCaptor.forClass(CreateReservationBatchCommand.class);
+    verify(reservationApplicationService).createBatch(captor.capture());
+    assertTrue(captor.getValue().allOrNothing());
+    assertEquals("second@test.com", captor.getValue().reservations().get(1).userEmail());
+    assertEquals(HttpStatus.CREATED, response.getStatusCode());
+    assertEquals(2, response.getBody().size());
+  }
+
+  @Test
+  void shouldReturnMultiStatusWhenBestEffortBatchIsPartlySaved() {
+    // Arrange
+    LocalDateTime start = LocalDateTime.of(2024, 1, 15, 10, 0);
+    CreateReservationBatchRequest request =
+        new CreateReservationBatchRequest(
+            List.of(
+                new CreateReservationRequest("Room A", "first@test.com", start, 60),
+                new CreateReservationRequest("Room B", "first@test.com", start, 60)),
+            false);
+    ReservationBatchItemResult saved =
+        ReservationBatchItemResult.saved(createMockReservation(start, 60));
+
+    when(reservationApplicationService.createBatch(any(CreateReservationBatchCommand.class)))
+        .thenReturn(List.of(saved, ReservationBatchItemResult.failed("User has already booked")));
+
+    // Act
+    ResponseEntity<List<ReservationBatchItemResponse>> response =
+        reservationController.createReservations(request);
+
+    // Assert
+    assertEquals(HttpStatus.MULTI_STATUS, response.getStatusCode());
+    assertNull(response.getBody().get(1).reservation());
+    assertEquals("User has already booked", response.getBody().get(1).error());
+    assertEquals(1, response.getBody().get(1).index());
+  }
+
   private Reservation createMockReservation(LocalDateTime start, int durationMinutes) {
     Reservation reservation = mock(Reservation.class);
     TimeSlot timeSlot = new TimeSlot(start, Duration.ofMinutes(durationMinutes));
@@ -0,0 +1,114 @@
+package de.schonvoll.cleanspace.presentation.http.controllers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import de.schonvoll.cleanspace.application.commands.CancelOccurrenceCommand;
+import de.schonvoll.cleanspace.application.commands.CreateReservationSeriesCommand;
+import de.schonvoll.cleanspace.application.commands.MoveOccurrenceCommand;
+import de.schonvoll.cleanspace.application.services.ReservationSeriesApplicationService;
+import de.schonvoll.cleanspace.domain.entities.ReservationSeries;
+import de.schonvoll.cleanspace.domain.valueobjects.RecurrenceRule;
+import de.schonvoll.cleanspace.domain.valueobjects.SeriesOccurrence;
+import de.schonvoll.cleanspace.domain.valueobjects.TimeSlot;
+import de.schonvoll.cleanspace.presentation.http.dtos.CreateReservationSeriesRequest;
+import de.schonvoll.cleanspace.presentation.http.dtos.MoveOccurrenceRequest;
+import de.schonvoll.cleanspace.presentation.http.dtos.ReservationSeriesResponse;
+import de.schonvoll.cleanspace.presentation.http.dtos.SeriesOccurrenceResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationSeriesControllerTest {
+  private static final LocalDateTime START = LocalDateTime.of(2030, 1, 7, 11, 0);
+
+  @Mock private ReservationSeriesApplicationService reservationSeriesApplicationService;
+
+  @InjectMocks private ReservationSeriesController reservationSeriesController;
+
+  @Test
+  void shouldCreateReservationSeriesSuccessfully() {
+    // Arrange
+    CreateReservationSeriesRequest request =
+        new CreateReservationSeriesRequest(
+            "Room A",
+            "user@test.com",
+            START,
+            60,
+            "weekly",
+            null,
+            null,
+            4,
+            Set.of(START.toLocalDate().plusWeeks(1)));
+    RecurrenceRule rule = new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 1, null, 4);
+    ReservationSeries series =
+        new ReservationSeries(
+                UUID.randomUUID(), UUID.randomUUID(), new TimeSlot(START, Duration.ofHours(1)), rule)
+            .withId(UUID.randomUUID());
+    when(reservationSeriesApplicationService.create(any(CreateReservationSeriesCommand.class)))
+        .thenReturn(series);
+
+    // Act
+    ResponseEntity<ReservationSeriesResponse> response =
+        reservationSeriesController.createReservationSeries(request);
+
+    // Assert
+    assertEquals(HttpStatus.CREATED, response.getStatusCode());
+    assertEquals(4, response.getBody().occurrences());
+    ArgumentCaptor<CreateReservationSeriesCommand> captor =
+        ArgumentCaptor.forClass(CreateReservationSeriesCommand.class);
+    verify(reservationSeriesApplicationService).create(captor.capture());
+    assertEquals(rule, captor.getValue().recurrenceRule());
+    assertEquals(Duration.ofHours(1), captor.getValue().firstOccurrence().duration());
+  }
+
+  @Test
+  void shouldReturnNoContentWhenOccurrenceIsCancelled() {
+    // Arrange
+    UUID seriesId = UUID.randomUUID();
+
+    // Act
+    ResponseEntity<Void> response =
+        reservationSeriesController.cancelOccurrence(seriesId, START.toLocalDate());
+
+    // Assert
+    assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+    verify(reservationSeriesApplicationService)
+        .cancelOccurrence(new CancelOccurrenceCommand(seriesId, START.toLocalDate()));
+  }
+
+  @Test
+  void shouldReturnMovedOccurrence() {
+    // Arrange
+    UUID seriesId = UUID.randomUUID();
+    TimeSlot later = new TimeSlot(START.plusHours(2), Duration.ofMinutes(30));
+    when(reservationSeriesApplicationService.moveOccurrence(any(MoveOccurrenceCommand.class)))
+        .thenReturn(new SeriesOccurrence(START.toLocalDate(), later));
+
+    // Act
+    ResponseEntity<SeriesOccurrenceResponse> response =
+        reservationSeriesController.moveOccurrence(
+            seriesId, START.toLocalDate(), new MoveOccurrenceRequest(START.plusHours(2), 30));
+
+    // Assert
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(
+        new SeriesOccurrenceResponse(START.toLocalDate(), later.start(), later.end()),
+        response.getBody());
+    verify(reservationSeriesApplicationService)
+        .moveOccurrence(new MoveOccurrenceCommand(seriesId, START.toLocalDate(), later));
+    verifyNoMoreInteractions(reservationSeriesApplicationService);
+  }
+}
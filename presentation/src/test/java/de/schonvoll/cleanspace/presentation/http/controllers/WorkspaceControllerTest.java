@@ -6,13 +6,19 @@ import static org.mockito.Mockito.*;
 
 import de.schonvoll.cleanspace.application.commands.CreateWorkspaceCommand;
 import de.schonvoll.cleanspace.application.commands.FindAvailableWorkspacesQuery;
+import de.schonvoll.cleanspace.application.commands.FindEarliestAvailableQuery;
+import de.schonvoll.cleanspace.application.results.AvailabilityCacheStats;
 import de.schonvoll.cleanspace.application.services.WorkspaceApplicationService;
 import de.schonvoll.cleanspace.domain.entities.Workspace;
 import de.schonvoll.cleanspace.domain.valueobjects.OpeningHours;
+import de.schonvoll.cleanspace.presentation.http.dtos.AvailabilityCacheStatsResponse;
+import de.schonvoll.cleanspace.presentation.http.dtos.AvailableSlotResponse;
 import de.schonvoll.cleanspace.presentation.http.dtos.CreateWorkspaceRequest;
 import de.schonvoll.cleanspace.presentation.http.dtos.FindAvailableWorkspacesQueryDto;
+import de.schonvoll.cleanspace.presentation.http.dtos.FindEarliestAvailableQueryDto;
 import de.schonvoll.cleanspace.presentation.http.dtos.WorkspacePropertyDto;
 import de.schonvoll.cleanspace.presentation.http.dtos.WorkspaceResponse;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Collections;
@@ -195,4 +201,53 @@ class WorkspaceControllerTest {
     verify(workspaceApplicationService).findAvailable(captor.capture());
     assertTrue(captor.getValue().requiredProperties().isEmpty());
   }
-}
\ No newline at end of file
+  @Test
+  void shouldSearchEarliestSlotsWithDefaultLimit() {
+    // Arrange
+    FindEarliestAvailableQueryDto queryDto =
+            new FindEarliestAvailableQueryDto(
+                    LocalDateTime.of(2024, 3, 15, 0, 0),
+                    LocalDateTime.of(2024, 3, 20, 0, 0),
+                    LocalTime.of(8, 0),
+                    LocalTime.of(18, 0),
+                    120,
+                    null,
+                    null,
+                    List.of("projector:available"));
+
+    when(workspaceApplicationService.findEarliestAvailable(any(FindEarliestAvailableQuery.class)))
+            .thenReturn(Collections.emptyList());
+
+    // Act
+    ResponseEntity<List<AvailableSlotResponse>> response =
+            workspaceController.findEarliestAvailableSlots(queryDto);
+
+    // Assert
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+
+    ArgumentCaptor<FindEarliestAvailableQuery> captor =
+            ArgumentCaptor.forClass(FindEarliestAvailableQuery.class);
+    verify(workspaceApplicationService).findEarliestAvailable(captor.capture());
+    assertEquals(Duration.ofDays(5), captor.getValue().window().duration());
+    assertEquals(Duration.ofHours(2), captor.getValue().duration());
+    assertEquals(10, captor.getValue().limit());
+    assertEquals(1, captor.getValue().requiredProperties().get().size());
+  }
+
+  @Test
+  void shouldReturnAvailabilityCacheStats() {
+    // Arrange
+    when(workspaceApplicationService.availabilityCacheStats())
+            .thenReturn(new AvailabilityCacheStats(3, 1, 0, 0, 1));
+
+    // Act
+    ResponseEntity<AvailabilityCacheStatsResponse> response =
+            workspaceController.getAvailabilityCacheStats();
+
+    // Assert
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertNotNull(response.getBody());
+    assertEquals(3, response.getBody().hits());
+    assertEquals(0.75, response.getBody().hitRatio());
+  }
+}